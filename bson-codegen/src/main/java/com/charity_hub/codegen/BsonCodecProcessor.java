@@ -0,0 +1,429 @@
+package com.charity_hub.codegen;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes a {@code org.bson.codecs.Codec} for every record annotated with {@link GenerateBsonCodec}.
+ * <p>
+ * Encoding calls the accessors and the typed {@code BsonWriter} methods; decoding switches on the
+ * field name into locals and calls the canonical constructor once, so there is no reflection and
+ * no intermediate map. Supported component types: {@code int}, {@code long}, {@code double},
+ * {@code boolean} and their boxes, {@code String}, other annotated records, {@code List}s of those,
+ * and any other non-generic type, which is delegated to the registry.
+ */
+@SupportedAnnotationTypes("com.charity_hub.codegen.GenerateBsonCodec")
+public class BsonCodecProcessor extends AbstractProcessor {
+    private static final String PROVIDERS_FILE = "META-INF/services/org.bson.codecs.configuration.CodecProvider";
+
+    private final Set<String> providers = new TreeSet<>();
+    private Elements elements;
+    private Filer filer;
+    private Messager messager;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(GenerateBsonCodec.class)) {
+            if (element.getKind() != ElementKind.RECORD) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "@GenerateBsonCodec only applies to records", element);
+                continue;
+            }
+            try {
+                providers.add(new CodecWriter((TypeElement) element).write());
+            } catch (UnsupportedComponentException e) {
+                messager.printMessage(Diagnostic.Kind.ERROR, e.getMessage(), e.component);
+            } catch (IOException e) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Cannot write codec: " + e.getMessage(), element);
+            }
+        }
+
+        if (roundEnv.processingOver() && !providers.isEmpty()) {
+            try (Writer writer = filer.createResource(StandardLocation.CLASS_OUTPUT, "", PROVIDERS_FILE).openWriter()) {
+                for (String provider : providers) {
+                    writer.write(provider);
+                    writer.write('\n');
+                }
+            } catch (IOException e) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Cannot write " + PROVIDERS_FILE + ": " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private static final class UnsupportedComponentException extends RuntimeException {
+        private final Element component;
+
+        UnsupportedComponentException(String message, Element component) {
+            super(message);
+            this.component = component;
+        }
+    }
+
+    /**
+     * How one value is written and read. {@code codecField} is set for values handled by another codec.
+     */
+    private record Kind(String javaType, String writeCall, String readExpression, String defaultValue,
+                        Kind element, String codecField) {
+
+        boolean isList() {
+            return element != null;
+        }
+    }
+
+    private final class CodecWriter {
+        private final TypeElement record;
+        private final String packageName;
+        private final String recordType;
+        private final String codecName;
+        private final Map<String, String> nestedCodecs = new LinkedHashMap<>();
+        private final Map<String, String> fallbackCodecs = new LinkedHashMap<>();
+        private final List<String> listReaders = new ArrayList<>();
+
+        CodecWriter(TypeElement record) {
+            this.record = record;
+            this.packageName = elements.getPackageOf(record).getQualifiedName().toString();
+            this.recordType = record.getQualifiedName().toString();
+            this.codecName = record.getSimpleName() + "Codec";
+        }
+
+        /**
+         * @return the binary name of the generated provider
+         */
+        String write() throws IOException {
+            List<? extends RecordComponentElement> components = record.getRecordComponents();
+            List<String> fieldNames = new ArrayList<>();
+            List<Kind> kinds = new ArrayList<>();
+            for (RecordComponentElement component : components) {
+                fieldNames.add(fieldName(component));
+                kinds.add(kindOf(component.asType(), component));
+            }
+
+            StringBuilder out = new StringBuilder();
+            if (!packageName.isEmpty()) {
+                out.append("package ").append(packageName).append(";\n\n");
+            }
+            out.append("import org.bson.BsonInvalidOperationException;\n")
+                    .append("import org.bson.BsonReader;\n")
+                    .append("import org.bson.BsonType;\n")
+                    .append("import org.bson.BsonWriter;\n")
+                    .append("import org.bson.codecs.Codec;\n")
+                    .append("import org.bson.codecs.DecoderContext;\n")
+                    .append("import org.bson.codecs.EncoderContext;\n")
+                    .append("import org.bson.codecs.configuration.CodecProvider;\n")
+                    .append("import org.bson.codecs.configuration.CodecRegistry;\n\n")
+                    .append("@javax.annotation.processing.Generated(\"").append(BsonCodecProcessor.class.getName()).append("\")\n")
+                    .append("public final class ").append(codecName).append(" implements Codec<").append(recordType).append("> {\n")
+                    .append("    private final CodecRegistry registry;\n");
+            nestedCodecs.forEach((codecType, field) ->
+                    out.append("    private final ").append(codecType).append(' ').append(field).append(";\n"));
+            fallbackCodecs.forEach((type, field) ->
+                    out.append("    private Codec<").append(type).append("> ").append(field).append(";\n"));
+
+            out.append("\n    public ").append(codecName).append("(CodecRegistry registry) {\n")
+                    .append("        this.registry = registry;\n");
+            nestedCodecs.forEach((codecType, field) ->
+                    out.append("        this.").append(field).append(" = new ").append(codecType).append("(registry);\n"));
+            out.append("    }\n\n");
+
+            out.append("    @Override\n")
+                    .append("    public Class<").append(recordType).append("> getEncoderClass() {\n")
+                    .append("        return ").append(recordType).append(".class;\n")
+                    .append("    }\n\n");
+
+            writeEncode(out, components, fieldNames, kinds);
+            writeDecode(out, components, fieldNames, kinds);
+
+            listReaders.forEach(out::append);
+            fallbackCodecs.forEach((type, field) -> out
+                    .append("    private Codec<").append(type).append("> ").append(field).append("() {\n")
+                    .append("        if (").append(field).append(" == null) {\n")
+                    .append("            ").append(field).append(" = registry.get(").append(type).append(".class);\n")
+                    .append("        }\n")
+                    .append("        return ").append(field).append(";\n")
+                    .append("    }\n\n"));
+            writeNumberReaders(out);
+
+            out.append("    public static final class Provider implements CodecProvider {\n")
+                    .append("        @Override\n")
+                    .append("        @SuppressWarnings(\"unchecked\")\n")
+                    .append("        public <T> Codec<T> get(Class<T> clazz, CodecRegistry registry) {\n")
+                    .append("            return clazz == ").append(recordType).append(".class ? (Codec<T>) new ")
+                    .append(codecName).append("(registry) : null;\n")
+                    .append("        }\n")
+                    .append("    }\n")
+                    .append("}\n");
+
+            String qualifiedCodec = packageName.isEmpty() ? codecName : packageName + "." + codecName;
+            try (Writer writer = filer.createSourceFile(qualifiedCodec, record).openWriter()) {
+                writer.write(out.toString());
+            }
+            return qualifiedCodec + "$Provider";
+        }
+
+        private void writeEncode(StringBuilder out, List<? extends RecordComponentElement> components,
+                                 List<String> fieldNames, List<Kind> kinds) {
+            out.append("    @Override\n")
+                    .append("    public void encode(BsonWriter writer, ").append(recordType)
+                    .append(" value, EncoderContext encoderContext) {\n")
+                    .append("        writer.writeStartDocument();\n");
+            // The id goes first, as the driver's codecs write it
+            for (int pass = 0; pass < 2; pass++) {
+                for (int i = 0; i < components.size(); i++) {
+                    if (fieldNames.get(i).equals("_id") != (pass == 0)) {
+                        continue;
+                    }
+                    Kind kind = kinds.get(i);
+                    String accessor = "value." + components.get(i).getAccessor().getSimpleName() + "()";
+                    if (kind.defaultValue().equals("null")) {
+                        out.append("        if (").append(accessor).append(" != null) {\n")
+                                .append("            writer.writeName(\"").append(fieldNames.get(i)).append("\");\n");
+                        writeValue(out, kind, accessor, "            ", 0);
+                        out.append("        }\n");
+                    } else {
+                        out.append("        writer.writeName(\"").append(fieldNames.get(i)).append("\");\n");
+                        writeValue(out, kind, accessor, "        ", 0);
+                    }
+                }
+            }
+            out.append("        writer.writeEndDocument();\n")
+                    .append("    }\n\n");
+        }
+
+        private void writeValue(StringBuilder out, Kind kind, String expression, String indent, int depth) {
+            if (kind.isList()) {
+                String item = "item" + depth;
+                out.append(indent).append("writer.writeStartArray();\n")
+                        .append(indent).append("for (").append(kind.element().javaType()).append(' ').append(item)
+                        .append(" : ").append(expression).append(") {\n")
+                        .append(indent).append("    if (").append(item).append(" == null) {\n")
+                        .append(indent).append("        writer.writeNull();\n")
+                        .append(indent).append("    } else {\n");
+                writeValue(out, kind.element(), item, indent + "        ", depth + 1);
+                out.append(indent).append("    }\n")
+                        .append(indent).append("}\n")
+                        .append(indent).append("writer.writeEndArray();\n");
+            } else if (kind.codecField() != null) {
+                out.append(indent).append("encoderContext.encodeWithChildContext(").append(kind.codecField())
+                        .append(", writer, ").append(expression).append(");\n");
+            } else {
+                out.append(indent).append("writer.").append(kind.writeCall()).append('(').append(expression).append(");\n");
+            }
+        }
+
+        private void writeDecode(StringBuilder out, List<? extends RecordComponentElement> components,
+                                 List<String> fieldNames, List<Kind> kinds) {
+            out.append("    @Override\n")
+                    .append("    public ").append(recordType)
+                    .append(" decode(BsonReader reader, DecoderContext decoderContext) {\n");
+            for (int i = 0; i < components.size(); i++) {
+                out.append("        ").append(kinds.get(i).javaType()).append(' ')
+                        .append(local(components.get(i))).append(" = ").append(kinds.get(i).defaultValue()).append(";\n");
+            }
+            out.append("\n        reader.readStartDocument();\n")
+                    .append("        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {\n")
+                    .append("            String name = reader.readName();\n")
+                    .append("            if (reader.getCurrentBsonType() == BsonType.NULL) {\n")
+                    .append("                reader.readNull();\n")
+                    .append("                continue;\n")
+                    .append("            }\n")
+                    .append("            switch (name) {\n");
+            for (int i = 0; i < components.size(); i++) {
+                out.append("                case \"").append(fieldNames.get(i)).append("\" -> ")
+                        .append(local(components.get(i))).append(" = ").append(readExpression(kinds.get(i))).append(";\n");
+            }
+            out.append("                default -> reader.skipValue();\n")
+                    .append("            }\n")
+                    .append("        }\n")
+                    .append("        reader.readEndDocument();\n\n")
+                    .append("        return new ").append(recordType).append('(');
+            for (int i = 0; i < components.size(); i++) {
+                if (i > 0) {
+                    out.append(", ");
+                }
+                out.append(local(components.get(i)));
+            }
+            out.append(");\n")
+                    .append("    }\n\n");
+        }
+
+        /**
+         * Lists are read by a generated helper method; everything else is a single expression.
+         */
+        private String readExpression(Kind kind) {
+            if (!kind.isList()) {
+                return kind.readExpression();
+            }
+            String method = "readList" + listReaders.size();
+            StringBuilder helper = new StringBuilder();
+            listReaders.add(null);
+            int index = listReaders.size() - 1;
+            helper.append("    private ").append(kind.javaType()).append(' ').append(method)
+                    .append("(BsonReader reader, DecoderContext decoderContext) {\n")
+                    .append("        java.util.ArrayList<").append(kind.element().javaType()).append("> list = new java.util.ArrayList<>();\n")
+                    .append("        reader.readStartArray();\n")
+                    .append("        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {\n")
+                    .append("            if (reader.getCurrentBsonType() == BsonType.NULL) {\n")
+                    .append("                reader.readNull();\n")
+                    .append("                list.add(null);\n")
+                    .append("            } else {\n")
+                    .append("                list.add(").append(readExpression(kind.element())).append(");\n")
+                    .append("            }\n")
+                    .append("        }\n")
+                    .append("        reader.readEndArray();\n")
+                    .append("        return list;\n")
+                    .append("    }\n\n");
+            listReaders.set(index, helper.toString());
+            return method + "(reader, decoderContext)";
+        }
+
+        private void writeNumberReaders(StringBuilder out) {
+            // Numbers are read leniently: $inc and the shell can leave a field as another numeric type
+            for (String[] number : new String[][]{{"int", "Int32"}, {"long", "Int64"}, {"double", "Double"}}) {
+                String type = number[0];
+                out.append("    private static ").append(type).append(" read").append(number[1]).append("(BsonReader reader) {\n")
+                        .append("        return switch (reader.getCurrentBsonType()) {\n")
+                        .append("            case INT32 -> ").append(narrow(type, "reader.readInt32()")).append(";\n")
+                        .append("            case INT64 -> ").append(narrow(type, "reader.readInt64()")).append(";\n")
+                        .append("            case DOUBLE -> ").append(narrow(type, "reader.readDouble()")).append(";\n")
+                        .append("            case DECIMAL128 -> reader.readDecimal128().").append(type).append("Value();\n")
+                        .append("            default -> throw new BsonInvalidOperationException(\"Expected a number but found \" + reader.getCurrentBsonType());\n")
+                        .append("        };\n")
+                        .append("    }\n\n");
+            }
+        }
+
+        private String narrow(String type, String read) {
+            return switch (type) {
+                case "int" -> read.endsWith("Int32()") ? read : "(int) " + read;
+                case "long" -> read.endsWith("Double()") ? "(long) " + read : read;
+                default -> read;
+            };
+        }
+
+        private Kind kindOf(TypeMirror type, Element component) {
+            switch (type.getKind()) {
+                case INT:
+                    return scalar("int", "writeInt32", "readInt32(reader)", "0");
+                case LONG:
+                    return scalar("long", "writeInt64", "readInt64(reader)", "0L");
+                case DOUBLE:
+                    return scalar("double", "writeDouble", "readDouble(reader)", "0.0");
+                case BOOLEAN:
+                    return scalar("boolean", "writeBoolean", "reader.readBoolean()", "false");
+                case DECLARED:
+                    break;
+                default:
+                    throw new UnsupportedComponentException("Unsupported component type " + type, component);
+            }
+
+            DeclaredType declared = (DeclaredType) type;
+            TypeElement typeElement = (TypeElement) declared.asElement();
+            String name = typeElement.getQualifiedName().toString();
+            switch (name) {
+                case "java.lang.String":
+                    return scalar(name, "writeString", "reader.readString()", "null");
+                case "java.lang.Integer":
+                    return scalar(name, "writeInt32", "readInt32(reader)", "null");
+                case "java.lang.Long":
+                    return scalar(name, "writeInt64", "readInt64(reader)", "null");
+                case "java.lang.Double":
+                    return scalar(name, "writeDouble", "readDouble(reader)", "null");
+                case "java.lang.Boolean":
+                    return scalar(name, "writeBoolean", "reader.readBoolean()", "null");
+                case "java.util.List": {
+                    if (declared.getTypeArguments().size() != 1) {
+                        throw new UnsupportedComponentException("Raw List components are not supported", component);
+                    }
+                    Kind element = kindOf(declared.getTypeArguments().get(0), component);
+                    if (element.defaultValue().equals("null")) {
+                        return new Kind("java.util.List<" + element.javaType() + ">", null, null, "null", element, null);
+                    }
+                    throw new UnsupportedComponentException("Lists of primitives are not supported", component);
+                }
+                default:
+                    break;
+            }
+
+            if (!declared.getTypeArguments().isEmpty()) {
+                throw new UnsupportedComponentException("Unsupported generic component type " + type, component);
+            }
+            if (typeElement.getAnnotation(GenerateBsonCodec.class) != null) {
+                String codecType = elements.getPackageOf(typeElement).getQualifiedName() + "." + typeElement.getSimpleName() + "Codec";
+                String field = nestedCodecs.computeIfAbsent(codecType, k -> decapitalize(typeElement.getSimpleName() + "Codec"));
+                return new Kind(name, null, "decoderContext.decodeWithChildContext(" + field + ", reader)", "null", null, field);
+            }
+            String field = fallbackCodecs.computeIfAbsent(name, k -> decapitalize(typeElement.getSimpleName() + "Codec" + fallbackCodecs.size()));
+            return new Kind(name, null, "decoderContext.decodeWithChildContext(" + field + "(), reader)", "null", null, field + "()");
+        }
+
+        private Kind scalar(String javaType, String writeCall, String readExpression, String defaultValue) {
+            return new Kind(javaType, writeCall, readExpression, defaultValue, null, null);
+        }
+
+        private String fieldName(RecordComponentElement component) {
+            for (Element annotated : List.of(component, component.getAccessor())) {
+                for (AnnotationMirror mirror : annotated.getAnnotationMirrors()) {
+                    String annotation = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+                    if (annotation.equals("org.bson.codecs.pojo.annotations.BsonId")) {
+                        return "_id";
+                    }
+                    if (annotation.equals("org.bson.codecs.pojo.annotations.BsonProperty")) {
+                        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+                            if (entry.getKey().getSimpleName().contentEquals("value")) {
+                                return entry.getValue().getValue().toString();
+                            }
+                        }
+                    }
+                }
+            }
+            return component.getSimpleName().toString();
+        }
+
+        private String local(RecordComponentElement component) {
+            // Prefixed so components can't clash with reader, name or decoderContext
+            return "_" + component.getSimpleName();
+        }
+
+        private String decapitalize(String name) {
+            return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.charity_hub.codegen;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates a reflection-free {@code <Record>Codec} next to the annotated record, plus a
+ * {@code CodecProvider} registered in {@code META-INF/services} so {@code MongoDBConfig} picks it up.
+ * <p>
+ * Documents keep the layout of the driver's record codec: one field per component, named after
+ * the component (or {@code @BsonId} / {@code @BsonProperty}), nulls left out.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface GenerateBsonCodec {
+}
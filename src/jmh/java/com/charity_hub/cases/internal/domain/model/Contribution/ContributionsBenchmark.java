@@ -0,0 +1,42 @@
+package com.charity_hub.cases.internal.domain.model.Contribution;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sums a case's contributions, done for the collected amount on every save of a case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContributionsBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int size;
+
+    private Contributions contributions;
+
+    @Setup
+    public void setUp() {
+        List<Contribution> values = new ArrayList<>(size);
+        ContributionStatus[] statuses = ContributionStatus.values();
+        for (int i = 0; i < size; i++) {
+            values.add(Contribution.create(UUID.randomUUID(), UUID.randomUUID(), 20040, 100 + i % 900,
+                    statuses[i % statuses.length], new Date(1_700_000_000_000L + i)));
+        }
+        contributions = Contributions.of(values);
+    }
+
+    @Benchmark
+    public int totalValue() {
+        return contributions.totalValue();
+    }
+}
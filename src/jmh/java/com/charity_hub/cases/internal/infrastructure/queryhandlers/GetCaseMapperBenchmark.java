@@ -0,0 +1,62 @@
+package com.charity_hub.cases.internal.infrastructure.queryhandlers;
+
+import com.charity_hub.accounts.shared.AccountDTO;
+import com.charity_hub.cases.internal.application.queries.GetCase.GetCaseResponse;
+import com.charity_hub.cases.internal.infrastructure.db.CaseEntity;
+import com.charity_hub.cases.internal.infrastructure.db.ContributionEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the case details response. Admins get contributors resolved, other users don't.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetCaseMapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int contributions;
+
+    private GetCaseMapper mapper;
+    private CaseEntity caseEntity;
+    private List<ContributionEntity> contributionEntities;
+    private List<AccountDTO> contributors;
+
+    @Setup
+    public void setUp() {
+        mapper = new GetCaseMapper();
+        caseEntity = new CaseEntity(20040, "School fees for three children", "A longer description of the case",
+                25_000_000, 0, CaseEntity.STATUS_OPENED, true, 1_700_000_000_000L, 1_700_000_500_000L,
+                List.of("education", "children"), List.of("https://example.com/a.jpg"), contributions);
+        // Roughly one contributor per three contributions
+        contributors = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, contributions / 3); i++) {
+            contributors.add(new AccountDTO(UUID.randomUUID().toString(), "2010000" + i, "Contributor " + i,
+                    "https://example.com/" + i + ".jpg", List.of("fcm-" + i), "ar"));
+        }
+        contributionEntities = new ArrayList<>(contributions);
+        for (int i = 0; i < contributions; i++) {
+            contributionEntities.add(new ContributionEntity(UUID.randomUUID().toString(),
+                    contributors.get(i % contributors.size()).id(), 20040, 100 + i % 900,
+                    ContributionEntity.STATUS_PLEDGED + i % 3, 1_700_000_000_000L + i, null));
+        }
+    }
+
+    @Benchmark
+    public GetCaseResponse.CaseDetails withContributors() {
+        return mapper.toCaseDetails(caseEntity, contributionEntities, contributors);
+    }
+
+    @Benchmark
+    public GetCaseResponse.CaseDetails withoutContributors() {
+        return mapper.toCaseDetails(caseEntity, contributionEntities, null);
+    }
+}
@@ -0,0 +1,56 @@
+package com.charity_hub.cases.internal.infrastructure.repositories.mappers;
+
+import com.charity_hub.cases.internal.domain.model.Case.Case;
+import com.charity_hub.cases.internal.infrastructure.db.CaseEntity;
+import com.charity_hub.cases.internal.infrastructure.db.ContributionEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps a case and its contributions between entities and the domain model, as every command
+ * on a case does when loading and saving it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CaseMapperBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int contributions;
+
+    private CaseMapper mapper;
+    private CaseEntity caseEntity;
+    private List<ContributionEntity> contributionEntities;
+    private Case domain;
+
+    @Setup
+    public void setUp() {
+        mapper = new CaseMapper(new ContributionMapper());
+        caseEntity = new CaseEntity(20040, "School fees for three children", "A longer description of the case",
+                25_000_000, 0, CaseEntity.STATUS_OPENED, true, 1_700_000_000_000L, 1_700_000_500_000L,
+                List.of("education", "children"), List.of("https://example.com/a.jpg"), contributions);
+        contributionEntities = new ArrayList<>(contributions);
+        for (int i = 0; i < contributions; i++) {
+            contributionEntities.add(new ContributionEntity(UUID.randomUUID().toString(), UUID.randomUUID().toString(),
+                    20040, 100 + i % 900, ContributionEntity.STATUS_PLEDGED + i % 3, 1_700_000_000_000L + i, null));
+        }
+        domain = mapper.toDomain(caseEntity, contributionEntities);
+    }
+
+    @Benchmark
+    public Case toDomain() {
+        return mapper.toDomain(caseEntity, contributionEntities);
+    }
+
+    @Benchmark
+    public CaseEntity toDB() {
+        return mapper.toDB(domain);
+    }
+}
@@ -0,0 +1,50 @@
+package com.charity_hub.ledger.internal.application.queries.GetLedgerSummary;
+
+import com.charity_hub.accounts.shared.AccountDTO;
+import com.charity_hub.cases.shared.dtos.ContributionDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Groups the contributions of a member's connections into per-connection totals.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LedgerSummaryBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int connections;
+
+    @Param({"20"})
+    public int contributionsPerConnection;
+
+    private List<AccountDTO> accounts;
+    private List<ContributionDTO> contributions;
+
+    @Setup
+    public void setUp() {
+        accounts = new ArrayList<>(connections);
+        contributions = new ArrayList<>(connections * contributionsPerConnection);
+        for (int i = 0; i < connections; i++) {
+            accounts.add(new AccountDTO(UUID.randomUUID().toString(), "2010000" + i, "Connection " + i,
+                    null, List.of(), "ar"));
+        }
+        for (int i = 0; i < connections * contributionsPerConnection; i++) {
+            contributions.add(new ContributionDTO(UUID.randomUUID().toString(), accounts.get(i % connections).id(),
+                    20000 + i % 50, 100 + i % 900, 1 + i % 3, 1_700_000_000_000L + i, null));
+        }
+    }
+
+    @Benchmark
+    public List<LedgerSummaryDefaultResponse.ConnectionLedger> connectionLedgers() {
+        return GetLedgerSummaryHandler.connectionLedgers(accounts, contributions);
+    }
+}
@@ -0,0 +1,73 @@
+package com.charity_hub.shared.auth;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.SecureRandom;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies an access token and maps its claims, which JwtAuthFilter does on every request.
+ * The token carries the same claims JwtGenerator issues.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerifierBenchmark {
+    private String secret;
+    private JwtVerifier verifier;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        // 128 hex characters is long enough for HS512, the algorithm auth.secretKey selects
+        byte[] key = new byte[64];
+        new SecureRandom().nextBytes(key);
+        secret = HexFormat.of().formatHex(key);
+        verifier = new JwtVerifier(secret);
+        AccessTokenPayload payload = new AccessTokenPayload(
+                UUID.randomUUID().toString(),
+                UUID.randomUUID().toString(),
+                new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)),
+                new Date(),
+                UUID.randomUUID().toString(),
+                "Full Name",
+                "https://example.com/p.jpg",
+                false,
+                "201000000000",
+                "device-1",
+                List.of("FULL_ACCESS"));
+        var builder = Jwts.builder()
+                .subject(payload.getSubject())
+                .issuedAt(payload.getIssuedAt())
+                .issuer(payload.getIssuer())
+                .audience().add(payload.getAudience()).and()
+                .id(payload.getJwtId())
+                .expiration(payload.getExpireAt())
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes()));
+        for (Map.Entry<String, Object> entry : payload.toMap().entrySet()) {
+            builder.claims().add(entry.getKey(), entry.getValue());
+        }
+        token = builder.compact();
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return verifier.verify(token);
+    }
+
+    @Benchmark
+    public AccessTokenPayload verifyAndMap() {
+        return AccessTokenPayload.fromPayload(verifier.verify(token));
+    }
+}
@@ -0,0 +1,75 @@
+package com.charity_hub.shared.domain;
+
+import com.charity_hub.shared.infrastructure.observability.EventBusMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes an event to a handful of subscribers, as repositories do after saving an aggregate.
+ * In async mode this measures the hand-off to the subscriber queues, not the handlers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBusBenchmark {
+
+    @Param({"1", "3", "8"})
+    public int subscribers;
+
+    @Param({"sync", "async"})
+    public String mode;
+
+    // Listener ids are made of the owner class and the event type, so every owner has its own class
+    private static final Object[] OWNER_TYPES = {
+            new Object() { }, new Object() { }, new Object() { }, new Object() { },
+            new Object() { }, new Object() { }, new Object() { }, new Object() { }
+    };
+
+    private EventBus eventBus;
+    private final List<Object> owners = new ArrayList<>();
+    private final CaseOpened event = new CaseOpened(20040, "Title");
+    private final Unsubscribed unsubscribed = new Unsubscribed();
+
+    record CaseOpened(int code, String title) {
+    }
+
+    record Unsubscribed() {
+    }
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        eventBus = new EventBus("async".equals(mode), 10_000, 4, Duration.ofSeconds(10),
+                new EventBusMetrics(new SimpleMeterRegistry(), Duration.ofMillis(500)));
+        eventBus.start();
+        for (int i = 0; i < subscribers; i++) {
+            Object owner = OWNER_TYPES[i];
+            owners.add(owner);
+            eventBus.subscribe(owner, CaseOpened.class, blackhole::consume);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        owners.forEach(eventBus::unsubscribe);
+        eventBus.stop();
+    }
+
+    @Benchmark
+    public void push() {
+        eventBus.push(event);
+    }
+
+    @Benchmark
+    public void pushWithoutSubscribers() {
+        eventBus.push(unsubscribed);
+    }
+}
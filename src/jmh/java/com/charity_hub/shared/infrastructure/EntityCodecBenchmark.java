@@ -0,0 +1,82 @@
+package com.charity_hub.shared.infrastructure;
+
+import com.charity_hub.accounts.internal.shell.db.AccountEntity;
+import com.charity_hub.accounts.internal.shell.db.DeviceEntity;
+import com.charity_hub.cases.internal.infrastructure.db.CaseEntity;
+import com.charity_hub.cases.internal.infrastructure.db.ContributionEntity;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes and encodes entities with the generated codecs and with the driver's reflective
+ * record codec they replace, from raw BSON as it comes off the wire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityCodecBenchmark {
+
+    @Param({"generated", "reflective"})
+    public String codecs;
+
+    private Codec<CaseEntity> caseCodec;
+    private Codec<ContributionEntity> contributionCodec;
+    private Codec<AccountEntity> accountCodec;
+    private CaseEntity caseEntity;
+    private RawBsonDocument caseDocument;
+    private RawBsonDocument contributionDocument;
+    private RawBsonDocument accountDocument;
+
+    @Setup
+    public void setUp() {
+        CodecRegistry registry = MongoDBConfig.codecRegistry("generated".equals(codecs));
+        caseCodec = registry.get(CaseEntity.class);
+        contributionCodec = registry.get(ContributionEntity.class);
+        accountCodec = registry.get(AccountEntity.class);
+
+        caseEntity = new CaseEntity(20040, "School fees for three children", "A longer description of the case",
+                25_000, 12_750, CaseEntity.STATUS_OPENED, true, 1_700_000_000_000L, 1_700_000_500_000L,
+                List.of("education", "children", "urgent"), List.of("https://example.com/a.jpg", "https://example.com/b.jpg"), 42);
+        ContributionEntity contribution = new ContributionEntity("3f0c2a9e-1111-2222-3333-444455556666",
+                "8d1b7c6e-aaaa-bbbb-cccc-ddddeeeeffff", 20040, 500, ContributionEntity.STATUS_PAID,
+                1_700_000_000_000L, null);
+        AccountEntity account = new AccountEntity("8d1b7c6e-aaaa-bbbb-cccc-ddddeeeeffff", "201000000000",
+                "Full Name", "https://example.com/p.jpg", false, 1_690_000_000_000L, 1_700_000_000_000L,
+                List.of("FULL_ACCESS"),
+                List.of(new DeviceEntity("device-1", "android", "refresh-token", "fcm-token", 1_700_000_000_000L, "ar"),
+                        new DeviceEntity("device-2", "ios", "refresh-token-2", "fcm-token-2", 1_700_000_100_000L, "en")),
+                3L);
+
+        caseDocument = new RawBsonDocument(caseEntity, caseCodec);
+        contributionDocument = new RawBsonDocument(contribution, contributionCodec);
+        accountDocument = new RawBsonDocument(account, accountCodec);
+    }
+
+    @Benchmark
+    public CaseEntity decodeCase() {
+        return caseDocument.decode(caseCodec);
+    }
+
+    @Benchmark
+    public ContributionEntity decodeContribution() {
+        return contributionDocument.decode(contributionCodec);
+    }
+
+    @Benchmark
+    public AccountEntity decodeAccount() {
+        return accountDocument.decode(accountCodec);
+    }
+
+    @Benchmark
+    public RawBsonDocument encodeCase() {
+        return new RawBsonDocument(caseEntity, caseCodec);
+    }
+}
@@ -0,0 +1,56 @@
+package com.charity_hub.shared.infrastructure;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.MessageSource;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders a contribution title with the precompiled templates and with the MessageSource
+ * lookup they replace.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotificationTemplatesBenchmark {
+
+    @Param({"ar", "en"})
+    public String language;
+
+    private NotificationTemplates templates;
+    private MessageSource messageSource;
+    private Locale locale;
+    private int amount;
+
+    @Setup
+    public void setUp() {
+        messageSource = new MessageConfig().messageSource();
+        templates = new NotificationTemplates(new String[]{"ar", "en"}, "ar");
+        locale = templates.resolve(language);
+        amount = 1_250;
+    }
+
+    @Benchmark
+    public String precompiledTemplate() {
+        return templates.render("notification.contribution.batch", locale, 12, amount);
+    }
+
+    @Benchmark
+    public String messageSource() {
+        return messageSource.getMessage("notification.contribution.batch", new Object[]{12, amount}, locale);
+    }
+
+    @Benchmark
+    public int precompiledVariants() {
+        return templates.variants("notification.contribution.messages", locale).size();
+    }
+
+    @Benchmark
+    public int messageSourceVariants() {
+        return messageSource.getMessage("notification.contribution.messages", null, locale).split(",").length;
+    }
+}
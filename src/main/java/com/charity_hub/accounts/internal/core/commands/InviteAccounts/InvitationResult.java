@@ -0,0 +1,19 @@
+package com.charity_hub.accounts.internal.core.commands.InviteAccounts;
+
+public record InvitationResult(String mobileNumber, Status status, String reason) {
+
+    public enum Status {
+        INVITED,
+        ALREADY_INVITED,
+        DUPLICATE,
+        INVALID
+    }
+
+    static InvitationResult of(String mobileNumber, Status status) {
+        return new InvitationResult(mobileNumber, status, null);
+    }
+
+    static InvitationResult invalid(String mobileNumber, String reason) {
+        return new InvitationResult(mobileNumber, Status.INVALID, reason);
+    }
+}
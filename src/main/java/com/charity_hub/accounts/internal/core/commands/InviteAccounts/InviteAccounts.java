@@ -0,0 +1,13 @@
+package com.charity_hub.accounts.internal.core.commands.InviteAccounts;
+
+import com.charity_hub.shared.abstractions.Command;
+
+import java.util.Iterator;
+import java.util.UUID;
+
+/**
+ * Bulk invitation command. Mobile numbers are consumed lazily so callers can stream
+ * them straight from the request body.
+ */
+public record InviteAccounts(Iterator<String> mobileNumbers, UUID inviterId) implements Command {
+}
@@ -0,0 +1,90 @@
+package com.charity_hub.accounts.internal.core.commands.InviteAccounts;
+
+import com.charity_hub.accounts.internal.core.commands.InviteAccounts.InvitationResult.Status;
+import com.charity_hub.accounts.internal.core.contracts.IInvitationRepo;
+import com.charity_hub.accounts.internal.core.model.account.MobileNumber;
+import com.charity_hub.accounts.internal.core.model.invitation.Invitation;
+import com.charity_hub.shared.abstractions.CommandHandler;
+import com.charity_hub.shared.exceptions.BadRequestException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class InviteAccountsHandler extends CommandHandler<InviteAccounts, InviteAccountsResponse> {
+    static final int CHUNK_SIZE = 500;
+
+    private final IInvitationRepo invitationRepo;
+
+    public InviteAccountsHandler(IInvitationRepo invitationRepo) {
+        this.invitationRepo = invitationRepo;
+    }
+
+    @Override
+    public InviteAccountsResponse handle(InviteAccounts command) {
+        logger.info("Processing bulk invitation - InviterId: {}", command.inviterId());
+
+        List<InvitationResult> results = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        List<String> chunk = new ArrayList<>(CHUNK_SIZE);
+        int invited = 0;
+
+        while (command.mobileNumbers().hasNext()) {
+            chunk.add(command.mobileNumbers().next());
+            if (chunk.size() == CHUNK_SIZE) {
+                invited += processChunk(chunk, command, seen, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            invited += processChunk(chunk, command, seen, results);
+        }
+
+        logger.info("Bulk invitation completed - InviterId: {}, Total: {}, Invited: {}",
+                command.inviterId(), results.size(), invited);
+        return new InviteAccountsResponse(results.size(), invited, results);
+    }
+
+    private int processChunk(List<String> chunk, InviteAccounts command, Set<String> seen, List<InvitationResult> results) {
+        InvitationResult[] chunkResults = new InvitationResult[chunk.size()];
+        // normalized number -> position in chunk, in input order
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            String raw = chunk.get(i) == null ? "" : chunk.get(i).trim();
+            try {
+                String normalized = MobileNumber.create(raw).value();
+                if (seen.add(normalized)) {
+                    candidates.put(normalized, i);
+                } else {
+                    chunkResults[i] = InvitationResult.of(normalized, Status.DUPLICATE);
+                }
+            } catch (BadRequestException e) {
+                chunkResults[i] = InvitationResult.invalid(raw, e.getMessage());
+            }
+        }
+
+        Set<String> alreadyInvited = invitationRepo.findInvited(candidates.keySet());
+        List<Invitation> newInvitations = new ArrayList<>(candidates.size());
+
+        candidates.forEach((mobileNumber, index) -> {
+            if (alreadyInvited.contains(mobileNumber)) {
+                chunkResults[index] = InvitationResult.of(mobileNumber, Status.ALREADY_INVITED);
+            } else {
+                newInvitations.add(Invitation.of(mobileNumber, command.inviterId()));
+                chunkResults[index] = InvitationResult.of(mobileNumber, Status.INVITED);
+            }
+        });
+
+        invitationRepo.saveAll(newInvitations);
+        logger.debug("Processed invitation chunk - Size: {}, Invited: {}", chunk.size(), newInvitations.size());
+
+        results.addAll(List.of(chunkResults));
+        return newInvitations.size();
+    }
+}
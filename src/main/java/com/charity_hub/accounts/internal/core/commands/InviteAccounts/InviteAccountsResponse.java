@@ -0,0 +1,6 @@
+package com.charity_hub.accounts.internal.core.commands.InviteAccounts;
+
+import java.util.List;
+
+public record InviteAccountsResponse(int total, int invited, List<InvitationResult> results) {
+}
@@ -4,5 +4,8 @@ import com.charity_hub.shared.abstractions.Command;
 
 import java.util.UUID;
 
-public record RegisterNotificationToken(String fcmToken, String deviceId, UUID userId) implements Command {
+/**
+ * @param language ISO language code of the device, or null when the app didn't send one
+ */
+public record RegisterNotificationToken(String fcmToken, String deviceId, UUID userId, String language) implements Command {
 }
\ No newline at end of file
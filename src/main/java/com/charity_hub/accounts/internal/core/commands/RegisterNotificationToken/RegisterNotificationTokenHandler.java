@@ -1,12 +1,16 @@
 package com.charity_hub.accounts.internal.core.commands.RegisterNotificationToken;
 
 import com.charity_hub.accounts.internal.core.contracts.IAccountRepo;
+import com.charity_hub.accounts.internal.core.exceptions.AccountChangedConcurrentlyException;
 import com.charity_hub.shared.abstractions.VoidCommandHandler;
 import com.charity_hub.shared.exceptions.NotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
 public class RegisterNotificationTokenHandler extends VoidCommandHandler<RegisterNotificationToken> {
+    // Token refreshes race sign-ins and permission changes on the same account
+    static final int MAX_ATTEMPTS = 3;
+
     private final IAccountRepo accountRepo;
 
     public RegisterNotificationTokenHandler(IAccountRepo accountRepo) {
@@ -19,20 +23,35 @@ public class RegisterNotificationTokenHandler extends VoidCommandHandler<Registe
     ) {
                 logger.info("Registering FCM token - UserId: {}, DeviceId: {}", 
                         command.userId(), command.deviceId());
-                
-                var identity = accountRepo.getById(command.userId())
-                        .orElseThrow(()-> {
-                            logger.warn("Account not found for FCM registration - UserId: {}", command.userId());
-                            return new NotFoundException("User with Id " + command.userId() + " not found");
-                        });
-
-                identity.registerFCMToken(
-                        command.deviceId(),
-                        command.fcmToken()
-                );
-
-                accountRepo.save(identity);
+
+                for (int attempt = 1; ; attempt++) {
+                    try {
+                        register(command);
+                        break;
+                    } catch (AccountChangedConcurrentlyException e) {
+                        if (attempt == MAX_ATTEMPTS) {
+                            throw e;
+                        }
+                        logger.debug("Account changed while registering FCM token, retrying - UserId: {}", command.userId());
+                    }
+                }
                 logger.info("FCM token registered successfully - UserId: {}, DeviceId: {}", 
                         command.userId(), command.deviceId());
     }
-}
\ No newline at end of file
+
+    private void register(RegisterNotificationToken command) {
+        var identity = accountRepo.getById(command.userId())
+                .orElseThrow(()-> {
+                    logger.warn("Account not found for FCM registration - UserId: {}", command.userId());
+                    return new NotFoundException("User with Id " + command.userId() + " not found");
+                });
+
+        identity.registerFCMToken(
+                command.deviceId(),
+                command.fcmToken(),
+                command.language()
+        );
+
+        accountRepo.save(identity);
+    }
+}
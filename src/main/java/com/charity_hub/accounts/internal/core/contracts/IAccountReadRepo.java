@@ -6,5 +6,8 @@ import java.util.List;
 import java.util.UUID;
 
 public interface IAccountReadRepo {
-    List<Account> getConnections(UUID id);
-}
\ No newline at end of file
+    /**
+     * Direct connections (invited members) of the given account, sorted by name.
+     */
+    List<Account> getConnections(UUID id, int offset, int limit);
+}
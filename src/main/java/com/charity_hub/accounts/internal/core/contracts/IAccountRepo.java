@@ -20,4 +20,11 @@ public interface IAccountRepo {
     void revoke(UUID uuid);
 
     boolean isRevoked(UUID id, long tokenIssueDate);
+
+    /**
+     * Clears the given FCM tokens from every device that holds them.
+     *
+     * @return the number of accounts updated
+     */
+    long removeFCMTokens(List<String> tokens);
 }
\ No newline at end of file
@@ -2,10 +2,18 @@ package com.charity_hub.accounts.internal.core.contracts;
 
 import com.charity_hub.accounts.internal.core.model.invitation.Invitation;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 public interface IInvitationRepo {
     void save(Invitation invitation);
 
+    void saveAll(List<Invitation> invitations);
+
     Invitation get(String mobileNumber);
 
     boolean hasInvitation(String mobileNumber);
-}
\ No newline at end of file
+
+    Set<String> findInvited(Collection<String> mobileNumbers);
+}
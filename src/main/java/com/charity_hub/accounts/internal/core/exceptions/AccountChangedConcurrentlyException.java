@@ -0,0 +1,12 @@
+package com.charity_hub.accounts.internal.core.exceptions;
+
+import com.charity_hub.shared.exceptions.BusinessRuleException;
+
+/**
+ * The account was saved by another request after it was loaded; reload it and try again.
+ */
+public class AccountChangedConcurrentlyException extends BusinessRuleException {
+    public AccountChangedConcurrentlyException(String message) {
+        super(message);
+    }
+}
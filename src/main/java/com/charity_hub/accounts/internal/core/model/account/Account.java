@@ -25,6 +25,10 @@ public class Account extends AggregateRoot<AccountId> {
     private final Date joinedDate;
     private final List<Device> devices;
     private boolean blocked;
+    // Version of the stored state this account was loaded from, 0 until it is first saved
+    private long version;
+    // Created by newAccount and not stored yet
+    private boolean isNew;
 
     public Account(
             AccountId id,
@@ -35,6 +39,20 @@ public class Account extends AggregateRoot<AccountId> {
             PhotoUrl photoUrl,
             boolean blocked,
             Date joinedDate
+    ) {
+        this(id, mobileNumber, devices, permissions, fullName, photoUrl, blocked, joinedDate, 0);
+    }
+
+    public Account(
+            AccountId id,
+            MobileNumber mobileNumber,
+            List<Device> devices,
+            List<Permission> permissions,
+            FullName fullName,
+            PhotoUrl photoUrl,
+            boolean blocked,
+            Date joinedDate,
+            long version
     ) {
         super(id);
         this.mobileNumber = mobileNumber;
@@ -45,6 +63,7 @@ public class Account extends AggregateRoot<AccountId> {
         this.photoUrl = photoUrl;
         this.blocked = blocked;
         this.joinedDate = joinedDate != null ? joinedDate : new Date();
+        this.version = version;
     }
 
     public static Account newAccount(
@@ -68,6 +87,7 @@ public class Account extends AggregateRoot<AccountId> {
                 new Date()
         );
 
+        account.isNew = true;
         account.raiseEvent(AccountCreated.from(account));
         return account;
     }
@@ -93,9 +113,9 @@ public class Account extends AggregateRoot<AccountId> {
         return jwtGenerator.generateAccessToken(this, usedDevice);
     }
 
-    public void registerFCMToken(String deviceId, String fcmToken) {
+    public void registerFCMToken(String deviceId, String fcmToken, String language) {
         Device usedDevice = getDeviceOrThrow(deviceId);
-        usedDevice.updateFCMToken(fcmToken);
+        usedDevice.updateFCMToken(fcmToken, language);
         raiseEvent(FCMTokenUpdated.from(usedDevice));
     }
 
@@ -158,6 +178,18 @@ public class Account extends AggregateRoot<AccountId> {
         return device;
     }
 
+    /**
+     * Records the version the repository stored, so this instance can be saved again.
+     */
+    public void versionSaved(long version) {
+        this.version = version;
+        this.isNew = false;
+    }
+
+    public boolean isNew() {
+        return isNew;
+    }
+
     // Getters
     public List<Permission> getPermissions() {
         return Collections.unmodifiableList(permissions);
@@ -16,13 +16,16 @@ public class Device extends Entity<DeviceId> {
     private RefreshToken refreshToken;
     private FCMToken fcmToken;
     private Date lastAccessTime;
+    // ISO language code the app reported for this device, used to localize notifications
+    private String language;
 
     private Device(
             DeviceId deviceId,
             DeviceType deviceType,
             Date lastAccessTime,
             RefreshToken refreshToken,
-            FCMToken fcmToken
+            FCMToken fcmToken,
+            String language
     ) {
         super(deviceId);
         this.deviceId = deviceId;
@@ -30,6 +33,7 @@ public class Device extends Entity<DeviceId> {
         this.lastAccessTime = lastAccessTime;
         this.refreshToken = refreshToken;
         this.fcmToken = fcmToken;
+        this.language = language;
     }
 
     public static Device createNew(String aDeviceId, String aDeviceType, String aRefreshToken) {
@@ -46,6 +50,17 @@ public class Device extends Entity<DeviceId> {
             String aRefreshToken,
             String aFCMToken,
             Long aLastAccessTime
+    ) {
+        return create(aDeviceId, aDeviceType, aRefreshToken, aFCMToken, aLastAccessTime, null);
+    }
+
+    public static Device create(
+            String aDeviceId,
+            String aDeviceType,
+            String aRefreshToken,
+            String aFCMToken,
+            Long aLastAccessTime,
+            String aLanguage
     ) {
         DeviceType deviceType = DeviceType.create(aDeviceType);
         DeviceId deviceId = DeviceId.create(aDeviceId);
@@ -56,7 +71,7 @@ public class Device extends Entity<DeviceId> {
 
         Date lastAccessTime = aLastAccessTime != null ? new Date(aLastAccessTime) : new Date();
 
-        return new Device(deviceId, deviceType, lastAccessTime, refreshToken, fcmToken);
+        return new Device(deviceId, deviceType, lastAccessTime, refreshToken, fcmToken, aLanguage);
     }
 
     public static Device create(String aDeviceId, String aDeviceType, String aRefreshToken) {
@@ -76,8 +91,11 @@ public class Device extends Entity<DeviceId> {
         this.lastAccessTime = new Date();
     }
 
-    public void updateFCMToken(String fcmToken) {
+    public void updateFCMToken(String fcmToken, String language) {
         this.fcmToken = FCMToken.create(fcmToken);
+        if (language != null) {
+            this.language = language;
+        }
         this.lastAccessTime = new Date();
     }
 
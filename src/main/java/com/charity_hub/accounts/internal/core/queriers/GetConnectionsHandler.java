@@ -16,6 +16,6 @@ public class GetConnectionsHandler implements QueryHandler<GetConnectionsQuery,
 
     @Override
     public List<Account> handle(GetConnectionsQuery query) {
-        return accountReadRepo.getConnections(query.userId());
+        return accountReadRepo.getConnections(query.userId(), query.offset(), query.limit());
     }
 }
\ No newline at end of file
@@ -4,5 +4,10 @@ import com.charity_hub.shared.abstractions.Query;
 
 import java.util.UUID;
 
-public record GetConnectionsQuery(UUID userId) implements Query {
+public record GetConnectionsQuery(UUID userId, int offset, int limit) implements Query {
+    public static final int DEFAULT_LIMIT = 100;
+
+    public GetConnectionsQuery(UUID userId) {
+        this(userId, 0, DEFAULT_LIMIT);
+    }
 }
@@ -8,6 +8,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -23,8 +24,16 @@ public class GetConnectionsAdminController {
 
     @GetMapping("v1/accounts/{userId}/connections")
     @PreAuthorize("hasAnyAuthority('FULL_ACCESS')")
-    public ResponseEntity<GetConnectionResponse> handle(@PathVariable UUID userId) {
-        GetConnectionsQuery command = new GetConnectionsQuery(userId);
+    public ResponseEntity<GetConnectionResponse> handle(
+            @PathVariable UUID userId,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        GetConnectionsQuery command = new GetConnectionsQuery(
+                userId,
+                Math.max(offset, 0),
+                Math.min(Math.max(limit, 1), 100)
+        );
 
               List<Account> accountList =  getConnectionsHandler.handle(command);
 
@@ -5,6 +5,7 @@ import com.charity_hub.accounts.internal.core.queriers.GetConnectionResponse;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.charity_hub.accounts.internal.core.queriers.GetConnectionsQuery;
@@ -22,8 +23,16 @@ public class GetConnectionsController {
     }
 
     @GetMapping("/v1/accounts/connections")
-    public ResponseEntity<GetConnectionResponse> handle(@AuthenticationPrincipal AccessTokenPayload accessTokenPayload) {
-        GetConnectionsQuery command = new GetConnectionsQuery(accessTokenPayload.getUserId());
+    public ResponseEntity<GetConnectionResponse> handle(
+            @AuthenticationPrincipal AccessTokenPayload accessTokenPayload,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        GetConnectionsQuery command = new GetConnectionsQuery(
+                accessTokenPayload.getUserId(),
+                Math.max(offset, 0),
+                Math.min(Math.max(limit, 1), 100)
+        );
 
               List<Account> accountList =  getConnectionsHandler.handle(command);
 
@@ -0,0 +1,104 @@
+package com.charity_hub.accounts.internal.shell.api.controllers;
+
+import com.charity_hub.accounts.internal.core.commands.InviteAccounts.InviteAccounts;
+import com.charity_hub.accounts.internal.core.commands.InviteAccounts.InviteAccountsHandler;
+import com.charity_hub.accounts.internal.core.commands.InviteAccounts.InviteAccountsResponse;
+import com.charity_hub.shared.auth.AccessTokenPayload;
+import com.charity_hub.shared.exceptions.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+@RestController
+public class InviteUsersController {
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    private final InviteAccountsHandler inviteAccountsHandler;
+    private final ObjectMapper objectMapper;
+
+    public InviteUsersController(InviteAccountsHandler inviteAccountsHandler, ObjectMapper objectMapper) {
+        this.inviteAccountsHandler = inviteAccountsHandler;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Accepts either a JSON array of mobile numbers or a CSV body (mobile number in the
+     * first column, optional header). The body is read as a stream, never buffered whole.
+     * <p>
+     * A malformed body is rejected with 400, but chunks read before the malformed element have
+     * already been invited and stay invited; sending the list again reports them as
+     * ALREADY_INVITED.
+     */
+    @PostMapping(value = "/v1/accounts/invite/bulk", consumes = {"application/json", "text/csv"})
+    public ResponseEntity<InviteAccountsResponse> handle(
+            HttpServletRequest request,
+            @AuthenticationPrincipal AccessTokenPayload accessTokenPayload
+    ) throws IOException {
+        try {
+            Iterator<String> mobileNumbers = CSV.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                    ? csvMobileNumbers(request)
+                    : jsonMobileNumbers(objectMapper, request.getInputStream());
+            InviteAccounts command = new InviteAccounts(mobileNumbers, accessTokenPayload.getUserId());
+            return ResponseEntity.ok(inviteAccountsHandler.handle(command));
+        } catch (JsonProcessingException | UncheckedIOException e) {
+            throw invalidList(e);
+        }
+    }
+
+    /**
+     * Reads the elements of a JSON array one by one. A malformed element fails with
+     * BadRequestException wherever it is in the body; MappingIterator's own hasNext/next would wrap
+     * parse errors in a plain RuntimeException.
+     */
+    static Iterator<String> jsonMobileNumbers(ObjectMapper objectMapper, InputStream body) throws IOException {
+        MappingIterator<String> values = objectMapper.readerFor(String.class).readValues(body);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return values.hasNextValue();
+                } catch (IOException e) {
+                    throw invalidList(e);
+                }
+            }
+
+            @Override
+            public String next() {
+                try {
+                    return values.nextValue();
+                } catch (IOException e) {
+                    throw invalidList(e);
+                }
+            }
+        };
+    }
+
+    private static BadRequestException invalidList(Exception e) {
+        return new BadRequestException("Invalid invitation list: " + e.getMessage());
+    }
+
+    private Iterator<String> csvMobileNumbers(HttpServletRequest request) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+        return reader.lines()
+                .map(line -> {
+                    int comma = line.indexOf(',');
+                    return (comma < 0 ? line : line.substring(0, comma)).replace("\"", "").trim();
+                })
+                .filter(value -> !value.isEmpty() && !value.equalsIgnoreCase("mobileNumber"))
+                .iterator();
+    }
+}
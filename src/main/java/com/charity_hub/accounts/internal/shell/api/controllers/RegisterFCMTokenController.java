@@ -4,13 +4,18 @@ import com.charity_hub.accounts.internal.core.commands.RegisterNotificationToken
 import com.charity_hub.accounts.internal.core.commands.RegisterNotificationToken.RegisterNotificationTokenHandler;
 import com.charity_hub.accounts.internal.shell.api.dtos.RegisterFCMTokenRequest;
 import com.charity_hub.shared.auth.AccessTokenPayload;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+import java.util.Locale;
+
 @RestController
 public class RegisterFCMTokenController {
     private final RegisterNotificationTokenHandler registerNotificationTokenHandler;
@@ -20,15 +25,35 @@ public class RegisterFCMTokenController {
     }
 
     @PostMapping("/v1/accounts/register-fcm-token")
-    public ResponseEntity<Void> handle(@RequestBody RegisterFCMTokenRequest request, @AuthenticationPrincipal AccessTokenPayload accessTokenPayload) {
+    public ResponseEntity<Void> handle(
+            @RequestBody RegisterFCMTokenRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String acceptLanguage,
+            @AuthenticationPrincipal AccessTokenPayload accessTokenPayload) {
 
         RegisterNotificationToken command =
                 new RegisterNotificationToken(request.fcmToken(),
                         accessTokenPayload.getDeviceId(),
-                        accessTokenPayload.getUserId());
+                        accessTokenPayload.getUserId(),
+                        preferredLanguage(acceptLanguage));
 
                 registerNotificationTokenHandler.handle(command);
 
                 return ResponseEntity.status(HttpStatus.CREATED).build();
     }
+
+    private static String preferredLanguage(String acceptLanguage) {
+        if (acceptLanguage == null || acceptLanguage.isBlank()) {
+            return null;
+        }
+        try {
+            List<Locale.LanguageRange> ranges = Locale.LanguageRange.parse(acceptLanguage);
+            if (ranges.isEmpty() || ranges.get(0).getRange().equals("*")) {
+                return null;
+            }
+            String language = Locale.forLanguageTag(ranges.get(0).getRange()).getLanguage();
+            return language.isEmpty() ? null : language;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
 }
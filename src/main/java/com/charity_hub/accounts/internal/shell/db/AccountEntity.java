@@ -1,11 +1,14 @@
 package com.charity_hub.accounts.internal.shell.db;
 
+import com.charity_hub.codegen.GenerateBsonCodec;
 import org.springframework.data.annotation.Id;
 
 import java.util.List;
 
+@GenerateBsonCodec
 public record AccountEntity(@Id String accountId, String mobileNumber, String fullName, String photoUrl,
                             boolean blocked,
-                            long joinedDate, long lastUpdated, List<String> permissions, List<DeviceEntity> devices) {
+                            long joinedDate, long lastUpdated, List<String> permissions, List<DeviceEntity> devices,
+                            long version) {
 
 }
\ No newline at end of file
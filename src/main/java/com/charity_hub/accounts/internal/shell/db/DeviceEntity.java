@@ -1,9 +1,12 @@
 package com.charity_hub.accounts.internal.shell.db;
 
+import com.charity_hub.codegen.GenerateBsonCodec;
 
+@GenerateBsonCodec
 public record DeviceEntity(String deviceId,
                            String deviceType,
                            String refreshToken,
                            String fcmToken,
-                           long lastAccessTime) {
+                           long lastAccessTime,
+                           String language) {
 }
\ No newline at end of file
@@ -1,4 +1,7 @@
 package com.charity_hub.accounts.internal.shell.db;
 
+import com.charity_hub.codegen.GenerateBsonCodec;
+
+@GenerateBsonCodec
 public record InvitationEntity(String mobileNumber, String inviterId) {
 }
\ No newline at end of file
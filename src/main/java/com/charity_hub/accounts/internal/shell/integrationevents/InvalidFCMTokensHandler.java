@@ -0,0 +1,35 @@
+package com.charity_hub.accounts.internal.shell.integrationevents;
+
+import com.charity_hub.accounts.internal.core.contracts.IAccountRepo;
+import com.charity_hub.notifications.InvalidFCMTokensDTO;
+import com.charity_hub.shared.domain.IEventBus;
+import com.charity_hub.shared.domain.ILogger;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+/**
+ * Clears device tokens that Firebase reported as unregistered or invalid,
+ * so later fan-outs stop targeting them.
+ */
+@Component
+public class InvalidFCMTokensHandler {
+    private final IEventBus eventBus;
+    private final ILogger logger;
+    private final IAccountRepo accountRepo;
+
+    public InvalidFCMTokensHandler(IEventBus eventBus, ILogger logger, IAccountRepo accountRepo) {
+        this.eventBus = eventBus;
+        this.logger = logger;
+        this.accountRepo = accountRepo;
+    }
+
+    @PostConstruct
+    public void start() {
+        eventBus.subscribe(this, InvalidFCMTokensDTO.class, this::handle);
+    }
+
+    void handle(InvalidFCMTokensDTO event) {
+        long removed = accountRepo.removeFCMTokens(event.tokens());
+        logger.info("Removed {} invalid FCM tokens from account devices ({} reported)", removed, event.tokens().size());
+    }
+}
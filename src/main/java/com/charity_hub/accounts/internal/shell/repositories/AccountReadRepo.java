@@ -2,37 +2,58 @@ package com.charity_hub.accounts.internal.shell.repositories;
 
 import com.charity_hub.accounts.internal.core.contracts.IAccountReadRepo;
 import com.charity_hub.accounts.internal.core.queriers.Account;
-import com.charity_hub.accounts.internal.shell.db.AccountEntity;
 import com.charity_hub.accounts.internal.shell.repositories.mappers.AccountReadMapper;
+import com.charity_hub.accounts.shared.ILedgerGateway;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
-import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
 
 @Repository
 public class AccountReadRepo implements IAccountReadRepo {
+    private static final Logger logger = LoggerFactory.getLogger(AccountReadRepo.class);
 
     private static final String ACCOUNTS_COLLECTION = "accounts";
 
-    private final MongoCollection<AccountEntity> collection;
+    private static final Bson ACCOUNT_PROJECTION = Projections.include("accountId", "fullName", "photoUrl", "permissions");
+
+    private final MongoCollection<Document> collection;
+    private final ILedgerGateway ledgerGateway;
     private final AccountReadMapper accountReadMapper;
 
     public AccountReadRepo(
             MongoDatabase mongoDatabase,
+            ILedgerGateway ledgerGateway,
             AccountReadMapper accountReadMapper
     ) {
-        this.collection = mongoDatabase.getCollection(ACCOUNTS_COLLECTION, AccountEntity.class);
+        this.collection = mongoDatabase.getCollection(ACCOUNTS_COLLECTION);
+        this.ledgerGateway = ledgerGateway;
         this.accountReadMapper = accountReadMapper;
     }
 
     @Override
-    public List<Account> getConnections(UUID id) {
-        return collection.find(eq("connections.userId", id.toString()))
+    public List<Account> getConnections(UUID id, int offset, int limit) {
+        List<String> children = ledgerGateway.getChildren(id).stream().map(UUID::toString).toList();
+        if (children.isEmpty()) {
+            return new ArrayList<>();
+        }
+        logger.debug("Fetching {} connections for account: {}", children.size(), id);
+        return collection.find(in("accountId", children))
+                .projection(ACCOUNT_PROJECTION)
+                .sort(Sorts.ascending("fullName", "accountId"))
+                .skip(offset)
+                .limit(limit)
                 .map(accountReadMapper::toQueryModel)
                 .into(new ArrayList<>());
     }
@@ -2,15 +2,24 @@ package com.charity_hub.accounts.internal.shell.repositories;
 
 import com.charity_hub.accounts.internal.core.contracts.IAccountRepo;
 import com.charity_hub.accounts.internal.core.events.AccountEvent;
+import com.charity_hub.accounts.internal.core.exceptions.AccountChangedConcurrentlyException;
 import com.charity_hub.accounts.internal.core.model.account.Account;
 import com.charity_hub.accounts.internal.shell.repositories.mappers.AccountEventsMapper;
 import com.charity_hub.accounts.internal.shell.repositories.mappers.DomainAccountMapper;
 import com.charity_hub.accounts.internal.shell.db.AccountEntity;
 import com.charity_hub.accounts.internal.shell.db.RevokedAccountEntity;
-import com.charity_hub.shared.domain.IEventBus;
+import com.charity_hub.accounts.shared.AccountEventDto;
+import com.charity_hub.accounts.shared.ILedgerGateway;
+import com.charity_hub.shared.infrastructure.MongoIndexes;
+import com.charity_hub.shared.infrastructure.outbox.EventOutbox;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
-import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.conversions.Bson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -28,20 +37,26 @@ public class AccountRepo implements IAccountRepo {
 
     private final MongoCollection<AccountEntity> collection;
     private final MongoCollection<RevokedAccountEntity> revokedCollection;
+    private final ILedgerGateway ledgerGateway;
     private final List<String> admins;
-    private final IEventBus eventBus;
+    private final EventOutbox eventOutbox;
     private final DomainAccountMapper domainAccountMapper;
 
     public AccountRepo(
             @Value("${accounts.admins}") List<String> admins,
             MongoDatabase mongoDatabase,
-            IEventBus eventBus,
+            MongoIndexes indexes,
+            ILedgerGateway ledgerGateway,
+            EventOutbox eventOutbox,
             DomainAccountMapper domainAccountMapper
     ) {
         this.admins = admins;
         this.collection = mongoDatabase.getCollection(ACCOUNTS_COLLECTION, AccountEntity.class);
+        this.ledgerGateway = ledgerGateway;
+        // Unique so that an account can't be inserted twice
+        indexes.ensure(collection, Indexes.ascending("accountId"), new IndexOptions().unique(true));
         this.revokedCollection = mongoDatabase.getCollection(REVOKED_ACCOUNT_COLLECTION, RevokedAccountEntity.class);
-        this.eventBus = eventBus;
+        this.eventOutbox = eventOutbox;
         this.domainAccountMapper = domainAccountMapper;
     }
 
@@ -55,7 +70,11 @@ public class AccountRepo implements IAccountRepo {
     @Override
     public List<Account> getConnections(UUID id) {
         logger.debug("Fetching connections for account: {}", id);
-        return collection.find(eq("connections.userId", id.toString()))
+        List<String> children = ledgerGateway.getChildren(id).stream().map(UUID::toString).toList();
+        if (children.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return collection.find(in("accountId", children))
                 .map(domainAccountMapper::toDomain)
                 .into(new ArrayList<>());
     }
@@ -67,19 +86,45 @@ public class AccountRepo implements IAccountRepo {
                 .map(domainAccountMapper::toDomain);
     }
 
+    /**
+     * Inserts new accounts. Others replace the stored account only if it is still at the version
+     * the account was loaded from, so a concurrent save isn't undone by a stale copy; throws
+     * {@link AccountChangedConcurrentlyException} when it was saved in the meantime.
+     */
     @Override
     public void save(Account account) {
         logger.debug("Saving account: {}", account.getId().value());
+        long loadedVersion = account.getVersion();
         AccountEntity entity = domainAccountMapper.toDB(account);
-        collection.replaceOne(
-                eq("accountId", entity.accountId()),
-                entity,
-                new ReplaceOptions().upsert(true)
-        );
-        logger.info("Account saved successfully: {}", account.getId().value());
-        account.occurredEvents().stream()
+        List<AccountEventDto> events = account.occurredEvents().stream()
                 .map(event -> AccountEventsMapper.map((AccountEvent) event))
-                .forEach(eventBus::push);
+                .toList();
+        eventOutbox.write(session -> {
+            if (account.isNew()) {
+                collection.insertOne(session, entity);
+                return;
+            }
+            UpdateResult result = collection.replaceOne(
+                    session,
+                    and(eq("accountId", entity.accountId()), versionIs(loadedVersion)),
+                    entity
+            );
+            if (result.getMatchedCount() == 0) {
+                throw concurrentlyChanged(entity.accountId());
+            }
+        }, events);
+        account.versionSaved(entity.version());
+        logger.debug("Account saved successfully: {}", account.getId().value());
+    }
+
+    private static Bson versionIs(long version) {
+        // Accounts stored before versioning have no version field
+        return version == 0 ? or(eq("version", 0L), exists("version", false)) : eq("version", version);
+    }
+
+    private static AccountChangedConcurrentlyException concurrentlyChanged(String accountId) {
+        logger.warn("Account {} was changed concurrently, not saving a stale copy", accountId);
+        return new AccountChangedConcurrentlyException("The account was changed by another request, please retry");
     }
 
     @Override
@@ -112,4 +157,19 @@ public class AccountRepo implements IAccountRepo {
         }
         return isRevoked;
     }
-}
\ No newline at end of file
+
+    @Override
+    public long removeFCMTokens(List<String> tokens) {
+        if (tokens.isEmpty()) {
+            return 0;
+        }
+        logger.debug("Removing {} FCM tokens from account devices", tokens.size());
+        // Leaves the version alone so saves racing it don't fail; a copy loaded before this may
+        // write a token back, and the next send to it removes it again
+        return collection.updateMany(
+                in("devices.fcmToken", tokens),
+                Updates.set("devices.$[device].fcmToken", null),
+                new UpdateOptions().arrayFilters(List.of(in("device.fcmToken", tokens)))
+        ).getModifiedCount();
+    }
+}
@@ -4,18 +4,29 @@ import com.charity_hub.accounts.internal.core.contracts.IInvitationRepo;
 import com.charity_hub.accounts.internal.core.model.invitation.Invitation;
 import com.charity_hub.accounts.internal.shell.repositories.mappers.InvitationMapper;
 import com.charity_hub.accounts.internal.shell.db.InvitationEntity;
+import com.charity_hub.shared.infrastructure.MongoIndexes;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.ReplaceOneModel;
 import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Projections;
+import org.bson.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
 
 @Repository
 public class InvitationRepo implements IInvitationRepo {
@@ -25,9 +36,11 @@ public class InvitationRepo implements IInvitationRepo {
     private final MongoCollection<InvitationEntity> collection;
     private final InvitationMapper invitationMapper;
 
-    public InvitationRepo(MongoDatabase mongoDatabase, InvitationMapper invitationMapper) {
+    public InvitationRepo(MongoDatabase mongoDatabase, InvitationMapper invitationMapper, MongoIndexes indexes) {
         this.collection = mongoDatabase.getCollection(COLLECTION, InvitationEntity.class);
         this.invitationMapper = invitationMapper;
+        // Invitations are upserted by mobile number; unique so concurrent imports can't duplicate one
+        indexes.ensure(collection, Indexes.ascending("mobileNumber"), new IndexOptions().unique(true));
     }
 
     @Override
@@ -35,7 +48,7 @@ public class InvitationRepo implements IInvitationRepo {
         logger.info("Saving invitation for mobile: {}", invitation.invitedMobileNumber().value());
         InvitationEntity entity = invitationMapper.toEntity(invitation);
         collection.replaceOne(
-                eq("inviterId", entity.inviterId()),
+                eq("mobileNumber", entity.mobileNumber()),
                 entity,
                 new ReplaceOptions().upsert(true)
         );
@@ -62,6 +75,38 @@ public class InvitationRepo implements IInvitationRepo {
         return exists;
     }
 
+    @Override
+    public Set<String> findInvited(Collection<String> mobileNumbers) {
+        if (mobileNumbers.isEmpty()) {
+            return Set.of();
+        }
+        logger.debug("Checking {} mobile numbers for existing invitations", mobileNumbers.size());
+        Set<String> invited = new HashSet<>();
+        collection.withDocumentClass(Document.class)
+                .find(in("mobileNumber", mobileNumbers))
+                .projection(Projections.include("mobileNumber"))
+                .forEach(document -> invited.add(document.getString("mobileNumber")));
+        return invited;
+    }
+
+    @Override
+    public void saveAll(List<Invitation> invitations) {
+        if (invitations.isEmpty()) {
+            return;
+        }
+        logger.info("Saving {} invitations", invitations.size());
+        List<ReplaceOneModel<InvitationEntity>> models = invitations.stream()
+                .map(invitationMapper::toEntity)
+                .map(entity -> new ReplaceOneModel<>(
+                        eq("mobileNumber", entity.mobileNumber()),
+                        entity,
+                        new ReplaceOptions().upsert(true)
+                ))
+                .toList();
+        collection.bulkWrite(models, new BulkWriteOptions().ordered(false));
+        logger.debug("Saved {} invitations", invitations.size());
+    }
+
     public List<InvitationEntity> getAll() {
         logger.debug("Retrieving all invitations");
         List<InvitationEntity> invitations = collection.find().into(new ArrayList<>());
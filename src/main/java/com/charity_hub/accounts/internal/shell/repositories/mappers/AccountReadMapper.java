@@ -1,17 +1,22 @@
 package com.charity_hub.accounts.internal.shell.repositories.mappers;
 
 import com.charity_hub.accounts.internal.core.queriers.Account;
-import com.charity_hub.accounts.internal.shell.db.AccountEntity;
+import org.bson.Document;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class AccountReadMapper {
-    public Account toQueryModel(AccountEntity entity) {
+    // Reads projected documents, only the query model fields are fetched
+    public Account toQueryModel(Document document) {
+        List<String> permissions = document.getList("permissions", String.class);
+        String fullName = document.getString("fullName");
         return new Account(
-                entity.accountId(),
-                entity.fullName() != null ? entity.fullName() : "Unknown",
-                entity.photoUrl(),
-                entity.permissions()
+                document.getString("accountId"),
+                fullName != null ? fullName : "Unknown",
+                document.getString("photoUrl"),
+                permissions != null ? permissions : List.of()
         );
     }
 }
@@ -30,7 +30,8 @@ public class DomainAccountMapper {
                     entity.photoUrl() != null ?
                             PhotoUrl.create(entity.photoUrl()) : null,
                     entity.blocked(),
-                    new Date(entity.joinedDate())
+                    new Date(entity.joinedDate()),
+                    entity.version()
             );
         } catch (Exception exc) {
             throw new RuntimeException("Could not map identity from the database - " + exc.getMessage());
@@ -43,7 +44,8 @@ public class DomainAccountMapper {
                 entity.deviceType(),
                 entity.refreshToken(),
                 entity.fcmToken(),
-                entity.lastAccessTime()
+                entity.lastAccessTime(),
+                entity.language()
         );
     }
 
@@ -61,7 +63,9 @@ public class DomainAccountMapper {
                         .collect(Collectors.toList()),
                 domain.getDevices().stream()
                         .map(this::toDeviceEntity)
-                        .collect(Collectors.toList())
+                        .collect(Collectors.toList()),
+                // The version this save writes
+                domain.getVersion() + 1
         );
     }
 
@@ -71,7 +75,8 @@ public class DomainAccountMapper {
                 domain.getDeviceType().value(),
                 domain.getRefreshToken() != null ? domain.getRefreshToken().getValue() : null,
                 domain.getFcmToken() != null ? domain.getFcmToken().getValue() : null,
-                domain.getLastAccessTime().getTime()
+                domain.getLastAccessTime().getTime(),
+                domain.getLanguage()
         );
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.charity_hub.accounts.internal.shell.services.firebase;
 
 import com.charity_hub.accounts.internal.core.contracts.IAuthProvider;
 import com.charity_hub.shared.exceptions.UnAuthorized;
+import com.charity_hub.shared.infrastructure.firebase.LazyFirebaseApp;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseAuthException;
 import com.google.firebase.auth.FirebaseToken;
@@ -14,18 +15,18 @@ import org.springframework.stereotype.Component;
 @ConditionalOnProperty(name = "firebase.test-mode", havingValue = "false", matchIfMissing = true)
 public class FirebaseAuthProvider implements IAuthProvider {
 
-    private final FirebaseAuth firebaseAuth;
+    private final LazyFirebaseApp firebaseApp;
     protected final Logger log = LoggerFactory.getLogger(this.getClass().getSimpleName());
 
-    public FirebaseAuthProvider(FirebaseAuth firebaseAuth) {
-        this.firebaseAuth = firebaseAuth;
+    public FirebaseAuthProvider(LazyFirebaseApp firebaseApp) {
+        this.firebaseApp = firebaseApp;
     }
 
     @Override
     public String getVerifiedMobileNumber(String idToken) {
         try {
             var firebaseToken = verify(idToken);
-            var userRecord = firebaseAuth.getUser(firebaseToken.getUid());
+            var userRecord = firebaseAuth().getUser(firebaseToken.getUid());
             if (userRecord.getPhoneNumber() != null) {
                 return userRecord.getPhoneNumber().replace("+", "");
             } else {
@@ -39,10 +40,15 @@ public class FirebaseAuthProvider implements IAuthProvider {
 
     private FirebaseToken verify(String idToken) {
         try {
-            return firebaseAuth.verifyIdToken(idToken);
+            return firebaseAuth().verifyIdToken(idToken);
         } catch (Exception authError) {
             log.error("Failed to verify Id token: {}", idToken, authError);
             throw new UnAuthorized();
         }
     }
-}
\ No newline at end of file
+
+    // Looked up per call: the instance is cached by the app, which is created on first sign-in
+    private FirebaseAuth firebaseAuth() {
+        return FirebaseAuth.getInstance(firebaseApp.get());
+    }
+}
@@ -17,12 +17,11 @@ import java.util.Map;
 public class JwtGenerator implements IJWTGenerator {
 
     private final TokenMapper tokenMapper;
-    
-    @Value("${auth.secretKey}")
-    private String secretKey;
+    private final String secretKey;
 
-    public JwtGenerator(TokenMapper tokenMapper) {
+    public JwtGenerator(TokenMapper tokenMapper, @Value("${auth.secretKey}") String secretKey) {
         this.tokenMapper = tokenMapper;
+        this.secretKey = secretKey;
     }
 
     @Override
@@ -6,5 +6,6 @@ public record AccountDTO(String id,
                          String mobileNumber,
                          String fullName,
                          String photoUrl,
-                         List<String> devicesTokens) {
+                         List<String> devicesTokens,
+                         String language) {
 }
\ No newline at end of file
@@ -4,6 +4,8 @@ import com.charity_hub.accounts.internal.shell.db.AccountEntity;
 import com.charity_hub.accounts.internal.shell.db.DeviceEntity;
 import org.springframework.stereotype.Component;
 
+import java.util.Comparator;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Component
@@ -15,7 +17,16 @@ public class DTOAccountMapper {
                 entity.mobileNumber(),
                 entity.fullName() != null ? entity.fullName() : "بدون إسم",
                 entity.photoUrl() != null ? entity.photoUrl() : "",
-                entity.devices().stream().map(DeviceEntity::fcmToken).collect(Collectors.toList())
+                entity.devices().stream()
+                        .map(DeviceEntity::fcmToken)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()),
+                // The device used most recently decides the language of notifications
+                entity.devices().stream()
+                        .filter(device -> device.language() != null)
+                        .max(Comparator.comparingLong(DeviceEntity::lastAccessTime))
+                        .map(DeviceEntity::language)
+                        .orElse(null)
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.charity_hub.accounts.shared;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The member network accounts reads from the ledger module, which owns it. Implemented by the
+ * ledger module so the dependency between the two modules stays one way.
+ */
+public interface ILedgerGateway {
+    /**
+     * Ids of the members the account invited.
+     */
+    List<UUID> getChildren(UUID memberId);
+}
@@ -2,24 +2,34 @@ package com.charity_hub.cases.internal.api.controllers;
 
 import com.charity_hub.cases.internal.api.dtos.GetCasesRequest;
 import com.charity_hub.cases.internal.application.queries.GetAllCases.GetAllCasesQuery;
-import com.charity_hub.cases.internal.application.queries.GetAllCases.GetCasesQueryResult;
+import com.charity_hub.cases.internal.infrastructure.queryhandlers.CaseListJsonWriter;
 import com.charity_hub.cases.internal.infrastructure.queryhandlers.GetAllCasesHandler;
-import org.springframework.http.ResponseEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.util.Optional;
+
 @RestController
 public class GetAllCasesController {
 
     private final GetAllCasesHandler getAllCasesHandler;
+    private final Optional<CaseListJsonWriter> caseListWriter;
+    private final ObjectMapper mapper;
 
-    public GetAllCasesController(GetAllCasesHandler getAllCasesHandler) {
+    public GetAllCasesController(GetAllCasesHandler getAllCasesHandler, Optional<CaseListJsonWriter> caseListWriter,
+                                 ObjectMapper mapper) {
         this.getAllCasesHandler = getAllCasesHandler;
+        this.caseListWriter = caseListWriter;
+        this.mapper = mapper;
     }
 
     @GetMapping("/v1/cases")
-    public ResponseEntity<GetCasesQueryResult> getCases(@ModelAttribute GetCasesRequest request) {
+    public void getCases(@ModelAttribute GetCasesRequest request, HttpServletResponse response) throws IOException {
         GetAllCasesQuery query = new GetAllCasesQuery(
                 request.code(),
                 request.tag(),
@@ -27,7 +37,13 @@ public class GetAllCasesController {
                 Math.max(request.offset(), 0),
                 Math.min(Math.max(request.limit(), 1), 100)
         );
+        if (caseListWriter.isPresent()) {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            caseListWriter.get().writeCases(query, response.getOutputStream());
+            return;
+        }
         var result = getAllCasesHandler.handle(query);
-        return ResponseEntity.ok(result);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        mapper.writeValue(response.getOutputStream(), result);
     }
 }
\ No newline at end of file
@@ -2,24 +2,40 @@ package com.charity_hub.cases.internal.api.controllers;
 
 import com.charity_hub.cases.internal.application.queries.GetDraftCases.GetDraftCases;
 import com.charity_hub.cases.internal.application.queries.GetDraftCases.GetDraftCasesHandler;
-import com.charity_hub.cases.internal.application.queries.GetDraftCases.GetDraftCasesResponse;
-import org.springframework.http.ResponseEntity;
+import com.charity_hub.cases.internal.infrastructure.queryhandlers.CaseListJsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.util.Optional;
+
 
 @RestController
 public class GetDraftCasesController {
 
     private final GetDraftCasesHandler getDraftCasesHandler;
+    private final Optional<CaseListJsonWriter> caseListWriter;
+    private final ObjectMapper mapper;
 
-    public GetDraftCasesController(GetDraftCasesHandler getDraftCasesHandler) {
+    public GetDraftCasesController(GetDraftCasesHandler getDraftCasesHandler, Optional<CaseListJsonWriter> caseListWriter,
+                                   ObjectMapper mapper) {
         this.getDraftCasesHandler = getDraftCasesHandler;
+        this.caseListWriter = caseListWriter;
+        this.mapper = mapper;
     }
 
     @GetMapping("/v1/draft-cases")
-    public ResponseEntity<GetDraftCasesResponse> handle() {
+    public void handle(HttpServletResponse servletResponse) throws IOException {
+        if (caseListWriter.isPresent()) {
+            servletResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            caseListWriter.get().writeDraftCases(servletResponse.getOutputStream());
+            return;
+        }
         var response = getDraftCasesHandler.handle(new GetDraftCases());
-        return ResponseEntity.ok(response);
+        servletResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        mapper.writeValue(servletResponse.getOutputStream(), response);
     }
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.charity_hub.cases.internal.application.contracts;
 
 import com.charity_hub.cases.internal.infrastructure.db.CaseEntity;
 import com.charity_hub.cases.internal.infrastructure.db.ContributionEntity;
+import com.mongodb.client.MongoIterable;
+import org.bson.RawBsonDocument;
 import org.bson.conversions.Bson;
 
 import java.util.List;
@@ -26,4 +28,16 @@ public interface ICaseReadRepo {
     List<ContributionEntity> getContributions(UUID contributorId);
 
     List<CaseEntity> getDraftCases();
+
+    /**
+     * Same query as {@link #search}, returning raw documents limited to {@code projection}.
+     */
+    MongoIterable<RawBsonDocument> searchRaw(int offset, int limit, Supplier<Bson> filter, Bson projection);
+
+    MongoIterable<RawBsonDocument> getDraftCasesRaw(Bson projection);
+
+    /**
+     * The contributor's contributions, by status, each with the title of its case as {@code caseTitle}.
+     */
+    MongoIterable<RawBsonDocument> getContributionsWithCaseTitlesRaw(UUID contributorId);
 }
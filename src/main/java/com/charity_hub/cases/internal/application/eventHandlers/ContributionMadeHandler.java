@@ -33,6 +33,8 @@ public class ContributionMadeHandler {
             logger.notificationSent(contribution.caseCode(), contribution.amount());
         } catch (Exception e) {
             logger.notificationFailed(contribution.caseCode(), contribution.amount(), e);
+            // Leaves the publication incomplete so the outbox delivers the contribution again
+            throw e;
         }
     }
 } 
\ No newline at end of file
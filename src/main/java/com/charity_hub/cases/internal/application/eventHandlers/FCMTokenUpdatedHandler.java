@@ -35,7 +35,7 @@ public class FCMTokenUpdatedHandler {
         
         try {
             notificationService.subscribeAccountToCaseUpdates(event.deviceFCMToken());
-            logger.tokenSubscribed(event.deviceFCMToken());
+            logger.tokenQueued(event.deviceFCMToken());
         } catch (Exception e) {
             logger.tokenSubscriptionFailed(event.deviceFCMToken(), e);
         }
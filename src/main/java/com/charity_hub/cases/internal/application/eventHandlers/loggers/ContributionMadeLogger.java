@@ -6,10 +6,15 @@ import org.springframework.stereotype.Component;
 
 @Component
 public class ContributionMadeLogger {
+    // Written once per event, so a burst of contributions does not flood the log
+    private static final int MESSAGES_PER_SECOND = 20;
+
     private final ILogger logger;
+    private final ILogger perEvent;
 
     public ContributionMadeLogger(ILogger logger) {
         this.logger = logger;
+        this.perEvent = logger.rateLimited(MESSAGES_PER_SECOND);
     }
 
     public void handlerRegistered() {
@@ -17,12 +22,12 @@ public class ContributionMadeLogger {
     }
 
     public void processingEvent(ContributionMadeDTO contribution) {
-        logger.info("Processing ContributionMadeEvent - Case Code: {}, Amount: {}", 
+        perEvent.info("Processing ContributionMadeEvent - Case Code: {}, Amount: {}", 
             contribution.caseCode(), contribution.amount());
     }
 
     public void notificationSent(int caseCode, int amount) {
-        logger.info("Successfully sent notification for contribution - Case Code: {}, Amount: {}", 
+        perEvent.info("Successfully sent notification for contribution - Case Code: {}, Amount: {}", 
             caseCode, amount);
     }
 
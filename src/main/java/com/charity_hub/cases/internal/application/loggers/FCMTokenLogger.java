@@ -5,10 +5,15 @@ import org.springframework.stereotype.Component;
 
 @Component
 public class FCMTokenLogger {
+    // Every sign-in and token refresh goes through here
+    private static final int MESSAGES_PER_SECOND = 20;
+
     private final ILogger logger;
+    private final ILogger perEvent;
 
     public FCMTokenLogger(ILogger logger) {
         this.logger = logger;
+        this.perEvent = logger.rateLimited(MESSAGES_PER_SECOND);
     }
 
     public void handlerRegistered() {
@@ -16,11 +21,11 @@ public class FCMTokenLogger {
     }
 
     public void processingToken(String token) {
-        logger.info("Processing FCM token update: {}", maskToken(token));
+        perEvent.info("Processing FCM token update: {}", maskToken(token));
     }
 
-    public void tokenSubscribed(String token) {
-        logger.info("Successfully subscribed FCM token to case updates: {}", maskToken(token));
+    public void tokenQueued(String token) {
+        perEvent.info("Queued FCM token for case updates subscription: {}", maskToken(token));
     }
 
     public void tokenSubscriptionFailed(String token, Exception e) {
@@ -5,17 +5,26 @@ import com.charity_hub.cases.internal.domain.model.Contribution.Contribution;
 import com.charity_hub.cases.internal.domain.model.Contribution.ContributionId;
 import com.charity_hub.cases.internal.domain.model.Contribution.MoneyValue;
 
+import java.util.Date;
 import java.util.UUID;
 
+/**
+ * @param caseTitle          title of the case at the time of the contribution
+ * @param contributionsCount contributions on the case including this one
+ */
 public record ContributionMade(ContributionId id, UUID contributorId, CaseCode caseCode,
-                               MoneyValue moneyValue) implements CaseEvent {
+                               MoneyValue moneyValue, Date contributionDate, String caseTitle,
+                               int contributionsCount) implements CaseEvent {
 
-    public static ContributionMade from(Contribution contribution) {
+    public static ContributionMade from(Contribution contribution, String caseTitle, int contributionsCount) {
         return new ContributionMade(
                 contribution.getId(),
                 contribution.getContributorId(),
                 contribution.getCaseId(),
-                contribution.getMoneyValue()
+                contribution.getMoneyValue(),
+                contribution.getContributionDate(),
+                caseTitle,
+                contributionsCount
         );
     }
 }
\ No newline at end of file
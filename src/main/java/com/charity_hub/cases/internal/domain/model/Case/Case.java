@@ -110,7 +110,7 @@ public class Case extends AggregateRoot<CaseCode> {
 
         var contribution = contributions.newContribution(contributorId, amount, caseCode);
 
-        raiseEvent(ContributionMade.from(contribution));
+        raiseEvent(ContributionMade.from(contribution, getTitle(), numberOfContributions()));
         return contribution;
     }
 
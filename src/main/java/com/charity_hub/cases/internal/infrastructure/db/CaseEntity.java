@@ -1,11 +1,13 @@
 package com.charity_hub.cases.internal.infrastructure.db;
 
 import com.charity_hub.cases.internal.application.queries.GetAllCases.GetCasesQueryResult;
+import com.charity_hub.codegen.GenerateBsonCodec;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+@GenerateBsonCodec
 public record CaseEntity(
         int code,
         String title,
@@ -54,7 +56,7 @@ public record CaseEntity(
         );
     }
 
-    private static String mapStatus(int status) {
+    public static String mapStatus(int status) {
         return switch (status) {
             case CaseEntity.STATUS_DRAFT -> "DRAFT";
             case CaseEntity.STATUS_OPENED -> "OPENED";
@@ -1,5 +1,8 @@
 package com.charity_hub.cases.internal.infrastructure.db;
 
+import com.charity_hub.codegen.GenerateBsonCodec;
+
+@GenerateBsonCodec
 public record ContributionEntity(String _id, String contributorId, int caseCode, int amount, int status,
                                  long contributionDate, String paymentProof) {
     public static final int STATUS_PLEDGED = 1;
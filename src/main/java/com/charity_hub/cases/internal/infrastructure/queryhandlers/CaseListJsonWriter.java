@@ -0,0 +1,119 @@
+package com.charity_hub.cases.internal.infrastructure.queryhandlers;
+
+import com.charity_hub.cases.internal.application.contracts.ICaseReadRepo;
+import com.charity_hub.cases.internal.application.queries.GetAllCases.GetAllCasesQuery;
+import com.charity_hub.cases.internal.infrastructure.db.CaseEntity;
+import com.charity_hub.shared.infrastructure.SingleFlight;
+import com.charity_hub.shared.infrastructure.invalidation.CacheInvalidation;
+import com.charity_hub.shared.infrastructure.json.BsonJsonProjection;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoCursor;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Streams case listings from raw Mongo documents straight into the response, in the same shape as
+ * {@code GetCasesQueryResult} and {@code GetDraftCasesResponse}. Disabled with
+ * {@code api.streaming-lists=false}, in which case controllers go through the query handlers.
+ */
+@Component
+@ConditionalOnProperty(name = "api.streaming-lists", havingValue = "true", matchIfMissing = true)
+public class CaseListJsonWriter {
+    private static final BsonJsonProjection CASE = BsonJsonProjection.builder()
+            .field("code")
+            .field("title")
+            .field("description")
+            .field("goal")
+            .field("collected")
+            .field("acceptZakat")
+            .labeled("status", "status", CaseEntity::mapStatus)
+            .field("creationDate")
+            .field("lastUpdated")
+            .array("documents")
+            .build();
+
+    private static final BsonJsonProjection DRAFT_CASE = BsonJsonProjection.builder()
+            .field("code")
+            .field("title")
+            .field("description")
+            .field("goal")
+            .field("creationDate")
+            .field("lastUpdated")
+            .array("documents")
+            .build();
+
+    private final ICaseReadRepo caseRepo;
+    private final JsonFactory jsonFactory;
+    private final SingleFlight<GetAllCasesQuery, CasesPage> pages;
+
+    public CaseListJsonWriter(
+            ICaseReadRepo caseRepo,
+            ObjectMapper mapper,
+            CacheInvalidation cacheInvalidation,
+            @Value("${cases.single-flight.grace:100ms}") Duration singleFlightGrace
+    ) {
+        this.caseRepo = caseRepo;
+        this.jsonFactory = mapper.getFactory();
+        this.pages = new SingleFlight<>(singleFlightGrace);
+        cacheInvalidation.subscribe("cases", "code", caseCode -> pages.invalidateAll());
+    }
+
+    /**
+     * Concurrent requests for the same page share one read: the count and the raw documents of the
+     * page, at most 100 cases. Each caller then writes its own JSON straight into its response.
+     */
+    public void writeCases(GetAllCasesQuery query, OutputStream out) throws IOException {
+        CasesPage page = pages.execute(query, () -> readCases(query));
+        try (JsonGenerator json = generator(out)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("cases");
+            for (RawBsonDocument document : page.cases()) {
+                CASE.write(document, json);
+            }
+            json.writeEndArray();
+            json.writeNumberField("count", page.count());
+            json.writeEndObject();
+        }
+    }
+
+    private CasesPage readCases(GetAllCasesQuery query) {
+        Supplier<Bson> filter = GetAllCasesHandler.filtersFrom(query);
+        int count = caseRepo.getCasesCount(filter);
+        List<RawBsonDocument> cases = caseRepo.searchRaw(query.offset(), query.limit(), filter, CASE.projection())
+                .into(new ArrayList<>());
+        return new CasesPage(count, cases);
+    }
+
+    public void writeDraftCases(OutputStream out) throws IOException {
+        try (MongoCursor<RawBsonDocument> cursor = caseRepo.getDraftCasesRaw(DRAFT_CASE.projection()).cursor();
+             JsonGenerator json = generator(out)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("cases");
+            DRAFT_CASE.writeAll(cursor, json);
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+
+    private JsonGenerator generator(OutputStream out) throws IOException {
+        return jsonFactory.createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    // Raw documents are immutable, so callers sharing a page can read them at the same time
+    private record CasesPage(int count, List<RawBsonDocument> cases) {
+    }
+}
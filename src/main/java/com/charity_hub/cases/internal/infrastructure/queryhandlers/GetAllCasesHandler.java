@@ -6,11 +6,15 @@ import com.charity_hub.cases.internal.application.queries.GetAllCases.IGetAllCas
 import com.charity_hub.cases.internal.infrastructure.db.CaseEntity;
 import com.charity_hub.cases.internal.application.contracts.ICaseReadRepo;
 import com.charity_hub.shared.abstractions.QueryHandler;
+import com.charity_hub.shared.infrastructure.SingleFlight;
+import com.charity_hub.shared.infrastructure.invalidation.CacheInvalidation;
 import com.mongodb.client.model.Filters;
 import org.bson.Document;
 import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Supplier;
@@ -21,13 +25,28 @@ import static com.charity_hub.cases.internal.application.queries.GetAllCases.Get
 @Service
 public class GetAllCasesHandler implements QueryHandler<GetAllCasesQuery, GetCasesQueryResult>, IGetAllCasesHandler {
     private final ICaseReadRepo caseRepo;
+    private final SingleFlight<GetAllCasesQuery, GetCasesQueryResult> flights;
 
-    public GetAllCasesHandler(ICaseReadRepo caseRepo) {
+    public GetAllCasesHandler(
+            ICaseReadRepo caseRepo,
+            CacheInvalidation cacheInvalidation,
+            @Value("${cases.single-flight.grace:100ms}") Duration singleFlightGrace
+    ) {
         this.caseRepo = caseRepo;
+        this.flights = new SingleFlight<>(singleFlightGrace);
+        // Any case change can move cases between pages or change the count
+        cacheInvalidation.subscribe("cases", "code", caseCode -> flights.invalidateAll());
     }
 
+    /**
+     * Concurrent requests for the same page and filters share one search and count.
+     */
     @Override
     public GetCasesQueryResult handle(GetAllCasesQuery query) {
+        return flights.execute(query, () -> load(query));
+    }
+
+    private GetCasesQueryResult load(GetAllCasesQuery query) {
         Supplier<Bson> filter = filtersFrom(query);
 
         List<Case> cases = caseRepo.search(query.offset(), query.limit(), filter)
@@ -40,7 +59,7 @@ public class GetAllCasesHandler implements QueryHandler<GetAllCasesQuery, GetCas
         return new GetCasesQueryResult(cases, casesCount);
     }
 
-    private static Supplier<Bson> filtersFrom(GetAllCasesQuery query) {
+    static Supplier<Bson> filtersFrom(GetAllCasesQuery query) {
         return () -> {
             List<Bson> conditions = new ArrayList<>();
 
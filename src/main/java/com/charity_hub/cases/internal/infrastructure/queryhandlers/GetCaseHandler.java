@@ -7,8 +7,12 @@ import com.charity_hub.cases.internal.application.queries.GetCase.IGetCaseHandle
 import com.charity_hub.cases.internal.infrastructure.gateways.AccountsGateway;
 import com.charity_hub.cases.internal.application.contracts.ICaseReadRepo;
 import com.charity_hub.shared.abstractions.QueryHandler;
+import com.charity_hub.shared.infrastructure.SingleFlight;
+import com.charity_hub.shared.infrastructure.invalidation.CacheInvalidation;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,27 +23,44 @@ public class GetCaseHandler implements QueryHandler<GetCaseQuery, GetCaseRespons
     private final ICaseReadRepo caseRepo;
     private final GetCaseMapper getCaseMapper;
     private final AccountsGateway accountsGateway;
+    private final SingleFlight<CaseKey, GetCaseResponse> flights;
 
     public GetCaseHandler(
             ICaseReadRepo caseRepo,
-            GetCaseMapper getCaseMapper, AccountsGateway accountsGateway
+            GetCaseMapper getCaseMapper, AccountsGateway accountsGateway,
+            CacheInvalidation cacheInvalidation,
+            @Value("${cases.single-flight.grace:100ms}") Duration singleFlightGrace
     ) {
         this.caseRepo = caseRepo;
         this.getCaseMapper = getCaseMapper;
         this.accountsGateway = accountsGateway;
+        this.flights = new SingleFlight<>(singleFlightGrace);
+        // Case details include the case's contributions
+        cacheInvalidation.subscribe("cases", "code", this::invalidate);
+        cacheInvalidation.subscribe("contributions", "caseCode", this::invalidate);
     }
 
+    /**
+     * A newly opened case is announced to every device at once, and they all open it within
+     * seconds. Identical concurrent requests share one load; admins see contributor details that
+     * other users must not, so the two get separate results.
+     */
     @Override
     public GetCaseResponse handle(GetCaseQuery query) {
-        var case_ = caseRepo.getByCode(query.caseCode());
+        boolean fullAccess = query.accessTokenPayload().hasFullAccess();
+        return flights.execute(new CaseKey(query.caseCode(), fullAccess), () -> load(query.caseCode(), fullAccess));
+    }
+
+    private GetCaseResponse load(int caseCode, boolean fullAccess) {
+        var case_ = caseRepo.getByCode(caseCode);
         if (case_ == null) {
-            throw new NotFoundException(String.format("Case with code %s is not found", query.caseCode()));
+            throw new NotFoundException(String.format("Case with code %s is not found", caseCode));
         }
 
         var contributions = caseRepo.getContributionsByCaseCode(case_.code());
 
         // get the contributors details only if the account has full access
-        if (query.accessTokenPayload().hasFullAccess()) {
+        if (fullAccess) {
 
             List<UUID> contributorsIds = contributions
                     .stream()
@@ -55,4 +76,17 @@ public class GetCaseHandler implements QueryHandler<GetCaseQuery, GetCaseRespons
         var caseDetails = getCaseMapper.toCaseDetails(case_, contributions, null);
         return new GetCaseResponse(caseDetails);
     }
-}
\ No newline at end of file
+
+    private void invalidate(String caseCode) {
+        if (caseCode == null) {
+            flights.invalidateAll();
+            return;
+        }
+        int code = Integer.parseInt(caseCode);
+        flights.invalidate(new CaseKey(code, true));
+        flights.invalidate(new CaseKey(code, false));
+    }
+
+    private record CaseKey(int caseCode, boolean fullAccess) {
+    }
+}
@@ -3,10 +3,17 @@ package com.charity_hub.cases.internal.infrastructure.repositories;
 import com.charity_hub.cases.internal.application.contracts.ICaseReadRepo;
 import com.charity_hub.cases.internal.infrastructure.db.CaseEntity;
 import com.charity_hub.cases.internal.infrastructure.db.ContributionEntity;
+import com.charity_hub.shared.infrastructure.MongoIndexes;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.MongoIterable;
+import com.mongodb.client.model.Aggregates;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
 import com.mongodb.client.model.Sorts;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.bson.conversions.Bson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,13 +30,18 @@ public class CaseReadRepo implements ICaseReadRepo {
     private static final Logger logger = LoggerFactory.getLogger(CaseReadRepo.class);
     private static final String CASES_COLLECTION = "cases";
     private static final String CONTRIBUTION_COLLECTION = "contributions";
+    private static final Bson SEARCH_ORDER = Sorts.orderBy(Sorts.ascending("status"), Sorts.descending("lastUpdated"));
+    // Raw listings hold one batch of documents at a time, whatever the page size
+    private static final int RAW_BATCH_SIZE = 100;
 
     private final MongoCollection<CaseEntity> cases;
     private final MongoCollection<ContributionEntity> contributions;
 
-    public CaseReadRepo(MongoDatabase mongoDatabase) {
+    public CaseReadRepo(MongoDatabase mongoDatabase, MongoIndexes indexes) {
         this.cases = mongoDatabase.getCollection(CASES_COLLECTION, CaseEntity.class);
         this.contributions = mongoDatabase.getCollection(CONTRIBUTION_COLLECTION, ContributionEntity.class);
+        // Ledger listings look cases up by code for every contribution
+        indexes.ensure(cases, Indexes.ascending("code"));
     }
 
     @Override
@@ -75,16 +87,8 @@ public class CaseReadRepo implements ICaseReadRepo {
             Supplier<Bson> filter
     ) {
         logger.debug("Searching cases with offset: {}, limit: {}", offset, limit);
-        Bson query = Filters.ne("status", CaseEntity.STATUS_DRAFT);
-        if (filter != null) {
-            query = Filters.and(query, filter.get());
-        }
-
-        List<CaseEntity> result = cases.find(query)
-                .sort(Sorts.orderBy(
-                        Sorts.ascending("status"),
-                        Sorts.descending("lastUpdated")
-                ))
+        List<CaseEntity> result = cases.find(searchQuery(filter))
+                .sort(SEARCH_ORDER)
                 .skip(offset)
                 .limit(limit)
                 .into(new ArrayList<>());
@@ -92,6 +96,25 @@ public class CaseReadRepo implements ICaseReadRepo {
         return result;
     }
 
+    @Override
+    public MongoIterable<RawBsonDocument> searchRaw(int offset, int limit, Supplier<Bson> filter, Bson projection) {
+        logger.debug("Streaming cases with offset: {}, limit: {}", offset, limit);
+        return cases.find(searchQuery(filter), RawBsonDocument.class)
+                .projection(projection)
+                .sort(SEARCH_ORDER)
+                .skip(offset)
+                .limit(limit)
+                .batchSize(RAW_BATCH_SIZE);
+    }
+
+    private static Bson searchQuery(Supplier<Bson> filter) {
+        Bson query = Filters.ne("status", CaseEntity.STATUS_DRAFT);
+        if (filter != null) {
+            query = Filters.and(query, filter.get());
+        }
+        return query;
+    }
+
     @Override
     public List<ContributionEntity> getNotConfirmedContributions(UUID contributorId) {
         logger.debug("Looking up not confirmed contributions for contributor: {}", contributorId);
@@ -140,4 +163,33 @@ public class CaseReadRepo implements ICaseReadRepo {
         logger.debug("Found {} draft cases", result.size());
         return result;
     }
+
+    @Override
+    public MongoIterable<RawBsonDocument> getDraftCasesRaw(Bson projection) {
+        logger.debug("Streaming draft cases");
+        return cases.find(Filters.eq("status", CaseEntity.STATUS_DRAFT), RawBsonDocument.class)
+                .projection(projection)
+                .sort(Sorts.descending("lastUpdated"))
+                .batchSize(RAW_BATCH_SIZE);
+    }
+
+    @Override
+    public MongoIterable<RawBsonDocument> getContributionsWithCaseTitlesRaw(UUID contributorId) {
+        logger.debug("Streaming contributions with case titles for contributor: {}", contributorId);
+        return contributions.aggregate(List.of(
+                        Aggregates.match(Filters.eq("contributorId", contributorId.toString())),
+                        Aggregates.sort(Sorts.orderBy(Sorts.ascending("status"), Sorts.descending("contributionDate"))),
+                        new Document("$lookup", new Document("from", CASES_COLLECTION)
+                                .append("localField", "caseCode")
+                                .append("foreignField", "code")
+                                .append("pipeline", List.of(Aggregates.project(
+                                        Projections.fields(Projections.include("title"), Projections.excludeId()))))
+                                .append("as", "case")),
+                        Aggregates.project(Projections.fields(
+                                Projections.include("contributorId", "caseCode", "amount", "status", "contributionDate"),
+                                Projections.computed("caseTitle", new Document("$arrayElemAt", List.of("$case.title", 0)))
+                        ))
+                ), RawBsonDocument.class)
+                .batchSize(RAW_BATCH_SIZE);
+    }
 }
\ No newline at end of file
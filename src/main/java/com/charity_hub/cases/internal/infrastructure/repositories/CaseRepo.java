@@ -11,7 +11,8 @@ import com.charity_hub.cases.internal.infrastructure.repositories.mappers.CaseMa
 import com.charity_hub.cases.internal.infrastructure.repositories.mappers.ContributionMapper;
 import com.charity_hub.cases.internal.infrastructure.db.CaseEntity;
 import com.charity_hub.cases.internal.infrastructure.db.ContributionEntity;
-import com.charity_hub.shared.domain.IEventBus;
+import com.charity_hub.cases.shared.dtos.CaseEventDto;
+import com.charity_hub.shared.infrastructure.outbox.EventOutbox;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.ReplaceOptions;
@@ -35,19 +36,19 @@ public class CaseRepo implements ICaseRepo {
 
     private final MongoCollection<CaseEntity> cases;
     private final MongoCollection<ContributionEntity> contributions;
-    private final IEventBus eventBus;
+    private final EventOutbox eventOutbox;
     private final CaseMapper caseMapper;
     private final ContributionMapper contributionMapper;
 
     public CaseRepo(
             MongoDatabase mongoDatabase,
-            IEventBus eventBus,
+            EventOutbox eventOutbox,
             CaseMapper caseMapper,
             ContributionMapper contributionMapper
     ) {
         this.cases = mongoDatabase.getCollection(CASES_COLLECTION, CaseEntity.class);
         this.contributions = mongoDatabase.getCollection(CONTRIBUTION_COLLECTION, ContributionEntity.class);
-        this.eventBus = eventBus;
+        this.eventOutbox = eventOutbox;
         this.caseMapper = caseMapper;
         this.contributionMapper = contributionMapper;
     }
@@ -82,37 +83,39 @@ public class CaseRepo implements ICaseRepo {
     public void save(Case case_) {
         logger.debug("Saving case: {}", case_.getCaseCode().value());
         List<Contribution> caseContributions = case_.getContributions();
-        if (!caseContributions.isEmpty()) {
-            logger.debug("Saving {} contributions for case: {}", caseContributions.size(), case_.getCaseCode().value());
-            List<com.mongodb.client.model.ReplaceOneModel<ContributionEntity>> updates =
-                caseContributions.stream()
-                    .map(contribution -> new com.mongodb.client.model.ReplaceOneModel<>(
-                        new org.bson.Document("_id", contribution.getId().value().toString()),
-                        contributionMapper.toDB(contribution),
-                        new ReplaceOptions().upsert(true)
-                    ))
-                    .collect(Collectors.toList());
-
-            contributions.bulkWrite(updates);
-        }
+        List<com.mongodb.client.model.ReplaceOneModel<ContributionEntity>> updates =
+            caseContributions.stream()
+                .map(contribution -> new com.mongodb.client.model.ReplaceOneModel<>(
+                    new org.bson.Document("_id", contribution.getId().value().toString()),
+                    contributionMapper.toDB(contribution),
+                    new ReplaceOptions().upsert(true)
+                ))
+                .collect(Collectors.toList());
+        List<CaseEventDto> events = case_.occurredEvents().stream()
+            .map(event -> CaseEventsMapper.map((CaseEvent) event))
+            .toList();
 
-        cases.replaceOne(
-            new org.bson.Document("code", case_.getCaseCode().value()),
-            caseMapper.toDB(case_),
-            new ReplaceOptions().upsert(true)
-        );
-        logger.info("Case saved successfully: {}", case_.getCaseCode().value());
+        eventOutbox.write(session -> {
+            if (!updates.isEmpty()) {
+                logger.debug("Saving {} contributions for case: {}", updates.size(), case_.getCaseCode().value());
+                contributions.bulkWrite(session, updates);
+            }
 
-        case_.occurredEvents().stream()
-            .map(event -> CaseEventsMapper.map((CaseEvent) event))
-            .forEach(eventBus::push);
+            cases.replaceOne(
+                session,
+                new org.bson.Document("code", case_.getCaseCode().value()),
+                caseMapper.toDB(case_),
+                new ReplaceOptions().upsert(true)
+            );
+        }, events);
+        logger.debug("Case saved successfully: {}", case_.getCaseCode().value());
     }
 
     @Override
     public void delete(CaseCode caseCode) {
-        logger.info("Deleting case: {}", caseCode.value());
+        logger.debug("Deleting case: {}", caseCode.value());
         cases.deleteOne(new org.bson.Document("code", caseCode.value()));
-        logger.info("Case deleted: {}", caseCode.value());
+        logger.debug("Case deleted: {}", caseCode.value());
     }
 
     private List<ContributionEntity> getContributionsByCaseCode(CaseCode caseCode) {
@@ -124,45 +127,50 @@ public class CaseRepo implements ICaseRepo {
     public void save(Contribution contribution) {
         logger.debug("Saving contribution: {} - Status: {}", 
                 contribution.getId().value(), contribution.getContributionStatus());
-        
-        // Check if this is a status change (pay or confirm operation)
-        if (contribution.getContributionStatus() == ContributionStatus.PAID ||
-            contribution.getContributionStatus() == ContributionStatus.CONFIRMED) {
-            // Update status and paymentProof if provided
-            var updates = new ArrayList<org.bson.conversions.Bson>();
-            updates.add(Updates.set("status", contributionMapper.getContributionStatusCode(contribution.getContributionStatus())));
-
-            // If paymentProof is provided, update it as well
-            if (contribution.getPaymentProof() != null) {
-                updates.add(Updates.set("paymentProof", contribution.getPaymentProof()));
-            }
 
-            var updateResult = contributions.updateOne(
-                new org.bson.Document("_id", contribution.getId().value().toString()),
-                Updates.combine(updates),
-                new UpdateOptions().upsert(false)
-            );
-
-            // Check if the update modified any documents
-            if (updateResult.getModifiedCount() == 0 && updateResult.getMatchedCount() == 0) {
-                logger.error("Failed to update contribution status - ContributionId: {} does not exist", 
-                        contribution.getId().value());
-                throw new IllegalStateException("Failed to update contribution status: Contribution does not exist.");
+        List<CaseEventDto> events = contribution.occurredEvents().stream()
+            .map(event -> CaseEventsMapper.map((CaseEvent) event))
+            .toList();
+
+        eventOutbox.write(session -> {
+            // Check if this is a status change (pay or confirm operation)
+            if (contribution.getContributionStatus() == ContributionStatus.PAID ||
+                contribution.getContributionStatus() == ContributionStatus.CONFIRMED) {
+                // Update status and paymentProof if provided
+                var updates = new ArrayList<org.bson.conversions.Bson>();
+                updates.add(Updates.set("status", contributionMapper.getContributionStatusCode(contribution.getContributionStatus())));
+
+                // If paymentProof is provided, update it as well
+                if (contribution.getPaymentProof() != null) {
+                    updates.add(Updates.set("paymentProof", contribution.getPaymentProof()));
+                }
+
+                var updateResult = contributions.updateOne(
+                    session,
+                    new org.bson.Document("_id", contribution.getId().value().toString()),
+                    Updates.combine(updates),
+                    new UpdateOptions().upsert(false)
+                );
+
+                // Check if the update modified any documents
+                if (updateResult.getModifiedCount() == 0 && updateResult.getMatchedCount() == 0) {
+                    logger.error("Failed to update contribution status - ContributionId: {} does not exist", 
+                            contribution.getId().value());
+                    throw new IllegalStateException("Failed to update contribution status: Contribution does not exist.");
+                }
+                logger.debug("Contribution status updated - ContributionId: {}, NewStatus: {}", 
+                        contribution.getId().value(), contribution.getContributionStatus());
+            } else {
+                // For other operations, replace the entire document
+                contributions.replaceOne(
+                    session,
+                    new org.bson.Document("_id", contribution.getId().value().toString()),
+                    contributionMapper.toDB(contribution),
+                    new ReplaceOptions().upsert(true)
+                );
+                logger.debug("Contribution saved - ContributionId: {}", contribution.getId().value());
             }
-            logger.info("Contribution status updated - ContributionId: {}, NewStatus: {}", 
-                    contribution.getId().value(), contribution.getContributionStatus());
-        } else {
-            // For other operations, replace the entire document
-            contributions.replaceOne(
-                new org.bson.Document("_id", contribution.getId().value().toString()),
-                contributionMapper.toDB(contribution),
-                new ReplaceOptions().upsert(true)
-            );
-            logger.info("Contribution saved - ContributionId: {}", contribution.getId().value());
-        }
-
-        contribution.occurredEvents()
-            .forEach(eventBus::push);
+        }, events);
     }
 
     @Override
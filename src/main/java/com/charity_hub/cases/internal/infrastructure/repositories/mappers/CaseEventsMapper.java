@@ -35,7 +35,10 @@ public class CaseEventsMapper {
                     e.id().value(),
                     e.contributorId(),
                     e.caseCode().value(),
-                    e.moneyValue().value()
+                    e.moneyValue().value(),
+                    e.contributionDate().getTime(),
+                    e.caseTitle(),
+                    e.contributionsCount()
             );
         }
 
@@ -0,0 +1,120 @@
+package com.charity_hub.cases.internal.infrastructure.services;
+
+import com.charity_hub.cases.shared.dtos.ContributionMadeDTO;
+import com.charity_hub.shared.infrastructure.MongoIndexes;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static com.mongodb.client.model.Filters.*;
+
+/**
+ * Adds up contributions per case over fixed windows of {@code cases.notifications.contribution-window},
+ * so a burst of pledges on one case turns into a single notification. The running totals are kept
+ * in Mongo: they survive restarts, are shared by all instances, and count each contribution once
+ * however often its event is delivered. With a zero window every contribution is a batch of its own.
+ */
+@Component
+class ContributionCoalescer {
+    private static final String COLLECTION = "contribution_batches";
+    // Duplicate key: the upsert found the batch, but it already counts the contribution
+    private static final int DUPLICATE_KEY = 11000;
+
+    /**
+     * @param windowEnd when the window the batch collects closes
+     */
+    record Batch(int caseCode, String caseTitle, int count, int total, boolean includesFirst, Instant windowEnd) {
+
+        static Batch of(ContributionMadeDTO contribution) {
+            return new Batch(
+                    contribution.caseCode(),
+                    contribution.caseTitle(),
+                    1,
+                    contribution.amount(),
+                    contribution.contributionsCount() == 1,
+                    Instant.now()
+            );
+        }
+
+        String key() {
+            return caseCode + ":" + windowEnd.toEpochMilli();
+        }
+    }
+
+    private final MongoCollection<Document> collection;
+    private final Duration window;
+
+    ContributionCoalescer(
+            MongoDatabase mongoDatabase,
+            MongoIndexes indexes,
+            @Value("${cases.notifications.contribution-window:10s}") Duration window
+    ) {
+        this.collection = mongoDatabase.getCollection(COLLECTION);
+        this.window = window;
+
+        // Batches are only updated while their window is open, give late deliveries an hour
+        indexes.ensure(collection, Indexes.ascending("windowEnd"),
+                new IndexOptions().expireAfter(1L, TimeUnit.HOURS).name("windowEnd_ttl"));
+    }
+
+    boolean isBatching() {
+        return !window.isZero();
+    }
+
+    /**
+     * Counts the contribution into its case's batch for the window it was made in.
+     *
+     * @return the batch including the contribution
+     */
+    Batch add(ContributionMadeDTO contribution) {
+        if (!isBatching()) {
+            return Batch.of(contribution);
+        }
+        // Events stored before contributionDate was added carry 0
+        long madeAt = contribution.contributionDate() > 0 ? contribution.contributionDate() : System.currentTimeMillis();
+        long windowEnd = madeAt - madeAt % window.toMillis() + window.toMillis();
+        String batchId = contribution.caseCode() + ":" + windowEnd;
+        String contributionId = contribution.id().toString();
+
+        Document batch;
+        try {
+            batch = collection.findOneAndUpdate(
+                    and(eq("_id", batchId), ne("contributions", contributionId)),
+                    Updates.combine(
+                            Updates.setOnInsert("caseCode", contribution.caseCode()),
+                            Updates.setOnInsert("windowEnd", new Date(windowEnd)),
+                            Updates.set("caseTitle", contribution.caseTitle()),
+                            Updates.addToSet("contributions", contributionId),
+                            Updates.inc("count", 1),
+                            Updates.inc("total", contribution.amount()),
+                            Updates.max("includesFirst", contribution.contributionsCount() == 1)),
+                    new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER));
+        } catch (MongoCommandException e) {
+            if (e.getErrorCode() != DUPLICATE_KEY) {
+                throw e;
+            }
+            batch = collection.find(eq("_id", batchId)).first();
+        }
+        return new Batch(
+                batch.getInteger("caseCode"),
+                batch.getString("caseTitle"),
+                batch.getInteger("count"),
+                batch.getInteger("total"),
+                batch.getBoolean("includesFirst"),
+                batch.getDate("windowEnd").toInstant()
+        );
+    }
+}
@@ -3,37 +3,36 @@ package com.charity_hub.cases.internal.infrastructure.services;
 import com.charity_hub.cases.shared.dtos.CaseClosedDTO;
 import com.charity_hub.cases.shared.dtos.CaseOpenedDTO;
 import com.charity_hub.cases.shared.dtos.ContributionMadeDTO;
-import com.charity_hub.cases.internal.domain.contracts.ICaseRepo;
 import com.charity_hub.cases.internal.domain.contracts.INotificationService;
-import com.charity_hub.cases.internal.domain.model.Case.Case;
-import com.charity_hub.cases.internal.domain.model.Case.CaseCode;
 import com.charity_hub.notifications.NotificationApi;
-import com.charity_hub.shared.domain.ILogger;
-import com.charity_hub.shared.infrastructure.MessageService;
+import com.charity_hub.shared.infrastructure.NotificationTemplates;
 import lombok.SneakyThrows;
 import org.springframework.stereotype.Component;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Random;
 
+/**
+ * Case updates are broadcast on the CaseUpdates topic. Firebase delivers one message to every
+ * subscriber, so these are rendered in {@code notifications.default-locale} whatever language the
+ * recipient's device uses.
+ */
 @Component("casesNotificationService")
 public class NotificationService implements INotificationService {
     private final NotificationApi notificationApi;
-    private final ICaseRepo caseRepo;
-    private final ILogger logger;
-    private final MessageService messageService;
+    private final NotificationTemplates templates;
+    private final ContributionCoalescer contributionCoalescer;
     private final Random random = new Random();
 
     public NotificationService(
             NotificationApi notificationApi,
-            ICaseRepo caseRepo,
-            ILogger logger,
-            MessageService messageService
+            NotificationTemplates templates,
+            ContributionCoalescer contributionCoalescer
     ) {
         this.notificationApi = notificationApi;
-        this.caseRepo = caseRepo;
-        this.logger = logger;
-        this.messageService = messageService;
+        this.templates = templates;
+        this.contributionCoalescer = contributionCoalescer;
     }
 
     @Override
@@ -53,7 +52,7 @@ public class NotificationService implements INotificationService {
                 "CaseUpdates",
                 "caseCreated",
                 payload,
-                messageService.getMessage("notification.case.new.title"),
+                templates.render("notification.case.new.title"),
                 case_.description()
         );
     }
@@ -65,11 +64,11 @@ public class NotificationService implements INotificationService {
         String title;
 
         if (collected > case_.goal()) {
-            title = messageService.getMessage("notification.case.closed.exceeded", collected);
+            title = templates.render("notification.case.closed.exceeded", collected);
         } else if (collected == case_.goal()) {
-            title = messageService.getMessage("notification.case.closed.exact", collected);
+            title = templates.render("notification.case.closed.exact", collected);
         } else {
-            title = messageService.getMessage("notification.case.closed.incomplete");
+            title = templates.render("notification.case.closed.incomplete");
         }
 
         var payload = new NotificationPayload(
@@ -82,41 +81,51 @@ public class NotificationService implements INotificationService {
                 "caseClosed",
                 payload,
                 title,
-                messageService.getMessage("notification.case.closed.body")
+                templates.render("notification.case.closed.body")
         );
     }
 
-    @SneakyThrows
+    /**
+     * Contributions to the same case within {@code cases.notifications.contribution-window} are
+     * sent as one notification once the window closes. Each contribution updates the queued
+     * notification of its window before returning, so none is lost if the process stops meanwhile.
+     */
     @Override
     public void notifyContributionMade(ContributionMadeDTO contribution) {
-        var caseOpt = caseRepo.getByCode(new CaseCode(contribution.caseCode()));
+        ContributionCoalescer.Batch batch = contributionCoalescer.add(contribution);
 
-        if (caseOpt.isEmpty()) {
-            logger.info("case not found when trying to notify a Contribution");
-            return;
+        String title;
+        if (batch.count() > 1) {
+            title = templates.render("notification.contribution.batch", batch.count(), batch.total());
+        } else if (batch.includesFirst()) {
+            title = templates.render("notification.contribution.first", batch.total());
+        } else {
+            title = templates.render("notification.contribution.additional", batch.total());
         }
 
-        Case case_ = caseOpt.get();
-
-        String title = case_.getContributions().size() == 1 ?
-                messageService.getMessage("notification.contribution.first", contribution.amount()) :
-                messageService.getMessage("notification.contribution.additional", contribution.amount());
-
-        String[] messages = messageService.getMessage("notification.contribution.messages").split(",");
-        String randomMessage = messages[random.nextInt(messages.length)];
+        List<String> messages = templates.variants("notification.contribution.messages");
+        String randomMessage = messages.get(random.nextInt(messages.size()));
 
         var payload = new ContributionNotificationPayload(
-                case_.getId().value(),
-                case_.getTitle(),
-                contribution.amount()
+                batch.caseCode(),
+                batch.caseTitle(),
+                batch.total(),
+                batch.count()
         );
 
+        if (!contributionCoalescer.isBatching()) {
+            notificationApi.notifyTopicSubscribers("CaseUpdates", "contributionMade", payload, title, randomMessage);
+            return;
+        }
         notificationApi.notifyTopicSubscribers(
                 "CaseUpdates",
                 "contributionMade",
                 payload,
                 title,
-                randomMessage
+                randomMessage,
+                "contributionMade:" + batch.key(),
+                batch.count(),
+                batch.windowEnd()
         );
     }
 
@@ -129,7 +138,8 @@ public class NotificationService implements INotificationService {
     private record ContributionNotificationPayload(
             int caseCode,
             String caseTitle,
-            int amount
+            int amount,
+            int contributions
     ) {
     }
 }
\ No newline at end of file
@@ -5,10 +5,14 @@ import com.charity_hub.cases.shared.mappers.DTOContributionMapper;
 import com.charity_hub.cases.internal.application.contracts.ICaseReadRepo;
 import com.charity_hub.cases.shared.dtos.CaseDTO;
 import com.charity_hub.cases.shared.dtos.ContributionDTO;
+import com.charity_hub.cases.shared.dtos.ContributionWithCaseDTO;
+import com.mongodb.client.MongoCursor;
+import org.bson.RawBsonDocument;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Component
@@ -54,4 +58,11 @@ public class CasesAPI implements ICasesAPI {
                 .map(caseMapper::toDTO)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public void forEachContributionWithCaseTitle(UUID userId, Consumer<ContributionWithCaseDTO> action) {
+        try (MongoCursor<RawBsonDocument> cursor = caseReadRepo.getContributionsWithCaseTitlesRaw(userId).cursor()) {
+            cursor.forEachRemaining(document -> action.accept(contributionMapper.toDTO(document)));
+        }
+    }
 }
\ No newline at end of file
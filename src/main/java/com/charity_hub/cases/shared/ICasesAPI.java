@@ -2,9 +2,11 @@ package com.charity_hub.cases.shared;
 
 import com.charity_hub.cases.shared.dtos.CaseDTO;
 import com.charity_hub.cases.shared.dtos.ContributionDTO;
+import com.charity_hub.cases.shared.dtos.ContributionWithCaseDTO;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface ICasesAPI {
     List<ContributionDTO> getUsersContributions(UUID userId);
@@ -14,4 +16,10 @@ public interface ICasesAPI {
     List<ContributionDTO> getUsersContributions(List<UUID> usersIds);
 
     List<CaseDTO> getCasesByCodes(List<Integer> casesCodes);
+
+    /**
+     * Passes the user's contributions with their case titles to {@code action} one at a time, by status
+     * then newest first. They are read in batches, so long ledgers are never held in memory at once.
+     */
+    void forEachContributionWithCaseTitle(UUID userId, Consumer<ContributionWithCaseDTO> action);
 }
\ No newline at end of file
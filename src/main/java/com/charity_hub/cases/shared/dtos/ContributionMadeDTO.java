@@ -2,10 +2,16 @@ package com.charity_hub.cases.shared.dtos;
 
 import java.util.UUID;
 
+/**
+ * Carries the case title and contribution count so listeners don't have to load the case.
+ */
 public record ContributionMadeDTO(
         UUID id,
         UUID contributorId,
         int caseCode,
-        int amount
+        int amount,
+        long contributionDate,
+        String caseTitle,
+        int contributionsCount
 ) implements CaseEventDto {
 }
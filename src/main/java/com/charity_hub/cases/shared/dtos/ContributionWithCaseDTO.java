@@ -0,0 +1,13 @@
+package com.charity_hub.cases.shared.dtos;
+
+/**
+ * A contribution with the title of its case, {@code caseTitle} is null when the case no longer exists.
+ */
+public record ContributionWithCaseDTO(String id,
+                                      String contributorId,
+                                      int caseCode,
+                                      String caseTitle,
+                                      int amount,
+                                      int status,
+                                      long contributionDate) {
+}
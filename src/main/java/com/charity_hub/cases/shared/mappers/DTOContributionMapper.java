@@ -2,6 +2,8 @@ package com.charity_hub.cases.shared.mappers;
 
 import com.charity_hub.cases.internal.infrastructure.db.ContributionEntity;
 import com.charity_hub.cases.shared.dtos.ContributionDTO;
+import com.charity_hub.cases.shared.dtos.ContributionWithCaseDTO;
+import org.bson.BsonDocument;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -18,4 +20,19 @@ public class DTOContributionMapper {
             entity.paymentProof()
         );
     }
+
+    /**
+     * Reads a document of {@code ICaseReadRepo.getContributionsWithCaseTitlesRaw}.
+     */
+    public ContributionWithCaseDTO toDTO(BsonDocument document) {
+        return new ContributionWithCaseDTO(
+            document.getString("_id").getValue(),
+            document.getString("contributorId").getValue(),
+            document.getNumber("caseCode").intValue(),
+            document.isString("caseTitle") ? document.getString("caseTitle").getValue() : null,
+            document.getNumber("amount").intValue(),
+            document.getNumber("status").intValue(),
+            document.getNumber("contributionDate").longValue()
+        );
+    }
 }
\ No newline at end of file
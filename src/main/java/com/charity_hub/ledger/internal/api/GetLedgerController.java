@@ -2,27 +2,42 @@ package com.charity_hub.ledger.internal.api;
 
 import com.charity_hub.ledger.internal.application.queries.GetLedger.GetLedger;
 import com.charity_hub.ledger.internal.application.queries.GetLedger.GetLedgerHandler;
-import org.springframework.http.ResponseEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
 public class GetLedgerController {
     private final GetLedgerHandler getLedgerHandler;
+    private final Optional<LedgerJsonWriter> ledgerWriter;
+    private final ObjectMapper mapper;
 
-    public GetLedgerController(GetLedgerHandler getLedgerHandler) {
+    public GetLedgerController(GetLedgerHandler getLedgerHandler, Optional<LedgerJsonWriter> ledgerWriter,
+                               ObjectMapper mapper) {
         this.getLedgerHandler = getLedgerHandler;
+        this.ledgerWriter = ledgerWriter;
+        this.mapper = mapper;
     }
 
     @PreAuthorize("hasAuthority('FULL_ACCESS')")
     @GetMapping("/v1/ledger/{userId}")
-    public ResponseEntity<?> handle(@PathVariable UUID userId) {
+    public void handle(@PathVariable UUID userId, HttpServletResponse response) throws IOException {
+        if (ledgerWriter.isPresent()) {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            ledgerWriter.get().writeLedger(userId, response.getOutputStream());
+            return;
+        }
         GetLedger command = new GetLedger(userId);
         var result = getLedgerHandler.handle(command);
-        return ResponseEntity.ok(result);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        mapper.writeValue(response.getOutputStream(), result);
     }
 }
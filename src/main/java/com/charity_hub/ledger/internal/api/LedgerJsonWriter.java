@@ -0,0 +1,74 @@
+package com.charity_hub.ledger.internal.api;
+
+import com.charity_hub.cases.shared.dtos.ContributionWithCaseDTO;
+import com.charity_hub.ledger.internal.application.contracts.ICasesGateway;
+import com.charity_hub.ledger.internal.application.queries.GetLedger.Contribution;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+
+/**
+ * Streams a user's ledger contribution by contribution, in the shape of {@code LedgerResponse}.
+ * Disabled with {@code api.streaming-lists=false}, in which case controllers use GetLedgerHandler.
+ * <p>
+ * A contribution whose case is missing fails the request like GetLedgerHandler does, but once part
+ * of a long ledger has been flushed the client only sees a truncated body.
+ */
+@Component
+@ConditionalOnProperty(name = "api.streaming-lists", havingValue = "true", matchIfMissing = true)
+public class LedgerJsonWriter {
+    private final ICasesGateway casesGateway;
+    private final ObjectMapper mapper;
+    // Flushing after every contribution would commit the response on the first one
+    private final ObjectWriter contributionWriter;
+
+    public LedgerJsonWriter(ICasesGateway casesGateway, ObjectMapper mapper) {
+        this.casesGateway = casesGateway;
+        this.mapper = mapper;
+        this.contributionWriter = mapper.writerFor(Contribution.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public void writeLedger(UUID userId, OutputStream out) throws IOException {
+        try (JsonGenerator json = mapper.getFactory().createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("contributions");
+            try {
+                casesGateway.forEachContributionWithCaseTitle(userId, contribution -> write(json, contribution));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+
+    private void write(JsonGenerator json, ContributionWithCaseDTO contribution) {
+        if (contribution.caseTitle() == null) {
+            throw new IllegalStateException("Case not found for code: " + contribution.caseCode());
+        }
+        try {
+            contributionWriter.writeValue(json, new Contribution(
+                    contribution.id(),
+                    contribution.contributorId(),
+                    contribution.caseCode(),
+                    contribution.caseTitle(),
+                    contribution.amount(),
+                    contribution.status() == 1 ? "PLEDGED" : "PAID",
+                    contribution.contributionDate()
+            ));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
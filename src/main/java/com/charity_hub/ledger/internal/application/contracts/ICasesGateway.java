@@ -2,9 +2,11 @@ package com.charity_hub.ledger.internal.application.contracts;
 
 import com.charity_hub.cases.shared.dtos.CaseDTO;
 import com.charity_hub.cases.shared.dtos.ContributionDTO;
+import com.charity_hub.cases.shared.dtos.ContributionWithCaseDTO;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface ICasesGateway {
     List<ContributionDTO> getContributions(UUID userId);
@@ -14,4 +16,6 @@ public interface ICasesGateway {
     List<ContributionDTO> getNotConfirmedContributions(UUID userId);
 
     List<ContributionDTO> getContributions(List<UUID> usersIds);
+
+    void forEachContributionWithCaseTitle(UUID userId, Consumer<ContributionWithCaseDTO> action);
 }
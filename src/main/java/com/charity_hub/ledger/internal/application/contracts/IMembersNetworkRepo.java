@@ -3,6 +3,7 @@ package com.charity_hub.ledger.internal.application.contracts;
 import com.charity_hub.ledger.internal.domain.model.Member;
 import com.charity_hub.ledger.internal.domain.model.MemberId;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface IMembersNetworkRepo {
@@ -11,4 +12,6 @@ public interface IMembersNetworkRepo {
     void delete(MemberId id);
 
     void save(Member member);
+
+    List<UUID> getChildren(UUID id);
 }
@@ -26,9 +26,18 @@ public class AccountCreatedEventHandler {
         this.logger = logger;
     }
 
+    /**
+     * Events are delivered at least once, so an existing membership means this
+     * account was already handled. Failures are rethrown to get the event redelivered.
+     */
     public void accountCreatedHandler(AccountCreated account) {
         logger.processingAccount(account.id(), account.mobileNumber());
 
+        if (memberShipRepo.getById(account.id()) != null) {
+            logger.membershipAlreadyExists(account.id());
+            return;
+        }
+
         var invitation = invitationGateway.getInvitationByMobileNumber(account.mobileNumber());
 
         if (invitation == null) {
@@ -50,6 +59,7 @@ public class AccountCreatedEventHandler {
             notificationService.notifyNewConnectionAdded(newMember);
         } catch (Exception e) {
             logger.membershipCreationFailed(account.id(), invitation.inviterId(), e);
+            throw e;
         }
     }
 }
\ No newline at end of file
@@ -37,6 +37,10 @@ public class AccountCreatedEventLogger {
             accountId, parentId);
     }
 
+    public void membershipAlreadyExists(UUID accountId) {
+        logger.info("Membership already exists, skipping - Account: {}", accountId);
+    }
+
     public void membershipCreationFailed(UUID accountId, UUID parentId, Exception e) {
         logger.error("Failed to create membership - Account: {}, Parent: {} - Error: {}", 
             accountId, parentId, e.getMessage(), e);
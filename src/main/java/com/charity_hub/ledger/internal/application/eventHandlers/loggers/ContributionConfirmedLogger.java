@@ -8,10 +8,14 @@ import java.util.UUID;
 
 @Component
 public class ContributionConfirmedLogger {
+    private static final int MESSAGES_PER_SECOND = 20;
+
     private final ILogger logger;
+    private final ILogger perEvent;
 
     public ContributionConfirmedLogger(ILogger logger) {
         this.logger = logger;
+        this.perEvent = logger.rateLimited(MESSAGES_PER_SECOND);
     }
 
     public void handlerRegistered() {
@@ -19,12 +23,12 @@ public class ContributionConfirmedLogger {
     }
 
     public void processingEvent(ContributionConfirmedDTO contribution) {
-        logger.info("Processing contribution confirmation - Contribution Id: {}, Contributor ID: {}",
+        perEvent.info("Processing contribution confirmation - Contribution Id: {}, Contributor ID: {}",
                 contribution.id(), contribution.contributorId());
     }
 
     public void notificationSent(UUID id, UUID contributorId) {
-        logger.info("Successfully sent confirmation notification - Contribution Id: {}, Contributor ID: {}",
+        perEvent.info("Successfully sent confirmation notification - Contribution Id: {}, Contributor ID: {}",
                 id, contributorId);
     }
 
@@ -8,10 +8,14 @@ import java.util.UUID;
 
 @Component
 public class ContributionPaidLogger {
+    private static final int MESSAGES_PER_SECOND = 20;
+
     private final ILogger logger;
+    private final ILogger perEvent;
 
     public ContributionPaidLogger(ILogger logger) {
         this.logger = logger;
+        this.perEvent = logger.rateLimited(MESSAGES_PER_SECOND);
     }
 
     public void handlerRegistered() {
@@ -19,12 +23,12 @@ public class ContributionPaidLogger {
     }
 
     public void processingEvent(ContributionPaidDTO contribution) {
-        logger.info("Processing contribution payment - Contribution Id: {}, Contributor ID: {}",
+        perEvent.info("Processing contribution payment - Contribution Id: {}, Contributor ID: {}",
                 contribution.id(), contribution.contributorId());
     }
 
     public void notificationSent(UUID id, UUID contributorId) {
-        logger.info("Successfully sent payment notification - Contribution Id: {}, Contributor ID: {}",
+        perEvent.info("Successfully sent payment notification - Contribution Id: {}, Contributor ID: {}",
                 id, contributorId);
     }
 
@@ -42,6 +42,24 @@ public class GetLedgerSummaryHandler implements QueryHandler<GetLedgerSummary, L
         List<ContributionDTO> allConnectionsContributions =
                 casesGateway.getContributions(contributorsIds);
 
+        List<LedgerSummaryDefaultResponse.ConnectionLedger> list =
+                connectionLedgers(connections, allConnectionsContributions);
+
+        return new LedgerSummaryDefaultResponse(
+                confirmed,
+                pledged,
+                paid,
+                list
+        );
+    }
+
+    /**
+     * Totals each connection's contributions by status, largest pledges first.
+     */
+    static List<LedgerSummaryDefaultResponse.ConnectionLedger> connectionLedgers(
+            List<AccountDTO> connections,
+            List<ContributionDTO> allConnectionsContributions
+    ) {
         List<LedgerSummaryDefaultResponse.ConnectionLedger> list = new ArrayList<>();
 
         for (AccountDTO connection : connections) {
@@ -61,28 +79,22 @@ public class GetLedgerSummaryHandler implements QueryHandler<GetLedgerSummary, L
         }
 
         list.sort((a, b) -> Integer.compare(b.pledged(), a.pledged()));
-
-        return new LedgerSummaryDefaultResponse(
-                confirmed,
-                pledged,
-                paid,
-                list
-        );
+        return list;
     }
 
-    private int getPledged(List<ContributionDTO> contributions) {
+    private static int getPledged(List<ContributionDTO> contributions) {
         return getTotalAmountByStatus(contributions, 1);
     }
 
-    private int getPaid(List<ContributionDTO> contributions) {
+    private static int getPaid(List<ContributionDTO> contributions) {
         return getTotalAmountByStatus(contributions, 2);
     }
 
-    private int getConfirmed(List<ContributionDTO> contributions) {
+    private static int getConfirmed(List<ContributionDTO> contributions) {
         return getTotalAmountByStatus(contributions, 3);
     }
 
-    private int getTotalAmountByStatus(List<ContributionDTO> contributions, int status) {
+    private static int getTotalAmountByStatus(List<ContributionDTO> contributions, int status) {
         return contributions.stream()
                 .filter(contribution -> contribution.status() == status)
                 .mapToInt(ContributionDTO::amount)
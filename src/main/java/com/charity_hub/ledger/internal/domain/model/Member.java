@@ -5,6 +5,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * A member of the invitation network, {@code parent} is null for root members.
+ */
 public record Member(MemberId memberId, MemberId parent, List<MemberId> ancestors, List<MemberId> children) {
 
     public static Member newMember(Member parent, UUID memberId) {
@@ -26,7 +29,7 @@ public record Member(MemberId memberId, MemberId parent, List<MemberId> ancestor
     }
 
     public String parentId() {
-        return parent().value().toString();
+        return parent() != null ? parent().value().toString() : null;
     }
 
     public List<String> childrenIds() {
@@ -1,5 +1,7 @@
 package com.charity_hub.ledger.internal.infrastructure.db;
 
+import com.charity_hub.codegen.GenerateBsonCodec;
 import java.util.List;
 
+@GenerateBsonCodec
 public record MemberEntity(String _id, List<String> ancestors, String parent, List<String> children) { }
\ No newline at end of file
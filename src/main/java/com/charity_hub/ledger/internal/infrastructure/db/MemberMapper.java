@@ -14,7 +14,7 @@ public class MemberMapper {
     public static Member toDomain(MemberEntity entity) {
         return new Member(
                 new MemberId(UUID.fromString(entity._id())),
-                new MemberId(UUID.fromString(entity.parent())),
+                entity.parent() != null ? new MemberId(UUID.fromString(entity.parent())) : null,
                 entity.ancestors().stream()
                         .map(UUID::fromString)
                         .map(MemberId::new)
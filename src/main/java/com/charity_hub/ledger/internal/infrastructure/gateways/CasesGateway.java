@@ -3,11 +3,13 @@ package com.charity_hub.ledger.internal.infrastructure.gateways;
 import com.charity_hub.cases.shared.ICasesAPI;
 import com.charity_hub.cases.shared.dtos.CaseDTO;
 import com.charity_hub.cases.shared.dtos.ContributionDTO;
+import com.charity_hub.cases.shared.dtos.ContributionWithCaseDTO;
 import com.charity_hub.ledger.internal.application.contracts.ICasesGateway;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Component
 public class CasesGateway implements ICasesGateway {
@@ -36,4 +38,9 @@ public class CasesGateway implements ICasesGateway {
     public List<ContributionDTO> getContributions(List<UUID> usersIds) {
         return casesAPI.getUsersContributions(usersIds);
     }
+
+    @Override
+    public void forEachContributionWithCaseTitle(UUID userId, Consumer<ContributionWithCaseDTO> action) {
+        casesAPI.forEachContributionWithCaseTitle(userId, action);
+    }
 }
\ No newline at end of file
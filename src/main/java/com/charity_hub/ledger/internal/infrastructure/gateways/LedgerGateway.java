@@ -0,0 +1,22 @@
+package com.charity_hub.ledger.internal.infrastructure.gateways;
+
+import com.charity_hub.accounts.shared.ILedgerGateway;
+import com.charity_hub.ledger.internal.application.contracts.IMembersNetworkRepo;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+@Component
+public class LedgerGateway implements ILedgerGateway {
+    private final IMembersNetworkRepo membersNetworkRepo;
+
+    public LedgerGateway(IMembersNetworkRepo membersNetworkRepo) {
+        this.membersNetworkRepo = membersNetworkRepo;
+    }
+
+    @Override
+    public List<UUID> getChildren(UUID memberId) {
+        return membersNetworkRepo.getChildren(memberId);
+    }
+}
@@ -5,6 +5,7 @@ import com.charity_hub.ledger.internal.application.eventHandlers.AccountCreated.
 import com.charity_hub.ledger.internal.application.eventHandlers.AccountCreated.AccountCreatedEventHandler;
 import com.charity_hub.shared.domain.IEventBus;
 import com.charity_hub.shared.domain.ILogger;
+import jakarta.annotation.PostConstruct;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -22,6 +23,7 @@ public class AccountCreatedHandler {
         this.accountCreatedEventHandler = accountCreatedEventHandler;
     }
 
+    @PostConstruct
     public void start() {
         eventBus.subscribe(this, AccountEventDto.AccountCreatedDTO.class, this::addConnection);
     }
@@ -5,13 +5,18 @@ import com.charity_hub.ledger.internal.infrastructure.db.MemberEntity;
 import com.charity_hub.ledger.internal.domain.model.Member;
 import com.charity_hub.ledger.internal.domain.model.MemberId;
 import com.charity_hub.ledger.internal.infrastructure.db.MemberMapper;
+import com.charity_hub.shared.infrastructure.MongoIndexes;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
 import com.mongodb.client.model.ReplaceOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static com.mongodb.client.model.Filters.eq;
@@ -22,8 +27,9 @@ public class MembersNetworkRepo implements IMembersNetworkRepo {
 
     private final MongoCollection<MemberEntity> collection;
 
-    public MembersNetworkRepo(MongoDatabase mongoDatabase) {
+    public MembersNetworkRepo(MongoDatabase mongoDatabase, MongoIndexes indexes) {
         this.collection = mongoDatabase.getCollection("connections", MemberEntity.class);
+        indexes.ensure(collection, Indexes.ascending("parent"));
     }
 
     @Override
@@ -54,4 +60,16 @@ public class MembersNetworkRepo implements IMembersNetworkRepo {
         );
         logger.debug("Member saved successfully: {}", member.memberId().value());
     }
+
+    /**
+     * Members record their parent but not their children, so children are found through the
+     * parent index.
+     */
+    @Override
+    public List<UUID> getChildren(UUID id) {
+        return collection.find(eq("parent", id.toString()))
+                .projection(Projections.include("_id"))
+                .map(member -> UUID.fromString(member._id()))
+                .into(new ArrayList<>());
+    }
 }
\ No newline at end of file
@@ -10,10 +10,11 @@ import com.charity_hub.ledger.internal.domain.model.Member;
 import com.charity_hub.ledger.internal.infrastructure.repositories.MembersNetworkRepo;
 import com.charity_hub.notifications.NotificationApi;
 import com.charity_hub.shared.domain.ILogger;
-import com.charity_hub.shared.infrastructure.MessageService;
+import com.charity_hub.shared.infrastructure.NotificationTemplates;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 @Component("ledgerNotificationService")
@@ -22,20 +23,20 @@ public class NotificationService implements INotificationService {
     private final NotificationApi notificationApi;
     private final IAccountsAPI accountsAPI;
     private final ILogger logger;
-    private final MessageService messageService;
+    private final NotificationTemplates templates;
 
     public NotificationService(
             MembersNetworkRepo membersNetworkRepo,
             NotificationApi notificationApi,
             IAccountsAPI accountsAPI,
             ILogger logger,
-            MessageService messageService
+            NotificationTemplates templates
     ) {
         this.membersNetworkRepo = membersNetworkRepo;
         this.notificationApi = notificationApi;
         this.accountsAPI = accountsAPI;
         this.logger = logger;
-        this.messageService = messageService;
+        this.templates = templates;
     }
 
     @Override
@@ -55,10 +56,11 @@ public class NotificationService implements INotificationService {
             return;
         }
 
+        Locale locale = templates.resolve(parentAccount.language());
         notificationApi.notifyDevices(
                 accountTokens,
-                messageService.getMessage("notification.contribution.pending.title"),
-                messageService.getMessage("notification.contribution.pending.body", contributor.fullName())
+                templates.render("notification.contribution.pending.title", locale),
+                templates.render("notification.contribution.pending.body", locale, contributor.fullName())
         );
     }
 
@@ -79,10 +81,11 @@ public class NotificationService implements INotificationService {
             return;
         }
 
+        Locale locale = templates.resolve(parentAccount.language());
         notificationApi.notifyDevices(
                 accountTokens,
-                messageService.getMessage("notification.contribution.confirmed.title"),
-                messageService.getMessage("notification.contribution.confirmed.body", contributor.fullName())
+                templates.render("notification.contribution.confirmed.title", locale),
+                templates.render("notification.contribution.confirmed.body", locale, contributor.fullName())
         );
     }
 
@@ -96,10 +99,11 @@ public class NotificationService implements INotificationService {
 
         List<String> accountTokens = contributor.devicesTokens();
 
+        Locale locale = templates.resolve(contributor.language());
         notificationApi.notifyDevices(
                 accountTokens,
-                messageService.getMessage("notification.contribution.reminder.title"),
-                messageService.getMessage("notification.contribution.reminder.body")
+                templates.render("notification.contribution.reminder.title", locale),
+                templates.render("notification.contribution.reminder.body", locale)
         );
     }
 
@@ -119,16 +123,17 @@ public class NotificationService implements INotificationService {
             return;
         }
 
+        Locale locale = templates.resolve(parentAccount.language());
         notificationApi.notifyDevices(
                 accountTokens,
-                messageService.getMessage("notification.connection.added.title", invited.fullName()),
-                messageService.getMessage("notification.connection.added.body")
+                templates.render("notification.connection.added.title", locale, invited.fullName()),
+                templates.render("notification.connection.added.body", locale)
         );
     }
 
     private AccountDTO getConnection(UUID userId) {
         var member = membersNetworkRepo.getById(userId);
-        if (member == null) return null;
+        if (member == null || member.parent() == null) return null;
         return accountsAPI.getById(member.parent().value());
     }
 }
\ No newline at end of file
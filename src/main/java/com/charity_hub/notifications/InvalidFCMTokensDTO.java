@@ -0,0 +1,10 @@
+package com.charity_hub.notifications;
+
+import java.util.List;
+
+/**
+ * Published when Firebase reports device tokens as unregistered or invalid,
+ * so the owning module can stop targeting them.
+ */
+public record InvalidFCMTokensDTO(List<String> tokens) {
+}
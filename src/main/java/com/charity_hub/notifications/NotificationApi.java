@@ -1,5 +1,6 @@
 package com.charity_hub.notifications;
 
+import java.time.Instant;
 import java.util.List;
 
 public interface NotificationApi {
@@ -7,5 +8,13 @@ public interface NotificationApi {
 
     void notifyTopicSubscribers(String topic, String event, Object extraJsonData, String title, String body);
 
+    /**
+     * Sends a topic notification no earlier than {@code notBefore}. Until it goes out, a call with
+     * the same {@code groupKey} and a higher {@code revision} replaces its content, so callers can
+     * keep one notification up to date instead of sending several.
+     */
+    void notifyTopicSubscribers(String topic, String event, Object extraJsonData, String title, String body,
+                                String groupKey, long revision, Instant notBefore);
+
     void subscribeToTopic(String topic, List<String> tokens);
 }
@@ -0,0 +1,79 @@
+package com.charity_hub.notifications.internal;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Stops dispatching while Firebase keeps failing. Opens after {@code failureThreshold}
+ * consecutive failures; once {@code openDuration} has passed a single trial call is let through
+ * (half-open) and its outcome closes or re-opens the breaker.
+ */
+final class CircuitBreaker {
+    enum State {CLOSED, OPEN, HALF_OPEN}
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean trialInFlight;
+
+    CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, System::nanoTime);
+    }
+
+    CircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns whether a call may be made now. A caller that gets {@code true} must report the
+     * outcome through {@link #onSuccess}, {@link #onFailure} or {@link #release}.
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAtNanos >= openNanos) {
+            state = State.HALF_OPEN;
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialInFlight) {
+                    yield false;
+                }
+                trialInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAtNanos = nanoClock.getAsLong();
+        }
+        trialInFlight = false;
+    }
+
+    /**
+     * Gives back a permit that wasn't used for a call.
+     */
+    synchronized void release() {
+        trialInFlight = false;
+    }
+
+    synchronized State state() {
+        return state;
+    }
+}
@@ -1,69 +1,177 @@
 package com.charity_hub.notifications.internal;
 
-import com.charity_hub.notifications.NotificationApi;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.charity_hub.notifications.InvalidFCMTokensDTO;
+import com.charity_hub.shared.domain.IEventBus;
+import com.charity_hub.shared.infrastructure.firebase.LazyFirebaseApp;
 import com.google.firebase.messaging.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @Component
 @ConditionalOnProperty(name = "firebase.test-mode", havingValue = "false", matchIfMissing = true)
-public class FCMService implements NotificationApi {
+public class FCMService implements NotificationSender {
     private static final Logger logger = LoggerFactory.getLogger(FCMService.class);
-    private final ObjectMapper objectMapper;
+    // FCM accepts at most 500 tokens per multicast call
+    static final int MAX_TOKENS_PER_CALL = 500;
 
-    public FCMService(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+    private final IEventBus eventBus;
+    private final LazyFirebaseApp firebaseApp;
+    private final int sendParallelism;
+
+    public FCMService(
+            IEventBus eventBus,
+            LazyFirebaseApp firebaseApp,
+            @Value("${notifications.fcm.send-parallelism:4}") int sendParallelism
+    ) {
+        this.eventBus = eventBus;
+        this.firebaseApp = firebaseApp;
+        this.sendParallelism = sendParallelism;
     }
 
     @Override
-    public void notifyDevices(List<String> tokens, String title, String body) {
-        logger.debug("Sending notification to {} devices - Title: {}", tokens.size(), title);
-        for (String token : tokens) {
-            Message message = buildMessage(title, body)
-                    .setToken(token)
-                    .build();
-            try {
-                String messageId = FirebaseMessaging.getInstance().send(message);
-                logger.debug("Notification sent successfully to token: {} - MessageId: {}", token.substring(0, Math.min(10, token.length())) + "...", messageId);
-            } catch (FirebaseMessagingException e) {
-                logger.error("Failed to send notification to token: {} - Error: {}", token.substring(0, Math.min(10, token.length())) + "...", e.getMessage());
-                throw new RuntimeException(e);
+    public SendReport sendToDevices(List<String> tokens, String title, String body) {
+        List<String> targets = tokens.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (targets.isEmpty()) {
+            logger.debug("No device tokens to notify - Title: {}", title);
+            return SendReport.delivered(0);
+        }
+        logger.debug("Sending notification to {} devices - Title: {}", targets.size(), title);
+
+        SendReport report = sendInChunks(targets, title, body);
+
+        if (report.failureCount() > 0) {
+            logger.warn("Notification partially failed - Success: {}, Failed: {}, Invalid tokens: {}, Retryable: {}",
+                    report.successCount(), report.failureCount(), report.invalidTokens().size(),
+                    report.retryableTokens().size());
+        } else {
+            logger.info("Successfully sent notifications to {} devices", report.successCount());
+        }
+        if (!report.invalidTokens().isEmpty()) {
+            eventBus.push(new InvalidFCMTokensDTO(report.invalidTokens()));
+        }
+        return report;
+    }
+
+    /**
+     * Sends in chunks of {@link #MAX_TOKENS_PER_CALL} with at most {@code sendParallelism}
+     * chunks in flight. A failed chunk doesn't stop the others.
+     */
+    SendReport sendInChunks(List<String> tokens, String title, String body) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i += MAX_TOKENS_PER_CALL) {
+            chunks.add(tokens.subList(i, Math.min(i + MAX_TOKENS_PER_CALL, tokens.size())));
+        }
+
+        List<Callable<SendReport>> tasks = chunks.stream()
+                .<Callable<SendReport>>map(chunk -> () -> sendChunk(chunk, title, body))
+                .toList();
+
+        int success = 0;
+        int failure = 0;
+        List<String> invalidTokens = new ArrayList<>();
+        List<String> retryableTokens = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(sendParallelism, chunks.size()), Thread.ofVirtual().name("fcm-send-", 0).factory())) {
+            for (Future<SendReport> future : executor.invokeAll(tasks)) {
+                SendReport report = future.get();
+                success += report.successCount();
+                failure += report.failureCount();
+                invalidTokens.addAll(report.invalidTokens());
+                retryableTokens.addAll(report.retryableTokens());
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SendFailedException("Interrupted while sending notifications", true, e);
+        } catch (ExecutionException e) {
+            throw new SendFailedException("Failed to send notifications", true, e.getCause());
         }
-        logger.info("Successfully sent notifications to {} devices", tokens.size());
+        return new SendReport(success, failure, invalidTokens, retryableTokens);
     }
 
-    @Override
-    public void notifyTopicSubscribers(String topic, String event, Object extraJsonData, String title, String body) {
-        logger.debug("Sending topic notification - Topic: {}, Event: {}, Title: {}", topic, event, title);
-        Message message;
-        String payload;
+    private SendReport sendChunk(List<String> tokens, String title, String body) {
+        MulticastMessage message = MulticastMessage.builder()
+                .setNotification(notification(title, body))
+                .setAndroidConfig(androidConfig())
+                .setApnsConfig(apnsConfig())
+                .addAllTokens(tokens)
+                .build();
+
+        BatchResponse response;
         try {
-            payload = objectMapper.writeValueAsString(extraJsonData);
-        } catch (JsonProcessingException e) {
-            logger.warn("Failed to serialize notification payload, using empty object: {}", e.getMessage());
-            payload = "{}";
+            response = messaging().sendEachForMulticast(message);
+        } catch (FirebaseMessagingException e) {
+            logger.error("Failed to send notification chunk of {} tokens - Error: {}", tokens.size(), e.getMessage());
+            return new SendReport(0, tokens.size(), List.of(),
+                    isRetryable(e.getMessagingErrorCode()) ? tokens : List.of());
         }
-        message = buildMessage(title, body)
+
+        // Responses are in token order. If every token is rejected as INVALID_ARGUMENT
+        // the message itself is at fault, so no token is treated as invalid.
+        List<SendResponse> responses = response.getResponses();
+        boolean messageRejected = response.getSuccessCount() == 0 && responses.stream()
+                .allMatch(r -> errorCode(r) == MessagingErrorCode.INVALID_ARGUMENT);
+        List<String> invalidTokens = new ArrayList<>();
+        List<String> retryableTokens = new ArrayList<>();
+        for (int i = 0; i < responses.size(); i++) {
+            SendResponse sendResponse = responses.get(i);
+            MessagingErrorCode code = errorCode(sendResponse);
+            if (code == MessagingErrorCode.UNREGISTERED
+                    || (code == MessagingErrorCode.INVALID_ARGUMENT && !messageRejected)) {
+                invalidTokens.add(tokens.get(i));
+            } else if (!sendResponse.isSuccessful() && isRetryable(code)) {
+                retryableTokens.add(tokens.get(i));
+            }
+        }
+        return new SendReport(response.getSuccessCount(), response.getFailureCount(), invalidTokens, retryableTokens);
+    }
+
+    /**
+     * Transient failures; a missing code means the request never got an answer (network, timeout).
+     */
+    private static boolean isRetryable(MessagingErrorCode code) {
+        return code == null
+                || code == MessagingErrorCode.UNAVAILABLE
+                || code == MessagingErrorCode.INTERNAL
+                || code == MessagingErrorCode.QUOTA_EXCEEDED;
+    }
+
+    private static MessagingErrorCode errorCode(SendResponse response) {
+        return response.isSuccessful() || response.getException() == null
+                ? null
+                : response.getException().getMessagingErrorCode();
+    }
+
+    @Override
+    public void sendToTopic(String topic, String event, String jsonData, String title, String body) {
+        logger.debug("Sending topic notification - Topic: {}, Event: {}, Title: {}", topic, event, title);
+        Message message = buildMessage(title, body)
                 .setTopic(topic)
                 .putData("topic", topic)
                 .putData("event", event)
-                .putData("data", payload)
+                .putData("data", jsonData)
                 .build();
 
-
         try {
-            String messageId = FirebaseMessaging.getInstance().send(message);
+            String messageId = messaging().send(message);
             logger.info("Topic notification sent successfully - Topic: {}, Event: {}, MessageId: {}", topic, event, messageId);
         } catch (FirebaseMessagingException e) {
             logger.error("Failed to send topic notification - Topic: {}, Event: {}, Error: {}", topic, event, e.getMessage());
-            throw new RuntimeException(e);
+            throw new SendFailedException(e.getMessage(), isRetryable(e.getMessagingErrorCode()), e);
         }
     }
 
@@ -71,54 +179,73 @@ public class FCMService implements NotificationApi {
      * Subscribe tokens to a topic.
      *
      * @param topic  The topic to subscribe to
-     * @param tokens The list of tokens to subscribe
+     * @param tokens The list of tokens to subscribe, at most 1000
+     * @return per-token outcome; tokens Firebase doesn't know are reported as invalid
      */
     @Override
-    public void subscribeToTopic(String topic, List<String> tokens) {
+    public SendReport subscribeToTopic(String topic, List<String> tokens) {
         logger.debug("Subscribing {} tokens to topic: {}", tokens.size(), topic);
         TopicManagementResponse response;
         try {
-            response = FirebaseMessaging.getInstance().subscribeToTopic(tokens, topic);
+            response = messaging().subscribeToTopic(tokens, topic);
         } catch (FirebaseMessagingException e) {
             logger.error("Failed to subscribe tokens to topic: {} - Error: {}", topic, e.getMessage());
-            throw new RuntimeException(e);
+            throw new SendFailedException(e.getMessage(), isRetryable(e.getMessagingErrorCode()), e);
         }
-        if (response.getFailureCount() > 0) {
-            logger.warn("Topic subscription partially failed - Topic: {}, Success: {}, Failed: {}", 
-                    topic, response.getSuccessCount(), response.getFailureCount());
-        } else {
+        if (response.getFailureCount() == 0) {
             logger.info("{} tokens were subscribed successfully to topic: {}", response.getSuccessCount(), topic);
+            return SendReport.delivered(response.getSuccessCount());
         }
+
+        List<String> invalidTokens = new ArrayList<>();
+        List<String> retryableTokens = new ArrayList<>();
+        for (TopicManagementResponse.Error error : response.getErrors()) {
+            String token = tokens.get(error.getIndex());
+            switch (error.getReason()) {
+                case "registration-token-not-registered", "invalid-argument" -> invalidTokens.add(token);
+                case "internal-error", "unknown-error" -> retryableTokens.add(token);
+                default -> logger.warn("Token could not be subscribed to topic: {} - Reason: {}", topic, error.getReason());
+            }
+        }
+        logger.warn("Topic subscription partially failed - Topic: {}, Success: {}, Failed: {}, Invalid: {}, Retryable: {}",
+                topic, response.getSuccessCount(), response.getFailureCount(), invalidTokens.size(), retryableTokens.size());
+        if (!invalidTokens.isEmpty()) {
+            eventBus.push(new InvalidFCMTokensDTO(invalidTokens));
+        }
+        return new SendReport(response.getSuccessCount(), response.getFailureCount(), invalidTokens, retryableTokens);
+    }
+
+    FirebaseMessaging messaging() {
+        return FirebaseMessaging.getInstance(firebaseApp.get());
     }
 
     private Message.Builder buildMessage(String title, String body) {
-        Message.Builder builder = Message.builder()
-                .setNotification(Notification.builder()
-                        .setTitle(title)
-                        .setBody(body)
-                        .build());
-        androidConfig(builder);
-        apnsConfig(builder);
-        return builder;
+        return Message.builder()
+                .setNotification(notification(title, body))
+                .setAndroidConfig(androidConfig())
+                .setApnsConfig(apnsConfig());
     }
 
-    private void apnsConfig(Message.Builder builder) {
-        builder.setApnsConfig(
-                ApnsConfig.builder()
-                        .setAps(Aps.builder().build())
-                        .build()
-        );
+    private Notification notification(String title, String body) {
+        return Notification.builder()
+                .setTitle(title)
+                .setBody(body)
+                .build();
     }
 
-    private void androidConfig(Message.Builder builder) {
-        builder.setAndroidConfig(
-                AndroidConfig.builder()
-                        .setTtl(3600 * 1000L)
-                        .setNotification(AndroidNotification.builder()
-                                .setIcon("stock_ticker_update")
-                                .setColor("#f45342")
-                                .build()
-                        ).build()
-        );
+    private ApnsConfig apnsConfig() {
+        return ApnsConfig.builder()
+                .setAps(Aps.builder().build())
+                .build();
+    }
+
+    private AndroidConfig androidConfig() {
+        return AndroidConfig.builder()
+                .setTtl(3600 * 1000L)
+                .setNotification(AndroidNotification.builder()
+                        .setIcon("stock_ticker_update")
+                        .setColor("#f45342")
+                        .build()
+                ).build();
     }
 }
\ No newline at end of file
@@ -1,44 +1,84 @@
 package com.charity_hub.notifications.internal;
 
-import com.charity_hub.notifications.NotificationApi;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
- * Stub implementation of NotificationApi for test mode.
+ * Stub implementation of NotificationSender for test mode.
  * This is used when firebase.test-mode=true to avoid requiring
  * real Firebase credentials during development/testing.
+ * <p>
+ * For load tests it can behave like a slow or flaky Firebase: every call waits
+ * {@code firebase.stub.latency} plus up to {@code firebase.stub.latency-jitter}, and fails
+ * with a retryable error at {@code firebase.stub.failure-rate} (0.0 - 1.0).
  */
 @Component
 @ConditionalOnProperty(
         name = "firebase.test-mode",
         havingValue = "true"
 )
-public class FCMServiceStub implements NotificationApi {
+public class FCMServiceStub implements NotificationSender {
     private static final Logger logger = LoggerFactory.getLogger(FCMServiceStub.class);
 
-    public FCMServiceStub() {
-        logger.info("FCMServiceStub initialized - Firebase notifications are disabled in test mode");
+    private final Duration latency;
+    private final Duration latencyJitter;
+    private final double failureRate;
+
+    public FCMServiceStub(
+            @Value("${firebase.stub.latency:0ms}") Duration latency,
+            @Value("${firebase.stub.latency-jitter:0ms}") Duration latencyJitter,
+            @Value("${firebase.stub.failure-rate:0.0}") double failureRate
+    ) {
+        this.latency = latency;
+        this.latencyJitter = latencyJitter;
+        this.failureRate = failureRate;
+        logger.info("FCMServiceStub initialized - Firebase notifications are disabled in test mode " +
+                "(latency: {}, jitter: {}, failure rate: {})", latency, latencyJitter, failureRate);
     }
 
     @Override
-    public void notifyDevices(List<String> tokens, String title, String body) {
-        logger.debug("[TEST MODE] Would send notification to {} devices - Title: {}, Body: {}", 
+    public SendReport sendToDevices(List<String> tokens, String title, String body) {
+        simulateCall("notifyDevices");
+        logger.debug("[TEST MODE] Would send notification to {} devices - Title: {}, Body: {}",
                 tokens.size(), title, body);
+        return SendReport.delivered(tokens.size());
     }
 
     @Override
-    public void notifyTopicSubscribers(String topic, String event, Object extraJsonData, String title, String body) {
-        logger.debug("[TEST MODE] Would send topic notification - Topic: {}, Event: {}, Title: {}", 
+    public void sendToTopic(String topic, String event, String jsonData, String title, String body) {
+        simulateCall("notifyTopicSubscribers");
+        logger.debug("[TEST MODE] Would send topic notification - Topic: {}, Event: {}, Title: {}",
                 topic, event, title);
     }
 
     @Override
-    public void subscribeToTopic(String topic, List<String> tokens) {
+    public SendReport subscribeToTopic(String topic, List<String> tokens) {
+        simulateCall("subscribeToTopic");
         logger.debug("[TEST MODE] Would subscribe {} tokens to topic: {}", tokens.size(), topic);
+        return SendReport.delivered(tokens.size());
+    }
+
+    private void simulateCall(String operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delayMillis = latency.toMillis()
+                + (latencyJitter.isZero() ? 0 : random.nextLong(latencyJitter.toMillis() + 1));
+        if (delayMillis > 0) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SendFailedException("Interrupted during simulated " + operation, true, e);
+            }
+        }
+        if (failureRate > 0 && random.nextDouble() < failureRate) {
+            throw new SendFailedException("[TEST MODE] Simulated " + operation + " failure", true, null);
+        }
     }
 }
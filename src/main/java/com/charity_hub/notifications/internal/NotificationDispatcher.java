@@ -0,0 +1,380 @@
+package com.charity_hub.notifications.internal;
+
+import com.charity_hub.notifications.NotificationApi;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.charity_hub.notifications.internal.NotificationJobEntity.*;
+
+/**
+ * {@link NotificationApi} backed by a persistent queue.
+ * <p>
+ * Calls only enqueue a job; worker threads send it through the {@link NotificationSender}.
+ * Transient failures are retried with exponential backoff and jitter up to
+ * {@code notifications.dispatcher.max-attempts}. All workers share one token bucket
+ * ({@code notifications.rate-limit.*}, in messages per second) and one circuit breaker that
+ * pauses dispatching while Firebase keeps failing. Jobs survive restarts: whatever is pending
+ * or was in flight when the process stopped is picked up again once its lease expires.
+ */
+@Component
+public class NotificationDispatcher implements NotificationApi, SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+    private static final Duration QUEUE_METRICS_INTERVAL = Duration.ofSeconds(15);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final NotificationQueue queue;
+    private final NotificationSender sender;
+    private final TopicSubscriptionBatcher subscriptionBatcher;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final int workerCount;
+    private final Duration pollInterval;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final TokenBucket rateLimiter;
+    private final CircuitBreaker circuitBreaker;
+
+    private final Semaphore wakeUps = new Semaphore(0);
+    private final AtomicLong queueSize = new AtomicLong();
+    private final AtomicLong oldestAgeMillis = new AtomicLong();
+    private final List<Thread> workers = new ArrayList<>();
+    private ScheduledExecutorService queueMetrics;
+    private volatile boolean running;
+
+    @Autowired
+    public NotificationDispatcher(
+            NotificationQueue queue,
+            NotificationSender sender,
+            TopicSubscriptionBatcher subscriptionBatcher,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${notifications.dispatcher.workers:4}") int workerCount,
+            @Value("${notifications.dispatcher.poll-interval:1s}") Duration pollInterval,
+            @Value("${notifications.dispatcher.lease:2m}") Duration lease,
+            @Value("${notifications.dispatcher.max-attempts:8}") int maxAttempts,
+            @Value("${notifications.dispatcher.initial-backoff:2s}") Duration initialBackoff,
+            @Value("${notifications.dispatcher.max-backoff:10m}") Duration maxBackoff,
+            @Value("${notifications.rate-limit.per-second:500}") double permitsPerSecond,
+            @Value("${notifications.rate-limit.burst:1000}") int burst,
+            @Value("${notifications.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${notifications.circuit-breaker.open-duration:30s}") Duration openDuration
+    ) {
+        this(queue, sender, subscriptionBatcher, objectMapper, meterRegistry, workerCount, pollInterval, lease,
+                maxAttempts, initialBackoff, maxBackoff, new TokenBucket(permitsPerSecond, burst),
+                new CircuitBreaker(failureThreshold, openDuration));
+    }
+
+    NotificationDispatcher(
+            NotificationQueue queue,
+            NotificationSender sender,
+            TopicSubscriptionBatcher subscriptionBatcher,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            int workerCount,
+            Duration pollInterval,
+            Duration lease,
+            int maxAttempts,
+            Duration initialBackoff,
+            Duration maxBackoff,
+            TokenBucket rateLimiter,
+            CircuitBreaker circuitBreaker
+    ) {
+        this.queue = queue;
+        this.sender = sender;
+        this.subscriptionBatcher = subscriptionBatcher;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.workerCount = workerCount;
+        this.pollInterval = pollInterval;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = circuitBreaker;
+
+        Gauge.builder("notifications.queue.size", queueSize, AtomicLong::get)
+                .description("Notification jobs waiting to be sent")
+                .register(meterRegistry);
+        Gauge.builder("notifications.queue.oldest.age", oldestAgeMillis, value -> value.get() / 1000.0)
+                .description("Age of the oldest notification job waiting to be sent")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("notifications.circuit.state", circuitBreaker, breaker -> breaker.state().ordinal())
+                .description("Firebase circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void notifyDevices(List<String> tokens, String title, String body) {
+        List<String> targets = tokens.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (targets.isEmpty()) {
+            logger.debug("No device tokens to notify - Title: {}", title);
+            return;
+        }
+        enqueue(NotificationJobEntity.pending(DEVICES, targets, null, null, null, title, body));
+    }
+
+    @Override
+    public void notifyTopicSubscribers(String topic, String event, Object extraJsonData, String title, String body) {
+        enqueue(NotificationJobEntity.pending(TOPIC, null, topic, event, toJson(extraJsonData), title, body));
+    }
+
+    @Override
+    public void notifyTopicSubscribers(String topic, String event, Object extraJsonData, String title, String body,
+                                       String groupKey, long revision, Instant notBefore) {
+        NotificationJobEntity job = NotificationJobEntity.grouped(
+                topic, event, toJson(extraJsonData), title, body, groupKey, revision, notBefore);
+        if (queue.enqueueOrReplace(job)) {
+            logger.debug("Queued notification group {} revision {} for {}", groupKey, revision, notBefore);
+        } else {
+            logger.debug("Notification group {} already queued or sent, dropping revision {}", groupKey, revision);
+        }
+    }
+
+    private String toJson(Object extraJsonData) {
+        try {
+            return objectMapper.writeValueAsString(extraJsonData);
+        } catch (JsonProcessingException e) {
+            logger.warn("Failed to serialize notification payload, using empty object: {}", e.getMessage());
+            return "{}";
+        }
+    }
+
+    /**
+     * Subscriptions are batched per topic by the {@link TopicSubscriptionBatcher} before being queued.
+     */
+    @Override
+    public void subscribeToTopic(String topic, List<String> tokens) {
+        List<String> targets = tokens.stream()
+                .filter(Objects::nonNull)
+                .toList();
+        if (!targets.isEmpty()) {
+            subscriptionBatcher.add(topic, targets);
+        }
+    }
+
+    private void enqueue(NotificationJobEntity job) {
+        queue.enqueue(job);
+        wakeUps.release();
+        logger.debug("Queued {} notification job {}", job.type(), job._id());
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(Thread.ofVirtual().name("notification-worker-" + i).start(this::work));
+        }
+        queueMetrics = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofVirtual().name("notification-queue-metrics").factory());
+        queueMetrics.scheduleWithFixedDelay(this::updateQueueMetrics,
+                0, QUEUE_METRICS_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        wakeUps.release(workerCount);
+        if (queueMetrics != null) {
+            queueMetrics.shutdownNow();
+        }
+        long deadline = System.nanoTime() + SHUTDOWN_TIMEOUT.toNanos();
+        try {
+            for (Thread worker : workers) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !worker.join(Duration.ofNanos(remaining))) {
+                    // The interrupted job keeps its lease and is sent again by the next run
+                    worker.interrupt();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.forEach(Thread::interrupt);
+        }
+        workers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void work() {
+        while (running) {
+            try {
+                if (!dispatchNext()) {
+                    wakeUps.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Notification worker pass failed", e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    /**
+     * Claims and sends one job.
+     *
+     * @return false when there was nothing to do, either because no job is due or the breaker is open
+     */
+    boolean dispatchNext() throws InterruptedException {
+        if (!circuitBreaker.tryAcquire()) {
+            return false;
+        }
+        NotificationJobEntity job;
+        try {
+            job = queue.claim(lease);
+        } catch (RuntimeException e) {
+            circuitBreaker.release();
+            throw e;
+        }
+        if (job == null) {
+            circuitBreaker.release();
+            return false;
+        }
+        dispatch(job);
+        return true;
+    }
+
+    private void dispatch(NotificationJobEntity job) throws InterruptedException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome;
+        try {
+            rateLimiter.acquire(job.type().equals(DEVICES) ? job.tokens().size() : 1);
+            SendReport report = send(job);
+            if (report.successCount() == 0 && !report.retryableTokens().isEmpty()) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            outcome = report.retryableTokens().isEmpty()
+                    ? complete(job)
+                    : retryOrFail(job, report.retryableTokens(), report.retryableTokens().size() + " tokens failed");
+        } catch (InterruptedException e) {
+            circuitBreaker.release();
+            throw e;
+        } catch (SendFailedException e) {
+            if (e.retryable()) {
+                circuitBreaker.onFailure();
+                outcome = retryOrFail(job, job.tokens(), e.getMessage());
+            } else {
+                // Firebase answered, it just rejected the request
+                circuitBreaker.onSuccess();
+                logger.error("Notification job {} ({}) rejected: {}", job._id(), job.type(), e.getMessage());
+                queue.fail(job._id(), e.getMessage());
+                outcome = "rejected";
+            }
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            outcome = retryOrFail(job, job.tokens(), e.toString());
+        }
+        sample.stop(Timer.builder("notifications.dispatch")
+                .description("Time to send a notification job, by outcome")
+                .tag("type", job.type())
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    private SendReport send(NotificationJobEntity job) {
+        return switch (job.type()) {
+            case DEVICES -> sender.sendToDevices(job.tokens(), job.title(), job.body());
+            case TOPIC -> {
+                sender.sendToTopic(job.topic(), job.event(), job.data(), job.title(), job.body());
+                yield SendReport.delivered(1);
+            }
+            case SUBSCRIBE -> {
+                SendReport report = sender.subscribeToTopic(job.topic(), job.tokens());
+                List<String> subscribed = job.tokens().stream()
+                        .filter(token -> !report.invalidTokens().contains(token)
+                                && !report.retryableTokens().contains(token))
+                        .toList();
+                subscriptionBatcher.markSubscribed(job.topic(), subscribed);
+                yield report;
+            }
+            default -> throw new SendFailedException("Unknown notification job type " + job.type(), false, null);
+        };
+    }
+
+    private String complete(NotificationJobEntity job) {
+        queue.complete(job._id());
+        Timer.builder("notifications.queue.latency")
+                .description("Time from enqueueing a notification job until it was sent")
+                .tag("type", job.type())
+                .register(meterRegistry)
+                .record(Duration.between(job.createdAt(), Instant.now()));
+        return "sent";
+    }
+
+    private String retryOrFail(NotificationJobEntity job, List<String> tokens, String error) {
+        if (job.attempts() >= maxAttempts) {
+            logger.error("Notification job {} ({}) failed after {} attempts: {}",
+                    job._id(), job.type(), job.attempts(), error);
+            queue.fail(job._id(), error);
+            return "failed";
+        }
+        Duration delay = backoff(job.attempts());
+        logger.warn("Notification job {} ({}) attempt {} failed, retrying in {}: {}",
+                job._id(), job.type(), job.attempts(), delay, error);
+        queue.retry(job._id(), tokens, Instant.now().plus(delay), error);
+        return "retried";
+    }
+
+    /**
+     * Exponential backoff with equal jitter: half of the delay is fixed, the other half random,
+     * so jobs that failed together don't all come back at the same moment.
+     */
+    Duration backoff(int attempts) {
+        long exponential = initialBackoff.toMillis() << Math.min(attempts - 1, 20);
+        long delay = Math.min(maxBackoff.toMillis(), exponential);
+        long half = delay / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+
+    private void updateQueueMetrics() {
+        try {
+            queueSize.set(queue.countUnfinished());
+            Instant oldest = queue.oldestUnfinished();
+            oldestAgeMillis.set(oldest == null ? 0 : Duration.between(oldest, Instant.now()).toMillis());
+        } catch (Exception e) {
+            logger.warn("Failed to refresh notification queue metrics: {}", e.getMessage());
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(pollInterval.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.charity_hub.notifications.internal;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A pending Firebase call. {@code type} selects which {@link NotificationSender} method runs it;
+ * the fields it doesn't use are null. {@code nextAttemptAt} is the retry time for pending jobs
+ * and the lease expiry for jobs a worker has claimed.
+ * <p>
+ * Jobs with a {@code groupKey} are unique per key: while pending, a job of a higher
+ * {@code revision} replaces the content of the queued one (see {@link NotificationQueue#enqueueOrReplace}).
+ */
+public record NotificationJobEntity(
+        UUID _id,
+        String type,
+        List<String> tokens,
+        String topic,
+        String event,
+        String data,
+        String title,
+        String body,
+        String status,
+        int attempts,
+        Instant createdAt,
+        Instant nextAttemptAt,
+        Instant completedAt,
+        String lastError,
+        String groupKey,
+        long revision
+) {
+    static final String DEVICES = "DEVICES";
+    static final String TOPIC = "TOPIC";
+    static final String SUBSCRIBE = "SUBSCRIBE";
+
+    static final String PENDING = "PENDING";
+    static final String IN_PROGRESS = "IN_PROGRESS";
+    static final String SENT = "SENT";
+    static final String FAILED = "FAILED";
+
+    static NotificationJobEntity pending(
+            String type, List<String> tokens, String topic, String event, String data, String title, String body) {
+        Instant now = Instant.now();
+        return new NotificationJobEntity(
+                UUID.randomUUID(), type, tokens, topic, event, data, title, body,
+                PENDING, 0, now, now, null, null, null, 0);
+    }
+
+    static NotificationJobEntity grouped(
+            String topic, String event, String data, String title, String body,
+            String groupKey, long revision, Instant notBefore) {
+        return new NotificationJobEntity(
+                UUID.randomUUID(), TOPIC, null, topic, event, data, title, body,
+                PENDING, 0, Instant.now(), notBefore, null, null, groupKey, revision);
+    }
+}
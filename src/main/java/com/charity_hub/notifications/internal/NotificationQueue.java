@@ -0,0 +1,145 @@
+package com.charity_hub.notifications.internal;
+
+import com.charity_hub.shared.infrastructure.MongoIndexes;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.charity_hub.notifications.internal.NotificationJobEntity.*;
+import static com.mongodb.client.model.Filters.*;
+
+/**
+ * Mongo-backed queue of pending notification jobs. Workers claim a job by leasing it; a job
+ * whose worker died is claimed again once its lease expires.
+ */
+@Component
+public class NotificationQueue {
+    private static final String COLLECTION = "notification_jobs";
+
+    private final MongoCollection<NotificationJobEntity> collection;
+
+    public NotificationQueue(
+            MongoDatabase mongoDatabase,
+            MongoIndexes indexes,
+            @Value("${notifications.dispatcher.completed-retention:7d}") Duration completedRetention
+    ) {
+        this.collection = mongoDatabase.getCollection(COLLECTION, NotificationJobEntity.class);
+
+        indexes.ensure(collection, Indexes.ascending("status", "nextAttemptAt"));
+        indexes.ensure(collection, Indexes.ascending("status", "createdAt"));
+        // TTL indexes skip documents where the field is null, so only finished jobs expire
+        indexes.ensure(collection, Indexes.ascending("completedAt"),
+                new IndexOptions().expireAfter(completedRetention.toSeconds(), TimeUnit.SECONDS)
+                        .name("completedAt_ttl"));
+        indexes.ensure(collection, Indexes.ascending("groupKey"),
+                new IndexOptions().unique(true).partialFilterExpression(type("groupKey", BsonType.STRING)));
+    }
+
+    void enqueue(NotificationJobEntity job) {
+        collection.insertOne(job);
+    }
+
+    /**
+     * Queues a grouped job, or replaces the content of its group's job while that one is still
+     * pending at a lower revision. Once a group's job is claimed, later revisions are dropped.
+     *
+     * @return false when the group already had a job that was kept
+     */
+    boolean enqueueOrReplace(NotificationJobEntity job) {
+        if (replace(job)) {
+            return true;
+        }
+        try {
+            collection.insertOne(job);
+            return true;
+        } catch (MongoWriteException e) {
+            if (e.getError().getCategory() != ErrorCategory.DUPLICATE_KEY) {
+                throw e;
+            }
+            // Another instance queued the group in the meantime
+            return replace(job);
+        }
+    }
+
+    private boolean replace(NotificationJobEntity job) {
+        return collection.updateOne(
+                and(eq("groupKey", job.groupKey()), eq("status", PENDING), lt("revision", job.revision())),
+                Updates.combine(
+                        Updates.set("data", job.data()),
+                        Updates.set("title", job.title()),
+                        Updates.set("body", job.body()),
+                        Updates.set("revision", job.revision()))
+        ).getMatchedCount() > 0;
+    }
+
+    /**
+     * Leases the job that has been due the longest, or returns null when nothing is due.
+     */
+    NotificationJobEntity claim(Duration lease) {
+        Instant now = Instant.now();
+        return collection.findOneAndUpdate(
+                and(in("status", PENDING, IN_PROGRESS), lte("nextAttemptAt", now)),
+                Updates.combine(
+                        Updates.set("status", IN_PROGRESS),
+                        Updates.set("nextAttemptAt", now.plus(lease)),
+                        Updates.inc("attempts", 1)),
+                new FindOneAndUpdateOptions()
+                        .sort(Sorts.ascending("nextAttemptAt"))
+                        .returnDocument(ReturnDocument.AFTER));
+    }
+
+    void complete(UUID jobId) {
+        collection.updateOne(eq("_id", jobId), Updates.combine(
+                Updates.set("status", SENT),
+                Updates.set("completedAt", Instant.now())));
+    }
+
+    void retry(UUID jobId, List<String> tokens, Instant nextAttemptAt, String error) {
+        collection.updateOne(eq("_id", jobId), Updates.combine(
+                Updates.set("status", PENDING),
+                Updates.set("tokens", tokens),
+                Updates.set("nextAttemptAt", nextAttemptAt),
+                Updates.set("lastError", error)));
+    }
+
+    void fail(UUID jobId, String error) {
+        collection.updateOne(eq("_id", jobId), Updates.combine(
+                Updates.set("status", FAILED),
+                Updates.set("completedAt", Instant.now()),
+                Updates.set("lastError", error)));
+    }
+
+    long countUnfinished() {
+        return collection.countDocuments(in("status", PENDING, IN_PROGRESS));
+    }
+
+    /**
+     * Creation time of the oldest job that hasn't been sent yet, or null when the queue is empty.
+     */
+    Instant oldestUnfinished() {
+        Document oldest = collection.withDocumentClass(Document.class)
+                .find(in("status", PENDING, IN_PROGRESS))
+                .sort(Sorts.ascending("createdAt"))
+                .projection(Projections.include("createdAt"))
+                .first();
+        return oldest == null ? null : oldest.getDate("createdAt").toInstant();
+    }
+}
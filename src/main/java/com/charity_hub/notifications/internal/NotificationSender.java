@@ -0,0 +1,26 @@
+package com.charity_hub.notifications.internal;
+
+import java.util.List;
+
+/**
+ * Makes the actual calls to Firebase. Invoked by {@link NotificationDispatcher} workers, which
+ * own retries, rate limiting and circuit breaking.
+ */
+interface NotificationSender {
+
+    /**
+     * @return per-token outcome; tokens in {@link SendReport#retryableTokens()} are sent again later
+     */
+    SendReport sendToDevices(List<String> tokens, String title, String body);
+
+    /**
+     * @throws SendFailedException if Firebase didn't accept the message
+     */
+    void sendToTopic(String topic, String event, String jsonData, String title, String body);
+
+    /**
+     * @return per-token outcome; tokens in {@link SendReport#retryableTokens()} are subscribed again later
+     * @throws SendFailedException if Firebase didn't accept the request
+     */
+    SendReport subscribeToTopic(String topic, List<String> tokens);
+}
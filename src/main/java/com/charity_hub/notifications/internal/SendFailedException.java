@@ -0,0 +1,18 @@
+package com.charity_hub.notifications.internal;
+
+/**
+ * A call to Firebase failed. Retryable failures are rescheduled and count towards the
+ * circuit breaker; the others mean the request itself was rejected and is dropped.
+ */
+class SendFailedException extends RuntimeException {
+    private final boolean retryable;
+
+    SendFailedException(String message, boolean retryable, Throwable cause) {
+        super(message, cause);
+        this.retryable = retryable;
+    }
+
+    boolean retryable() {
+        return retryable;
+    }
+}
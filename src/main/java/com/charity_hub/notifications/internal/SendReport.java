@@ -0,0 +1,14 @@
+package com.charity_hub.notifications.internal;
+
+import java.util.List;
+
+/**
+ * Per-token outcome of a device fan-out. {@code retryableTokens} failed for a transient reason
+ * (Firebase unavailable, quota) and are worth sending again.
+ */
+record SendReport(int successCount, int failureCount, List<String> invalidTokens, List<String> retryableTokens) {
+
+    static SendReport delivered(int count) {
+        return new SendReport(count, 0, List.of(), List.of());
+    }
+}
@@ -0,0 +1,51 @@
+package com.charity_hub.notifications.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket shared by all dispatcher workers. Callers reserve permits up front and may take
+ * the bucket into debt, so a large request waits for its own refill instead of blocking
+ * forever behind a capacity smaller than itself; the next caller then waits for that debt.
+ */
+final class TokenBucket {
+    private final double permitsPerNano;
+    private final double capacity;
+    private final LongSupplier nanoClock;
+
+    private double available;
+    private long lastRefillNanos;
+
+    TokenBucket(double permitsPerSecond, int capacity) {
+        this(permitsPerSecond, capacity, System::nanoTime);
+    }
+
+    TokenBucket(double permitsPerSecond, int capacity, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Rate and capacity must be positive");
+        }
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = capacity;
+        this.nanoClock = nanoClock;
+        this.available = capacity;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    void acquire(int permits) throws InterruptedException {
+        long waitNanos = reserve(permits);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Takes the permits and returns how long the caller has to wait before using them.
+     */
+    synchronized long reserve(int permits) {
+        long now = nanoClock.getAsLong();
+        available = Math.min(capacity, available + (now - lastRefillNanos) * permitsPerNano);
+        lastRefillNanos = now;
+        available -= permits;
+        return available >= 0 ? 0 : (long) Math.ceil(-available / permitsPerNano);
+    }
+}
@@ -0,0 +1,124 @@
+package com.charity_hub.notifications.internal;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects topic subscriptions into batches so Firebase sees one subscribe call per topic for
+ * up to {@link #MAX_TOKENS_PER_CALL} tokens instead of one per token.
+ * <p>
+ * A batch is queued as a single job once it is full or {@code notifications.subscriptions.window}
+ * after its first token arrived. Tokens already in {@link TopicSubscriptions} are left out.
+ * Tokens still in the window when the process dies are lost; devices register their token
+ * again on the next app launch.
+ */
+@Component
+public class TopicSubscriptionBatcher {
+    private static final Logger logger = LoggerFactory.getLogger(TopicSubscriptionBatcher.class);
+    // Firebase accepts at most 1000 tokens per subscribeToTopic call
+    static final int MAX_TOKENS_PER_CALL = 1000;
+
+    private final NotificationQueue queue;
+    private final TopicSubscriptions subscriptions;
+    private final Duration window;
+    private final Map<String, Set<String>> pending = new HashMap<>();
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("topic-subscription-batcher").factory());
+
+    public TopicSubscriptionBatcher(
+            NotificationQueue queue,
+            TopicSubscriptions subscriptions,
+            @Value("${notifications.subscriptions.window:2s}") Duration window
+    ) {
+        this.queue = queue;
+        this.subscriptions = subscriptions;
+        this.window = window;
+    }
+
+    void add(String topic, List<String> tokens) {
+        List<String> full = null;
+        synchronized (pending) {
+            Set<String> batch = pending.get(topic);
+            if (batch == null) {
+                Set<String> created = new LinkedHashSet<>();
+                pending.put(topic, created);
+                // The window belongs to this batch; if it fills up first, a later batch keeps its own window
+                scheduler.schedule(() -> flush(topic, created), window.toMillis(), TimeUnit.MILLISECONDS);
+                batch = created;
+            }
+            batch.addAll(tokens);
+            if (batch.size() >= MAX_TOKENS_PER_CALL) {
+                full = new ArrayList<>(pending.remove(topic));
+            }
+        }
+        if (full != null) {
+            enqueue(topic, full);
+        }
+    }
+
+    void markSubscribed(String topic, List<String> tokens) {
+        subscriptions.markSubscribed(topic, tokens);
+    }
+
+    void flush(String topic) {
+        Set<String> batch;
+        synchronized (pending) {
+            batch = pending.remove(topic);
+        }
+        if (batch != null) {
+            enqueue(topic, new ArrayList<>(batch));
+        }
+    }
+
+    private void flush(String topic, Set<String> scheduled) {
+        synchronized (pending) {
+            if (pending.get(topic) != scheduled) {
+                return;
+            }
+            pending.remove(topic);
+        }
+        enqueue(topic, new ArrayList<>(scheduled));
+    }
+
+    @PreDestroy
+    void flushAll() {
+        scheduler.shutdownNow();
+        List<String> topics;
+        synchronized (pending) {
+            topics = new ArrayList<>(pending.keySet());
+        }
+        topics.forEach(this::flush);
+    }
+
+    private void enqueue(String topic, List<String> tokens) {
+        try {
+            Set<String> subscribed = subscriptions.findSubscribed(topic, tokens);
+            List<String> remaining = tokens.stream()
+                    .filter(token -> !subscribed.contains(token))
+                    .toList();
+            for (int i = 0; i < remaining.size(); i += MAX_TOKENS_PER_CALL) {
+                List<String> chunk = remaining.subList(i, Math.min(i + MAX_TOKENS_PER_CALL, remaining.size()));
+                queue.enqueue(NotificationJobEntity.pending(
+                        NotificationJobEntity.SUBSCRIBE, List.copyOf(chunk), topic, null, null, null, null));
+            }
+            logger.debug("Queued {} of {} tokens for topic {} ({} already subscribed)",
+                    remaining.size(), tokens.size(), topic, subscribed.size());
+        } catch (Exception e) {
+            logger.error("Failed to queue {} topic subscriptions for {}", tokens.size(), topic, e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.charity_hub.notifications.internal;
+
+import com.charity_hub.shared.infrastructure.MongoIndexes;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.mongodb.client.model.Filters.*;
+
+/**
+ * Tokens Firebase has confirmed as subscribed, per topic, so repeated token updates for the
+ * same device don't turn into repeated subscribe calls.
+ */
+@Component
+public class TopicSubscriptions {
+    private static final String COLLECTION = "topic_subscriptions";
+
+    private final MongoCollection<Document> collection;
+
+    public TopicSubscriptions(MongoDatabase mongoDatabase, MongoIndexes indexes) {
+        this.collection = mongoDatabase.getCollection(COLLECTION);
+
+        indexes.ensure(collection, Indexes.ascending("topic", "token"), new IndexOptions().unique(true));
+    }
+
+    Set<String> findSubscribed(String topic, Collection<String> tokens) {
+        return collection.find(and(eq("topic", topic), in("token", tokens)))
+                .projection(Projections.fields(Projections.include("token"), Projections.excludeId()))
+                .map(document -> document.getString("token"))
+                .into(new HashSet<>());
+    }
+
+    void markSubscribed(String topic, Collection<String> tokens) {
+        if (tokens.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<UpdateOneModel<Document>> upserts = tokens.stream()
+                .map(token -> new UpdateOneModel<Document>(
+                        and(eq("topic", topic), eq("token", token)),
+                        Updates.setOnInsert("subscribedAt", now),
+                        new UpdateOptions().upsert(true)))
+                .toList();
+        collection.bulkWrite(upserts, new BulkWriteOptions().ordered(false));
+    }
+}
@@ -1,5 +1,6 @@
 package com.charity_hub.shared.auth;
 
+import com.charity_hub.shared.infrastructure.logging.LoggingContext;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -7,6 +8,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -47,18 +49,17 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
             var claims = jwtVerifier.verify(token);
             String tokenType = claims.get("type", String.class);
-            log.info("Token type: {}", tokenType);
+            // Claims carry the mobile number and device id, so they are never logged
+            log.debug("Authenticating {} token", tokenType);
 
             Object payload;
             if ("refreshToken".equals(tokenType)) {
-                log.info("Creating RefreshTokenPayload");
-                log.info("Claims: {}", claims);
                 payload = RefreshTokenPayload.fromPayload(claims);
-                log.info("RefreshTokenPayload created successfully: {}", payload);
             } else {
-                log.info("Creating AccessTokenPayload");
                 payload = AccessTokenPayload.fromPayload(claims);
             }
+            // Cleared with the rest of the request's logging context by LoggingContextFilter
+            MDC.put(LoggingContext.USER_ID, claims.get("uuid", String.class));
 
             var authentication = new UsernamePasswordAuthenticationToken(
                 payload,
@@ -41,6 +41,8 @@ public class SecurityConfig {
                     .requestMatchers(new AntPathRequestMatcher("/actuator")).permitAll()
                     .requestMatchers(new AntPathRequestMatcher("/v1/accounts/authenticate")).permitAll()
                     .requestMatchers(new AntPathRequestMatcher("/error")).permitAll()
+                    // Slow commands carry collection names and query shapes
+                    .requestMatchers(new AntPathRequestMatcher("/actuator/slowqueries")).hasAuthority("FULL_ACCESS")
                     .anyRequest().authenticated();
             } catch (Exception e) {
                 throw new RuntimeException("Error configuring security rules", e);
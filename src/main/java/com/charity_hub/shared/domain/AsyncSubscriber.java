@@ -0,0 +1,103 @@
+package com.charity_hub.shared.domain;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded queue for one event subscriber, drained by a fixed number of virtual threads.
+ * The worker count is the subscriber's concurrency limit.
+ */
+final class AsyncSubscriber {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncSubscriber.class);
+    // Queued once per worker on shutdown, behind the pending events
+    private static final Runnable STOP = () -> {
+    };
+
+    private final String name;
+    private final BlockingQueue<Runnable> queue;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean accepting = true;
+
+    AsyncSubscriber(String name, int capacity, int concurrency) {
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(Thread.ofVirtual()
+                    .name("eventbus-" + name + "-" + i)
+                    .start(this::work));
+        }
+    }
+
+    void submit(Runnable task) {
+        if (accepting && queue.offer(task)) {
+            return;
+        }
+        // Back-pressure: run on the publisher's thread rather than dropping the event
+        logger.warn("Event queue for {} is {}, handling event on caller thread",
+                name, accepting ? "full" : "closed");
+        run(task);
+    }
+
+    int pending() {
+        return queue.size();
+    }
+
+    void drain(long deadlineNanos) {
+        accepting = false;
+        try {
+            for (int i = 0; i < workers.size(); i++) {
+                long remaining = Math.max(0, deadlineNanos - System.nanoTime());
+                if (!queue.offer(STOP, remaining, TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Thread worker : workers) {
+            long remaining = deadlineNanos - System.nanoTime();
+            try {
+                if (remaining <= 0 || !worker.join(Duration.ofNanos(remaining))) {
+                    worker.interrupt();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                worker.interrupt();
+            }
+        }
+        long unprocessed = queue.stream().filter(task -> task != STOP).count();
+        if (unprocessed > 0) {
+            logger.warn("Event subscriber {} stopped with {} unprocessed events", name, unprocessed);
+        }
+    }
+
+    private void work() {
+        while (true) {
+            Runnable task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (task == STOP) {
+                return;
+            }
+            run(task);
+        }
+    }
+
+    private void run(Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            logger.error("Event handler {} failed", name, e);
+        }
+    }
+}
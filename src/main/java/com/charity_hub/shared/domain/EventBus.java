@@ -1,42 +1,220 @@
 package com.charity_hub.shared.domain;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * In-process event bus.
+ * <p>
+ * In sync mode handlers run on the publisher's thread. In async mode every subscriber gets
+ * its own bounded queue drained by virtual-thread workers, so publishers (repositories
+ * saving aggregates) no longer wait on notification I/O. When a subscriber's queue is full
+ * the event is handled on the publisher's thread instead of being dropped.
+ * <p>
+ * Every (event type, subscriber) pair is observed through the {@link EventBusMonitor}.
+ */
 @Component
-public class EventBus implements IEventBus {
+public class EventBus implements IEventBus, SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(EventBus.class);
+
     // CopyOnWriteArrayList is thread-safe and doesn't require synchronization for iteration.
     // This avoids virtual thread pinning when handlers perform blocking I/O.
     private final List<EventListener<?>> listeners = new CopyOnWriteArrayList<>();
+    // Rebuilt on every (un)subscribe, which only happens at startup/shutdown,
+    // so push resolves listeners for an event type with a single lookup.
+    private volatile ListenerIndex index = new ListenerIndex(List.of());
+
+    private final boolean async;
+    private final int queueCapacity;
+    private final int maxConcurrency;
+    private final Duration shutdownTimeout;
+    private final EventBusMonitor monitor;
+    private volatile boolean running;
+
+    public EventBus() {
+        this(false, 0, 0, Duration.ZERO, EventBusMonitor.NONE);
+    }
+
+    @Autowired
+    public EventBus(
+            @Value("${eventbus.async.enabled:false}") boolean async,
+            @Value("${eventbus.async.queue-capacity:1000}") int queueCapacity,
+            @Value("${eventbus.async.max-concurrency:4}") int maxConcurrency,
+            @Value("${eventbus.async.shutdown-timeout:10s}") Duration shutdownTimeout,
+            EventBusMonitor monitor
+    ) {
+        this.async = async;
+        this.queueCapacity = queueCapacity;
+        this.maxConcurrency = maxConcurrency;
+        this.shutdownTimeout = shutdownTimeout;
+        this.monitor = monitor;
+    }
 
     @Override
-    public <T> void subscribe(Object owner, Class<T> event, EventCallback<T> callback) {
-        EventListener<T> listener = new EventListener<>(owner, event, callback);
-        listeners.add(listener);
+    public synchronized <T> void subscribe(Object owner, Class<T> event, EventCallback<T> callback) {
+        String id = listenerId(owner, event);
+        // The outbox delivers by id, so a second listener with the same id would never be called
+        if (index.byId.containsKey(id)) {
+            throw new IllegalStateException("A listener " + id + " is already subscribed");
+        }
+        AsyncSubscriber subscriber = async
+                ? new AsyncSubscriber(id, queueCapacity, maxConcurrency)
+                : null;
+        EventBusMonitor.ListenerMonitor listenerMonitor = monitor.monitor(
+                id, owner.getClass(), event, subscriber != null ? subscriber::pending : null);
+        listeners.add(new EventListener<>(id, owner, event, callback, subscriber, listenerMonitor));
+        index = new ListenerIndex(List.copyOf(listeners));
     }
 
     @Override
-    public void unsubscribe(Object owner) {
-        listeners.removeIf(listener -> listener.owner().equals(owner));
+    public synchronized void unsubscribe(Object owner) {
+        List<EventListener<?>> removed = new ArrayList<>();
+        listeners.removeIf(listener -> {
+            boolean matches = listener.owner().equals(owner);
+            if (matches) {
+                removed.add(listener);
+            }
+            return matches;
+        });
+        index = new ListenerIndex(List.copyOf(listeners));
+        removed.forEach(listener -> {
+            if (listener.subscriber() != null) {
+                listener.subscriber().drain(System.nanoTime() + shutdownTimeout.toNanos());
+            }
+            listener.monitor().remove();
+        });
     }
 
     @Override
     public <T> void push(T event) {
-        // No synchronization needed - CopyOnWriteArrayList handles thread-safety
-        // and virtual threads won't be pinned during handler execution
-        listeners.forEach(listener -> {
-            if (listener.event().isInstance(event)) {
-                @SuppressWarnings("unchecked")
-                EventListener<T> typedListener = (EventListener<T>) listener;
-                typedListener.callback().handle(event);
+        for (EventListener<?> listener : index.get(event.getClass())) {
+            @SuppressWarnings("unchecked")
+            EventListener<T> typedListener = (EventListener<T>) listener;
+            if (typedListener.subscriber() == null) {
+                typedListener.handle(event);
+            } else {
+                typedListener.subscriber().submit(() -> typedListener.handle(event));
             }
-        });
+        }
     }
-}
 
-record EventListener<T>(Object owner, Class<T> event, IEventBus.EventCallback<T> callback) {
-}
+    /**
+     * Ids of the listeners that receive events of the given type. Ids are stable across
+     * restarts (owner class and event type), so they can be persisted.
+     */
+    public List<String> listenerIds(Class<?> eventType) {
+        return index.get(eventType).stream()
+                .map(EventListener::id)
+                .toList();
+    }
+
+    public Optional<Class<?>> listenerEventType(String listenerId) {
+        return Optional.ofNullable(index.byId.get(listenerId)).map(EventListener::event);
+    }
+
+    /**
+     * Delivers an event to a single listener and runs {@code onSuccess} once its handler
+     * returned normally. Handler failures are logged, never thrown to the caller.
+     *
+     * @return false if no listener with the given id is subscribed
+     */
+    public boolean deliver(String listenerId, Object event, Runnable onSuccess) {
+        EventListener<?> listener = index.byId.get(listenerId);
+        if (listener == null) {
+            return false;
+        }
+        @SuppressWarnings("unchecked")
+        EventListener<Object> typedListener = (EventListener<Object>) listener;
+        Runnable task = () -> {
+            typedListener.handle(event);
+            onSuccess.run();
+        };
+        if (typedListener.subscriber() != null) {
+            typedListener.subscriber().submit(task);
+            return true;
+        }
+        try {
+            task.run();
+        } catch (Exception e) {
+            logger.error("Event handler {} failed", listenerId, e);
+        }
+        return true;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /**
+     * Stops accepting queued work and waits for in-flight events to drain. Runs after
+     * the web server has stopped taking requests, before the handlers' beans are destroyed.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (!async) {
+            return;
+        }
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        logger.info("Draining event bus subscribers, timeout: {}", shutdownTimeout);
+        listeners.forEach(listener -> listener.subscriber().drain(deadline));
+    }
 
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
 
+    private static String listenerId(Object owner, Class<?> event) {
+        // Binary names, so handlers with the same simple name in different modules don't collide
+        return owner.getClass().getName() + "-" + event.getName();
+    }
+
+    private static final class ListenerIndex extends ClassValue<List<EventListener<?>>> {
+        private final List<EventListener<?>> snapshot;
+        private final Map<String, EventListener<?>> byId = new HashMap<>();
+
+        private ListenerIndex(List<EventListener<?>> snapshot) {
+            this.snapshot = snapshot;
+            snapshot.forEach(listener -> byId.put(listener.id(), listener));
+        }
+
+        @Override
+        protected List<EventListener<?>> computeValue(Class<?> type) {
+            return snapshot.stream()
+                    .filter(listener -> listener.event().isAssignableFrom(type))
+                    .toList();
+        }
+    }
+}
+
+record EventListener<T>(
+        String id,
+        Object owner,
+        Class<T> event,
+        IEventBus.EventCallback<T> callback,
+        AsyncSubscriber subscriber,
+        EventBusMonitor.ListenerMonitor monitor
+) {
+    void handle(T event) {
+        monitor.record(() -> callback.handle(event));
+    }
+}
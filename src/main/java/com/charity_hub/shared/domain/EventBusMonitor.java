@@ -0,0 +1,39 @@
+package com.charity_hub.shared.domain;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Hook for observing event handler calls, one {@link ListenerMonitor} per (event type, subscriber)
+ * pair. Metrics are implemented in infrastructure; {@link #NONE} only runs the handlers.
+ */
+public interface EventBusMonitor {
+    EventBusMonitor NONE = (listenerId, owner, event, queueSize) -> ListenerMonitor.NONE;
+
+    /**
+     * @param queueSize events waiting for an async subscriber, or null in sync mode
+     */
+    ListenerMonitor monitor(String listenerId, Class<?> owner, Class<?> event, IntSupplier queueSize);
+
+    interface ListenerMonitor {
+        ListenerMonitor NONE = new ListenerMonitor() {
+            @Override
+            public void record(Runnable handler) {
+                handler.run();
+            }
+
+            @Override
+            public void remove() {
+            }
+        };
+
+        /**
+         * Runs the handler, rethrowing whatever it throws.
+         */
+        void record(Runnable handler);
+
+        /**
+         * Called once the listener is unsubscribed.
+         */
+        void remove();
+    }
+}
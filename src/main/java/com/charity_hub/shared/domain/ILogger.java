@@ -16,4 +16,16 @@ public interface ILogger {
     void error(String message);
 
     void error(String message, Object... arguments);
-}
\ No newline at end of file
+
+    /**
+     * For messages written on every request or event: writes at most {@code perSecond} of them per
+     * second and drops the rest. How many were dropped is written with the next one that gets through.
+     */
+    ILogger rateLimited(int perSecond);
+
+    /**
+     * Writes about {@code rate} (0 to 1) of the INFO and DEBUG messages; warnings and errors are
+     * always written.
+     */
+    ILogger sampled(double rate);
+}
@@ -47,4 +47,14 @@ public class Logger implements ILogger {
     public void error(String message, Object... arguments) {
         logger.error(message, arguments);
     }
+
+    @Override
+    public ILogger rateLimited(int perSecond) {
+        return new ThrottledLogger(logger, perSecond, 1.0);
+    }
+
+    @Override
+    public ILogger sampled(double rate) {
+        return new ThrottledLogger(logger, 0, rate);
+    }
 }
@@ -0,0 +1,109 @@
+package com.charity_hub.shared.infrastructure;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Attributes Mongo commands to whatever opened a scope on the current thread: an API request
+ * ({@link MongoCommandAccountingFilter}), a command or query handler, or an event handler.
+ * The sync driver reports commands on the thread that runs them, so a thread-local is enough.
+ * Scopes nest; an inner scope's commands also count towards the outer one.
+ * <p>
+ * Tests can use it to pin the number of round trips of an operation:
+ * <pre>{@code
+ * try (var scope = MongoCommandAccounting.openScope()) {
+ *     handler.handle(query);
+ *     assertThat(scope.stats().commands()).isLessThanOrEqualTo(3);
+ * }
+ * }</pre>
+ */
+@Component
+public class MongoCommandAccounting implements CommandListener {
+    private static final ThreadLocal<MongoCommandStats> current = new ThreadLocal<>();
+
+    public static Scope openScope() {
+        MongoCommandStats outer = current.get();
+        MongoCommandStats stats = new MongoCommandStats();
+        current.set(stats);
+        return new Scope(stats, outer);
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        MongoCommandStats stats = current.get();
+        if (stats != null) {
+            stats.pendingCollection = collection(event.getCommandName(), event.getCommand());
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        MongoCommandStats stats = current.get();
+        if (stats != null) {
+            stats.record(event.getCommandName(), stats.pendingCollection,
+                    event.getElapsedTime(TimeUnit.NANOSECONDS), returned(event.getResponse()));
+            stats.pendingCollection = null;
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        MongoCommandStats stats = current.get();
+        if (stats != null) {
+            stats.record(event.getCommandName(), stats.pendingCollection,
+                    event.getElapsedTime(TimeUnit.NANOSECONDS), 0);
+            stats.pendingCollection = null;
+        }
+    }
+
+    private static String collection(String commandName, BsonDocument command) {
+        if (command == null) {
+            return null;
+        }
+        BsonValue target = "getMore".equals(commandName) ? command.get("collection") : command.get(commandName);
+        return target != null && target.isString() ? target.asString().getValue() : null;
+    }
+
+    // Documents in the batch of a find, aggregate or getMore reply
+    private static int returned(BsonDocument response) {
+        if (response == null || !response.isDocument("cursor")) {
+            return 0;
+        }
+        BsonDocument cursor = response.getDocument("cursor");
+        if (cursor.isArray("firstBatch")) {
+            return cursor.getArray("firstBatch").size();
+        }
+        return cursor.isArray("nextBatch") ? cursor.getArray("nextBatch").size() : 0;
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final MongoCommandStats stats;
+        private final MongoCommandStats outer;
+
+        private Scope(MongoCommandStats stats, MongoCommandStats outer) {
+            this.stats = stats;
+            this.outer = outer;
+        }
+
+        public MongoCommandStats stats() {
+            return stats;
+        }
+
+        @Override
+        public void close() {
+            if (outer != null) {
+                outer.add(stats);
+                current.set(outer);
+            } else {
+                current.remove();
+            }
+        }
+    }
+}
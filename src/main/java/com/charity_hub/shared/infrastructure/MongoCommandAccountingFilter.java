@@ -0,0 +1,222 @@
+package com.charity_hub.shared.infrastructure;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the Mongo commands each API request runs and how long they take, per endpoint:
+ * {@code http.server.db.calls} and {@code http.server.db.time}. Requests running more than
+ * {@code mongodb.accounting.command-budget} commands are logged with a breakdown by collection,
+ * which is usually an N+1 lookup.
+ * <p>
+ * With {@code mongodb.accounting.server-timing=true} the response carries a
+ * {@code Server-Timing: db;dur=..;desc="N commands"} header. It is set at the last moment headers can
+ * still change: when the body is flushed or outgrows the response buffer, or when the request ends. So
+ * a streamed listing reports the commands run until its first flush, not the ones still to come.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class MongoCommandAccountingFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(MongoCommandAccountingFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int commandBudget;
+    private final boolean serverTiming;
+
+    public MongoCommandAccountingFilter(
+            MeterRegistry meterRegistry,
+            @Value("${mongodb.accounting.enabled:true}") boolean enabled,
+            @Value("${mongodb.accounting.command-budget:10}") int commandBudget,
+            @Value("${mongodb.accounting.server-timing:false}") boolean serverTiming
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.commandBudget = commandBudget;
+        this.serverTiming = serverTiming;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/v1/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        try (MongoCommandAccounting.Scope scope = MongoCommandAccounting.openScope()) {
+            ServerTimingResponse timedResponse = serverTiming ? new ServerTimingResponse(response, scope.stats()) : null;
+            try {
+                filterChain.doFilter(request, timedResponse != null ? timedResponse : response);
+            } finally {
+                if (timedResponse != null) {
+                    timedResponse.addServerTiming();
+                }
+                record(request, scope.stats());
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, MongoCommandStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("http.server.db.calls")
+                .description("Mongo commands run per API request")
+                .tags("method", method, "uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.commands());
+        Timer.builder("http.server.db.time")
+                .description("Time per API request spent in Mongo commands")
+                .tags("method", method, "uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.nanos(), TimeUnit.NANOSECONDS);
+
+        if (commandBudget > 0 && stats.commands() > commandBudget) {
+            Counter.builder("http.server.db.budget.exceeded")
+                    .description("API requests that ran more Mongo commands than the budget")
+                    .tags("method", method, "uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            logger.warn("{} {} ran {} Mongo commands, over the budget of {}: {}",
+                    method, uri, stats.commands(), commandBudget, stats);
+        }
+    }
+
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+        private final MongoCommandStats stats;
+        private boolean added;
+        private ServletOutputStream outputStream;
+
+        ServerTimingResponse(HttpServletResponse response, MongoCommandStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        void addServerTiming() {
+            if (!added && !isCommitted()) {
+                added = true;
+                setHeader("Server-Timing", String.format(Locale.ROOT, "db;dur=%.1f;desc=\"%d commands\"",
+                        stats.millis(), stats.commands()));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            // Streaming controllers take the stream before running any query, so wait for the bytes
+            if (outputStream == null) {
+                outputStream = new ServerTimingOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addServerTiming();
+            super.sendRedirect(location);
+        }
+
+        private final class ServerTimingOutputStream extends ServletOutputStream {
+            private final ServletOutputStream delegate;
+            private long written;
+
+            ServerTimingOutputStream(ServletOutputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                beforeWrite(1);
+                delegate.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                beforeWrite(len);
+                delegate.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                addServerTiming();
+                delegate.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                addServerTiming();
+                delegate.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return delegate.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                delegate.setWriteListener(writeListener);
+            }
+
+            private void beforeWrite(int len) {
+                written += len;
+                // The container commits the headers once the body no longer fits its buffer
+                if (written >= getBufferSize()) {
+                    addServerTiming();
+                }
+            }
+        }
+    }
+}
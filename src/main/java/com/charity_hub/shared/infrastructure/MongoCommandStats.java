@@ -0,0 +1,62 @@
+package com.charity_hub.shared.infrastructure;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mongo commands run within one {@link MongoCommandAccounting} scope: how many, how long they took
+ * and how many documents they returned, with a count per operation and collection (e.g. "find cases").
+ * Only touched by the thread that opened the scope.
+ */
+public final class MongoCommandStats {
+    private int commands;
+    private long nanos;
+    private long documents;
+    private final Map<String, Integer> byCommand = new LinkedHashMap<>();
+    // Collection of the command that started last, until it succeeds or fails
+    String pendingCollection;
+
+    void record(String operation, String collection, long elapsedNanos, int returned) {
+        commands++;
+        nanos += elapsedNanos;
+        documents += returned;
+        byCommand.merge(collection != null ? operation + " " + collection : operation, 1, Integer::sum);
+    }
+
+    void add(MongoCommandStats other) {
+        commands += other.commands;
+        nanos += other.nanos;
+        documents += other.documents;
+        other.byCommand.forEach((command, count) -> byCommand.merge(command, count, Integer::sum));
+    }
+
+    public int commands() {
+        return commands;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+
+    public double millis() {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public long documents() {
+        return documents;
+    }
+
+    /**
+     * Count per operation and collection, in the order they were first run.
+     */
+    public Map<String, Integer> byCommand() {
+        return Map.copyOf(byCommand);
+    }
+
+    @Override
+    public String toString() {
+        return commands + " commands, " + String.format("%.1f", millis()) + " ms, " + documents
+                + " documents returned " + byCommand;
+    }
+}
@@ -1,5 +1,6 @@
 package com.charity_hub.shared.infrastructure;
 
+import com.charity_hub.shared.infrastructure.slowops.SlowOperationRecorder;
 import com.mongodb.ConnectionString;
 import com.mongodb.MongoClientSettings;
 import com.mongodb.MongoCredential;
@@ -8,6 +9,7 @@ import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoDatabase;
 import org.bson.UuidRepresentation;
+import org.bson.codecs.configuration.CodecProvider;
 import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.codecs.pojo.PojoCodecProvider;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,11 +17,14 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.util.StringUtils;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
 import java.util.concurrent.TimeUnit;
 
 import static org.bson.codecs.configuration.CodecRegistries.fromProviders;
-import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
 
 @Configuration
 public class MongoDBConfig {
@@ -45,39 +50,61 @@ public class MongoDBConfig {
     @Value("${spring.data.mongodb.authentication-database:admin}")
     private String authDatabase;
 
+    @Value("${mongodb.pool.max-size:4}")
+    private int poolMaxSize;
+
+    @Value("${mongodb.pool.min-size:1}")
+    private int poolMinSize;
+
+    @Value("${mongodb.pool.max-wait-time:5s}")
+    private Duration poolMaxWaitTime;
+
+    @Value("${mongodb.pool.max-connecting:2}")
+    private int poolMaxConnecting;
+
+    @Value("${mongodb.pool.max-idle-time:0s}")
+    private Duration poolMaxIdleTime;
+
+    @Value("${mongodb.socket.connect-timeout:5s}")
+    private Duration socketConnectTimeout;
+
+    @Value("${mongodb.socket.read-timeout:5s}")
+    private Duration socketReadTimeout;
+
+    @Value("${mongodb.server-selection-timeout:30s}")
+    private Duration serverSelectionTimeout;
+
+    @Value("${mongodb.codecs.generated:true}")
+    private boolean generatedCodecs;
+
     @Bean
-    public MongoDatabase mongoDatabase() {
+    public MongoClient mongoClient(
+            MongoPoolMetrics poolMetrics,
+            MongoCommandAccounting commandAccounting,
+            SlowOperationRecorder slowOperations
+    ) {
         MongoClientSettings.Builder settingsBuilder = MongoClientSettings.builder();
 
-        // Create POJO codec registry
-        CodecRegistry pojoCodecRegistry = fromRegistries(
-                MongoClientSettings.getDefaultCodecRegistry(),
-                fromProviders(PojoCodecProvider.builder()
-                        .automatic(true)
-                        .build())
-        );
-
         settingsBuilder.uuidRepresentation(UuidRepresentation.STANDARD)
-                .codecRegistry(pojoCodecRegistry)
+                .codecRegistry(codecRegistry(generatedCodecs))
+                .addCommandListener(commandAccounting)
+                .addCommandListener(slowOperations)
                 .applyToConnectionPoolSettings(builder ->
-                        builder.maxSize(4)
-                                .minSize(1)
-                                .maxWaitTime(5000, TimeUnit.MILLISECONDS))
+                        builder.maxSize(poolMaxSize)
+                                .minSize(poolMinSize)
+                                .maxWaitTime(poolMaxWaitTime.toMillis(), TimeUnit.MILLISECONDS)
+                                .maxConnecting(poolMaxConnecting)
+                                .maxConnectionIdleTime(poolMaxIdleTime.toMillis(), TimeUnit.MILLISECONDS)
+                                .addConnectionPoolListener(poolMetrics))
                 .applyToSocketSettings(builder ->
-                        builder.connectTimeout(5000, TimeUnit.MILLISECONDS)
-                                .readTimeout(5000, TimeUnit.MILLISECONDS));
-
-        String databaseName;
+                        builder.connectTimeout(socketConnectTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                                .readTimeout(socketReadTimeout.toMillis(), TimeUnit.MILLISECONDS))
+                .applyToClusterSettings(builder ->
+                        builder.serverSelectionTimeout(serverSelectionTimeout.toMillis(), TimeUnit.MILLISECONDS));
 
-        // Use URI if provided, otherwise use individual properties
+        // Options given in the URI take precedence over the properties above
         if (StringUtils.hasText(mongoUri)) {
-            ConnectionString connectionString = new ConnectionString(mongoUri);
-            settingsBuilder.applyConnectionString(connectionString);
-
-            databaseName = connectionString.getDatabase();
-            if (databaseName == null || databaseName.isEmpty()) {
-                databaseName = database;
-            }
+            settingsBuilder.applyConnectionString(new ConnectionString(mongoUri));
         } else {
             // Use individual properties for local development
             settingsBuilder.applyToClusterSettings(builder ->
@@ -89,11 +116,38 @@ public class MongoDBConfig {
                         username, authDatabase, password.toCharArray());
                 settingsBuilder.credential(credential);
             }
+        }
+
+        return MongoClients.create(settingsBuilder.build());
+    }
 
-            databaseName = database;
+    /**
+     * Generated codecs (see @GenerateBsonCodec, registered through META-INF/services) take precedence
+     * over the driver's codecs, whose record and POJO codecs go through reflection.
+     * Public for tools writing entities outside the application, such as the dataset generator.
+     */
+    public static CodecRegistry codecRegistry(boolean generatedCodecs) {
+        List<CodecProvider> providers = new ArrayList<>();
+        if (generatedCodecs) {
+            ServiceLoader.load(CodecProvider.class, MongoDBConfig.class.getClassLoader())
+                    .forEach(providers::add);
         }
+        providers.add(MongoClientSettings.getDefaultCodecRegistry());
+        providers.add(PojoCodecProvider.builder()
+                .automatic(true)
+                .build());
+        return fromProviders(providers);
+    }
 
-        MongoClient mongoClient = MongoClients.create(settingsBuilder.build());
+    @Bean
+    public MongoDatabase mongoDatabase(MongoClient mongoClient) {
+        String databaseName = database;
+        if (StringUtils.hasText(mongoUri)) {
+            String uriDatabase = new ConnectionString(mongoUri).getDatabase();
+            if (uriDatabase != null && !uriDatabase.isEmpty()) {
+                databaseName = uriDatabase;
+            }
+        }
         return mongoClient.getDatabase(databaseName);
     }
 }
\ No newline at end of file
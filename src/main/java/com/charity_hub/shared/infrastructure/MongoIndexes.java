@@ -0,0 +1,109 @@
+package com.charity_hub.shared.infrastructure;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the indexes repositories declare, once the application context has started and off the
+ * startup path. Repositories call {@link #ensure} from their constructors, which does no I/O, so
+ * beans can be created without a reachable server (e.g. for the AOT training run).
+ * <p>
+ * Indexes that fail to build because the server is unavailable are retried every
+ * {@code mongodb.indexes.retry-interval}; ones the server rejects (conflicting options, duplicate
+ * keys under a unique index) are logged and dropped, since retrying would not help.
+ */
+@Component
+public class MongoIndexes implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexes.class);
+
+    // DuplicateKey, IndexOptionsConflict, IndexKeySpecsConflict, CannotCreateIndex
+    private static final Set<Integer> REJECTED = Set.of(11000, 85, 86, 67);
+
+    private final Queue<Index> pending = new ConcurrentLinkedQueue<>();
+    private final Duration retryInterval;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public MongoIndexes(@Value("${mongodb.indexes.retry-interval:10s}") Duration retryInterval) {
+        this.retryInterval = retryInterval;
+    }
+
+    public void ensure(MongoCollection<?> collection, Bson keys) {
+        ensure(collection, keys, new IndexOptions());
+    }
+
+    public void ensure(MongoCollection<?> collection, Bson keys, IndexOptions options) {
+        pending.add(new Index(collection, keys, options));
+        if (running) {
+            scheduler.execute(this::createPending);
+        }
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("mongo-indexes").factory());
+        running = true;
+        scheduler.execute(this::createPending);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Runs on the scheduler thread only
+    void createPending() {
+        Index index;
+        while (running && (index = pending.peek()) != null) {
+            try {
+                index.collection.createIndex(index.keys, index.options);
+                pending.remove();
+            } catch (MongoCommandException e) {
+                if (!REJECTED.contains(e.getErrorCode())) {
+                    retryLater(index, e);
+                    return;
+                }
+                logger.error("Index {} on {} was rejected", index.keys, index.collection.getNamespace(), e);
+                pending.remove();
+            } catch (RuntimeException e) {
+                retryLater(index, e);
+                return;
+            }
+        }
+    }
+
+    private void retryLater(Index index, RuntimeException e) {
+        logger.warn("Creating index {} on {} failed, {} indexes pending, retrying in {}",
+                index.keys, index.collection.getNamespace(), pending.size(), retryInterval, e);
+        if (running) {
+            scheduler.schedule(this::createPending, retryInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private record Index(MongoCollection<?> collection, Bson keys, IndexOptions options) {
+    }
+}
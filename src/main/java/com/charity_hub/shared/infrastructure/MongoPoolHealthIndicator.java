@@ -0,0 +1,53 @@
+package com.charity_hub.shared.infrastructure;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Reports the Mongo pool as DEGRADED for {@code mongodb.pool.health.window} after a slow or
+ * timed-out checkout, so pool exhaustion shows up before requests start failing. DEGRADED is
+ * ordered between DOWN and UP and served with 200 (see management.endpoint.health.status.*):
+ * a saturated pool should not get the instance taken out of rotation.
+ */
+@Component
+public class MongoPoolHealthIndicator implements HealthIndicator {
+    static final Status DEGRADED = new Status("DEGRADED", "Requests are waiting for Mongo connections");
+
+    private final MongoPoolMetrics poolMetrics;
+    private final Duration window;
+
+    public MongoPoolHealthIndicator(
+            MongoPoolMetrics poolMetrics,
+            @Value("${mongodb.pool.health.window:1m}") Duration window
+    ) {
+        this.poolMetrics = poolMetrics;
+        this.window = window;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = Health.up();
+
+        Duration sinceTimeout = poolMetrics.sinceLastCheckoutTimeout();
+        Duration sinceSlow = poolMetrics.sinceLastSlowCheckout();
+        if (sinceTimeout != null && sinceTimeout.compareTo(window) < 0) {
+            builder.status(DEGRADED)
+                    .withDetail("lastCheckoutTimeoutAgoMs", sinceTimeout.toMillis());
+        } else if (sinceSlow != null && sinceSlow.compareTo(window) < 0) {
+            builder.status(DEGRADED)
+                    .withDetail("lastSlowCheckoutAgoMs", sinceSlow.toMillis())
+                    .withDetail("lastSlowCheckoutWaitMs", poolMetrics.lastSlowCheckoutWait().toMillis());
+        }
+
+        return builder
+                .withDetail("checkedOut", poolMetrics.checkedOut())
+                .withDetail("waitQueue", poolMetrics.waiting())
+                .withDetail("utilization", poolMetrics.utilization())
+                .build();
+    }
+}
@@ -0,0 +1,170 @@
+package com.charity_hub.shared.infrastructure;
+
+import com.mongodb.event.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Connection pool listener exporting how long requests wait for a Mongo connection.
+ * <p>
+ * Meters: {@code mongodb.pool.checkout.wait} (timer, by outcome), {@code mongodb.pool.checkout.failures}
+ * (by reason), and gauges for pool size, checked-out connections, waiting threads and utilization
+ * (checked out / max size). Checkouts slower than {@code mongodb.pool.slow-checkout-threshold}
+ * are logged and remembered for {@link MongoPoolHealthIndicator}.
+ */
+@Component
+public class MongoPoolMetrics implements ConnectionPoolListener {
+    private static final Logger logger = LoggerFactory.getLogger(MongoPoolMetrics.class);
+
+    private final MeterRegistry meterRegistry;
+    private final long slowCheckoutNanos;
+    private final Timer checkoutSucceeded;
+    private final Timer checkoutFailed;
+
+    private final Map<ServerId, Integer> maxSizes = new ConcurrentHashMap<>();
+    private final AtomicInteger poolSize = new AtomicInteger();
+    private final AtomicInteger checkedOut = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong lastSlowCheckoutNanos = new AtomicLong();
+    private final AtomicLong lastSlowCheckoutWaitNanos = new AtomicLong();
+    private final AtomicLong lastFailedCheckoutNanos = new AtomicLong();
+
+    public MongoPoolMetrics(
+            MeterRegistry meterRegistry,
+            @Value("${mongodb.pool.slow-checkout-threshold:200ms}") Duration slowCheckoutThreshold
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.slowCheckoutNanos = slowCheckoutThreshold.toNanos();
+        this.checkoutSucceeded = checkoutTimer("success");
+        this.checkoutFailed = checkoutTimer("failed");
+
+        Gauge.builder("mongodb.pool.size", poolSize, AtomicInteger::get)
+                .description("Open connections in the Mongo pool")
+                .register(meterRegistry);
+        Gauge.builder("mongodb.pool.checkedout", checkedOut, AtomicInteger::get)
+                .description("Mongo connections currently in use")
+                .register(meterRegistry);
+        Gauge.builder("mongodb.pool.waitqueue", waiting, AtomicInteger::get)
+                .description("Threads waiting for a Mongo connection")
+                .register(meterRegistry);
+        Gauge.builder("mongodb.pool.utilization", this, MongoPoolMetrics::utilization)
+                .description("Checked-out connections as a fraction of the maximum pool size")
+                .register(meterRegistry);
+    }
+
+    private Timer checkoutTimer(String outcome) {
+        return Timer.builder("mongodb.pool.checkout.wait")
+                .description("Time spent waiting to check a connection out of the Mongo pool")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void connectionPoolCreated(ConnectionPoolCreatedEvent event) {
+        maxSizes.put(event.getServerId(), event.getSettings().getMaxSize());
+    }
+
+    @Override
+    public void connectionPoolClosed(ConnectionPoolClosedEvent event) {
+        maxSizes.remove(event.getServerId());
+    }
+
+    @Override
+    public void connectionCreated(ConnectionCreatedEvent event) {
+        poolSize.incrementAndGet();
+    }
+
+    @Override
+    public void connectionClosed(ConnectionClosedEvent event) {
+        poolSize.decrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+        waiting.incrementAndGet();
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        waiting.decrementAndGet();
+        checkedOut.incrementAndGet();
+        long waitNanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        checkoutSucceeded.record(waitNanos, TimeUnit.NANOSECONDS);
+        if (waitNanos >= slowCheckoutNanos) {
+            lastSlowCheckoutNanos.set(System.nanoTime());
+            lastSlowCheckoutWaitNanos.set(waitNanos);
+            logger.warn("Waited {} ms for a Mongo connection ({} in use, {} waiting)",
+                    TimeUnit.NANOSECONDS.toMillis(waitNanos), checkedOut.get(), waiting.get());
+        }
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        waiting.decrementAndGet();
+        checkoutFailed.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        Counter.builder("mongodb.pool.checkout.failures")
+                .description("Failed attempts to check a connection out of the Mongo pool")
+                .tag("reason", event.getReason().name())
+                .register(meterRegistry)
+                .increment();
+        if (event.getReason() == ConnectionCheckOutFailedEvent.Reason.TIMEOUT) {
+            lastFailedCheckoutNanos.set(System.nanoTime());
+            logger.error("Timed out waiting for a Mongo connection ({} in use, {} waiting)",
+                    checkedOut.get(), waiting.get());
+        }
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        checkedOut.decrementAndGet();
+    }
+
+    double utilization() {
+        int maxSize = maxSizes.values().stream().mapToInt(Integer::intValue).sum();
+        return maxSize == 0 ? 0 : (double) checkedOut.get() / maxSize;
+    }
+
+    int checkedOut() {
+        return checkedOut.get();
+    }
+
+    int waiting() {
+        return waiting.get();
+    }
+
+    /**
+     * @return how long ago the last slow checkout happened, or null if there was none
+     */
+    Duration sinceLastSlowCheckout() {
+        return since(lastSlowCheckoutNanos.get());
+    }
+
+    Duration lastSlowCheckoutWait() {
+        return Duration.ofNanos(lastSlowCheckoutWaitNanos.get());
+    }
+
+    /**
+     * @return how long ago a checkout last timed out, or null if none did
+     */
+    Duration sinceLastCheckoutTimeout() {
+        return since(lastFailedCheckoutNanos.get());
+    }
+
+    private static Duration since(long nanoTime) {
+        return nanoTime == 0 ? null : Duration.ofNanos(System.nanoTime() - nanoTime);
+    }
+}
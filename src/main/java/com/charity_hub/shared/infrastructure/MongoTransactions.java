@@ -0,0 +1,40 @@
+package com.charity_hub.shared.infrastructure;
+
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoClient;
+import com.mongodb.connection.ClusterType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * Runs a unit of work inside a multi-document transaction. Standalone servers (local
+ * development) don't support transactions, so there the work runs in a plain session.
+ */
+@Component
+public class MongoTransactions {
+    private static final Logger logger = LoggerFactory.getLogger(MongoTransactions.class);
+
+    private final MongoClient mongoClient;
+
+    public MongoTransactions(MongoClient mongoClient) {
+        this.mongoClient = mongoClient;
+    }
+
+    public <T> T run(Function<ClientSession, T> work) {
+        try (ClientSession session = mongoClient.startSession()) {
+            if (!supportsTransactions()) {
+                logger.debug("Transactions not supported by the cluster, running without transaction");
+                return work.apply(session);
+            }
+            return session.withTransaction(() -> work.apply(session));
+        }
+    }
+
+    private boolean supportsTransactions() {
+        ClusterType type = mongoClient.getClusterDescription().getType();
+        return type == ClusterType.REPLICA_SET || type == ClusterType.SHARDED;
+    }
+}
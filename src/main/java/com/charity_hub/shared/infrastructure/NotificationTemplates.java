@@ -0,0 +1,246 @@
+package com.charity_hub.shared.infrastructure;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Notification texts, compiled once per locale at startup.
+ * <p>
+ * Every {@code notification.*} key of {@code messages_<language>.properties} is split into
+ * literal and argument segments, so rendering is one pass over a StringBuilder instead of a
+ * MessageFormat lookup and parse per call. Callers pass the recipient's language: event handlers
+ * run off the request thread and have no request locale to go by.
+ * <p>
+ * Templates use the subset of MessageFormat the bundles need: {@code {n}} arguments and
+ * quoting with {@code '}. Whole numbers are grouped with the locale's digits and separator,
+ * as MessageFormat would; texts without arguments are used as written.
+ */
+@Component
+public class NotificationTemplates {
+    private static final String PREFIX = "notification.";
+
+    private final Locale defaultLocale;
+    private final Map<String, Compiled> byLanguage = new HashMap<>();
+
+    public NotificationTemplates(
+            @Value("${notifications.locales:ar,en}") String[] languages,
+            @Value("${notifications.default-locale:ar}") String defaultLanguage
+    ) {
+        this.defaultLocale = Locale.forLanguageTag(defaultLanguage);
+        for (String language : languages) {
+            Locale locale = Locale.forLanguageTag(language.strip());
+            byLanguage.put(locale.getLanguage(), Compiled.load(locale));
+        }
+        if (!byLanguage.containsKey(defaultLocale.getLanguage())) {
+            throw new IllegalStateException("Default notification locale " + defaultLanguage + " is not in notifications.locales");
+        }
+    }
+
+    /**
+     * Maps a stored language (e.g. "ar", "en-GB") to a supported locale, falling back to the default.
+     */
+    public Locale resolve(String language) {
+        if (language == null || language.isBlank()) {
+            return defaultLocale;
+        }
+        Locale locale = Locale.forLanguageTag(language);
+        return byLanguage.containsKey(locale.getLanguage()) ? locale : defaultLocale;
+    }
+
+    public String render(String key, Object... args) {
+        return render(key, defaultLocale, args);
+    }
+
+    public String render(String key, Locale locale, Object... args) {
+        Compiled compiled = compiledFor(locale);
+        Template template = compiled.templates.get(key);
+        if (template == null) {
+            compiled = compiledFor(defaultLocale);
+            template = compiled.templates.get(key);
+        }
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown notification template " + key);
+        }
+        return template.render(args, compiled.numbers);
+    }
+
+    /**
+     * The comma-separated alternatives of a key, e.g. the closing lines of a notification.
+     */
+    public List<String> variants(String key, Locale locale) {
+        List<String> variants = compiledFor(locale).variants.get(key);
+        if (variants == null) {
+            variants = compiledFor(defaultLocale).variants.get(key);
+        }
+        if (variants == null) {
+            throw new IllegalArgumentException("Unknown notification template " + key);
+        }
+        return variants;
+    }
+
+    public List<String> variants(String key) {
+        return variants(key, defaultLocale);
+    }
+
+    private Compiled compiledFor(Locale locale) {
+        Compiled compiled = byLanguage.get(locale.getLanguage());
+        return compiled != null ? compiled : byLanguage.get(defaultLocale.getLanguage());
+    }
+
+    private record Compiled(Map<String, Template> templates, Map<String, List<String>> variants, Numbers numbers) {
+
+        static Compiled load(Locale locale) {
+            String file = "messages_" + locale.getLanguage() + ".properties";
+            Properties properties = new Properties();
+            try {
+                PropertiesLoaderUtils.fillProperties(properties,
+                        new EncodedResource(new ClassPathResource(file), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot load notification templates from " + file, e);
+            }
+
+            Map<String, Template> templates = new HashMap<>();
+            Map<String, List<String>> variants = new HashMap<>();
+            for (String key : properties.stringPropertyNames()) {
+                if (!key.startsWith(PREFIX)) {
+                    continue;
+                }
+                String message = properties.getProperty(key);
+                try {
+                    templates.put(key, Template.compile(message));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalStateException("Invalid template " + key + " in " + file + ": " + e.getMessage(), e);
+                }
+                variants.put(key, Arrays.stream(message.split(",")).map(String::strip).toList());
+            }
+            return new Compiled(Map.copyOf(templates), Map.copyOf(variants), Numbers.of(locale));
+        }
+    }
+
+    /**
+     * {@code literals[i]} is followed by argument {@code arguments[i]}; the last literal closes the text.
+     */
+    private record Template(String[] literals, int[] arguments) {
+
+        static Template compile(String message) {
+            if (message.indexOf('{') < 0) {
+                return new Template(new String[]{message}, new int[0]);
+            }
+            List<String> literals = new ArrayList<>();
+            List<Integer> arguments = new ArrayList<>();
+            StringBuilder literal = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < message.length(); i++) {
+                char c = message.charAt(i);
+                if (c == '\'') {
+                    if (i + 1 < message.length() && message.charAt(i + 1) == '\'') {
+                        literal.append('\'');
+                        i++;
+                    } else {
+                        quoted = !quoted;
+                    }
+                } else if (c == '{' && !quoted) {
+                    int end = message.indexOf('}', i);
+                    if (end < 0) {
+                        throw new IllegalArgumentException("Unmatched { at " + i);
+                    }
+                    String argument = message.substring(i + 1, end).strip();
+                    if (!argument.chars().allMatch(Character::isDigit) || argument.isEmpty()) {
+                        throw new IllegalArgumentException("Only {n} arguments are supported, found {" + argument + "}");
+                    }
+                    literals.add(literal.toString());
+                    arguments.add(Integer.parseInt(argument));
+                    literal.setLength(0);
+                    i = end;
+                } else {
+                    literal.append(c);
+                }
+            }
+            literals.add(literal.toString());
+            return new Template(
+                    literals.toArray(String[]::new),
+                    arguments.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        String render(Object[] args, Numbers numbers) {
+            if (arguments.length == 0) {
+                return literals[0];
+            }
+            StringBuilder out = new StringBuilder(literals[0].length() + 32);
+            for (int i = 0; i < arguments.length; i++) {
+                out.append(literals[i]);
+                int index = arguments[i];
+                if (args == null || index >= args.length) {
+                    // MessageFormat leaves missing arguments as written
+                    out.append('{').append(index).append('}');
+                } else {
+                    numbers.append(out, args[index]);
+                }
+            }
+            return out.append(literals[arguments.length]).toString();
+        }
+    }
+
+    private record Numbers(Locale locale, char zeroDigit, char groupingSeparator, int groupingSize,
+                           String negativePrefix, String negativeSuffix) {
+
+        static Numbers of(Locale locale) {
+            DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+            NumberFormat format = NumberFormat.getInstance(locale);
+            if (format instanceof DecimalFormat decimal) {
+                return new Numbers(locale, symbols.getZeroDigit(), symbols.getGroupingSeparator(),
+                        decimal.isGroupingUsed() ? decimal.getGroupingSize() : 0,
+                        decimal.getNegativePrefix(), decimal.getNegativeSuffix());
+            }
+            return new Numbers(locale, symbols.getZeroDigit(), symbols.getGroupingSeparator(), 3,
+                    String.valueOf(symbols.getMinusSign()), "");
+        }
+
+        void append(StringBuilder out, Object value) {
+            if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+                appendWhole(out, ((Number) value).longValue());
+            } else if (value instanceof Number number) {
+                // Rare enough to not be worth a hand-written formatter
+                out.append(NumberFormat.getInstance(locale).format(number));
+            } else {
+                out.append(value);
+            }
+        }
+
+        private void appendWhole(StringBuilder out, long value) {
+            if (value < 0) {
+                out.append(negativePrefix);
+            }
+            String digits = value == Long.MIN_VALUE
+                    ? Long.toString(value).substring(1)
+                    : Long.toString(Math.abs(value));
+            int length = digits.length();
+            for (int i = 0; i < length; i++) {
+                if (groupingSize > 0 && i > 0 && (length - i) % groupingSize == 0) {
+                    out.append(groupingSeparator);
+                }
+                out.append((char) (zeroDigit + (digits.charAt(i) - '0')));
+            }
+            if (value < 0) {
+                out.append(negativeSuffix);
+            }
+        }
+    }
+}
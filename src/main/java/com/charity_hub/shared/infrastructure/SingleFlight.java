@@ -0,0 +1,120 @@
+package com.charity_hub.shared.infrastructure;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one load per key at a time: callers asking for a key that is already being loaded
+ * wait for that load and share its result. The result is also handed out for a short grace period
+ * after it completes, which covers the requests of a burst that arrive just after it. Failures are
+ * shared with the callers already waiting but never kept.
+ * <p>
+ * Results are shared between threads, so they must not be modified by callers.
+ */
+public final class SingleFlight<K, V> {
+    // Completed flights are swept once this many keys are held
+    private static final int SWEEP_THRESHOLD = 1_024;
+
+    private final ConcurrentHashMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+    private final long graceNanos;
+    private final LongSupplier nanoClock;
+
+    public SingleFlight(Duration grace) {
+        this(grace, System::nanoTime);
+    }
+
+    SingleFlight(Duration grace, LongSupplier nanoClock) {
+        this.graceNanos = grace.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        while (true) {
+            Flight<V> current = flights.get(key);
+            if (current != null && !current.isExpired(nanoClock.getAsLong())) {
+                return current.await();
+            }
+            Flight<V> flight = new Flight<>();
+            boolean leader = current == null
+                    ? flights.putIfAbsent(key, flight) == null
+                    : flights.replace(key, current, flight);
+            if (leader) {
+                return load(key, flight, loader);
+            }
+        }
+    }
+
+    /**
+     * Forgets the result kept for the key; a load in flight still completes for its callers, but
+     * later calls start a new one.
+     */
+    public void invalidate(K key) {
+        flights.remove(key);
+    }
+
+    public void invalidateAll() {
+        flights.clear();
+    }
+
+    int size() {
+        return flights.size();
+    }
+
+    // Callers blocked on the key's load; each join registers a dependent on the flight's future
+    int waiters(K key) {
+        Flight<V> flight = flights.get(key);
+        return flight != null ? flight.result.getNumberOfDependents() : 0;
+    }
+
+    private V load(K key, Flight<V> flight, Supplier<V> loader) {
+        V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException | Error e) {
+            flights.remove(key, flight);
+            flight.result.completeExceptionally(e);
+            throw e;
+        }
+        if (graceNanos > 0) {
+            flight.expiresAt = nanoClock.getAsLong() + graceNanos;
+            flight.kept = true;
+        } else {
+            flights.remove(key, flight);
+        }
+        flight.result.complete(value);
+        if (flights.size() > SWEEP_THRESHOLD) {
+            long now = nanoClock.getAsLong();
+            flights.values().removeIf(other -> other.isExpired(now));
+        }
+        return value;
+    }
+
+    private static final class Flight<V> {
+        final CompletableFuture<V> result = new CompletableFuture<>();
+        // Set before the result completes; a failed flight, or one without grace, is expired at once
+        volatile long expiresAt;
+        volatile boolean kept;
+
+        boolean isExpired(long now) {
+            return result.isDone() && (!kept || now - expiresAt >= 0);
+        }
+
+        V await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.charity_hub.shared.infrastructure;
+
+import com.charity_hub.shared.domain.ILogger;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link ILogger} that writes at most {@code perSecond} messages per second (0 for no limit) and
+ * about {@code sampleRate} of its INFO and DEBUG messages. The level is checked first, so disabled
+ * messages cost neither a permit nor a random number.
+ */
+final class ThrottledLogger implements ILogger {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final org.slf4j.Logger logger;
+    private final int perSecond;
+    private final double sampleRate;
+    private final AtomicLong window = new AtomicLong(System.nanoTime() / NANOS_PER_SECOND);
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+
+    ThrottledLogger(org.slf4j.Logger logger, int perSecond, double sampleRate) {
+        this.logger = logger;
+        this.perSecond = perSecond;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void info(String message) {
+        if (logger.isInfoEnabled() && admit(true)) {
+            logger.info(message);
+            reportDropped();
+        }
+    }
+
+    @Override
+    public void info(String message, Object... arguments) {
+        if (logger.isInfoEnabled() && admit(true)) {
+            logger.info(message, arguments);
+            reportDropped();
+        }
+    }
+
+    @Override
+    public void debug(String message) {
+        if (logger.isDebugEnabled() && admit(true)) {
+            logger.debug(message);
+        }
+    }
+
+    @Override
+    public void debug(String message, Object... arguments) {
+        if (logger.isDebugEnabled() && admit(true)) {
+            logger.debug(message, arguments);
+        }
+    }
+
+    @Override
+    public void warn(String message) {
+        if (admit(false)) {
+            logger.warn(message);
+            reportDropped();
+        }
+    }
+
+    @Override
+    public void warn(String message, Object... arguments) {
+        if (admit(false)) {
+            logger.warn(message, arguments);
+            reportDropped();
+        }
+    }
+
+    @Override
+    public void error(String message) {
+        if (admit(false)) {
+            logger.error(message);
+            reportDropped();
+        }
+    }
+
+    @Override
+    public void error(String message, Object... arguments) {
+        if (admit(false)) {
+            logger.error(message, arguments);
+            reportDropped();
+        }
+    }
+
+    @Override
+    public ILogger rateLimited(int perSecond) {
+        return new ThrottledLogger(logger, perSecond, sampleRate);
+    }
+
+    @Override
+    public ILogger sampled(double rate) {
+        return new ThrottledLogger(logger, perSecond, rate);
+    }
+
+    private boolean admit(boolean sampled) {
+        if (sampled && sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return false;
+        }
+        if (perSecond <= 0) {
+            return true;
+        }
+        long second = System.nanoTime() / NANOS_PER_SECOND;
+        long current = window.get();
+        if (second != current && window.compareAndSet(current, second)) {
+            written.set(0);
+        }
+        if (written.incrementAndGet() <= perSecond) {
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    private void reportDropped() {
+        if (dropped.get() > 0) {
+            long count = dropped.getAndSet(0);
+            if (count > 0) {
+                logger.info("{} similar messages were dropped by the log rate limit", count);
+            }
+        }
+    }
+}
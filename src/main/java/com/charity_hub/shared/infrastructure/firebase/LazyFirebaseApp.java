@@ -0,0 +1,75 @@
+package com.charity_hub.shared.infrastructure.firebase;
+
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.FirebaseOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ResourceUtils;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * The default {@link FirebaseApp}, shared by sign-in (accounts) and push notifications
+ * (notifications). Reading the service account and setting up Google credentials and transport
+ * takes a noticeable part of startup, so by default it happens on first use rather than while the
+ * context starts. {@code firebase.lazy-init=false} initializes it at startup, which fails fast on a
+ * missing or broken service account.
+ */
+@Component
+@ConditionalOnProperty(name = "firebase.test-mode", havingValue = "false", matchIfMissing = true)
+public class LazyFirebaseApp {
+    private static final Logger logger = LoggerFactory.getLogger(LazyFirebaseApp.class);
+
+    private final String serviceAccountPath;
+    private volatile FirebaseApp app;
+
+    public LazyFirebaseApp(
+            @Value("${firebase.service-account-path}") String serviceAccountPath,
+            @Value("${firebase.lazy-init:true}") boolean lazyInit
+    ) {
+        this.serviceAccountPath = serviceAccountPath;
+        if (!lazyInit) {
+            get();
+        }
+    }
+
+    public FirebaseApp get() {
+        FirebaseApp current = app;
+        if (current == null) {
+            synchronized (this) {
+                current = app;
+                if (current == null) {
+                    current = initialize();
+                    app = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private FirebaseApp initialize() {
+        for (FirebaseApp existing : FirebaseApp.getApps()) {
+            if (FirebaseApp.DEFAULT_APP_NAME.equals(existing.getName())) {
+                return existing;
+            }
+        }
+        long start = System.nanoTime();
+        GoogleCredentials credentials;
+        try (FileInputStream serviceAccount = new FileInputStream(ResourceUtils.getFile(serviceAccountPath))) {
+            credentials = GoogleCredentials.fromStream(serviceAccount);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the Firebase service account " + serviceAccountPath, e);
+        }
+        FirebaseApp initialized = FirebaseApp.initializeApp(FirebaseOptions.builder()
+                .setCredentials(credentials)
+                .build());
+        logger.info("Firebase initialized in {}ms", (System.nanoTime() - start) / 1_000_000);
+        return initialized;
+    }
+}
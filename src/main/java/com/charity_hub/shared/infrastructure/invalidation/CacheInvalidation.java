@@ -0,0 +1,90 @@
+package com.charity_hub.shared.infrastructure.invalidation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Tells the in-process caches of this instance which entries changed, whichever instance made the
+ * change (see {@link ChangeStreamInvalidator}).
+ * <p>
+ * Listeners subscribe per collection, naming the document field their entries are looked up by
+ * (e.g. {@code code} for {@code cases}), and receive that field's value as the key. Only
+ * collections with listeners are watched. A null key means any entry of the collection may be
+ * stale.
+ */
+@Component
+public class CacheInvalidation {
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidation.class);
+
+    private final Map<String, Subscribers> collections = new ConcurrentHashMap<>();
+
+    /**
+     * @param keyField the field of the collection's documents the listener's entries are keyed by;
+     *                 every listener of a collection has to use the same one
+     */
+    public void subscribe(String collection, String keyField, Listener listener) {
+        collections.compute(collection, (name, subscribers) -> {
+            Subscribers current = subscribers != null ? subscribers : new Subscribers(keyField, new CopyOnWriteArrayList<>());
+            if (!current.keyField().equals(keyField)) {
+                throw new IllegalStateException("Caches of " + name + " are keyed by " + current.keyField() + ", not " + keyField);
+            }
+            current.listeners().add(listener);
+            return current;
+        });
+    }
+
+    public void unsubscribe(String collection, Listener listener) {
+        collections.computeIfPresent(collection, (name, subscribers) -> {
+            subscribers.listeners().remove(listener);
+            return subscribers.listeners().isEmpty() ? null : subscribers;
+        });
+    }
+
+    /**
+     * The key field of every collection that has listeners.
+     */
+    public Map<String, String> keyFields() {
+        Map<String, String> keyFields = new HashMap<>();
+        collections.forEach((collection, subscribers) -> keyFields.put(collection, subscribers.keyField()));
+        return Map.copyOf(keyFields);
+    }
+
+    public void invalidate(String collection, String key) {
+        Subscribers subscribers = collections.get(collection);
+        if (subscribers == null) {
+            return;
+        }
+        for (Listener listener : subscribers.listeners()) {
+            try {
+                listener.invalidate(key);
+            } catch (RuntimeException e) {
+                logger.warn("Cache invalidation listener failed for {} {}", collection, key, e);
+            }
+        }
+    }
+
+    /**
+     * Drops every cached entry, e.g. when changes may have been missed.
+     */
+    public void invalidateAll() {
+        collections.keySet().forEach(collection -> invalidate(collection, null));
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * @param key the changed entry, or null when every entry of the collection may be stale
+         */
+        void invalidate(String key);
+    }
+
+    private record Subscribers(String keyField, List<Listener> listeners) {
+    }
+}
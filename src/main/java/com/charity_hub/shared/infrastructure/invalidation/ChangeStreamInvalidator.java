@@ -0,0 +1,295 @@
+package com.charity_hub.shared.infrastructure.invalidation;
+
+import com.charity_hub.shared.infrastructure.MongoIndexes;
+import com.mongodb.MongoServerException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.mongodb.client.model.Filters.eq;
+
+/**
+ * Watches the collections behind in-process caches and passes every change on to
+ * {@link CacheInvalidation}, so caches on all instances drop entries another instance changed.
+ * The collections and key fields are the ones subscribed when the context starts; changed
+ * documents are only looked up when some key field is not the {@code _id}.
+ * <p>
+ * The resume token is saved per node every {@code cache.invalidation.checkpoint-interval}. After
+ * a reconnect or a restart the stream starts after it and replays what happened in between; when
+ * the token is no longer in the oplog all caches are flushed instead. While the stream is down
+ * (or the server is standalone, as in local development) caches are flushed every
+ * {@code cache.invalidation.fallback-ttl}, which bounds how stale they get.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.change-streams.enabled", havingValue = "true", matchIfMissing = true)
+public class ChangeStreamInvalidator implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeStreamInvalidator.class);
+
+    static final String TOKENS_COLLECTION = "change_stream_tokens";
+    // InvalidResumeToken, ChangeStreamFatalError, ChangeStreamHistoryLost
+    private static final Set<Integer> LOST_RESUME_POINT = Set.of(260, 280, 286);
+    private static final Duration MAX_AWAIT = Duration.ofSeconds(1);
+
+    private final MongoDatabase database;
+    private final MongoCollection<BsonDocument> tokens;
+    private final CacheInvalidation invalidation;
+    private final String nodeId;
+    private final Duration fallbackTtl;
+    private final long checkpointNanos;
+    private final Counter changes;
+
+    // Set on start, once every cache has subscribed
+    private Map<String, String> keyFields;
+    private List<Bson> pipeline;
+    private FullDocument fullDocument;
+
+    private Thread worker;
+    private CountDownLatch stopped;
+    private volatile boolean running;
+    private volatile boolean streaming;
+    private BsonDocument savedToken;
+
+    public ChangeStreamInvalidator(
+            MongoDatabase database,
+            MongoIndexes indexes,
+            CacheInvalidation invalidation,
+            MeterRegistry meterRegistry,
+            @Value("${cache.invalidation.node-id:${HOSTNAME:local}}") String nodeId,
+            @Value("${cache.invalidation.fallback-ttl:5s}") Duration fallbackTtl,
+            @Value("${cache.invalidation.checkpoint-interval:10s}") Duration checkpointInterval
+    ) {
+        this.database = database;
+        this.tokens = database.getCollection(TOKENS_COLLECTION, BsonDocument.class);
+        this.invalidation = invalidation;
+        this.nodeId = nodeId;
+        this.fallbackTtl = fallbackTtl;
+        this.checkpointNanos = checkpointInterval.toNanos();
+
+        // Tokens of nodes that are gone are useless once they fall out of the oplog
+        indexes.ensure(tokens, Indexes.ascending("savedAt"),
+                new IndexOptions().expireAfter(7L, TimeUnit.DAYS).name("savedAt_ttl"));
+
+        Gauge.builder("cache.invalidation.stream.up", this, invalidator -> invalidator.streaming ? 1 : 0)
+                .description("Whether the change stream invalidating local caches is connected")
+                .register(meterRegistry);
+        this.changes = Counter.builder("cache.invalidation.changes")
+                .description("Changes received from the change stream")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        keyFields = invalidation.keyFields();
+        if (keyFields.isEmpty()) {
+            logger.info("No cache subscribed to invalidation, not watching any collection");
+            return;
+        }
+        // documentKey only holds the _id, other keys of updated documents need a lookup
+        List<String> lookedUp = keyFields.values().stream()
+                .filter(field -> !field.equals("_id"))
+                .distinct()
+                .map(field -> "fullDocument." + field)
+                .toList();
+        List<String> fields = new ArrayList<>(List.of("operationType", "ns", "documentKey"));
+        fields.addAll(lookedUp);
+        pipeline = List.of(
+                Aggregates.match(Filters.in("ns.coll", keyFields.keySet())),
+                Aggregates.project(Projections.include(fields)));
+        fullDocument = lookedUp.isEmpty() ? FullDocument.DEFAULT : FullDocument.UPDATE_LOOKUP;
+        stopped = new CountDownLatch(1);
+        worker = Thread.ofVirtual().name("change-stream-invalidator").start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker == null) {
+            return;
+        }
+        stopped.countDown();
+        try {
+            worker.join(MAX_AWAIT.plusSeconds(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    boolean isStreaming() {
+        return streaming;
+    }
+
+    private void run() {
+        boolean down = false;
+        while (running) {
+            try {
+                watch();
+                down = false;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    break;
+                }
+                // Log once per outage; streaming is still set when an open stream failed
+                if (streaming || !down) {
+                    logger.warn("Cache invalidation stream is down, flushing local caches every {}", fallbackTtl, e);
+                }
+                down = true;
+            } finally {
+                streaming = false;
+            }
+            if (down) {
+                invalidation.invalidateAll();
+                try {
+                    stopped.await(fallbackTtl.toMillis(), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void watch() {
+        try (MongoChangeStreamCursor<ChangeStreamDocument<BsonDocument>> cursor = open()) {
+            streaming = true;
+            logger.info("Cache invalidation stream open for node {}", nodeId);
+            long lastCheckpoint = System.nanoTime();
+            while (running) {
+                ChangeStreamDocument<BsonDocument> change = cursor.tryNext();
+                if (change != null && !dispatch(change)) {
+                    // The stream was invalidated (e.g. the database was dropped) and is closed
+                    saveToken(change.getResumeToken());
+                    return;
+                }
+                if (System.nanoTime() - lastCheckpoint >= checkpointNanos) {
+                    saveToken(cursor.getResumeToken());
+                    lastCheckpoint = System.nanoTime();
+                }
+            }
+            saveToken(cursor.getResumeToken());
+        }
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<BsonDocument>> open() {
+        BsonDocument token = loadToken();
+        if (token != null) {
+            try {
+                return stream().startAfter(token).cursor();
+            } catch (MongoServerException e) {
+                if (!LOST_RESUME_POINT.contains(e.getCode())) {
+                    throw e;
+                }
+                logger.warn("Saved resume token of node {} can no longer be resumed from, flushing local caches", nodeId);
+                invalidation.invalidateAll();
+            }
+        }
+        return stream().cursor();
+    }
+
+    private ChangeStreamIterable<BsonDocument> stream() {
+        return database.watch(pipeline, BsonDocument.class)
+                .fullDocument(fullDocument)
+                .maxAwaitTime(MAX_AWAIT.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return false once the stream is invalidated and no further changes will arrive
+     */
+    private boolean dispatch(ChangeStreamDocument<BsonDocument> change) {
+        changes.increment();
+        String collection = change.getNamespace() != null ? change.getNamespace().getCollectionName() : null;
+        switch (change.getOperationType()) {
+            case INSERT, UPDATE, REPLACE, DELETE -> invalidation.invalidate(collection,
+                    keyOf(keyFields.get(collection), change.getDocumentKey(), change.getFullDocument()));
+            case INVALIDATE -> {
+                invalidation.invalidateAll();
+                return false;
+            }
+            default -> {
+                // drop, rename and the like
+                if (collection != null) {
+                    invalidation.invalidate(collection, null);
+                } else {
+                    invalidation.invalidateAll();
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The key the changed entry is cached by, or null when it can't be told (e.g. a deleted case,
+     * whose code is gone with the document), which invalidates the whole collection.
+     */
+    static String keyOf(String field, BsonDocument documentKey, BsonDocument fullDocument) {
+        if (field == null) {
+            return null;
+        }
+        BsonValue value = documentKey != null ? documentKey.get(field) : null;
+        if (value == null && fullDocument != null) {
+            value = fullDocument.get(field);
+        }
+        if (value == null) {
+            return null;
+        }
+        return switch (value.getBsonType()) {
+            case STRING -> value.asString().getValue();
+            case INT32 -> String.valueOf(value.asInt32().getValue());
+            case INT64 -> String.valueOf(value.asInt64().getValue());
+            default -> null;
+        };
+    }
+
+    private BsonDocument loadToken() {
+        BsonDocument saved = tokens.find(eq("_id", nodeId)).first();
+        return saved != null && saved.isDocument("token") ? saved.getDocument("token") : null;
+    }
+
+    private void saveToken(BsonDocument token) {
+        if (token == null || token.equals(savedToken)) {
+            return;
+        }
+        tokens.replaceOne(eq("_id", nodeId),
+                new BsonDocument("_id", new BsonString(nodeId))
+                        .append("token", token)
+                        .append("savedAt", new BsonDateTime(System.currentTimeMillis())),
+                new ReplaceOptions().upsert(true));
+        savedToken = token;
+    }
+}
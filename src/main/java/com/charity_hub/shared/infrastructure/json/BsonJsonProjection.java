@@ -0,0 +1,204 @@
+package com.charity_hub.shared.infrastructure.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Projections;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Writes raw BSON documents as JSON objects, field by field, without decoding them into entities
+ * or response records first.
+ * <p>
+ * The projection lists the document fields to write, the JSON name for each, optionally a label
+ * for int codes (e.g. a status), and what to write when a field is absent. Fields come out in
+ * document order; absent ones are appended at the end. {@link #projection()} is the matching
+ * Mongo projection, so only listed fields travel over the wire.
+ */
+public final class BsonJsonProjection {
+    private final Field[] fields;
+    private final Map<String, Field> bySource;
+    private final Bson projection;
+
+    private BsonJsonProjection(List<Field> fields) {
+        this.fields = fields.toArray(Field[]::new);
+        this.bySource = new HashMap<>();
+        List<String> sources = new ArrayList<>();
+        for (Field field : fields) {
+            bySource.put(field.source, field);
+            sources.add(field.source);
+        }
+        this.projection = sources.contains("_id")
+                ? Projections.include(sources)
+                : Projections.fields(Projections.include(sources), Projections.excludeId());
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Bson projection() {
+        return projection;
+    }
+
+    /**
+     * Writes the remaining documents of the cursor one after the other, e.g. as array elements.
+     * Only the current batch of the cursor is held in memory.
+     *
+     * @return the number of documents written
+     */
+    public int writeAll(MongoCursor<RawBsonDocument> cursor, JsonGenerator json) throws IOException {
+        int count = 0;
+        while (cursor.hasNext()) {
+            write(cursor.next(), json);
+            count++;
+        }
+        return count;
+    }
+
+    public void write(RawBsonDocument document, JsonGenerator json) throws IOException {
+        json.writeStartObject();
+        long written = 0;
+        try (BsonBinaryReader reader = new BsonBinaryReader(document.getByteBuffer().asNIO())) {
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                Field field = bySource.get(reader.readName());
+                if (field == null || (written & field.bit) != 0) {
+                    reader.skipValue();
+                    continue;
+                }
+                written |= field.bit;
+                json.writeFieldName(field.target);
+                if (field.labels != null && isNumber(reader.getCurrentBsonType())) {
+                    json.writeString(field.labels.apply(readInt(reader)));
+                } else if (reader.getCurrentBsonType() == BsonType.NULL && field.emptyArrayIfMissing) {
+                    reader.readNull();
+                    json.writeStartArray();
+                    json.writeEndArray();
+                } else {
+                    writeValue(reader, json);
+                }
+            }
+            reader.readEndDocument();
+        }
+        for (Field field : fields) {
+            if ((written & field.bit) == 0) {
+                json.writeFieldName(field.target);
+                if (field.emptyArrayIfMissing) {
+                    json.writeStartArray();
+                    json.writeEndArray();
+                } else {
+                    json.writeNull();
+                }
+            }
+        }
+        json.writeEndObject();
+    }
+
+    private static void writeValue(BsonReader reader, JsonGenerator json) throws IOException {
+        switch (reader.getCurrentBsonType()) {
+            case STRING -> json.writeString(reader.readString());
+            case INT32 -> json.writeNumber(reader.readInt32());
+            case INT64 -> json.writeNumber(reader.readInt64());
+            case DOUBLE -> json.writeNumber(reader.readDouble());
+            case DECIMAL128 -> json.writeNumber(reader.readDecimal128().bigDecimalValue());
+            case BOOLEAN -> json.writeBoolean(reader.readBoolean());
+            case DATE_TIME -> json.writeNumber(reader.readDateTime());
+            case OBJECT_ID -> json.writeString(reader.readObjectId().toHexString());
+            case NULL -> {
+                reader.readNull();
+                json.writeNull();
+            }
+            case ARRAY -> {
+                reader.readStartArray();
+                json.writeStartArray();
+                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    writeValue(reader, json);
+                }
+                reader.readEndArray();
+                json.writeEndArray();
+            }
+            case DOCUMENT -> {
+                reader.readStartDocument();
+                json.writeStartObject();
+                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    json.writeFieldName(reader.readName());
+                    writeValue(reader, json);
+                }
+                reader.readEndDocument();
+                json.writeEndObject();
+            }
+            default -> {
+                // Types the API never returns (binary, regex, ...)
+                reader.skipValue();
+                json.writeNull();
+            }
+        }
+    }
+
+    private static boolean isNumber(BsonType type) {
+        return type == BsonType.INT32 || type == BsonType.INT64 || type == BsonType.DOUBLE;
+    }
+
+    private static int readInt(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case INT64 -> (int) reader.readInt64();
+            default -> (int) reader.readDouble();
+        };
+    }
+
+    private record Field(String source, SerializableString target, long bit,
+                         IntFunction<String> labels, boolean emptyArrayIfMissing) {
+    }
+
+    public static final class Builder {
+        private final List<Field> fields = new ArrayList<>();
+
+        public Builder field(String name) {
+            return add(name, name, null, false);
+        }
+
+        public Builder field(String source, String target) {
+            return add(source, target, null, false);
+        }
+
+        /**
+         * Writes an int code as the label {@code labels} maps it to.
+         */
+        public Builder labeled(String source, String target, IntFunction<String> labels) {
+            return add(source, target, labels, false);
+        }
+
+        /**
+         * Writes {@code []} instead of null when the array is absent or null.
+         */
+        public Builder array(String name) {
+            return add(name, name, null, true);
+        }
+
+        public BsonJsonProjection build() {
+            return new BsonJsonProjection(fields);
+        }
+
+        private Builder add(String source, String target, IntFunction<String> labels, boolean emptyArrayIfMissing) {
+            if (fields.size() == Long.SIZE) {
+                throw new IllegalStateException("A projection supports at most " + Long.SIZE + " fields");
+            }
+            fields.add(new Field(source, new SerializedString(target), 1L << fields.size(), labels, emptyArrayIfMissing));
+            return this;
+        }
+    }
+}
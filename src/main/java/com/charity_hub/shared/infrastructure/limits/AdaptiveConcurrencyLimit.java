@@ -0,0 +1,118 @@
+package com.charity_hub.shared.infrastructure.limits;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD concurrency limit. Each completed request that was fast and succeeded while the limit was
+ * being used raises the limit by {@code 1/limit} (about +1 per round of requests); a request slower
+ * than {@code latencyThreshold} or one that failed with a server error multiplies it by
+ * {@code backoffRatio}. The limit stays within {@code [minLimit, maxLimit]}.
+ * <p>
+ * A lock and condition rather than {@code synchronized}, so waiting virtual threads are not pinned.
+ */
+final class AdaptiveConcurrencyLimit {
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private double limit;
+    private int inFlight;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Expected 1 <= min-limit <= initial-limit <= max-limit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Takes a slot if one is free now. A caller that gets {@code true} must call {@link #onComplete}.
+     */
+    boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight >= (int) limit) {
+                return false;
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits up to {@code maxWait} for a slot. A caller that gets {@code true} must call {@link #onComplete}.
+     */
+    boolean acquire(Duration maxWait) throws InterruptedException {
+        long remaining = maxWait.toNanos();
+        lock.lock();
+        try {
+            while (inFlight >= (int) limit) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Frees the slot and adjusts the limit from the request's latency and outcome.
+     */
+    void onComplete(long latencyNanos, boolean failed) {
+        lock.lock();
+        try {
+            boolean wasSaturated = inFlight * 2 >= limit;
+            inFlight--;
+            if (failed || latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (wasSaturated) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            released.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isSaturated() {
+        lock.lock();
+        try {
+            return inFlight >= (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.charity_hub.shared.infrastructure.limits;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Sheds load on the API before it turns into Mongo connection-pool timeouts.
+ * <p>
+ * Reads (GET, HEAD) and writes each have their own {@link AdaptiveConcurrencyLimit}. Writes such as
+ * contributions take priority: they may wait {@code concurrency.write.max-wait} for a slot, while
+ * reads are rejected at once, and also whenever writes are at their limit. Rejected requests get
+ * 503 with Retry-After. Runs ahead of authentication so a rejection costs next to nothing.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    private final boolean enabled;
+    private final AdaptiveConcurrencyLimit reads;
+    private final AdaptiveConcurrencyLimit writes;
+    private final Duration writeMaxWait;
+    private final String retryAfterSeconds;
+    private final ObjectMapper mapper;
+    private final Counter readsRejected;
+    private final Counter writesRejected;
+
+    @Autowired
+    public ConcurrencyLimitFilter(
+            ObjectMapper mapper,
+            MeterRegistry meterRegistry,
+            @Value("${concurrency.enabled:true}") boolean enabled,
+            @Value("${concurrency.read.initial-limit:20}") int readInitialLimit,
+            @Value("${concurrency.read.min-limit:2}") int readMinLimit,
+            @Value("${concurrency.read.max-limit:200}") int readMaxLimit,
+            @Value("${concurrency.write.initial-limit:20}") int writeInitialLimit,
+            @Value("${concurrency.write.min-limit:2}") int writeMinLimit,
+            @Value("${concurrency.write.max-limit:200}") int writeMaxLimit,
+            @Value("${concurrency.write.max-wait:100ms}") Duration writeMaxWait,
+            @Value("${concurrency.latency-threshold:500ms}") Duration latencyThreshold,
+            @Value("${concurrency.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${concurrency.retry-after:1s}") Duration retryAfter
+    ) {
+        this(mapper, meterRegistry, enabled,
+                new AdaptiveConcurrencyLimit(readInitialLimit, readMinLimit, readMaxLimit, latencyThreshold, backoffRatio),
+                new AdaptiveConcurrencyLimit(writeInitialLimit, writeMinLimit, writeMaxLimit, latencyThreshold, backoffRatio),
+                writeMaxWait, retryAfter);
+    }
+
+    ConcurrencyLimitFilter(
+            ObjectMapper mapper,
+            MeterRegistry meterRegistry,
+            boolean enabled,
+            AdaptiveConcurrencyLimit reads,
+            AdaptiveConcurrencyLimit writes,
+            Duration writeMaxWait,
+            Duration retryAfter
+    ) {
+        this.mapper = mapper;
+        this.enabled = enabled;
+        this.reads = reads;
+        this.writes = writes;
+        this.writeMaxWait = writeMaxWait;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+        this.readsRejected = registerMeters(meterRegistry, "read", reads);
+        this.writesRejected = registerMeters(meterRegistry, "write", writes);
+    }
+
+    private static Counter registerMeters(MeterRegistry meterRegistry, String kind, AdaptiveConcurrencyLimit limit) {
+        Gauge.builder("http.concurrency.limit", limit, AdaptiveConcurrencyLimit::limit)
+                .description("Current adaptive concurrency limit")
+                .tag("kind", kind)
+                .register(meterRegistry);
+        Gauge.builder("http.concurrency.inflight", limit, AdaptiveConcurrencyLimit::inFlight)
+                .description("Requests currently holding a concurrency slot")
+                .tag("kind", kind)
+                .register(meterRegistry);
+        return Counter.builder("http.concurrency.rejected")
+                .description("Requests rejected with 503 because the concurrency limit was reached")
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/v1/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        boolean isRead = isRead(request);
+        AdaptiveConcurrencyLimit limit = isRead ? reads : writes;
+
+        if (!admit(isRead)) {
+            (isRead ? readsRejected : writesRejected).increment();
+            logger.debug("Rejected {} {}: {} limit {} reached", request.getMethod(), request.getRequestURI(),
+                    isRead ? "read" : "write", limit.limit());
+            reject(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            limit.onComplete(System.nanoTime() - start, failed);
+        }
+    }
+
+    private boolean admit(boolean isRead) {
+        if (isRead) {
+            // Writes waiting for a slot means Mongo is busy; list reads give way
+            return !writes.isSaturated() && reads.tryAcquire();
+        }
+        try {
+            return writes.acquire(writeMaxWait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        mapper.writeValue(response.getWriter(), Map.of("description", "Server is busy, please retry later"));
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method);
+    }
+}
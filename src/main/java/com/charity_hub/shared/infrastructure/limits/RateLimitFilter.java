@@ -0,0 +1,183 @@
+package com.charity_hub.shared.infrastructure.limits;
+
+import com.charity_hub.shared.auth.AccessTokenPayload;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Gives each user a request budget per endpoint, so one client retrying in a loop cannot take the
+ * Mongo pool and the notification fan-out from everyone else. Budgets are configured per endpoint
+ * (see {@link RateLimitProperties}); requests over budget get 429 with Retry-After, counted in
+ * {@code http.ratelimit.rejected}.
+ * <p>
+ * Runs right after Spring Security, since the budget belongs to the authenticated user. Endpoints
+ * called before sign-in are limited per client address; behind a proxy that needs
+ * {@code server.forward-headers-strategy} so the address is the client's.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final ObjectMapper mapper;
+    private final boolean enabled;
+    private final Rule[] rules;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public RateLimitFilter(ObjectMapper mapper, MeterRegistry meterRegistry, RateLimitProperties properties) {
+        this(mapper, meterRegistry, properties, System::nanoTime);
+    }
+
+    RateLimitFilter(ObjectMapper mapper, MeterRegistry meterRegistry, RateLimitProperties properties, LongSupplier nanoClock) {
+        this.mapper = mapper;
+        this.enabled = properties.enabled();
+        this.nanoClock = nanoClock;
+        List<Rule> rules = new ArrayList<>();
+        if (properties.endpoints() != null) {
+            properties.endpoints().forEach((name, endpoint) ->
+                    rules.add(new Rule(name, endpoint, properties, meterRegistry)));
+        }
+        this.rules = rules.toArray(Rule[]::new);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || rules.length == 0 || !request.getRequestURI().startsWith("/v1/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        Rule rule = match(request.getMethod(), request.getRequestURI());
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long waitNanos = rule.limiter.tryAcquire(key(rule, request), nanoClock.getAsLong());
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        rule.rejected.increment();
+        logger.debug("Rate limited {} {} for {}", request.getMethod(), request.getRequestURI(), rule.name);
+        reject(response, waitNanos);
+    }
+
+    private Rule match(String method, String uri) {
+        for (Rule rule : rules) {
+            if (rule.matches(method, uri)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static Object key(Rule rule, HttpServletRequest request) {
+        if (rule.key == RateLimitProperties.Key.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof AccessTokenPayload payload) {
+                return payload.getUserId();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        long seconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        mapper.writeValue(response.getWriter(), Map.of("description", "Too many requests, please retry later"));
+    }
+
+    private static final class Rule {
+        final String name;
+        final String method;
+        // Path segments, null where the mapping has a {variable}
+        final String[] segments;
+        final RateLimitProperties.Key key;
+        final RequestRateLimiter limiter;
+        final Counter rejected;
+
+        Rule(String name, RateLimitProperties.Endpoint endpoint, RateLimitProperties properties, MeterRegistry meterRegistry) {
+            if (endpoint.path() == null || !endpoint.path().startsWith("/")) {
+                throw new IllegalArgumentException("rate-limit.endpoints." + name + ".path must start with /");
+            }
+            this.name = name;
+            this.method = endpoint.method();
+            this.segments = endpoint.path().substring(1).split("/");
+            for (int i = 0; i < segments.length; i++) {
+                if (segments[i].startsWith("{")) {
+                    segments[i] = null;
+                }
+            }
+            this.key = endpoint.key();
+            this.limiter = new RequestRateLimiter(endpoint.limit(), endpoint.period().toNanos(), endpoint.burstOrLimit(),
+                    properties.stripes(), properties.maxKeysPerStripe());
+            this.rejected = Counter.builder("http.ratelimit.rejected")
+                    .description("Requests rejected with 429 because the user's budget for the endpoint was used up")
+                    .tag("endpoint", name)
+                    .register(meterRegistry);
+            Gauge.builder("http.ratelimit.keys", limiter, RequestRateLimiter::keys)
+                    .description("Users or addresses currently tracked by the rate limiter")
+                    .tag("endpoint", name)
+                    .register(meterRegistry);
+        }
+
+        // Compares the URI segment by segment in place, without splitting it
+        boolean matches(String requestMethod, String uri) {
+            if (!method.equalsIgnoreCase(requestMethod)) {
+                return false;
+            }
+            int position = 0;
+            for (String segment : segments) {
+                if (position >= uri.length() || uri.charAt(position) != '/') {
+                    return false;
+                }
+                int start = position + 1;
+                int end = uri.indexOf('/', start);
+                if (end < 0) {
+                    end = uri.length();
+                }
+                if (end == start) {
+                    return false;
+                }
+                if (segment != null && (end - start != segment.length()
+                        || !uri.regionMatches(start, segment, 0, segment.length()))) {
+                    return false;
+                }
+                position = end;
+            }
+            return position == uri.length();
+        }
+    }
+}
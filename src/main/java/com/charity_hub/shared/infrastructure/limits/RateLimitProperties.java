@@ -0,0 +1,53 @@
+package com.charity_hub.shared.infrastructure.limits;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Per-endpoint request budgets for {@link RateLimitFilter}, e.g.
+ * <pre>
+ * rate-limit.endpoints.contribute.method=POST
+ * rate-limit.endpoints.contribute.path=/v1/cases/{caseCode}/contributions
+ * rate-limit.endpoints.contribute.limit=10
+ * rate-limit.endpoints.contribute.period=1m
+ * rate-limit.endpoints.contribute.burst=5
+ * </pre>
+ *
+ * @param stripes          lock stripes per endpoint, a power of two
+ * @param maxKeysPerStripe most keys a stripe tracks; past it the least recently seen key is forgotten
+ */
+@ConfigurationProperties("rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("16") int stripes,
+        @DefaultValue("4096") int maxKeysPerStripe,
+        Map<String, Endpoint> endpoints
+) {
+    /**
+     * @param path  the controller's mapping; {@code {name}} matches one path segment
+     * @param limit requests per {@code period} once the burst is used up
+     * @param burst requests allowed at once after a quiet period, {@code limit} by default
+     * @param key   whose budget a request uses: the signed-in user, or the client address for
+     *              endpoints called before sign-in
+     */
+    public record Endpoint(
+            @DefaultValue("POST") String method,
+            String path,
+            int limit,
+            @DefaultValue("1m") Duration period,
+            Integer burst,
+            @DefaultValue("user") Key key
+    ) {
+        int burstOrLimit() {
+            return burst != null ? burst : limit;
+        }
+    }
+
+    public enum Key {
+        USER,
+        IP
+    }
+}
@@ -0,0 +1,106 @@
+package com.charity_hub.shared.infrastructure.limits;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket per key (user id or client address), kept as a single "theoretical arrival time"
+ * (the generic cell rate algorithm): a request conforms while that time is no further ahead of now
+ * than the burst allows, and moves it one emission interval ahead. An empty bucket and a key never
+ * seen are the same thing, so idle keys can be dropped at any time.
+ * <p>
+ * Keys are spread over lock stripes, each a map in access order, so users only contend with the few
+ * others sharing their stripe, and a request allocates nothing once its key is known. A stripe never
+ * holds more than {@code maxKeysPerStripe} keys: a new key past that evicts the least recently seen
+ * one, along with the idle keys right behind it. When every key is busy this forgets the eldest
+ * one's remaining debt, so under a flood of addresses the limit is approximate but memory is not.
+ */
+final class RequestRateLimiter {
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final int maxKeysPerStripe;
+    private final Stripe[] stripes;
+
+    RequestRateLimiter(int limit, long periodNanos, int burst, int stripes, int maxKeysPerStripe) {
+        if (limit <= 0 || periodNanos <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Limit, period and burst must be positive");
+        }
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Stripes must be a power of two");
+        }
+        if (maxKeysPerStripe <= 0) {
+            throw new IllegalArgumentException("Max keys per stripe must be positive");
+        }
+        this.intervalNanos = periodNanos / limit;
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.maxKeysPerStripe = maxKeysPerStripe;
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Takes a token for the key.
+     *
+     * @return 0 when the request may proceed, otherwise how long until it would have been allowed
+     */
+    long tryAcquire(Object key, long nowNanos) {
+        int hash = key.hashCode();
+        Stripe stripe = stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+        stripe.lock.lock();
+        try {
+            ArrivalTime arrival = stripe.keys.get(key);
+            long tat = arrival != null ? Math.max(arrival.nanos, nowNanos) : nowNanos;
+            if (tat - nowNanos > toleranceNanos) {
+                return tat - toleranceNanos - nowNanos;
+            }
+            if (arrival == null) {
+                if (stripe.keys.size() >= maxKeysPerStripe) {
+                    evictEldest(stripe, nowNanos);
+                }
+                arrival = new ArrivalTime();
+                stripe.keys.put(key, arrival);
+            }
+            arrival.nanos = tat + intervalNanos;
+            return 0;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    int keys() {
+        int keys = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                keys += stripe.keys.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return keys;
+    }
+
+    // Walks from the least recently seen key and stops at the first busy one, so each key is visited
+    // once per eviction. A key whose arrival time has passed has a full bucket, the same as a key never seen
+    private static void evictEldest(Stripe stripe, long nowNanos) {
+        Iterator<ArrivalTime> arrivals = stripe.keys.values().iterator();
+        arrivals.next();
+        arrivals.remove();
+        while (arrivals.hasNext() && arrivals.next().nanos - nowNanos <= 0) {
+            arrivals.remove();
+        }
+    }
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<Object, ArrivalTime> keys = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    private static final class ArrivalTime {
+        long nanos;
+    }
+}
@@ -0,0 +1,77 @@
+package com.charity_hub.shared.infrastructure.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Writes log events as one line of Elastic Common Schema JSON. MDC entries (request id, user id,
+ * handler, trace and span ids) become top-level fields.
+ * <p>
+ * Used instead of Boot's {@code logging.structured.format.console}, which needs Boot 3.4 and does
+ * not apply to a custom logback-spring.xml. Behind an async appender, encoding runs on the
+ * appender's worker thread rather than on the request thread.
+ */
+public class EcsJsonEncoder extends EncoderBase<ILoggingEvent> {
+    private static final byte[] NO_BYTES = new byte[0];
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final long PID = ProcessHandle.current().pid();
+
+    private String serviceName = "charity-hub";
+
+    public void setServiceName(String serviceName) {
+        this.serviceName = serviceName;
+    }
+
+    @Override
+    public byte[] headerBytes() {
+        return NO_BYTES;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (JsonGenerator json = JSON.createGenerator(out)) {
+            json.writeStartObject();
+            json.writeStringField("@timestamp", Instant.ofEpochMilli(event.getTimeStamp()).toString());
+            json.writeStringField("log.level", event.getLevel().toString());
+            json.writeNumberField("process.pid", PID);
+            json.writeStringField("process.thread.name", event.getThreadName());
+            json.writeStringField("service.name", serviceName);
+            json.writeStringField("log.logger", event.getLoggerName());
+            json.writeStringField("message", event.getFormattedMessage());
+            Map<String, String> mdc = event.getMDCPropertyMap();
+            if (mdc != null) {
+                for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                    json.writeStringField(entry.getKey(), entry.getValue());
+                }
+            }
+            IThrowableProxy error = event.getThrowableProxy();
+            if (error != null) {
+                json.writeStringField("error.type", error.getClassName());
+                json.writeStringField("error.message", error.getMessage());
+                json.writeStringField("error.stack_trace", ThrowableProxyUtil.asString(error));
+            }
+            json.writeStringField("ecs.version", "8.11");
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        out.write('\n');
+        return out.toByteArray();
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return NO_BYTES;
+    }
+}
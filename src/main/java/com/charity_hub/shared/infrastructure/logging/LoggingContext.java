@@ -0,0 +1,14 @@
+package com.charity_hub.shared.infrastructure.logging;
+
+/**
+ * MDC keys that tie log lines to a request. {@link EcsJsonEncoder} writes every MDC entry as a
+ * top-level field, next to the traceId and spanId the tracer puts there.
+ */
+public final class LoggingContext {
+    public static final String REQUEST_ID = "requestId";
+    public static final String USER_ID = "userId";
+    public static final String HANDLER = "handler";
+
+    private LoggingContext() {
+    }
+}
@@ -0,0 +1,71 @@
+package com.charity_hub.shared.infrastructure.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Puts a request id in the MDC for every log line of an API request, and returns it in
+ * {@code X-Request-Id}. A well-formed id sent by the client or a proxy is kept, so lines can be
+ * matched with theirs. The user id is added by JwtAuthFilter once the token is verified, and the
+ * handler name by the handler observation; both are cleared here when the request ends.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LoggingContextFilter extends OncePerRequestFilter {
+    static final String HEADER = "X-Request-Id";
+    private static final int MAX_LENGTH = 64;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/v1/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        String requestId = requestId(request.getHeader(HEADER));
+        MDC.put(LoggingContext.REQUEST_ID, requestId);
+        response.setHeader(HEADER, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(LoggingContext.REQUEST_ID);
+            MDC.remove(LoggingContext.USER_ID);
+            MDC.remove(LoggingContext.HANDLER);
+        }
+    }
+
+    static String requestId(String header) {
+        if (header != null && !header.isEmpty() && header.length() <= MAX_LENGTH && isToken(header)) {
+            return header;
+        }
+        // Not a UUID: randomUUID draws from SecureRandom, which is not worth it for a log id
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return Long.toHexString(random.nextLong() | Long.MIN_VALUE) + Long.toHexString(random.nextLong() | Long.MIN_VALUE);
+    }
+
+    // Letters, digits and - _ . : only, so a header cannot inject into the log line
+    private static boolean isToken(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9'
+                    || c == '-' || c == '_' || c == '.' || c == ':')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,32 @@
+package com.charity_hub.shared.infrastructure.observability;
+
+import com.charity_hub.shared.domain.EventBusMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.IntSupplier;
+
+/**
+ * Times and counts every (event type, subscriber) pair of the event bus, see
+ * {@link EventListenerMetrics}.
+ */
+@Component
+public class EventBusMetrics implements EventBusMonitor {
+    private final MeterRegistry meterRegistry;
+    private final Duration slowHandlerThreshold;
+
+    public EventBusMetrics(
+            MeterRegistry meterRegistry,
+            @Value("${eventbus.slow-handler-threshold:500ms}") Duration slowHandlerThreshold
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.slowHandlerThreshold = slowHandlerThreshold;
+    }
+
+    @Override
+    public ListenerMonitor monitor(String listenerId, Class<?> owner, Class<?> event, IntSupplier queueSize) {
+        return new EventListenerMetrics(meterRegistry, listenerId, owner, event, queueSize, slowHandlerThreshold);
+    }
+}
@@ -0,0 +1,110 @@
+package com.charity_hub.shared.infrastructure.observability;
+
+import com.charity_hub.shared.domain.EventBusMonitor;
+import com.charity_hub.shared.infrastructure.MongoCommandAccounting;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * Meters for one (event type, subscriber) pair: handler timer, failure counter,
+ * in-flight gauge, Mongo commands per call and, in async mode, queue size gauge.
+ * <p>
+ * Tagged with binary class names: simple names repeat across modules (NotificationService,
+ * *Handler), and two listeners sharing meters would also remove each other's.
+ */
+final class EventListenerMetrics implements EventBusMonitor.ListenerMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(EventListenerMetrics.class);
+
+    private final MeterRegistry registry;
+    private final String listenerId;
+    private final Duration slowThreshold;
+    private final Timer timer;
+    private final Counter failures;
+    private final DistributionSummary dbCalls;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final List<Meter> meters = new ArrayList<>();
+
+    EventListenerMetrics(
+            MeterRegistry registry,
+            String listenerId,
+            Class<?> owner,
+            Class<?> event,
+            IntSupplier queueSize,
+            Duration slowThreshold
+    ) {
+        this.registry = registry;
+        this.listenerId = listenerId;
+        this.slowThreshold = slowThreshold;
+        Tags tags = Tags.of("event", event.getName(), "subscriber", owner.getName());
+
+        this.timer = Timer.builder("eventbus.handler")
+                .description("Event handler execution time")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+        this.failures = Counter.builder("eventbus.handler.failures")
+                .description("Event handler invocations that threw")
+                .tags(tags)
+                .register(registry);
+        this.dbCalls = DistributionSummary.builder("eventbus.handler.db.calls")
+                .description("Mongo commands run per event handler invocation")
+                .tags(tags)
+                .register(registry);
+        meters.add(timer);
+        meters.add(failures);
+        meters.add(dbCalls);
+        meters.add(Gauge.builder("eventbus.handler.in.flight", inFlight, AtomicInteger::get)
+                .description("Event handler invocations currently running")
+                .tags(tags)
+                .register(registry));
+        if (queueSize != null) {
+            meters.add(Gauge.builder("eventbus.queue.size", queueSize, IntSupplier::getAsInt)
+                    .description("Events waiting in the subscriber queue")
+                    .tags(tags)
+                    .strongReference(true)
+                    .register(registry));
+        }
+    }
+
+    @Override
+    public void record(Runnable handler) {
+        inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        MongoCommandAccounting.Scope db = MongoCommandAccounting.openScope();
+        try {
+            handler.run();
+        } catch (RuntimeException e) {
+            failures.increment();
+            throw e;
+        } finally {
+            db.close();
+            dbCalls.record(db.stats().commands());
+            long elapsed = System.nanoTime() - start;
+            inFlight.decrementAndGet();
+            timer.record(elapsed, TimeUnit.NANOSECONDS);
+            if (elapsed > slowThreshold.toNanos()) {
+                logger.warn("Slow event handler {} took {} ms (threshold {} ms)",
+                        listenerId, TimeUnit.NANOSECONDS.toMillis(elapsed), slowThreshold.toMillis());
+            }
+        }
+    }
+
+    @Override
+    public void remove() {
+        meters.forEach(registry::remove);
+    }
+}
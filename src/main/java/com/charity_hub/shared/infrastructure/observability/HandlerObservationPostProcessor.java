@@ -0,0 +1,194 @@
+package com.charity_hub.shared.infrastructure.observability;
+
+import com.charity_hub.shared.abstractions.Command;
+import com.charity_hub.shared.abstractions.CommandHandler;
+import com.charity_hub.shared.abstractions.Query;
+import com.charity_hub.shared.abstractions.QueryHandler;
+import com.charity_hub.shared.abstractions.VoidCommandHandler;
+import com.charity_hub.shared.abstractions.VoidQueryHandler;
+import com.charity_hub.shared.exceptions.BadRequestException;
+import com.charity_hub.shared.exceptions.BusinessRuleException;
+import com.charity_hub.shared.exceptions.NotFoundException;
+import com.charity_hub.shared.infrastructure.MongoCommandAccounting;
+import com.charity_hub.shared.infrastructure.MongoCommandStats;
+import com.charity_hub.shared.infrastructure.logging.LoggingContext;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.MDC;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Wraps every command and query handler bean so that each {@code handle} call is an
+ * {@link Observation} named {@value #OBSERVATION}, without the handlers knowing about it.
+ * <p>
+ * With the meter handler Boot registers, that gives a {@code handler} timer tagged with the handler
+ * class, its type (command or query) and the outcome (success, business_rule, not_found, error),
+ * plus a {@code handler.active} long task timer counting calls in flight. With a tracer on the
+ * classpath it is also a span carrying the request's ids, codes and amounts. Request fields that are
+ * strings are left out of the span since they carry mobile numbers, tokens and free text.
+ * <p>
+ * The Mongo commands a call runs are counted per handler in {@code handler.db.calls}, see
+ * {@link MongoCommandAccounting}. The handler name is in the MDC for the log lines of the call.
+ */
+@Component
+@ConditionalOnProperty(name = "handlers.observation.enabled", havingValue = "true", matchIfMissing = true)
+public class HandlerObservationPostProcessor extends AbstractAdvisingBeanPostProcessor {
+    static final String OBSERVATION = "handler";
+
+    public HandlerObservationPostProcessor(
+            ObjectProvider<ObservationRegistry> observationRegistry,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        ClassFilter handlers = type -> CommandHandler.class.isAssignableFrom(type)
+                || VoidCommandHandler.class.isAssignableFrom(type)
+                || QueryHandler.class.isAssignableFrom(type)
+                || VoidQueryHandler.class.isAssignableFrom(type);
+        StaticMethodMatcher handleMethod = new StaticMethodMatcher() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return method.getName().equals("handle")
+                        && method.getParameterCount() == 1
+                        && !method.isBridge()
+                        && (Command.class.isAssignableFrom(method.getParameterTypes()[0])
+                        || Query.class.isAssignableFrom(method.getParameterTypes()[0]));
+            }
+        };
+        this.advisor = new DefaultPointcutAdvisor(
+                new ComposablePointcut(handlers, handleMethod),
+                new HandlerObservationInterceptor(observationRegistry, meterRegistry));
+        // Handlers are injected by their concrete class
+        setProxyTargetClass(true);
+        setBeforeExistingAdvisors(true);
+    }
+
+    static final class HandlerObservationInterceptor implements MethodInterceptor {
+        private static final ClassValue<List<RecordComponent>> SPAN_ATTRIBUTES = new ClassValue<>() {
+            @Override
+            protected List<RecordComponent> computeValue(Class<?> type) {
+                List<RecordComponent> components = new ArrayList<>();
+                if (type.isRecord()) {
+                    for (RecordComponent component : type.getRecordComponents()) {
+                        Class<?> valueType = component.getType();
+                        if (valueType.isPrimitive() || Number.class.isAssignableFrom(valueType)
+                                || valueType == UUID.class || valueType.isEnum()) {
+                            component.getAccessor().setAccessible(true);
+                            components.add(component);
+                        }
+                    }
+                }
+                return List.copyOf(components);
+            }
+        };
+
+        private final ObjectProvider<ObservationRegistry> observationRegistry;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private volatile ObservationRegistry registry;
+
+        HandlerObservationInterceptor(
+                ObjectProvider<ObservationRegistry> observationRegistry,
+                ObjectProvider<MeterRegistry> meterRegistry
+        ) {
+            this.observationRegistry = observationRegistry;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Class<?> handler = AopUtils.getTargetClass(invocation.getThis());
+            Object request = invocation.getArguments()[0];
+            Observation observation = Observation.createNotStarted(OBSERVATION, registry())
+                    .contextualName(handler.getSimpleName())
+                    .lowCardinalityKeyValue("handler", handler.getSimpleName())
+                    .lowCardinalityKeyValue("type", isCommandHandler(handler) ? "command" : "query");
+            if (request != null && !observation.isNoop()) {
+                observation.highCardinalityKeyValue("request", request.getClass().getSimpleName());
+                for (RecordComponent component : SPAN_ATTRIBUTES.get(request.getClass())) {
+                    Object value = component.getAccessor().invoke(request);
+                    if (value != null) {
+                        observation.highCardinalityKeyValue("request." + component.getName(), value.toString());
+                    }
+                }
+            }
+
+            // Restored afterwards, since a handler may call another one
+            String outerHandler = MDC.get(LoggingContext.HANDLER);
+            MDC.put(LoggingContext.HANDLER, handler.getSimpleName());
+            observation.start();
+            try (Observation.Scope ignored = observation.openScope();
+                 MongoCommandAccounting.Scope db = MongoCommandAccounting.openScope()) {
+                try {
+                    Object result = invocation.proceed();
+                    observation.lowCardinalityKeyValue("outcome", "success");
+                    return result;
+                } catch (Throwable e) {
+                    observation.lowCardinalityKeyValue("outcome", outcome(e));
+                    observation.error(e);
+                    throw e;
+                } finally {
+                    recordDbCalls(handler, db.stats(), observation);
+                }
+            } finally {
+                observation.stop();
+                if (outerHandler != null) {
+                    MDC.put(LoggingContext.HANDLER, outerHandler);
+                } else {
+                    MDC.remove(LoggingContext.HANDLER);
+                }
+            }
+        }
+
+        private void recordDbCalls(Class<?> handler, MongoCommandStats stats, Observation observation) {
+            observation.highCardinalityKeyValue("db.calls", String.valueOf(stats.commands()));
+            MeterRegistry meters = meterRegistry.getIfAvailable();
+            if (meters != null) {
+                DistributionSummary.builder("handler.db.calls")
+                        .description("Mongo commands run per handler call")
+                        .tag("handler", handler.getSimpleName())
+                        .publishPercentileHistogram()
+                        .register(meters)
+                        .record(stats.commands());
+            }
+        }
+
+        static String outcome(Throwable e) {
+            if (e instanceof NotFoundException) {
+                return "not_found";
+            }
+            if (e instanceof BusinessRuleException || e instanceof BadRequestException) {
+                return "business_rule";
+            }
+            return "error";
+        }
+
+        private static boolean isCommandHandler(Class<?> handler) {
+            return CommandHandler.class.isAssignableFrom(handler) || VoidCommandHandler.class.isAssignableFrom(handler);
+        }
+
+        private ObservationRegistry registry() {
+            ObservationRegistry current = registry;
+            if (current == null) {
+                current = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
+                registry = current;
+            }
+            return current;
+        }
+    }
+}
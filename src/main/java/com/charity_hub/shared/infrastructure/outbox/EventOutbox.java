@@ -0,0 +1,146 @@
+package com.charity_hub.shared.infrastructure.outbox;
+
+import com.charity_hub.shared.domain.EventBus;
+import com.charity_hub.shared.infrastructure.MongoIndexes;
+import com.charity_hub.shared.infrastructure.MongoTransactions;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Updates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static com.mongodb.client.model.Filters.eq;
+
+/**
+ * Transactional outbox for domain events.
+ * <p>
+ * Repositories hand their writes and the resulting events to {@link #write}: the writes and
+ * one publication row per (event, listener) are committed together, then the events are
+ * delivered to their listeners. A publication is completed once its listener handled the
+ * event; anything left incomplete (crash, deploy, handler failure) is redelivered by
+ * {@link OutboxRelay}, so listeners see each event at least once.
+ */
+@Component
+public class EventOutbox {
+    private static final Logger logger = LoggerFactory.getLogger(EventOutbox.class);
+    // Not Spring Modulith's event_publication, whose registry would republish and delete these rows
+    static final String COLLECTION = "event_outbox";
+
+    private final MongoCollection<EventPublicationEntity> collection;
+    private final MongoTransactions transactions;
+    private final EventBus eventBus;
+    private final ObjectMapper objectMapper;
+
+    public EventOutbox(
+            MongoDatabase mongoDatabase,
+            MongoIndexes indexes,
+            MongoTransactions transactions,
+            EventBus eventBus,
+            ObjectMapper objectMapper,
+            @Value("${outbox.completed-retention:7d}") Duration completedRetention
+    ) {
+        this.collection = mongoDatabase.getCollection(COLLECTION, EventPublicationEntity.class);
+        this.transactions = transactions;
+        this.eventBus = eventBus;
+        this.objectMapper = objectMapper;
+
+        indexes.ensure(collection, Indexes.ascending("completionDate", "publicationDate"));
+        // TTL indexes skip documents where the field is null, so only completed rows expire
+        indexes.ensure(collection, Indexes.ascending("completionDate"),
+                new IndexOptions().expireAfter(completedRetention.toSeconds(), TimeUnit.SECONDS)
+                        .name("completionDate_ttl"));
+    }
+
+    /**
+     * Applies the writes and records the events in one transaction, then delivers the events.
+     */
+    public void write(Consumer<ClientSession> writes, List<?> events) {
+        List<EventPublicationEntity> publications = transactions.run(session -> {
+            writes.accept(session);
+            return store(session, events);
+        });
+        publications.forEach(this::deliver);
+    }
+
+    List<EventPublicationEntity> store(ClientSession session, List<?> events) {
+        Instant now = Instant.now();
+        List<EventPublicationEntity> publications = new ArrayList<>();
+        for (Object event : events) {
+            String serializedEvent = serialize(event);
+            for (String listenerId : eventBus.listenerIds(event.getClass())) {
+                publications.add(new EventPublicationEntity(
+                        UUID.randomUUID(),
+                        listenerId,
+                        event.getClass().getName(),
+                        serializedEvent,
+                        now,
+                        now,
+                        1,
+                        null
+                ));
+            }
+        }
+        if (!publications.isEmpty()) {
+            collection.insertMany(session, publications);
+            logger.debug("Stored {} event publications", publications.size());
+        }
+        return publications;
+    }
+
+    void deliver(EventPublicationEntity publication) {
+        Object event;
+        try {
+            event = deserialize(publication);
+        } catch (Exception e) {
+            logger.error("Dropping unreadable event publication {} for {}", publication._id(), publication.listenerId(), e);
+            complete(publication._id());
+            return;
+        }
+        boolean delivered = eventBus.deliver(publication.listenerId(), event, () -> complete(publication._id()));
+        if (!delivered) {
+            logger.warn("No listener {} subscribed, completing publication {}", publication.listenerId(), publication._id());
+            complete(publication._id());
+        }
+    }
+
+    MongoCollection<EventPublicationEntity> collection() {
+        return collection;
+    }
+
+    private void complete(UUID publicationId) {
+        collection.updateOne(eq("_id", publicationId), Updates.set("completionDate", Instant.now()));
+    }
+
+    private String serialize(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize event " + event.getClass().getName(), e);
+        }
+    }
+
+    private Object deserialize(EventPublicationEntity publication) throws ClassNotFoundException, JsonProcessingException {
+        Class<?> listenerType = eventBus.listenerEventType(publication.listenerId()).orElse(Object.class);
+        Class<?> eventType = Class.forName(publication.eventType(), false, getClass().getClassLoader());
+        // Only instantiate types the listener accepts
+        if (!listenerType.isAssignableFrom(eventType)) {
+            throw new IllegalStateException(publication.eventType() + " is not accepted by " + publication.listenerId());
+        }
+        return objectMapper.readValue(publication.serializedEvent(), eventType);
+    }
+}
@@ -0,0 +1,20 @@
+package com.charity_hub.shared.infrastructure.outbox;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One row per (event, listener). Field names follow the Spring Modulith event publication
+ * layout so the collection reads the same way as the registry's own documents.
+ */
+public record EventPublicationEntity(
+        UUID _id,
+        String listenerId,
+        String eventType,
+        String serializedEvent,
+        Instant publicationDate,
+        Instant lastAttemptDate,
+        int attempts,
+        Instant completionDate
+) {
+}
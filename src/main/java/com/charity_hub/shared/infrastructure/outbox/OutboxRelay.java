@@ -0,0 +1,168 @@
+package com.charity_hub.shared.infrastructure.outbox;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.mongodb.client.model.Filters.*;
+
+/**
+ * Redelivers incomplete event publications in batches.
+ * <p>
+ * Publications stored before this instance started are picked up on the first pass, which
+ * republishes whatever a previous run left behind. Newer ones are only retried once
+ * {@code outbox.relay.retry-delay} has passed since their last attempt, giving the
+ * immediate delivery in {@link EventOutbox#write} time to complete.
+ * <p>
+ * Each publication is claimed by moving its {@code lastAttemptDate} forward in the same update
+ * that finds it, so with several instances only one of them redelivers it per attempt.
+ */
+@Component
+public class OutboxRelay implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final EventOutbox outbox;
+    private final MongoCollection<EventPublicationEntity> collection;
+    private final Duration interval;
+    private final Duration retryDelay;
+    private final int batchSize;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter redelivered;
+
+    private ScheduledExecutorService scheduler;
+    private Instant startedAt;
+    private volatile boolean running;
+
+    public OutboxRelay(
+            EventOutbox outbox,
+            MeterRegistry meterRegistry,
+            @Value("${outbox.relay.interval:5s}") Duration interval,
+            @Value("${outbox.relay.retry-delay:30s}") Duration retryDelay,
+            @Value("${outbox.relay.batch-size:100}") int batchSize
+    ) {
+        this.outbox = outbox;
+        this.collection = outbox.collection();
+        this.interval = interval;
+        this.retryDelay = retryDelay;
+        this.batchSize = batchSize;
+
+        Gauge.builder("eventbus.outbox.lag", lagMillis, value -> value.get() / 1000.0)
+                .description("Age of the oldest incomplete event publication")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.redelivered = Counter.builder("eventbus.outbox.redelivered")
+                .description("Event publications redelivered by the relay")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        startedAt = Instant.now();
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("outbox-relay").factory());
+        scheduler.scheduleWithFixedDelay(this::relay, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(interval.toMillis(), TimeUnit.MILLISECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    void relay() {
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == batchSize && running);
+            updateLag();
+        } catch (Exception e) {
+            logger.error("Outbox relay pass failed", e);
+        }
+    }
+
+    private int relayBatch() {
+        Instant now = Instant.now();
+        Instant retryCutoff = now.minus(retryDelay);
+        Instant cutoff = startedAt.isAfter(retryCutoff) ? startedAt : retryCutoff;
+
+        int relayed = 0;
+        while (relayed < batchSize) {
+            EventPublicationEntity publication = claim(cutoff, now);
+            if (publication == null) {
+                break;
+            }
+            if (publication.attempts() >= 5) {
+                logger.warn("Event publication {} for {} still incomplete after {} attempts",
+                        publication._id(), publication.listenerId(), publication.attempts());
+            }
+            outbox.deliver(publication);
+            relayed++;
+        }
+        if (relayed > 0) {
+            logger.info("Redelivered {} incomplete event publications", relayed);
+            redelivered.increment(relayed);
+        }
+        return relayed;
+    }
+
+    /**
+     * Claims the oldest publication due for redelivery, atomically, so no other instance gets it.
+     *
+     * @return the publication as it was before this attempt, or null when none is due
+     */
+    private EventPublicationEntity claim(Instant cutoff, Instant now) {
+        return collection.findOneAndUpdate(
+                and(eq("completionDate", null), lt("lastAttemptDate", cutoff)),
+                Updates.combine(Updates.set("lastAttemptDate", now), Updates.inc("attempts", 1)),
+                new FindOneAndUpdateOptions()
+                        .sort(Sorts.ascending("publicationDate"))
+                        .returnDocument(ReturnDocument.BEFORE));
+    }
+
+    private void updateLag() {
+        Document oldest = collection.withDocumentClass(Document.class)
+                .find(eq("completionDate", null))
+                .sort(Sorts.ascending("publicationDate"))
+                .projection(Projections.include("publicationDate"))
+                .first();
+        lagMillis.set(oldest == null
+                ? 0
+                : Duration.between(oldest.getDate("publicationDate").toInstant(), Instant.now()).toMillis());
+    }
+}
@@ -0,0 +1,115 @@
+package com.charity_hub.shared.infrastructure.slowops;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What an {@code explain("executionStats")} says about a slow command, and why it looks wrong.
+ *
+ * @param flags COLLSCAN when the winning plan scans the collection, HIGH_SCAN_RATIO when far more
+ *              documents were examined than returned, ERROR when the explain itself failed
+ */
+public record ExplainSummary(
+        List<String> winningStages,
+        long docsExamined,
+        long keysExamined,
+        long returned,
+        long executionTimeMs,
+        List<String> flags,
+        String error
+) {
+    public static final String COLLSCAN = "COLLSCAN";
+    public static final String HIGH_SCAN_RATIO = "HIGH_SCAN_RATIO";
+    public static final String ERROR = "ERROR";
+
+    static ExplainSummary failed(String error) {
+        return new ExplainSummary(List.of(), 0, 0, 0, 0, List.of(ERROR), error);
+    }
+
+    /**
+     * Reads find/count explain output as well as aggregate output, where the plan sits under a
+     * {@code $cursor} stage.
+     */
+    static ExplainSummary analyze(BsonDocument explain, double maxScanRatio, long minDocsExamined) {
+        List<String> stages = new ArrayList<>();
+        collectWinningStages(explain, stages);
+        BsonDocument stats = find(explain, "executionStats");
+
+        long docsExamined = stats != null ? longValue(stats, "totalDocsExamined") : 0;
+        long keysExamined = stats != null ? longValue(stats, "totalKeysExamined") : 0;
+        long returned = stats != null ? longValue(stats, "nReturned") : 0;
+        long executionTime = stats != null ? longValue(stats, "executionTimeMillis") : 0;
+
+        List<String> flags = new ArrayList<>();
+        if (stages.contains(COLLSCAN)) {
+            flags.add(COLLSCAN);
+        }
+        if (docsExamined >= minDocsExamined && docsExamined > maxScanRatio * Math.max(returned, 1)) {
+            flags.add(HIGH_SCAN_RATIO);
+        }
+        return new ExplainSummary(List.copyOf(stages), docsExamined, keysExamined, returned, executionTime,
+                List.copyOf(flags), null);
+    }
+
+    public boolean flagged() {
+        return !flags.isEmpty();
+    }
+
+    private static void collectWinningStages(BsonValue value, List<String> stages) {
+        if (value.isDocument()) {
+            BsonDocument document = value.asDocument();
+            for (String key : document.keySet()) {
+                if (key.equals("winningPlan")) {
+                    collectStages(document.get(key), stages);
+                } else {
+                    collectWinningStages(document.get(key), stages);
+                }
+            }
+        } else if (value.isArray()) {
+            value.asArray().forEach(element -> collectWinningStages(element, stages));
+        }
+    }
+
+    private static void collectStages(BsonValue plan, List<String> stages) {
+        if (plan.isDocument()) {
+            BsonDocument document = plan.asDocument();
+            if (document.isString("stage")) {
+                stages.add(document.getString("stage").getValue());
+            }
+            document.values().forEach(child -> collectStages(child, stages));
+        } else if (plan.isArray()) {
+            plan.asArray().forEach(child -> collectStages(child, stages));
+        }
+    }
+
+    private static BsonDocument find(BsonValue value, String key) {
+        if (value.isDocument()) {
+            BsonDocument document = value.asDocument();
+            if (document.isDocument(key)) {
+                return document.getDocument(key);
+            }
+            for (BsonValue child : document.values()) {
+                BsonDocument found = find(child, key);
+                if (found != null) {
+                    return found;
+                }
+            }
+        } else if (value.isArray()) {
+            for (BsonValue child : value.asArray()) {
+                BsonDocument found = find(child, key);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static long longValue(BsonDocument document, String key) {
+        BsonValue value = document.get(key);
+        return value != null && value.isNumber() ? value.asNumber().longValue() : 0;
+    }
+}
@@ -0,0 +1,24 @@
+package com.charity_hub.shared.infrastructure.slowops;
+
+import java.time.Instant;
+
+/**
+ * A Mongo command that took longer than the threshold. {@code command} is the command with every
+ * value replaced by "?", so it can be shown without exposing mobile numbers or ids.
+ *
+ * @param explain null until the asynchronous explain finished, or if the entry was not sampled
+ */
+public record SlowOperation(
+        Instant at,
+        String database,
+        String collection,
+        String operation,
+        String command,
+        long durationMs,
+        int returned,
+        ExplainSummary explain
+) {
+    SlowOperation withExplain(ExplainSummary explain) {
+        return new SlowOperation(at, database, collection, operation, command, durationMs, returned, explain);
+    }
+}
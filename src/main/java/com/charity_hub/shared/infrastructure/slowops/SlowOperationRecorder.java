@@ -0,0 +1,339 @@
+package com.charity_hub.shared.infrastructure.slowops;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Keeps the most recent Mongo commands slower than {@code mongodb.slow-ops.threshold} in a ring
+ * buffer, served by {@link SlowOperationsEndpoint}.
+ * <p>
+ * A sample of the slow reads is explained in the background with {@code executionStats}, at most
+ * once per command shape per {@code mongodb.slow-ops.explain.interval}. Plans that scan the whole
+ * collection or examine far more documents than they return are flagged and logged, so a missing
+ * index shows up without anyone having to reproduce the query by hand.
+ * <p>
+ * The sync driver reports a command's start and end on the thread that runs it, so the command
+ * being run is kept in a thread-local between the two events. It is only parsed once the command
+ * turns out to be slow.
+ * <p>
+ * Restricted to FULL_ACCESS accounts in {@code SecurityConfig}.
+ */
+@Component
+public class SlowOperationRecorder implements CommandListener {
+    private static final Logger logger = LoggerFactory.getLogger(SlowOperationRecorder.class);
+
+    // Commands the server can explain; getMore and writes by _id are not worth it
+    private static final Set<String> EXPLAINABLE =
+            Set.of("find", "aggregate", "count", "distinct", "findAndModify", "update", "delete");
+
+    // Session, cluster and driver fields that explain rejects or that say nothing about the query
+    private static final Set<String> IGNORED_FIELDS = Set.of("lsid", "$db", "$clusterTime", "txnNumber",
+            "autocommit", "startTransaction", "$readPreference", "readConcern", "writeConcern", "apiVersion",
+            "apiStrict", "apiDeprecationErrors", "cursor", "batchSize", "singleBatch", "ordered", "maxTimeMS");
+
+    private static final int MAX_EXPLAINS_IN_FLIGHT = 2;
+    private static final int MAX_TRACKED_SHAPES = 1_000;
+
+    private final ThreadLocal<BsonDocument> started = new ThreadLocal<>();
+    private final Map<String, Long> lastExplained = new ConcurrentHashMap<>();
+    private final Semaphore explainPermits = new Semaphore(MAX_EXPLAINS_IN_FLIGHT);
+
+    private final SlowOperation[] ring;
+    private int next;
+    private int size;
+
+    private final long thresholdNanos;
+    private final boolean explainEnabled;
+    private final double sampleRate;
+    private final long explainIntervalNanos;
+    private final double maxScanRatio;
+    private final long minDocsExamined;
+    private final BiFunction<String, BsonDocument, BsonDocument> explainer;
+    private final Executor executor;
+    private final Counter slowCommands;
+    private final Counter flaggedPlans;
+
+    public SlowOperationRecorder(
+            ObjectProvider<MongoClient> mongoClient,
+            MeterRegistry meterRegistry,
+            @Value("${mongodb.slow-ops.threshold:100ms}") Duration threshold,
+            @Value("${mongodb.slow-ops.capacity:200}") int capacity,
+            @Value("${mongodb.slow-ops.explain.enabled:true}") boolean explainEnabled,
+            @Value("${mongodb.slow-ops.explain.sample-rate:0.1}") double sampleRate,
+            @Value("${mongodb.slow-ops.explain.interval:10m}") Duration explainInterval,
+            @Value("${mongodb.slow-ops.explain.max-scan-ratio:10}") double maxScanRatio,
+            @Value("${mongodb.slow-ops.explain.min-docs-examined:100}") long minDocsExamined
+    ) {
+        // The client is looked up on first use: this listener is part of the client's own settings
+        this(meterRegistry, threshold, capacity, explainEnabled, sampleRate, explainInterval, maxScanRatio,
+                minDocsExamined,
+                (database, command) -> mongoClient.getObject().getDatabase(database).runCommand(command, BsonDocument.class),
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("slow-ops-explain-", 0).factory()));
+    }
+
+    SlowOperationRecorder(
+            MeterRegistry meterRegistry,
+            Duration threshold,
+            int capacity,
+            boolean explainEnabled,
+            double sampleRate,
+            Duration explainInterval,
+            double maxScanRatio,
+            long minDocsExamined,
+            BiFunction<String, BsonDocument, BsonDocument> explainer,
+            Executor executor
+    ) {
+        this.ring = new SlowOperation[Math.max(capacity, 1)];
+        this.thresholdNanos = threshold.toNanos();
+        this.explainEnabled = explainEnabled;
+        this.sampleRate = sampleRate;
+        this.explainIntervalNanos = explainInterval.toNanos();
+        this.maxScanRatio = maxScanRatio;
+        this.minDocsExamined = minDocsExamined;
+        this.explainer = explainer;
+        this.executor = executor;
+        this.slowCommands = Counter.builder("mongodb.commands.slow")
+                .description("Mongo commands slower than the slow operation threshold")
+                .register(meterRegistry);
+        this.flaggedPlans = Counter.builder("mongodb.commands.slow.flagged")
+                .description("Explained slow commands whose plan scans the collection or too many documents")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Slow operations, newest first.
+     */
+    public synchronized List<SlowOperation> recent() {
+        List<SlowOperation> recent = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            recent.add(ring[Math.floorMod(next - i, ring.length)]);
+        }
+        return recent;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (EXPLAINABLE.contains(event.getCommandName())) {
+            // The event's document reads from the driver's pooled buffer, which is released once the
+            // command is sent. Cloning it copies the encoded bytes without parsing them.
+            started.set(event.getCommand().clone());
+        } else {
+            started.remove();
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        BsonDocument command = started.get();
+        started.remove();
+        long elapsed = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        if (elapsed < thresholdNanos || "explain".equals(event.getCommandName())) {
+            return;
+        }
+        record(event.getDatabaseName(), event.getCommandName(), strip(command), elapsed, returned(event.getResponse()));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        // A failed command (e.g. a socket timeout) that took long is as interesting as a slow one
+        BsonDocument command = started.get();
+        started.remove();
+        long elapsed = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        if (elapsed < thresholdNanos || "explain".equals(event.getCommandName())) {
+            return;
+        }
+        record(event.getDatabaseName(), event.getCommandName(), strip(command), elapsed, 0);
+    }
+
+    private void record(String database, String commandName, BsonDocument command, long elapsedNanos, int returned) {
+        String collection = command != null && command.isString(commandName)
+                ? command.getString(commandName).getValue()
+                : null;
+        String shape = command != null ? shape(command).toJson() : null;
+        SlowOperation operation = new SlowOperation(Instant.now(), database, collection, commandName, shape,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), returned, null);
+        add(operation);
+        slowCommands.increment();
+
+        if (command != null && shouldExplain(commandName, command, shape)) {
+            explainLater(operation, command);
+        }
+    }
+
+    private synchronized void add(SlowOperation operation) {
+        ring[next] = operation;
+        next = (next + 1) % ring.length;
+        size = Math.min(size + 1, ring.length);
+    }
+
+    private synchronized void replace(SlowOperation operation, SlowOperation explained) {
+        // The entry may already have been pushed out of the ring by newer ones
+        for (int i = 0; i < size; i++) {
+            if (ring[i] == operation) {
+                ring[i] = explained;
+                return;
+            }
+        }
+    }
+
+    private boolean shouldExplain(String commandName, BsonDocument command, String shape) {
+        if (!explainEnabled || writesOutput(commandName, command)) {
+            return false;
+        }
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return false;
+        }
+        long now = System.nanoTime();
+        String key = commandName + shape;
+        Long last = lastExplained.get(key);
+        if (last != null && now - last < explainIntervalNanos) {
+            return false;
+        }
+        if (last == null && lastExplained.size() >= MAX_TRACKED_SHAPES) {
+            lastExplained.clear();
+        }
+        // Only one of the threads that saw the same slow shape at once gets to explain it
+        return last == null ? lastExplained.putIfAbsent(key, now) == null : lastExplained.replace(key, last, now);
+    }
+
+    private void explainLater(SlowOperation operation, BsonDocument command) {
+        if (!explainPermits.tryAcquire()) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    replace(operation, operation.withExplain(explain(operation, command)));
+                } finally {
+                    explainPermits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            explainPermits.release();
+            logger.debug("Could not schedule explain for slow {} on {}", operation.operation(), operation.collection(), e);
+        }
+    }
+
+    private ExplainSummary explain(SlowOperation operation, BsonDocument command) {
+        BsonDocument explainCommand = new BsonDocument("explain", command)
+                .append("verbosity", new BsonString("executionStats"));
+        ExplainSummary summary;
+        try {
+            summary = ExplainSummary.analyze(explainer.apply(operation.database(), explainCommand),
+                    maxScanRatio, minDocsExamined);
+        } catch (RuntimeException e) {
+            logger.debug("Explain failed for slow {} on {}", operation.operation(), operation.collection(), e);
+            return ExplainSummary.failed(e.getMessage());
+        }
+        if (summary.flagged()) {
+            flaggedPlans.increment();
+            logger.warn("Slow {} on {} took {}ms: {} (examined {} documents, {} keys, returned {}): {}",
+                    operation.operation(), operation.collection(), operation.durationMs(), summary.flags(),
+                    summary.docsExamined(), summary.keysExamined(), summary.returned(), operation.command());
+        }
+        return summary;
+    }
+
+    // $out and $merge would be run by an executionStats explain
+    private static boolean writesOutput(String commandName, BsonDocument command) {
+        if (!"aggregate".equals(commandName) || !command.isArray("pipeline")) {
+            return false;
+        }
+        for (BsonValue stage : command.getArray("pipeline")) {
+            if (stage.isDocument() && (stage.asDocument().containsKey("$out") || stage.asDocument().containsKey("$merge"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static BsonDocument strip(BsonDocument command) {
+        if (command == null) {
+            return null;
+        }
+        BsonDocument stripped = new BsonDocument();
+        for (Map.Entry<String, BsonValue> field : command.entrySet()) {
+            if (!IGNORED_FIELDS.contains(field.getKey())) {
+                stripped.put(field.getKey(), field.getValue());
+            }
+        }
+        return stripped;
+    }
+
+    /**
+     * The command with every value replaced by "?", keeping field names and operators. The command
+     * name's value (the collection) is kept, as are the values of sorts and projections.
+     */
+    static BsonDocument shape(BsonDocument command) {
+        BsonDocument shape = new BsonDocument();
+        boolean first = true;
+        for (Map.Entry<String, BsonValue> field : command.entrySet()) {
+            String key = field.getKey();
+            if (first || key.equals("sort") || key.equals("projection")) {
+                shape.put(key, field.getValue());
+            } else {
+                shape.put(key, shapeOf(field.getValue()));
+            }
+            first = false;
+        }
+        return shape;
+    }
+
+    private static BsonValue shapeOf(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument shape = new BsonDocument();
+            value.asDocument().forEach((key, child) -> shape.put(key, shapeOf(child)));
+            return shape;
+        }
+        if (value.isArray()) {
+            // Arrays of documents ($and, pipelines, update statements) keep their structure;
+            // arrays of values ($in) collapse to a single "?"
+            BsonArray array = value.asArray();
+            if (!array.isEmpty() && array.get(0).isDocument()) {
+                BsonArray shape = new BsonArray();
+                array.forEach(child -> shape.add(shapeOf(child)));
+                return shape;
+            }
+        }
+        return new BsonString("?");
+    }
+
+    private static int returned(BsonDocument response) {
+        if (response == null) {
+            return 0;
+        }
+        if (response.isDocument("cursor")) {
+            BsonDocument cursor = response.getDocument("cursor");
+            return cursor.isArray("firstBatch") ? cursor.getArray("firstBatch").size() : 0;
+        }
+        return response.isNumber("n") ? response.getNumber("n").intValue() : 0;
+    }
+}
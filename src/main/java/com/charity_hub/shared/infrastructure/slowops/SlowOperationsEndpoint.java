@@ -0,0 +1,26 @@
+package com.charity_hub.shared.infrastructure.slowops;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code GET /actuator/slowqueries}: the recent slow Mongo commands, newest first, with the
+ * explain summary of those that were sampled.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowOperationsEndpoint {
+    private final SlowOperationRecorder recorder;
+
+    public SlowOperationsEndpoint(SlowOperationRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @ReadOperation
+    public List<SlowOperation> slowQueries() {
+        return recorder.recent();
+    }
+}
@@ -0,0 +1,350 @@
+package com.charity_hub.perf.dataset;
+
+import com.charity_hub.accounts.internal.shell.db.AccountEntity;
+import com.charity_hub.accounts.internal.shell.db.DeviceEntity;
+import com.charity_hub.cases.internal.infrastructure.db.CaseEntity;
+import com.charity_hub.cases.internal.infrastructure.db.ContributionEntity;
+import com.charity_hub.ledger.internal.infrastructure.db.MemberEntity;
+import com.charity_hub.shared.infrastructure.MongoDBConfig;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.InsertManyOptions;
+import org.bson.UuidRepresentation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongFunction;
+
+/**
+ * Fills a local Mongo with a production-sized dataset: cases, a Zipfian spread of contributions
+ * over them, accounts with devices, and member trees of a given depth and fan-out.
+ * <p>
+ * Everything, ids and timestamps included, is derived from the seed, and each batch draws from its
+ * own random stream, so the same options produce the same documents however batches are scheduled.
+ * Batches are written with unordered insertMany calls, {@code parallelism} at a time.
+ * <p>
+ * Run with {@code ./gradlew generateDataset --args="--contributions=2000000 --drop"}.
+ */
+public final class DatasetGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    static final int FIRST_CASE_CODE = 20040;
+    // Timestamps span the two years before this instant (2026-01-01T00:00:00Z), not the wall clock,
+    // so that runs are reproducible
+    private static final long END_OF_HISTORY = 1_767_225_600_000L;
+    private static final long HISTORY = TimeUnit.DAYS.toMillis(730);
+
+    private static final long ACCOUNT_IDS = 1;
+    private static final long ACCOUNTS = 2;
+    private static final long CASE_STATUSES = 3;
+    private static final long CASES = 4;
+    private static final long CONTRIBUTIONS = 5;
+    private static final String[] TAGS = {"food", "rent", "medical", "education", "orphans", "debts", "winter", "ramadan"};
+
+    private final DatasetOptions options;
+    private final MongoDatabase database;
+    private final InsertManyOptions unordered = new InsertManyOptions().ordered(false);
+
+    private final String[] accountIds;
+    private final int[] caseStatuses;
+    // Case index for each popularity rank; ranks are shuffled so popularity doesn't follow case codes
+    private final int[] casesByPopularity;
+    private final ZipfDistribution popularity;
+    private final AtomicLongArray collected;
+    private final AtomicIntegerArray contributionCounts;
+    private final AtomicLongArray lastContribution;
+
+    DatasetGenerator(DatasetOptions options, MongoDatabase database) {
+        this.options = options;
+        this.database = database;
+
+        SplittableRandom ids = random(ACCOUNT_IDS, 0);
+        accountIds = new String[options.accounts()];
+        for (int i = 0; i < accountIds.length; i++) {
+            accountIds[i] = uuid(ids).toString();
+        }
+
+        SplittableRandom statuses = random(CASE_STATUSES, 0);
+        caseStatuses = new int[options.cases()];
+        List<Integer> contributable = new ArrayList<>();
+        for (int i = 0; i < caseStatuses.length; i++) {
+            double u = statuses.nextDouble();
+            if (u < options.draftRatio()) {
+                caseStatuses[i] = CaseEntity.STATUS_DRAFT;
+            } else {
+                caseStatuses[i] = u < options.draftRatio() + options.closedRatio()
+                        ? CaseEntity.STATUS_CLOSED
+                        : CaseEntity.STATUS_OPENED;
+                contributable.add(i);
+            }
+        }
+        if (contributable.isEmpty() && options.contributions() > 0) {
+            throw new IllegalArgumentException("All cases are drafts, there is nothing to contribute to");
+        }
+        casesByPopularity = contributable.stream().mapToInt(Integer::intValue).toArray();
+        for (int i = casesByPopularity.length - 1; i > 0; i--) {
+            int j = statuses.nextInt(i + 1);
+            int swap = casesByPopularity[i];
+            casesByPopularity[i] = casesByPopularity[j];
+            casesByPopularity[j] = swap;
+        }
+        popularity = casesByPopularity.length > 0
+                ? new ZipfDistribution(casesByPopularity.length, options.zipfExponent())
+                : null;
+
+        collected = new AtomicLongArray(options.cases());
+        contributionCounts = new AtomicIntegerArray(options.cases());
+        lastContribution = new AtomicLongArray(options.cases());
+    }
+
+    public static void main(String[] args) {
+        DatasetOptions options;
+        try {
+            options = DatasetOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(DatasetOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        MongoClientSettings settings = MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(options.uri()))
+                .uuidRepresentation(UuidRepresentation.STANDARD)
+                .codecRegistry(MongoDBConfig.codecRegistry(true))
+                .applyToConnectionPoolSettings(pool -> pool.maxSize(Math.max(options.parallelism(), 2)))
+                .build();
+        try (MongoClient client = MongoClients.create(settings)) {
+            new DatasetGenerator(options, client.getDatabase(options.database())).run();
+        }
+    }
+
+    void run() {
+        MongoCollection<AccountEntity> accounts = database.getCollection("accounts", AccountEntity.class);
+        MongoCollection<MemberEntity> connections = database.getCollection("connections", MemberEntity.class);
+        MongoCollection<ContributionEntity> contributions = database.getCollection("contributions", ContributionEntity.class);
+        MongoCollection<CaseEntity> cases = database.getCollection("cases", CaseEntity.class);
+        List<MongoCollection<?>> collections = List.of(accounts, connections, contributions, cases);
+
+        for (MongoCollection<?> collection : collections) {
+            if (options.drop()) {
+                collection.drop();
+            } else if (collection.estimatedDocumentCount() > 0) {
+                throw new IllegalStateException("Collection " + collection.getNamespace()
+                        + " is not empty, run with --drop to replace it");
+            }
+        }
+
+        logger.info("Generating dataset with seed {} into {}", options.seed(), database.getName());
+        ExecutorService executor = Executors.newFixedThreadPool(options.parallelism());
+        try {
+            insert(executor, accounts, options.accounts(), this::accounts);
+            insert(executor, connections, options.accounts(), this::members);
+            insert(executor, contributions, options.contributions(), this::contributions);
+            // Last, so that collected amounts and counts match the contributions
+            insert(executor, cases, options.cases(), this::cases);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        logger.info("Admin accounts (FULL_ACCESS): {}", List.of(accountIds).subList(0, options.admins()));
+    }
+
+    private <T> void insert(ExecutorService executor, MongoCollection<T> collection, long total,
+                            LongFunction<List<T>> batch) {
+        long start = System.nanoTime();
+        long batches = (total + options.batchSize() - 1) / options.batchSize();
+        List<Future<?>> pending = new ArrayList<>();
+        for (long b = 0; b < batches; b++) {
+            long index = b;
+            pending.add(executor.submit(() -> collection.insertMany(batch.apply(index), unordered)));
+        }
+        for (Future<?> future : pending) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while inserting " + collection.getNamespace(), e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Failed to insert into " + collection.getNamespace(), e.getCause());
+            }
+        }
+        long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        logger.info("Inserted {} documents into {} in {} ms ({} docs/s)",
+                total, collection.getNamespace().getCollectionName(), elapsedMs, total * 1000 / elapsedMs);
+    }
+
+    private List<AccountEntity> accounts(long batch) {
+        SplittableRandom random = random(ACCOUNTS, batch);
+        List<AccountEntity> documents = new ArrayList<>(options.batchSize());
+        for (int i = (int) first(batch); i < last(batch, options.accounts()); i++) {
+            long joined = END_OF_HISTORY - random.nextLong(HISTORY);
+            List<DeviceEntity> devices = new ArrayList<>(options.devicesPerAccount());
+            for (int d = 0; d < options.devicesPerAccount(); d++) {
+                devices.add(new DeviceEntity(
+                        uuid(random).toString(),
+                        random.nextInt(3) == 0 ? "ios" : "android",
+                        token(random),
+                        token(random),
+                        joined + random.nextLong(END_OF_HISTORY - joined + 1),
+                        random.nextInt(10) < 7 ? "ar" : "en"));
+            }
+            documents.add(new AccountEntity(
+                    accountIds[i],
+                    "201" + String.format("%09d", i),
+                    "Member " + i,
+                    random.nextInt(4) == 0 ? null : "https://example.com/photos/" + i + ".jpg",
+                    random.nextInt(100) == 0,
+                    joined,
+                    joined + random.nextLong(END_OF_HISTORY - joined + 1),
+                    i < options.admins() ? List.of("FULL_ACCESS") : List.of("VIEW"),
+                    devices,
+                    1L));
+        }
+        return documents;
+    }
+
+    /**
+     * Accounts fill complete trees in breadth-first order, the last tree possibly partial. Node k of
+     * a tree has parent (k - 1) / fanout and children fanout * k + 1 .. fanout * k + fanout.
+     */
+    private List<MemberEntity> members(long batch) {
+        long treeSize = treeSize();
+        int fanout = options.treeFanout();
+        List<MemberEntity> documents = new ArrayList<>(options.batchSize());
+        for (int i = (int) first(batch); i < last(batch, options.accounts()); i++) {
+            long root = i - i % treeSize;
+            long k = i - root;
+
+            List<String> ancestors = new ArrayList<>();
+            for (long node = k; node > 0; ) {
+                node = (node - 1) / fanout;
+                ancestors.add(0, accountIds[(int) (root + node)]);
+            }
+            List<String> children = new ArrayList<>(fanout);
+            for (long child = fanout * k + 1; child <= fanout * k + fanout && child < treeSize; child++) {
+                if (root + child < options.accounts()) {
+                    children.add(accountIds[(int) (root + child)]);
+                }
+            }
+            String parent = k == 0 ? null : accountIds[(int) (root + (k - 1) / fanout)];
+            documents.add(new MemberEntity(accountIds[i], ancestors, parent, children));
+        }
+        return documents;
+    }
+
+    private List<ContributionEntity> contributions(long batch) {
+        SplittableRandom random = random(CONTRIBUTIONS, batch);
+        List<ContributionEntity> documents = new ArrayList<>(options.batchSize());
+        for (long i = first(batch); i < last(batch, options.contributions()); i++) {
+            int caseIndex = casesByPopularity[popularity.sample(random)];
+            long caseCreated = caseCreationDate(caseIndex);
+            long date = caseCreated + random.nextLong(END_OF_HISTORY - caseCreated + 1);
+            // Log-normal amounts around ~150, rounded to tens
+            int amount = Math.max(10, (int) Math.round(Math.exp(5 + random.nextGaussian()) / 10) * 10);
+            int roll = random.nextInt(10);
+            int status = roll < 5
+                    ? ContributionEntity.STATUS_PLEDGED
+                    : roll < 8 ? ContributionEntity.STATUS_PAID : ContributionEntity.STATUS_CONFIRMED;
+
+            documents.add(new ContributionEntity(
+                    uuid(random).toString(),
+                    accountIds[random.nextInt(accountIds.length)],
+                    FIRST_CASE_CODE + caseIndex,
+                    amount,
+                    status,
+                    date,
+                    status == ContributionEntity.STATUS_PLEDGED ? null : "https://example.com/proofs/" + i + ".jpg"));
+
+            collected.addAndGet(caseIndex, amount);
+            contributionCounts.incrementAndGet(caseIndex);
+            lastContribution.accumulateAndGet(caseIndex, date, Math::max);
+        }
+        return documents;
+    }
+
+    private List<CaseEntity> cases(long batch) {
+        SplittableRandom random = random(CASES, batch);
+        List<CaseEntity> documents = new ArrayList<>(options.batchSize());
+        for (int i = (int) first(batch); i < last(batch, options.cases()); i++) {
+            long created = caseCreationDate(i);
+            List<String> tags = new ArrayList<>();
+            for (int t = random.nextInt(4); t > 0; t--) {
+                tags.add(TAGS[random.nextInt(TAGS.length)]);
+            }
+            List<String> documentUrls = new ArrayList<>();
+            for (int d = random.nextInt(3); d > 0; d--) {
+                documentUrls.add("https://example.com/cases/" + (FIRST_CASE_CODE + i) + "/" + d + ".jpg");
+            }
+            documents.add(new CaseEntity(
+                    FIRST_CASE_CODE + i,
+                    "Case " + (FIRST_CASE_CODE + i),
+                    "Generated case " + i + " for load testing",
+                    (1 + random.nextInt(500)) * 1_000,
+                    (int) Math.min(Integer.MAX_VALUE, collected.get(i)),
+                    caseStatuses[i],
+                    random.nextBoolean(),
+                    created,
+                    Math.max(created, lastContribution.get(i)),
+                    tags,
+                    documentUrls,
+                    contributionCounts.get(i)));
+        }
+        return documents;
+    }
+
+    // Case codes increase with creation date, as they do when cases are created through the API
+    private long caseCreationDate(int caseIndex) {
+        return END_OF_HISTORY - HISTORY + caseIndex * (HISTORY / options.cases());
+    }
+
+    private long treeSize() {
+        long size = 0;
+        long level = 1;
+        for (int depth = 0; depth <= options.treeDepth() && size < options.accounts(); depth++) {
+            size += level;
+            level *= options.treeFanout();
+        }
+        return Math.min(size, options.accounts());
+    }
+
+    private long first(long batch) {
+        return batch * options.batchSize();
+    }
+
+    private long last(long batch, long total) {
+        return Math.min(total, (batch + 1) * options.batchSize());
+    }
+
+    private SplittableRandom random(long stream, long batch) {
+        return new SplittableRandom(options.seed() * 0x9E3779B97F4A7C15L + stream * 0xBF58476D1CE4E5B9L + batch);
+    }
+
+    private static UUID uuid(SplittableRandom random) {
+        long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long least = (random.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+        return new UUID(most, least);
+    }
+
+    private static String token(SplittableRandom random) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+}
@@ -0,0 +1,96 @@
+package com.charity_hub.perf.dataset;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generator settings, given as {@code --name=value} arguments.
+ */
+record DatasetOptions(
+        String uri,
+        String database,
+        boolean drop,
+        long seed,
+        int cases,
+        double draftRatio,
+        double closedRatio,
+        long contributions,
+        double zipfExponent,
+        int accounts,
+        int devicesPerAccount,
+        int admins,
+        int treeDepth,
+        int treeFanout,
+        int batchSize,
+        int parallelism
+) {
+    static final String USAGE = """
+            Options (defaults in brackets):
+              --uri=<mongodb uri>          [mongodb://localhost:27017]
+              --database=<name>            [charity_hub]
+              --drop                       drop the generated collections first
+              --seed=<long>                [42]
+              --cases=<n>                  [20000]
+              --draft-ratio=<0..1>         [0.05]
+              --closed-ratio=<0..1>        [0.2]
+              --contributions=<n>          [1000000]
+              --zipf-exponent=<s>          [1.1] contributions per case ~ 1/rank^s
+              --accounts=<n>               [100000]
+              --devices-per-account=<n>    [2]
+              --admins=<n>                 [5] the first accounts get FULL_ACCESS
+              --tree-depth=<n>             [4] member trees, root at depth 0
+              --tree-fanout=<n>            [5]
+              --batch-size=<n>             [1000] documents per insertMany
+              --parallelism=<n>            [available processors]
+            """;
+
+    DatasetOptions {
+        if (cases <= 0 || accounts <= 0 || contributions < 0) {
+            throw new IllegalArgumentException("cases and accounts must be positive, contributions non-negative");
+        }
+        if (draftRatio + closedRatio > 1) {
+            throw new IllegalArgumentException("draft-ratio + closed-ratio must not exceed 1");
+        }
+        if (admins > accounts || treeFanout < 1 || treeDepth < 0 || batchSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("invalid admins, tree, batch or parallelism settings");
+        }
+    }
+
+    static DatasetOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+        DatasetOptions options = new DatasetOptions(
+                values.getOrDefault("uri", "mongodb://localhost:27017"),
+                values.getOrDefault("database", "charity_hub"),
+                Boolean.parseBoolean(values.getOrDefault("drop", "false")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Integer.parseInt(values.getOrDefault("cases", "20000")),
+                Double.parseDouble(values.getOrDefault("draft-ratio", "0.05")),
+                Double.parseDouble(values.getOrDefault("closed-ratio", "0.2")),
+                Long.parseLong(values.getOrDefault("contributions", "1000000")),
+                Double.parseDouble(values.getOrDefault("zipf-exponent", "1.1")),
+                Integer.parseInt(values.getOrDefault("accounts", "100000")),
+                Integer.parseInt(values.getOrDefault("devices-per-account", "2")),
+                Integer.parseInt(values.getOrDefault("admins", "5")),
+                Integer.parseInt(values.getOrDefault("tree-depth", "4")),
+                Integer.parseInt(values.getOrDefault("tree-fanout", "5")),
+                Integer.parseInt(values.getOrDefault("batch-size", "1000")),
+                Integer.parseInt(values.getOrDefault("parallelism",
+                        String.valueOf(Runtime.getRuntime().availableProcessors())))
+        );
+        values.keySet().removeAll(Set.of("uri", "database", "drop", "seed", "cases", "draft-ratio",
+                "closed-ratio", "contributions", "zipf-exponent", "accounts", "devices-per-account", "admins",
+                "tree-depth", "tree-fanout", "batch-size", "parallelism"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        }
+        return options;
+    }
+}
@@ -0,0 +1,67 @@
+package com.charity_hub.perf.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies (in microseconds) and status codes of one endpoint. Requests record into a
+ * {@link Recorder}; the reporter drains it per interval and accumulates the run total.
+ */
+final class EndpointStats {
+    // Status recorded for requests that got no response (connection refused, timeout, ...)
+    static final int NO_RESPONSE = -1;
+
+    private final String endpoint;
+    private final Recorder recorder = new Recorder(3);
+    private final Histogram total = new Histogram(3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+    private Histogram interval;
+
+    EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void record(long latencyNanos, int status) {
+        recorder.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        if (status == NO_RESPONSE || status >= 400) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Returns what was recorded since the previous call, tagged with the endpoint, and adds it to
+     * the total. Only called from the reporter thread.
+     */
+    Histogram drainInterval() {
+        interval = recorder.getIntervalHistogram(interval);
+        interval.setTag(endpoint);
+        total.add(interval);
+        return interval;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    Histogram total() {
+        return total;
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    Map<Integer, Long> statuses() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+}
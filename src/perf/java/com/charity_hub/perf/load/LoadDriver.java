@@ -0,0 +1,378 @@
+package com.charity_hub.perf.load;
+
+import com.charity_hub.accounts.internal.core.model.account.Account;
+import com.charity_hub.accounts.internal.shell.db.AccountEntity;
+import com.charity_hub.accounts.internal.shell.repositories.mappers.DomainAccountMapper;
+import com.charity_hub.accounts.internal.shell.services.jwt.JwtGenerator;
+import com.charity_hub.accounts.internal.shell.services.jwt.TokenMapper;
+import com.charity_hub.cases.internal.infrastructure.db.CaseEntity;
+import com.charity_hub.perf.dataset.ZipfDistribution;
+import com.charity_hub.shared.infrastructure.MongoDBConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.bson.UuidRepresentation;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a weighted mix of user journeys against a running instance, with an open arrival model:
+ * journeys start at Poisson-distributed times at {@code --rate} per second whether or not earlier
+ * ones finished, each on its own virtual thread. The first call of a journey is timed from its
+ * scheduled start, so a stalled server shows up as latency instead of as fewer requests.
+ * <p>
+ * Users, admins and open cases are read from Mongo (see DatasetGenerator), and access tokens are
+ * minted locally with JwtGenerator and the application's secret, so no Firebase sign-in is needed.
+ * Run the application in test mode so notifications go to FCMServiceStub:
+ * {@code ./gradlew bootRun --args="--firebase.test-mode=true"}, then
+ * {@code ./gradlew loadTest --args="--rate=200 --duration=5m"}.
+ * <p>
+ * Per-endpoint throughput and latency percentiles are printed at the end; interval histograms go to
+ * {@code latency.hlog} and full percentile distributions to one {@code .hgrm} file per endpoint.
+ */
+public final class LoadDriver {
+    private static final Logger logger = LoggerFactory.getLogger(LoadDriver.class);
+    private static final ObjectMapper json = new ObjectMapper();
+    // JwtGenerator issues access tokens valid for 5 minutes
+    private static final long TOKEN_REFRESH_NANOS = TimeUnit.MINUTES.toNanos(4);
+
+    private final LoadOptions options;
+    private final List<Account> users;
+    private final List<Account> admins;
+    private final int[] openCases;
+    private final ZipfDistribution casePopularity;
+    private final JwtGenerator jwtGenerator;
+    private final HttpClient http;
+    private final Map<String, Token> tokens = new ConcurrentHashMap<>();
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private final Semaphore inFlight;
+    private volatile long measureFrom = Long.MAX_VALUE;
+
+    private record Token(String value, long mintedAt) {
+    }
+
+    private record Arrival(Scenario scenario, Account user, Account admin, int caseCode, int amount,
+                           long scheduledAt) {
+    }
+
+    LoadDriver(LoadOptions options, List<Account> users, List<Account> admins, int[] openCases) {
+        this.options = options;
+        this.users = users;
+        this.admins = admins;
+        this.openCases = openCases;
+        this.casePopularity = new ZipfDistribution(openCases.length, 1.1);
+        this.jwtGenerator = new JwtGenerator(new TokenMapper(), options.secretKey());
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.inFlight = new Semaphore(options.maxInFlight());
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        MongoClientSettings settings = MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(options.mongoUri()))
+                .uuidRepresentation(UuidRepresentation.STANDARD)
+                .codecRegistry(MongoDBConfig.codecRegistry(true))
+                .build();
+        List<Account> users;
+        List<Account> admins;
+        int[] openCases;
+        try (MongoClient client = MongoClients.create(settings)) {
+            MongoDatabase database = client.getDatabase(options.database());
+            users = accounts(database, Filters.and(Filters.eq("blocked", false),
+                    Filters.ne("permissions", "FULL_ACCESS")), options.users());
+            admins = accounts(database, Filters.and(Filters.eq("blocked", false),
+                    Filters.eq("permissions", "FULL_ACCESS")), options.users());
+            openCases = database.getCollection("cases")
+                    .find(Filters.eq("status", CaseEntity.STATUS_OPENED))
+                    .projection(Projections.include("code"))
+                    .map(document -> document.getInteger("code"))
+                    .into(new ArrayList<>())
+                    .stream().mapToInt(Integer::intValue).toArray();
+        }
+        if (users.isEmpty() || openCases.length == 0) {
+            throw new IllegalStateException("No users or open cases in " + options.database()
+                    + ", generate a dataset first (./gradlew generateDataset)");
+        }
+        if (admins.isEmpty() && (options.mix().scenarios().contains(Scenario.VIEW)
+                || options.mix().scenarios().contains(Scenario.CONFIRM))) {
+            throw new IllegalStateException("VIEW and CONFIRM need an account with FULL_ACCESS");
+        }
+        logger.info("Loaded {} users, {} admins and {} open cases", users.size(), admins.size(), openCases.length);
+
+        new LoadDriver(options, users, admins, openCases).run();
+    }
+
+    private static List<Account> accounts(MongoDatabase database, Bson filter, int limit) {
+        DomainAccountMapper mapper = new DomainAccountMapper();
+        return database.getCollection("accounts", AccountEntity.class)
+                .find(Filters.and(filter, Filters.exists("devices.0")))
+                .limit(limit)
+                .map(mapper::toDomain)
+                .into(new ArrayList<>());
+    }
+
+    void run() throws IOException {
+        Files.createDirectories(options.resultsDir());
+        long runStart = System.nanoTime();
+        long warmupEnd = runStart + options.warmup().toNanos();
+        long end = warmupEnd + options.duration().toNanos();
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        try (PrintStream hlog = new PrintStream(options.resultsDir().resolve("latency.hlog").toFile())) {
+            HistogramLogWriter logWriter = new HistogramLogWriter(hlog);
+            logWriter.outputLogFormatVersion();
+            logWriter.outputStartTime(System.currentTimeMillis());
+            logWriter.outputLegend();
+            reporter.scheduleAtFixedRate(() -> report(logWriter), options.reportInterval().toMillis(),
+                    options.reportInterval().toMillis(), TimeUnit.MILLISECONDS);
+
+            logger.info("Warming up for {} at {} journeys/s", options.warmup(), options.rate());
+            arrivals(runStart, warmupEnd, end);
+
+            // Let journeys started before the end finish, then take the last interval
+            if (inFlight.tryAcquire(options.maxInFlight(), options.requestTimeout().toMillis() * 3,
+                    TimeUnit.MILLISECONDS)) {
+                inFlight.release(options.maxInFlight());
+            } else {
+                logger.warn("{} journeys still running at the end of the run",
+                        options.maxInFlight() - inFlight.availablePermits());
+            }
+            reporter.shutdown();
+            reporter.awaitTermination(1, TimeUnit.MINUTES);
+            report(logWriter);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            reporter.shutdownNow();
+        }
+        summary(options.duration());
+    }
+
+    private void arrivals(long start, long warmupEnd, long end) {
+        SplittableRandom random = new SplittableRandom(options.seed());
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        boolean warm = false;
+        for (long next = start; next < end; next += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos)) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!warm && next >= warmupEnd) {
+                warm = true;
+                measureFrom = next;
+                logger.info("Measuring for {}", options.duration());
+            }
+
+            Arrival arrival = new Arrival(
+                    options.mix().pick(random),
+                    users.get(random.nextInt(users.size())),
+                    admins.isEmpty() ? null : admins.get(random.nextInt(admins.size())),
+                    openCases[casePopularity.sample(random)],
+                    (1 + random.nextInt(50)) * 10,
+                    next);
+            if (!inFlight.tryAcquire()) {
+                if (warm) {
+                    dropped.increment();
+                }
+                continue;
+            }
+            Thread.ofVirtual().start(() -> {
+                try {
+                    journey(arrival);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private void journey(Arrival arrival) {
+        long start = arrival.scheduledAt();
+        switch (arrival.scenario()) {
+            case BROWSE -> call("GET /v1/cases", get("/v1/cases?offset=" + (arrival.amount() % 5) * 20
+                    + "&limit=20", arrival.user()), start);
+            case VIEW -> call("GET /v1/cases/{code}", get("/v1/cases/" + arrival.caseCode(), arrival.admin()), start);
+            case LEDGER -> call("GET /v1/ledger/summary", get("/v1/ledger/summary", arrival.user()), start);
+            case CONTRIBUTE -> contribute(arrival, start);
+            case PAY -> {
+                String contributionId = contribute(arrival, start);
+                if (contributionId != null) {
+                    pay(arrival, contributionId);
+                }
+            }
+            case CONFIRM -> {
+                String contributionId = contribute(arrival, start);
+                if (contributionId != null && pay(arrival, contributionId)) {
+                    call("POST /v1/contributions/{id}/confirm",
+                            post("/v1/contributions/" + contributionId + "/confirm", null, arrival.admin()),
+                            System.nanoTime());
+                }
+            }
+        }
+    }
+
+    private String contribute(Arrival arrival, long start) {
+        HttpResponse<String> response = call("POST /v1/cases/{code}/contributions",
+                post("/v1/cases/" + arrival.caseCode() + "/contributions",
+                        "{\"amount\":" + arrival.amount() + "}", arrival.user()),
+                start);
+        if (response == null || response.statusCode() != 200) {
+            return null;
+        }
+        try {
+            JsonNode id = json.readTree(response.body()).get("contributionId");
+            return id != null ? id.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private boolean pay(Arrival arrival, String contributionId) {
+        HttpResponse<String> response = call("POST /v1/contributions/{id}/pay",
+                post("/v1/contributions/" + contributionId + "/pay",
+                        "{\"PaymentProof\":\"https://example.com/proofs/load-test.jpg\"}", arrival.user()),
+                System.nanoTime());
+        return response != null && response.statusCode() == 200;
+    }
+
+    private HttpResponse<String> call(String endpoint, HttpRequest request, long start) {
+        HttpResponse<String> response = null;
+        int status = EndpointStats.NO_RESPONSE;
+        try {
+            response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            status = response.statusCode();
+        } catch (IOException e) {
+            logger.debug("{} failed: {}", endpoint, e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (start >= measureFrom) {
+            stats.computeIfAbsent(endpoint, EndpointStats::new).record(System.nanoTime() - start, status);
+        }
+        return response;
+    }
+
+    private HttpRequest get(String path, Account account) {
+        return request(path, account).GET().build();
+    }
+
+    private HttpRequest post(String path, String body, Account account) {
+        return request(path, account)
+                .header("Content-Type", "application/json")
+                .POST(body != null ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, Account account) {
+        return HttpRequest.newBuilder(URI.create(options.baseUrl() + path))
+                .timeout(options.requestTimeout())
+                .header("Authorization", "Bearer " + token(account));
+    }
+
+    private String token(Account account) {
+        return tokens.compute(account.getId().value().toString(), (id, token) ->
+                token == null || System.nanoTime() - token.mintedAt() > TOKEN_REFRESH_NANOS
+                        ? new Token(jwtGenerator.generateAccessToken(account, account.getDevices().get(0)), System.nanoTime())
+                        : token
+        ).value();
+    }
+
+    private void report(HistogramLogWriter logWriter) {
+        long requests = 0;
+        long errors = 0;
+        double seconds = options.reportInterval().toMillis() / 1000.0;
+        List<EndpointStats> endpoints = new ArrayList<>(stats.values());
+        endpoints.sort((a, b) -> a.endpoint().compareTo(b.endpoint()));
+        StringBuilder p99s = new StringBuilder();
+        for (EndpointStats endpoint : endpoints) {
+            Histogram interval = endpoint.drainInterval();
+            if (interval.getTotalCount() == 0) {
+                continue;
+            }
+            logWriter.outputIntervalHistogram(interval);
+            requests += interval.getTotalCount();
+            p99s.append(String.format(" | %s p99=%.1fms", endpoint.endpoint(),
+                    interval.getValueAtPercentile(99) / 1000.0));
+        }
+        for (EndpointStats endpoint : endpoints) {
+            errors += endpoint.errors();
+        }
+        if (requests > 0) {
+            logger.info("{} req/s, {} errors so far, {} dropped{}",
+                    String.format("%.0f", requests / seconds), errors, dropped.sum(), p99s);
+        }
+    }
+
+    private void summary(Duration measured) {
+        double seconds = measured.toMillis() / 1000.0;
+        List<EndpointStats> endpoints = new ArrayList<>(stats.values());
+        endpoints.sort((a, b) -> a.endpoint().compareTo(b.endpoint()));
+
+        System.out.printf("%n%-40s %9s %9s %8s %9s %9s %9s %9s %9s%n", "endpoint (latency in ms)", "requests",
+                "req/s", "errors", "p50", "p90", "p99", "p99.9", "max");
+        for (EndpointStats endpoint : endpoints) {
+            Histogram total = endpoint.total();
+            System.out.printf("%-40s %9d %9.1f %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.endpoint(), total.getTotalCount(), total.getTotalCount() / seconds, endpoint.errors(),
+                    total.getValueAtPercentile(50) / 1000.0, total.getValueAtPercentile(90) / 1000.0,
+                    total.getValueAtPercentile(99) / 1000.0, total.getValueAtPercentile(99.9) / 1000.0,
+                    total.getMaxValue() / 1000.0);
+            if (endpoint.errors() > 0) {
+                System.out.printf("%-40s statuses %s%n", "", endpoint.statuses());
+            }
+
+            String file = endpoint.endpoint().replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "") + ".hgrm";
+            try (PrintStream out = new PrintStream(options.resultsDir().resolve(file).toFile())) {
+                total.outputPercentileDistribution(out, 1000.0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        System.out.printf("Dropped arrivals (over --max-in-flight): %d%n", dropped.sum());
+        System.out.printf("Histograms written to %s%n", options.resultsDir().toAbsolutePath());
+    }
+}
@@ -0,0 +1,121 @@
+package com.charity_hub.perf.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Driver settings, given as {@code --name=value} arguments.
+ */
+record LoadOptions(
+        String baseUrl,
+        String mongoUri,
+        String database,
+        String secretKey,
+        double rate,
+        Duration duration,
+        Duration warmup,
+        Scenario.Mix mix,
+        int users,
+        int maxInFlight,
+        Duration requestTimeout,
+        Duration reportInterval,
+        Path resultsDir,
+        long seed
+) {
+    static final String USAGE = """
+            Options (defaults in brackets):
+              --base-url=<url>             [http://localhost:8080]
+              --mongo-uri=<uri>            [mongodb://localhost:27017] to pick users and cases
+              --database=<name>            [charity_hub]
+              --secret-key=<key>           [auth.secretKey of application.properties]
+              --rate=<scenarios/s>         [50] mean arrival rate, Poisson arrivals
+              --duration=<duration>        [60s] measured period, after the warmup
+              --warmup=<duration>          [10s]
+              --mix=<scenario:weight,...>  [browse:40,view:20,contribute:15,pay:8,confirm:4,ledger:13]
+              --users=<n>                  [1000] accounts to act as
+              --max-in-flight=<n>          [5000] arrivals beyond this are dropped and counted
+              --request-timeout=<duration> [10s]
+              --report-interval=<duration> [5s]
+              --results-dir=<path>         [build/results/load]
+              --seed=<long>                [42]
+            """;
+
+    private static final Set<String> NAMES = Set.of("base-url", "mongo-uri", "database", "secret-key", "rate",
+            "duration", "warmup", "mix", "users", "max-in-flight", "request-timeout", "report-interval",
+            "results-dir", "seed");
+
+    LoadOptions {
+        if (rate <= 0 || users <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("rate, users and max-in-flight must be positive");
+        }
+    }
+
+    static LoadOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            String name = arg.substring(2, eq);
+            if (!NAMES.contains(name)) {
+                throw new IllegalArgumentException("Unknown option: " + name);
+            }
+            values.put(name, arg.substring(eq + 1));
+        }
+        return new LoadOptions(
+                values.getOrDefault("base-url", "http://localhost:8080"),
+                values.getOrDefault("mongo-uri", "mongodb://localhost:27017"),
+                values.getOrDefault("database", "charity_hub"),
+                values.containsKey("secret-key") ? values.get("secret-key") : applicationSecretKey(),
+                Double.parseDouble(values.getOrDefault("rate", "50")),
+                duration(values.getOrDefault("duration", "60s")),
+                duration(values.getOrDefault("warmup", "10s")),
+                Scenario.Mix.parse(values.getOrDefault("mix",
+                        "browse:40,view:20,contribute:15,pay:8,confirm:4,ledger:13")),
+                Integer.parseInt(values.getOrDefault("users", "1000")),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "5000")),
+                duration(values.getOrDefault("request-timeout", "10s")),
+                duration(values.getOrDefault("report-interval", "5s")),
+                Path.of(values.getOrDefault("results-dir", "build/results/load")),
+                Long.parseLong(values.getOrDefault("seed", "42"))
+        );
+    }
+
+    // Accepts 500ms, 30s, 5m as in application.properties
+    private static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Invalid duration: " + value);
+        };
+    }
+
+    private static String applicationSecretKey() {
+        Properties properties = new Properties();
+        try (InputStream in = LoadOptions.class.getResourceAsStream("/application.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String secretKey = properties.getProperty("auth.secretKey");
+        if (secretKey == null || secretKey.startsWith("${")) {
+            throw new IllegalArgumentException("No auth.secretKey in application.properties, pass --secret-key");
+        }
+        return secretKey;
+    }
+}
@@ -0,0 +1,63 @@
+package com.charity_hub.perf.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+
+/**
+ * User journeys the driver replays, each one or more API calls in a row (see LoadDriver).
+ */
+enum Scenario {
+    BROWSE,
+    VIEW,
+    CONTRIBUTE,
+    PAY,
+    CONFIRM,
+    LEDGER;
+
+    /**
+     * Picks scenarios in proportion to their weights.
+     */
+    record Mix(List<Scenario> scenarios, double[] cumulative) {
+
+        static Mix parse(String spec) {
+            List<Scenario> scenarios = new ArrayList<>();
+            List<Double> weights = new ArrayList<>();
+            double total = 0;
+            for (String entry : spec.split(",")) {
+                String[] parts = entry.trim().split(":");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Expected scenario:weight, got " + entry);
+                }
+                double weight = Double.parseDouble(parts[1]);
+                if (weight <= 0) {
+                    continue;
+                }
+                scenarios.add(Scenario.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)));
+                weights.add(weight);
+                total += weight;
+            }
+            if (scenarios.isEmpty()) {
+                throw new IllegalArgumentException("The scenario mix is empty");
+            }
+            double[] cumulative = new double[weights.size()];
+            double sum = 0;
+            for (int i = 0; i < cumulative.length; i++) {
+                sum += weights.get(i);
+                cumulative[i] = sum / total;
+            }
+            return new Mix(List.copyOf(scenarios), cumulative);
+        }
+
+        Scenario pick(RandomGenerator random) {
+            double u = random.nextDouble();
+            for (int i = 0; i < cumulative.length - 1; i++) {
+                if (u < cumulative[i]) {
+                    return scenarios.get(i);
+                }
+            }
+            return scenarios.get(scenarios.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.charity_hub.perf.startup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Starts the application repeatedly in each variant and measures time to ready: from launching
+ * the JVM until {@code /actuator/health} answers. Any answer counts, so a missing Mongo (health
+ * DOWN) does not hide the startup time. Boot's own "Started ... in N seconds" is reported next to it.
+ * <p>
+ * Runs of the variants are interleaved so that a change in machine load affects all of them.
+ */
+public final class StartupBenchmark {
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+
+    private StartupBenchmark() {
+    }
+
+    record Run(String variant, long readyMillis, Double startedSeconds, int status) {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        StartupOptions options;
+        try {
+            options = StartupOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(StartupOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        if (options.variants().contains("jar") && !Files.isRegularFile(options.jar())) {
+            System.err.println("No jar at " + options.jar() + ", run ./gradlew bootJar");
+            System.exit(2);
+        }
+        if (options.variants().stream().anyMatch(variant -> variant.startsWith("cds"))
+                && !Files.isRegularFile(options.fastStartDir().resolve("app.jsa"))) {
+            System.err.println("No CDS archive in " + options.fastStartDir() + ", run ./gradlew fastStart -PfastStart");
+            System.exit(2);
+        }
+
+        for (int i = 0; i < options.warmupRuns(); i++) {
+            for (String variant : options.variants()) {
+                start(options, variant);
+            }
+        }
+        Map<String, List<Run>> runs = new LinkedHashMap<>();
+        for (int i = 0; i < options.runs(); i++) {
+            for (String variant : options.variants()) {
+                Run run = start(options, variant);
+                System.out.printf(Locale.ROOT, "%-8s run %d: ready in %d ms%n", variant, i + 1, run.readyMillis());
+                runs.computeIfAbsent(variant, ignored -> new ArrayList<>()).add(run);
+            }
+        }
+
+        report(runs);
+        write(options.resultsDir().resolve("startup.csv"), runs);
+    }
+
+    private static Run start(StartupOptions options, String variant) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        Path workingDir;
+        if (variant.equals("jar")) {
+            workingDir = Path.of("").toAbsolutePath();
+            command.add("-jar");
+            command.add(options.jar().toAbsolutePath().toString());
+        } else {
+            // The archive only applies to the classpath it was recorded with, hence the same directory
+            workingDir = options.fastStartDir().toAbsolutePath();
+            command.add("-XX:SharedArchiveFile=app.jsa");
+            if (variant.equals("cds-aot")) {
+                command.add("-Dspring.aot.enabled=true");
+            }
+            command.add("-jar");
+            command.add("app.jar");
+        }
+        command.add("--server.port=" + options.port());
+        command.addAll(options.appArgs());
+
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .directory(workingDir.toFile())
+                .redirectErrorStream(true);
+        // application.properties refers to these; empty means no credentials
+        builder.environment().putIfAbsent("MONGO_USERNAME", "");
+        builder.environment().putIfAbsent("MONGO_PASSWORD", "");
+
+        long start = System.nanoTime();
+        Process process = builder.start();
+        AtomicReference<Double> started = new AtomicReference<>();
+        // Drained on its own thread so a full pipe never stalls the application
+        Thread output = Thread.ofVirtual().start(() -> {
+            try (BufferedReader reader = process.inputReader()) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Matcher matcher = STARTED.matcher(line);
+                    if (matcher.find()) {
+                        started.compareAndSet(null, Double.parseDouble(matcher.group(1)));
+                    }
+                }
+            } catch (IOException ignored) {
+                // The process was stopped
+            }
+        });
+
+        try {
+            int status = awaitReady(process, options, start);
+            long readyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            // Boot logs its startup time right after the server starts accepting connections
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (started.get() == null && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            return new Run(variant, readyMillis, started.get(), status);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            output.join(Duration.ofSeconds(1));
+        }
+    }
+
+    private static int awaitReady(Process process, StartupOptions options, long start)
+            throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + options.port() + "/actuator/health"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = start + options.timeout().toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("The application exited with " + process.exitValue()
+                        + " before it was ready, run it by hand to see why");
+            }
+            try {
+                return client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (ConnectException e) {
+                Thread.sleep(10);
+            }
+        }
+        throw new IllegalStateException("The application was not ready after " + options.timeout());
+    }
+
+    private static void report(Map<String, List<Run>> runs) {
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%-8s %10s %10s %10s %12s %10s%n",
+                "variant", "median ms", "min ms", "max ms", "boot median", "vs first");
+        Long baseline = null;
+        for (Map.Entry<String, List<Run>> entry : runs.entrySet()) {
+            List<Long> ready = entry.getValue().stream().map(Run::readyMillis).sorted().toList();
+            List<Double> started = entry.getValue().stream()
+                    .map(Run::startedSeconds)
+                    .filter(Objects::nonNull)
+                    .sorted()
+                    .toList();
+            long median = ready.get(ready.size() / 2);
+            if (baseline == null) {
+                baseline = median;
+            }
+            System.out.printf(Locale.ROOT, "%-8s %10d %10d %10d %12s %+9.1f%%%n",
+                    entry.getKey(), median, ready.get(0), ready.get(ready.size() - 1),
+                    started.isEmpty() ? "-" : String.format(Locale.ROOT, "%.2fs", started.get(started.size() / 2)),
+                    100.0 * (median - baseline) / baseline);
+        }
+    }
+
+    private static void write(Path file, Map<String, List<Run>> runs) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.println("variant,run,ready_ms,started_s,health_status");
+            for (List<Run> variantRuns : runs.values()) {
+                for (int i = 0; i < variantRuns.size(); i++) {
+                    Run run = variantRuns.get(i);
+                    out.printf(Locale.ROOT, "%s,%d,%d,%s,%d%n", run.variant(), i + 1, run.readyMillis(),
+                            run.startedSeconds() != null ? run.startedSeconds().toString() : "", run.status());
+                }
+            }
+        }
+        System.out.println("Runs written to " + file);
+    }
+}
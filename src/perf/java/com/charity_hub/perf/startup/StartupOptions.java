@@ -0,0 +1,94 @@
+package com.charity_hub.perf.startup;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Harness settings, given as {@code --name=value} arguments.
+ */
+record StartupOptions(
+        Path jar,
+        Path fastStartDir,
+        List<String> variants,
+        int runs,
+        int warmupRuns,
+        int port,
+        Duration timeout,
+        List<String> appArgs,
+        Path resultsDir
+) {
+    static final String USAGE = """
+            Options (defaults in brackets):
+              --jar=<path>              [build/libs/charity_hub-0.0.1.jar] the regular fat jar
+              --fast-start-dir=<path>   [build/fast-start] output of ./gradlew fastStart -PfastStart
+              --variants=<list>         [jar,cds,cds-aot] jar: java -jar on the fat jar;
+                                        cds: the extracted jar with the CDS archive;
+                                        cds-aot: as cds, plus -Dspring.aot.enabled=true
+              --runs=<n>                [5] measured starts per variant, interleaved
+              --warmup-runs=<n>         [1] starts per variant before measuring (file cache, JIT of the OS)
+              --port=<n>                [18080]
+              --timeout=<duration>      [120s] per start
+              --app-args=<args>         [] space separated, e.g. --spring.data.mongodb.uri=mongodb://...
+              --results-dir=<path>      [build/results/startup]
+            """;
+
+    private static final Set<String> NAMES = Set.of("jar", "fast-start-dir", "variants", "runs", "warmup-runs",
+            "port", "timeout", "app-args", "results-dir");
+    private static final Set<String> VARIANTS = Set.of("jar", "cds", "cds-aot");
+
+    StartupOptions {
+        if (runs <= 0 || warmupRuns < 0) {
+            throw new IllegalArgumentException("runs must be positive and warmup-runs not negative");
+        }
+        for (String variant : variants) {
+            if (!VARIANTS.contains(variant)) {
+                throw new IllegalArgumentException("Unknown variant: " + variant);
+            }
+        }
+    }
+
+    static StartupOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            String name = arg.substring(2, eq);
+            if (!NAMES.contains(name)) {
+                throw new IllegalArgumentException("Unknown option: " + name);
+            }
+            values.put(name, arg.substring(eq + 1));
+        }
+        String appArgs = values.getOrDefault("app-args", "").trim();
+        return new StartupOptions(
+                Path.of(values.getOrDefault("jar", "build/libs/charity_hub-0.0.1.jar")),
+                Path.of(values.getOrDefault("fast-start-dir", "build/fast-start")),
+                List.of(values.getOrDefault("variants", "jar,cds,cds-aot").split(",")),
+                Integer.parseInt(values.getOrDefault("runs", "5")),
+                Integer.parseInt(values.getOrDefault("warmup-runs", "1")),
+                Integer.parseInt(values.getOrDefault("port", "18080")),
+                duration(values.getOrDefault("timeout", "120s")),
+                appArgs.isEmpty() ? List.of() : Arrays.asList(appArgs.split("\\s+")),
+                Path.of(values.getOrDefault("results-dir", "build/results/startup"))
+        );
+    }
+
+    // Accepts 500ms, 30s, 5m as in application.properties
+    private static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Invalid duration: " + value);
+        };
+    }
+}
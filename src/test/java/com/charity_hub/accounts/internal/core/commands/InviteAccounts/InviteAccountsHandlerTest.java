@@ -0,0 +1,75 @@
+package com.charity_hub.accounts.internal.core.commands.InviteAccounts;
+
+import com.charity_hub.accounts.internal.core.commands.InviteAccounts.InvitationResult.Status;
+import com.charity_hub.accounts.internal.core.contracts.IInvitationRepo;
+import com.charity_hub.accounts.internal.core.model.invitation.Invitation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InviteAccountsHandler Tests")
+class InviteAccountsHandlerTest {
+
+    @Mock
+    private IInvitationRepo invitationRepo;
+
+    @InjectMocks
+    private InviteAccountsHandler handler;
+
+    private static final UUID INVITER_ID = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Should report per-number results in input order")
+    @SuppressWarnings("unchecked")
+    void shouldReportPerNumberResultsInInputOrder() {
+        when(invitationRepo.findInvited(anyCollection())).thenReturn(Set.of("2222222222"));
+
+        List<String> numbers = List.of("1111111111", "2222222222", "+1111111111", "12", "3333333333");
+        InviteAccountsResponse response = handler.handle(new InviteAccounts(numbers.iterator(), INVITER_ID));
+
+        assertThat(response.total()).isEqualTo(5);
+        assertThat(response.invited()).isEqualTo(2);
+        assertThat(response.results()).extracting(InvitationResult::status).containsExactly(
+                Status.INVITED, Status.ALREADY_INVITED, Status.DUPLICATE, Status.INVALID, Status.INVITED);
+
+        ArgumentCaptor<List<Invitation>> captor = ArgumentCaptor.forClass(List.class);
+        verify(invitationRepo).saveAll(captor.capture());
+        assertThat(captor.getValue())
+                .extracting(invitation -> invitation.invitedMobileNumber().value())
+                .containsExactly("1111111111", "3333333333");
+        assertThat(captor.getValue()).allMatch(invitation -> invitation.inviterId().equals(INVITER_ID));
+    }
+
+    @Test
+    @DisplayName("Should query and write once per chunk")
+    void shouldQueryAndWriteOncePerChunk() {
+        when(invitationRepo.findInvited(anyCollection())).thenReturn(Set.of());
+
+        int count = InviteAccountsHandler.CHUNK_SIZE * 2 + 1;
+        List<String> numbers = IntStream.range(0, count)
+                .mapToObj(i -> String.valueOf(1_000_000_000L + i))
+                .toList();
+
+        InviteAccountsResponse response = handler.handle(new InviteAccounts(numbers.iterator(), INVITER_ID));
+
+        assertThat(response.invited()).isEqualTo(count);
+        verify(invitationRepo, times(3)).findInvited(anyCollection());
+        verify(invitationRepo, times(3)).saveAll(anyList());
+        verify(invitationRepo, never()).hasInvitation(any());
+        verify(invitationRepo, never()).save(any());
+    }
+}
@@ -1,6 +1,7 @@
 package com.charity_hub.accounts.internal.core.commands.RegisterNotificationToken;
 
 import com.charity_hub.accounts.internal.core.contracts.IAccountRepo;
+import com.charity_hub.accounts.internal.core.exceptions.AccountChangedConcurrentlyException;
 import com.charity_hub.accounts.internal.core.model.account.Account;
 import com.charity_hub.shared.exceptions.NotFoundException;
 import org.junit.jupiter.api.DisplayName;
@@ -36,19 +37,46 @@ class RegisterNotificationTokenHandlerTest {
         Account account = mock(Account.class);
         when(accountRepo.getById(USER_ID)).thenReturn(Optional.of(account));
 
-        RegisterNotificationToken command = new RegisterNotificationToken(FCM_TOKEN, DEVICE_ID, USER_ID);
+        RegisterNotificationToken command = new RegisterNotificationToken(FCM_TOKEN, DEVICE_ID, USER_ID, "ar");
         handler.handle(command);
 
-        verify(account).registerFCMToken(DEVICE_ID, FCM_TOKEN);
+        verify(account).registerFCMToken(DEVICE_ID, FCM_TOKEN, "ar");
         verify(accountRepo).save(account);
     }
 
+    @Test
+    @DisplayName("Should reload and retry when the account was changed concurrently")
+    void shouldRetryOnConcurrentChange() {
+        Account stale = mock(Account.class);
+        Account fresh = mock(Account.class);
+        when(accountRepo.getById(USER_ID)).thenReturn(Optional.of(stale), Optional.of(fresh));
+        doThrow(new AccountChangedConcurrentlyException("changed")).when(accountRepo).save(stale);
+
+        handler.handle(new RegisterNotificationToken(FCM_TOKEN, DEVICE_ID, USER_ID, "ar"));
+
+        verify(fresh).registerFCMToken(DEVICE_ID, FCM_TOKEN, "ar");
+        verify(accountRepo).save(fresh);
+    }
+
+    @Test
+    @DisplayName("Should give up after repeated concurrent changes")
+    void shouldGiveUpAfterMaxAttempts() {
+        Account account = mock(Account.class);
+        when(accountRepo.getById(USER_ID)).thenReturn(Optional.of(account));
+        doThrow(new AccountChangedConcurrentlyException("changed")).when(accountRepo).save(account);
+
+        RegisterNotificationToken command = new RegisterNotificationToken(FCM_TOKEN, DEVICE_ID, USER_ID, "ar");
+
+        assertThatThrownBy(() -> handler.handle(command)).isInstanceOf(AccountChangedConcurrentlyException.class);
+        verify(accountRepo, times(RegisterNotificationTokenHandler.MAX_ATTEMPTS)).save(account);
+    }
+
     @Test
     @DisplayName("Should throw NotFoundException when account not found")
     void shouldThrowNotFoundWhenAccountNotFound() {
         when(accountRepo.getById(USER_ID)).thenReturn(Optional.empty());
 
-        RegisterNotificationToken command = new RegisterNotificationToken(FCM_TOKEN, DEVICE_ID, USER_ID);
+        RegisterNotificationToken command = new RegisterNotificationToken(FCM_TOKEN, DEVICE_ID, USER_ID, "ar");
 
         assertThatThrownBy(() -> handler.handle(command))
                 .isInstanceOf(NotFoundException.class)
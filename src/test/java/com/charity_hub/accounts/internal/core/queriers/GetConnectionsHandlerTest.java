@@ -42,7 +42,7 @@ class GetConnectionsHandlerTest {
             var query = new GetConnectionsQuery(userId);
             var account1 = new Account(UUID.randomUUID().toString(), "John Doe", "http://photo1.url", List.of("CONTRIBUTE"));
             var account2 = new Account(UUID.randomUUID().toString(), "Jane Smith", "http://photo2.url", List.of("FULL_ACCESS"));
-            when(accountReadRepo.getConnections(userId)).thenReturn(List.of(account1, account2));
+            when(accountReadRepo.getConnections(userId, 0, GetConnectionsQuery.DEFAULT_LIMIT)).thenReturn(List.of(account1, account2));
 
             // Act
             List<Account> result = handler.handle(query);
@@ -51,7 +51,7 @@ class GetConnectionsHandlerTest {
             assertThat(result).hasSize(2);
             assertThat(result.get(0).fullName()).isEqualTo("John Doe");
             assertThat(result.get(1).fullName()).isEqualTo("Jane Smith");
-            verify(accountReadRepo).getConnections(userId);
+            verify(accountReadRepo).getConnections(userId, 0, GetConnectionsQuery.DEFAULT_LIMIT);
         }
 
         @Test
@@ -60,14 +60,14 @@ class GetConnectionsHandlerTest {
             // Arrange
             UUID userId = UUID.randomUUID();
             var query = new GetConnectionsQuery(userId);
-            when(accountReadRepo.getConnections(userId)).thenReturn(List.of());
+            when(accountReadRepo.getConnections(userId, 0, GetConnectionsQuery.DEFAULT_LIMIT)).thenReturn(List.of());
 
             // Act
             List<Account> result = handler.handle(query);
 
             // Assert
             assertThat(result).isEmpty();
-            verify(accountReadRepo).getConnections(userId);
+            verify(accountReadRepo).getConnections(userId, 0, GetConnectionsQuery.DEFAULT_LIMIT);
         }
 
         @Test
@@ -76,13 +76,28 @@ class GetConnectionsHandlerTest {
             // Arrange
             UUID userId = UUID.randomUUID();
             var query = new GetConnectionsQuery(userId);
-            when(accountReadRepo.getConnections(userId)).thenReturn(List.of());
+            when(accountReadRepo.getConnections(userId, 0, GetConnectionsQuery.DEFAULT_LIMIT)).thenReturn(List.of());
 
             // Act
             handler.handle(query);
 
             // Assert
-            verify(accountReadRepo).getConnections(userId);
+            verify(accountReadRepo).getConnections(userId, 0, GetConnectionsQuery.DEFAULT_LIMIT);
+        }
+
+        @Test
+        @DisplayName("should pass paging parameters to repository")
+        void shouldPassPagingParametersToRepository() {
+            // Arrange
+            UUID userId = UUID.randomUUID();
+            var query = new GetConnectionsQuery(userId, 20, 10);
+            when(accountReadRepo.getConnections(userId, 20, 10)).thenReturn(List.of());
+
+            // Act
+            handler.handle(query);
+
+            // Assert
+            verify(accountReadRepo).getConnections(userId, 20, 10);
         }
     }
 }
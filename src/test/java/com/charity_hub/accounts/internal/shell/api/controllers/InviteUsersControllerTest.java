@@ -0,0 +1,72 @@
+package com.charity_hub.accounts.internal.shell.api.controllers;
+
+import com.charity_hub.accounts.internal.core.commands.InviteAccounts.InviteAccounts;
+import com.charity_hub.accounts.internal.core.commands.InviteAccounts.InviteAccountsHandler;
+import com.charity_hub.accounts.internal.core.contracts.IInvitationRepo;
+import com.charity_hub.shared.exceptions.BadRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InviteUsersController Tests")
+class InviteUsersControllerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private IInvitationRepo invitationRepo;
+
+    private Iterator<String> jsonMobileNumbers(String body) throws IOException {
+        return InviteUsersController.jsonMobileNumbers(objectMapper,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("Should read the numbers of a JSON array one by one")
+    void shouldReadJsonArray() throws IOException {
+        List<String> numbers = new ArrayList<>();
+        jsonMobileNumbers("[\"1111111111\", 2222222222]").forEachRemaining(numbers::add);
+
+        assertThat(numbers).containsExactly("1111111111", "2222222222");
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed element after the first chunk and keep the chunks before it")
+    void shouldRejectMalformedElementAfterFirstChunk() throws IOException {
+        when(invitationRepo.findInvited(anyCollection())).thenReturn(Set.of());
+        // One full chunk of 500 and part of the next
+        String valid = IntStream.range(0, 510)
+                .mapToObj(i -> "\"" + (1_000_000_000L + i) + "\"")
+                .collect(Collectors.joining(","));
+        Iterator<String> numbers = jsonMobileNumbers("[" + valid + ", \"1999999999\" oops]");
+        InviteAccountsHandler handler = new InviteAccountsHandler(invitationRepo);
+
+        assertThatThrownBy(() -> handler.handle(new InviteAccounts(numbers, UUID.randomUUID())))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Invalid invitation list");
+        verify(invitationRepo, times(1)).saveAll(anyList());
+    }
+}
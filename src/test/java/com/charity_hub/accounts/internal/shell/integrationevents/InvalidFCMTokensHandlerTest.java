@@ -0,0 +1,55 @@
+package com.charity_hub.accounts.internal.shell.integrationevents;
+
+import com.charity_hub.accounts.internal.core.contracts.IAccountRepo;
+import com.charity_hub.notifications.InvalidFCMTokensDTO;
+import com.charity_hub.shared.domain.IEventBus;
+import com.charity_hub.shared.domain.ILogger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InvalidFCMTokensHandler Tests")
+class InvalidFCMTokensHandlerTest {
+
+    @Mock
+    private IEventBus eventBus;
+
+    @Mock
+    private ILogger logger;
+
+    @Mock
+    private IAccountRepo accountRepo;
+
+    @InjectMocks
+    private InvalidFCMTokensHandler handler;
+
+    @Test
+    @DisplayName("Should subscribe to invalid token events on start")
+    void shouldSubscribeOnStart() {
+        handler.start();
+
+        verify(eventBus).subscribe(eq(handler), eq(InvalidFCMTokensDTO.class), any());
+    }
+
+    @Test
+    @DisplayName("Should remove reported tokens from accounts")
+    void shouldRemoveReportedTokens() {
+        List<String> tokens = List.of("token-1", "token-2");
+        when(accountRepo.removeFCMTokens(tokens)).thenReturn(2L);
+
+        handler.handle(new InvalidFCMTokensDTO(tokens));
+
+        verify(accountRepo).removeFCMTokens(tokens);
+    }
+}
@@ -19,6 +19,7 @@ import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.MongoDBContainer;
 
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
@@ -50,6 +51,7 @@ class AccountReadRepoIntegrationTest {
     private IAccountReadRepo accountReadRepo;
 
     private MongoCollection<Document> accountsCollection;
+    private MongoCollection<Document> connectionsCollection;
 
     @BeforeEach
     void setUp() {
@@ -59,6 +61,7 @@ class AccountReadRepoIntegrationTest {
         }
         MongoDatabase db = directMongoClient.getDatabase("test");
         accountsCollection = db.getCollection("accounts");
+        connectionsCollection = db.getCollection("connections");
     }
 
     @Nested
@@ -66,47 +69,58 @@ class AccountReadRepoIntegrationTest {
     class GetConnectionsTests {
 
         @Test
-        @DisplayName("Should return accounts that have the user in their connections")
-        void shouldReturnAccountsWithUserInConnections() {
+        @DisplayName("Should return accounts whose parent in the member network is the user")
+        void shouldReturnChildAccounts() {
             UUID targetUserId = UUID.randomUUID();
             UUID account1Id = UUID.randomUUID();
             UUID account2Id = UUID.randomUUID();
-            
-            // Create accounts with connections to the target user
-            Document account1 = createAccountDocumentWithConnection(account1Id, "User One", targetUserId);
-            Document account2 = createAccountDocumentWithConnection(account2Id, "User Two", targetUserId);
-            
-            accountsCollection.insertMany(List.of(account1, account2));
 
-            List<Account> results = accountReadRepo.getConnections(targetUserId);
+            accountsCollection.insertMany(List.of(
+                    createAccountDocument(account1Id, "User One"),
+                    createAccountDocument(account2Id, "User Two")
+            ));
+            insertMember(targetUserId, account1Id, account2Id);
+
+            List<Account> results = accountReadRepo.getConnections(targetUserId, 0, 100);
 
             assertThat(results).hasSize(2);
             assertThat(results.stream().map(Account::fullName))
-                    .containsExactlyInAnyOrder("User One", "User Two");
+                    .containsExactly("User One", "User Two");
         }
 
         @Test
-        @DisplayName("Should return empty list when no accounts have user in connections")
-        void shouldReturnEmptyWhenNoConnections() {
+        @DisplayName("Should return empty list when user is not in the member network")
+        void shouldReturnEmptyWhenNoMember() {
             UUID targetUserId = UUID.randomUUID();
 
-            List<Account> results = accountReadRepo.getConnections(targetUserId);
+            List<Account> results = accountReadRepo.getConnections(targetUserId, 0, 100);
 
             assertThat(results).isEmpty();
         }
 
         @Test
-        @DisplayName("Should not return accounts that don't have the user in connections")
-        void shouldNotReturnAccountsWithoutUserInConnections() {
+        @DisplayName("Should return empty list when user has no children")
+        void shouldReturnEmptyWhenNoChildren() {
+            UUID targetUserId = UUID.randomUUID();
+            insertMember(targetUserId);
+
+            List<Account> results = accountReadRepo.getConnections(targetUserId, 0, 100);
+
+            assertThat(results).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should not return accounts that are children of another user")
+        void shouldNotReturnChildrenOfAnotherUser() {
             UUID targetUserId = UUID.randomUUID();
             UUID otherUserId = UUID.randomUUID();
             UUID accountId = UUID.randomUUID();
-            
-            // Create account connected to a different user
-            Document account = createAccountDocumentWithConnection(accountId, "Other User", otherUserId);
-            accountsCollection.insertOne(account);
 
-            List<Account> results = accountReadRepo.getConnections(targetUserId);
+            accountsCollection.insertOne(createAccountDocument(accountId, "Other User"));
+            insertMember(otherUserId, accountId);
+            insertMember(targetUserId);
+
+            List<Account> results = accountReadRepo.getConnections(targetUserId, 0, 100);
 
             assertThat(results).isEmpty();
         }
@@ -116,24 +130,14 @@ class AccountReadRepoIntegrationTest {
         void shouldCorrectlyMapAccountFields() {
             UUID targetUserId = UUID.randomUUID();
             UUID accountId = UUID.randomUUID();
-            
-            Document account = new Document()
-                    .append("accountId", accountId.toString())
-                    .append("mobileNumber", "1234567890")
-                    .append("fullName", "Test User")
+
+            Document account = createAccountDocument(accountId, "Test User")
                     .append("photoUrl", "https://example.com/photo.jpg")
-                    .append("blocked", false)
-                    .append("joinedDate", System.currentTimeMillis())
-                    .append("lastUpdated", System.currentTimeMillis())
-                    .append("permissions", List.of("READ_CASES", "WRITE_CASES"))
-                    .append("devices", List.of())
-                    .append("connections", List.of(
-                            new Document("userId", targetUserId.toString())
-                    ));
-            
+                    .append("permissions", List.of("READ_CASES", "WRITE_CASES"));
             accountsCollection.insertOne(account);
+            insertMember(targetUserId, accountId);
 
-            List<Account> results = accountReadRepo.getConnections(targetUserId);
+            List<Account> results = accountReadRepo.getConnections(targetUserId, 0, 100);
 
             assertThat(results).hasSize(1);
             Account result = results.get(0);
@@ -148,62 +152,55 @@ class AccountReadRepoIntegrationTest {
         void shouldHandleNullFullName() {
             UUID targetUserId = UUID.randomUUID();
             UUID accountId = UUID.randomUUID();
-            
-            Document account = new Document()
-                    .append("accountId", accountId.toString())
-                    .append("mobileNumber", "1234567890")
-                    .append("fullName", null)
-                    .append("photoUrl", null)
-                    .append("blocked", false)
-                    .append("joinedDate", System.currentTimeMillis())
-                    .append("lastUpdated", System.currentTimeMillis())
-                    .append("permissions", List.of())
-                    .append("devices", List.of())
-                    .append("connections", List.of(
-                            new Document("userId", targetUserId.toString())
-                    ));
-            
-            accountsCollection.insertOne(account);
 
-            List<Account> results = accountReadRepo.getConnections(targetUserId);
+            accountsCollection.insertOne(createAccountDocument(accountId, null));
+            insertMember(targetUserId, accountId);
+
+            List<Account> results = accountReadRepo.getConnections(targetUserId, 0, 100);
 
             assertThat(results).hasSize(1);
             assertThat(results.get(0).fullName()).isEqualTo("Unknown");
         }
 
         @Test
-        @DisplayName("Should handle account with multiple connections")
-        void shouldHandleAccountWithMultipleConnections() {
+        @DisplayName("Should sort by name and page results")
+        void shouldSortByNameAndPage() {
             UUID targetUserId = UUID.randomUUID();
-            UUID otherUserId = UUID.randomUUID();
-            UUID accountId = UUID.randomUUID();
-            
-            // Account connected to multiple users
-            Document account = new Document()
-                    .append("accountId", accountId.toString())
-                    .append("mobileNumber", "1234567890")
-                    .append("fullName", "Multi Connection User")
-                    .append("photoUrl", null)
-                    .append("blocked", false)
-                    .append("joinedDate", System.currentTimeMillis())
-                    .append("lastUpdated", System.currentTimeMillis())
-                    .append("permissions", List.of())
-                    .append("devices", List.of())
-                    .append("connections", List.of(
-                            new Document("userId", targetUserId.toString()),
-                            new Document("userId", otherUserId.toString())
-                    ));
-            
-            accountsCollection.insertOne(account);
+            UUID charlie = UUID.randomUUID();
+            UUID alice = UUID.randomUUID();
+            UUID bob = UUID.randomUUID();
+
+            accountsCollection.insertMany(List.of(
+                    createAccountDocument(charlie, "Charlie"),
+                    createAccountDocument(alice, "Alice"),
+                    createAccountDocument(bob, "Bob")
+            ));
+            insertMember(targetUserId, charlie, alice, bob);
+
+            List<Account> firstPage = accountReadRepo.getConnections(targetUserId, 0, 2);
+            List<Account> secondPage = accountReadRepo.getConnections(targetUserId, 2, 2);
+
+            assertThat(firstPage.stream().map(Account::fullName)).containsExactly("Alice", "Bob");
+            assertThat(secondPage.stream().map(Account::fullName)).containsExactly("Charlie");
+        }
+    }
 
-            List<Account> results = accountReadRepo.getConnections(targetUserId);
+    private void insertMember(UUID memberId, UUID... children) {
+        connectionsCollection.insertOne(memberDocument(memberId, null));
+        Arrays.stream(children)
+                .map(childId -> memberDocument(childId, memberId))
+                .forEach(connectionsCollection::insertOne);
+    }
 
-            assertThat(results).hasSize(1);
-            assertThat(results.get(0).fullName()).isEqualTo("Multi Connection User");
-        }
+    private Document memberDocument(UUID memberId, UUID parentId) {
+        return new Document()
+                .append("_id", memberId.toString())
+                .append("ancestors", parentId != null ? List.of(parentId.toString()) : List.of())
+                .append("parent", parentId != null ? parentId.toString() : null)
+                .append("children", List.of());
     }
 
-    private Document createAccountDocumentWithConnection(UUID accountId, String fullName, UUID connectionUserId) {
+    private Document createAccountDocument(UUID accountId, String fullName) {
         return new Document()
                 .append("accountId", accountId.toString())
                 .append("mobileNumber", "1234567890")
@@ -213,9 +210,6 @@ class AccountReadRepoIntegrationTest {
                 .append("joinedDate", System.currentTimeMillis())
                 .append("lastUpdated", System.currentTimeMillis())
                 .append("permissions", List.of())
-                .append("devices", List.of())
-                .append("connections", List.of(
-                        new Document("userId", connectionUserId.toString())
-                ));
+                .append("devices", List.of());
     }
 }
@@ -1,6 +1,7 @@
 package com.charity_hub.accounts.internal.shell.repositories;
 
 import com.charity_hub.accounts.internal.core.contracts.IAccountRepo;
+import com.charity_hub.accounts.internal.core.exceptions.AccountChangedConcurrentlyException;
 import com.charity_hub.accounts.internal.core.model.account.Account;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -13,10 +14,12 @@ import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.MongoDBContainer;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -125,4 +128,66 @@ class AccountRepoIntegrationTest {
             assertThat(retrieved.get().getPermissions()).isNotEmpty();
         }
     }
+
+    @Nested
+    @DisplayName("FCM Token Cleanup")
+    class FCMTokenCleanup {
+
+        @Test
+        @DisplayName("Should clear removed FCM tokens and keep the others")
+        void shouldClearRemovedTokensAndKeepOthers() {
+            String invalidToken = "invalid-" + UUID.randomUUID();
+            String validToken = "valid-" + UUID.randomUUID();
+            Account stale = Account.newAccount("5551234567", DEVICE_ID, DEVICE_TYPE, false);
+            stale.registerFCMToken(DEVICE_ID, invalidToken, null);
+            Account active = Account.newAccount("5557654321", DEVICE_ID, DEVICE_TYPE, false);
+            active.registerFCMToken(DEVICE_ID, validToken, "en");
+            accountRepo.save(stale);
+            accountRepo.save(active);
+
+            long updated = accountRepo.removeFCMTokens(List.of(invalidToken));
+
+            assertThat(updated).isEqualTo(1);
+            assertThat(accountRepo.getById(stale.getId().value()).orElseThrow()
+                    .getDevices().get(0).getFcmToken()).isNull();
+            assertThat(accountRepo.getById(active.getId().value()).orElseThrow()
+                    .getDevices().get(0).getFcmToken().getValue()).isEqualTo(validToken);
+        }
+
+        @Test
+        @DisplayName("Should not fail saves of copies loaded before the cleanup")
+        void shouldNotConflictWithConcurrentSave() {
+            String invalidToken = "invalid-" + UUID.randomUUID();
+            Account account = Account.newAccount("5559876543", DEVICE_ID, DEVICE_TYPE, false);
+            account.registerFCMToken(DEVICE_ID, invalidToken, null);
+            accountRepo.save(account);
+            Account loaded = accountRepo.getById(account.getId().value()).orElseThrow();
+
+            accountRepo.removeFCMTokens(List.of(invalidToken));
+            loaded.block();
+            accountRepo.save(loaded);
+
+            assertThat(accountRepo.getById(account.getId().value()).orElseThrow().isBlocked()).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrent Saves")
+    class ConcurrentSaves {
+
+        @Test
+        @DisplayName("Should reject a copy loaded before another save")
+        void shouldRejectStaleSave() {
+            Account account = Account.newAccount("5553456789", DEVICE_ID, DEVICE_TYPE, false);
+            accountRepo.save(account);
+            Account first = accountRepo.getById(account.getId().value()).orElseThrow();
+            Account second = accountRepo.getById(account.getId().value()).orElseThrow();
+
+            first.block();
+            accountRepo.save(first);
+
+            assertThatThrownBy(() -> accountRepo.save(second)).isInstanceOf(AccountChangedConcurrentlyException.class);
+            assertThat(accountRepo.getById(account.getId().value()).orElseThrow().isBlocked()).isTrue();
+        }
+    }
 }
@@ -13,6 +13,7 @@ import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.MongoDBContainer;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -94,7 +95,7 @@ class InvitationRepoIntegrationTest {
             invitationRepo.save(invitation1);
             
             // Save second invitation with same mobile but different inviter
-            // Note: The repo uses inviterId as the key, so this creates a new record
+            // The repo uses mobileNumber as the key, so this replaces the first record
             Invitation invitation2 = Invitation.of(mobileNumber, inviterId2);
             invitationRepo.save(invitation2);
 
@@ -102,6 +103,34 @@ class InvitationRepoIntegrationTest {
             Invitation retrieved = invitationRepo.get(mobileNumber);
             assertThat(retrieved).isNotNull();
             assertThat(retrieved.invitedMobileNumber().value()).isEqualTo(mobileNumber);
+            assertThat(retrieved.inviterId()).isEqualTo(inviterId2);
+        }
+
+        @Test
+        @DisplayName("Should keep invitations from the same inviter separate")
+        void shouldKeepInvitationsFromSameInviterSeparate() {
+            String first = "55" + System.currentTimeMillis() % 100000000;
+            String second = "66" + System.currentTimeMillis() % 100000000;
+            UUID inviterId = UUID.randomUUID();
+
+            invitationRepo.save(Invitation.of(first, inviterId));
+            invitationRepo.save(Invitation.of(second, inviterId));
+
+            assertThat(invitationRepo.hasInvitation(first)).isTrue();
+            assertThat(invitationRepo.hasInvitation(second)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should bulk save and find invited mobile numbers")
+        void shouldBulkSaveAndFindInvitedMobileNumbers() {
+            String first = "77" + System.currentTimeMillis() % 100000000;
+            String second = "88" + System.currentTimeMillis() % 100000000;
+            UUID inviterId = UUID.randomUUID();
+
+            invitationRepo.saveAll(List.of(Invitation.of(first, inviterId), Invitation.of(second, inviterId)));
+
+            assertThat(invitationRepo.findInvited(List.of(first, second, "9999999999")))
+                    .containsExactlyInAnyOrder(first, second);
         }
     }
 }
@@ -0,0 +1,125 @@
+package com.charity_hub.cases.internal.infrastructure.queryhandlers;
+
+import com.charity_hub.cases.internal.application.queries.GetAllCases.GetAllCasesQuery;
+import com.charity_hub.cases.internal.application.queries.GetDraftCases.GetDraftCases;
+import com.charity_hub.cases.internal.application.queries.GetDraftCases.GetDraftCasesHandler;
+import com.charity_hub.cases.internal.domain.contracts.ICaseRepo;
+import com.charity_hub.cases.internal.domain.model.Case.Case;
+import com.charity_hub.cases.internal.domain.model.Case.NewCaseProbs;
+import com.charity_hub.cases.internal.domain.model.Case.Status;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("CaseListJsonWriter Integration Tests")
+@SuppressWarnings("resource") // MongoDBContainer is managed by Testcontainers lifecycle
+class CaseListJsonWriterIntegrationTest {
+
+    private static final MongoDBContainer mongoDBContainer;
+
+    static {
+        mongoDBContainer = new MongoDBContainer("mongo:7.0")
+                .withStartupTimeout(Duration.ofMinutes(2))
+                .withReuse(true);
+        mongoDBContainer.start();
+    }
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @Autowired
+    private CaseListJsonWriter writer;
+
+    @Autowired
+    private GetAllCasesHandler getAllCasesHandler;
+
+    @Autowired
+    private GetDraftCasesHandler getDraftCasesHandler;
+
+    @Autowired
+    private ICaseRepo caseRepo;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    // Keeps the listings to the cases of this test
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        token = UUID.randomUUID().toString();
+    }
+
+    @Test
+    @DisplayName("Should stream the same page as GetAllCasesHandler")
+    void shouldMatchGetAllCasesHandler() throws IOException {
+        saveCase(Status.OPENED, List.of("doc-1.jpg", "doc-2.jpg"));
+        saveCase(Status.OPENED, null);
+        saveCase(Status.CLOSED, List.of("doc-3.jpg"));
+        saveCase(Status.DRAFT, null);
+        GetAllCasesQuery query = new GetAllCasesQuery(null, null, token, 0, 10);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeCases(query, out);
+
+        JsonNode streamed = mapper.readTree(out.toByteArray());
+        assertThat(streamed.get("cases")).hasSize(3);
+        assertThat(streamed).isEqualTo(mapper.valueToTree(getAllCasesHandler.handle(query)));
+    }
+
+    @Test
+    @DisplayName("Should stream the same draft cases as GetDraftCasesHandler")
+    void shouldMatchGetDraftCasesHandler() throws IOException {
+        saveCase(Status.DRAFT, List.of("doc-1.jpg"));
+        saveCase(Status.DRAFT, null);
+        saveCase(Status.OPENED, null);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeDraftCases(out);
+
+        JsonNode streamed = mapper.readTree(out.toByteArray()).get("cases");
+        JsonNode handled = mapper.valueToTree(getDraftCasesHandler.handle(new GetDraftCases())).get("cases");
+        // Drafts of other tests are listed too, and cases saved in the same millisecond may swap places
+        assertThat(streamed).containsExactlyInAnyOrderElementsOf(handled);
+        assertThat(streamed).filteredOn(draft -> draft.get("title").asText().contains(token)).hasSize(2);
+    }
+
+    private void saveCase(Status status, List<String> documents) {
+        Case case_ = Case.newCase(new NewCaseProbs(
+                caseRepo.nextCaseCode(),
+                "Case " + token,
+                "Description",
+                1000,
+                Status.DRAFT,
+                true,
+                documents
+        ));
+        if (status == Status.OPENED) {
+            case_.open();
+        } else if (status == Status.CLOSED) {
+            case_.open();
+            case_.close();
+        }
+        caseRepo.save(case_);
+    }
+}
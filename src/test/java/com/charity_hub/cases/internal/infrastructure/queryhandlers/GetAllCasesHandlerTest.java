@@ -4,6 +4,7 @@ import com.charity_hub.cases.internal.application.contracts.ICaseReadRepo;
 import com.charity_hub.cases.internal.application.queries.GetAllCases.GetAllCasesQuery;
 import com.charity_hub.cases.internal.application.queries.GetAllCases.GetCasesQueryResult;
 import com.charity_hub.cases.internal.infrastructure.db.CaseEntity;
+import com.charity_hub.shared.infrastructure.invalidation.CacheInvalidation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -31,7 +33,7 @@ class GetAllCasesHandlerTest {
 
     @BeforeEach
     void setUp() {
-        handler = new GetAllCasesHandler(caseRepo);
+        handler = new GetAllCasesHandler(caseRepo, new CacheInvalidation(), Duration.ZERO);
     }
 
     @Nested
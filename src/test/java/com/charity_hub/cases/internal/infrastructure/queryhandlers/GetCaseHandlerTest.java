@@ -9,6 +9,7 @@ import com.charity_hub.cases.internal.infrastructure.db.ContributionEntity;
 import com.charity_hub.cases.internal.infrastructure.gateways.AccountsGateway;
 import com.charity_hub.shared.auth.AccessTokenPayload;
 import com.charity_hub.shared.exceptions.NotFoundException;
+import com.charity_hub.shared.infrastructure.invalidation.CacheInvalidation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -17,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
@@ -26,6 +28,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -42,11 +45,13 @@ class GetCaseHandlerTest {
     @Mock
     private AccountsGateway accountsGateway;
 
+    private final CacheInvalidation cacheInvalidation = new CacheInvalidation();
+
     private GetCaseHandler handler;
 
     @BeforeEach
     void setUp() {
-        handler = new GetCaseHandler(caseRepo, getCaseMapper, accountsGateway);
+        handler = new GetCaseHandler(caseRepo, getCaseMapper, accountsGateway, cacheInvalidation, Duration.ZERO);
     }
 
     @Nested
@@ -64,7 +69,7 @@ class GetCaseHandlerTest {
 
             var caseEntity = createCaseEntity(caseCode);
             var contribution = createContributionEntity(caseCode, userId.toString());
-            var accountDto = new AccountDTO(userId.toString(), "+1234567890", "John Doe", "http://photo.url", List.of());
+            var accountDto = new AccountDTO(userId.toString(), "+1234567890", "John Doe", "http://photo.url", List.of(), null);
             var caseDetails = createCaseDetails(caseCode, List.of());
 
             when(caseRepo.getByCode(caseCode)).thenReturn(caseEntity);
@@ -147,6 +152,29 @@ class GetCaseHandlerTest {
             verify(caseRepo).getContributionsByCaseCode(caseCode);
         }
 
+        @Test
+        @DisplayName("should reload a kept case once its contributions change")
+        void shouldReloadCaseOnceInvalidated() {
+            // Arrange
+            var keeping = new GetCaseHandler(caseRepo, getCaseMapper, accountsGateway, cacheInvalidation,
+                    Duration.ofMinutes(1));
+            int caseCode = 12345;
+            var query = new GetCaseQuery(caseCode, createAccessTokenPayload(UUID.randomUUID(), List.of("CONTRIBUTE")));
+
+            when(caseRepo.getByCode(caseCode)).thenReturn(createCaseEntity(caseCode));
+            when(caseRepo.getContributionsByCaseCode(caseCode)).thenReturn(List.of());
+            when(getCaseMapper.toCaseDetails(any(), anyList(), any())).thenReturn(createCaseDetails(caseCode, List.of()));
+
+            // Act
+            keeping.handle(query);
+            keeping.handle(query);
+            cacheInvalidation.invalidate("contributions", String.valueOf(caseCode));
+            keeping.handle(query);
+
+            // Assert
+            verify(caseRepo, times(2)).getByCode(caseCode);
+        }
+
         private AccessTokenPayload createAccessTokenPayload(UUID userId, List<String> permissions) {
             return new AccessTokenPayload(
                     "test-audience",
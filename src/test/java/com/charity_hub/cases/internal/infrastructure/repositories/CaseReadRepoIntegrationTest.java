@@ -8,7 +8,11 @@ import com.charity_hub.cases.internal.domain.model.Case.Status;
 import com.charity_hub.cases.internal.domain.model.Contribution.Contribution;
 import com.charity_hub.cases.internal.infrastructure.db.CaseEntity;
 import com.charity_hub.cases.internal.infrastructure.db.ContributionEntity;
+import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -21,6 +25,7 @@ import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.MongoDBContainer;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
@@ -54,6 +59,9 @@ class CaseReadRepoIntegrationTest {
     @Autowired
     private ICaseRepo caseRepo;
 
+    @Autowired
+    private MongoDatabase mongoDatabase;
+
     private int testCaseCode1;
     private int testCaseCode2;
     private int testCaseCode3;
@@ -240,6 +248,118 @@ class CaseReadRepoIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("searchRaw Tests")
+    class SearchRawTests {
+
+        @Test
+        @DisplayName("Should return the projected documents of search, in the same order")
+        void shouldMatchSearch() {
+            createAndSaveCase(testCaseCode1, Status.OPENED);
+            createAndSaveCase(testCaseCode2, Status.CLOSED);
+            createAndSaveCase(testCaseCode3, Status.DRAFT);
+            List<Integer> codes = List.of(testCaseCode1, testCaseCode2, testCaseCode3);
+
+            List<RawBsonDocument> results = caseReadRepo.searchRaw(0, 10, () -> Filters.in("code", codes),
+                            Projections.fields(Projections.include("code", "title"), Projections.excludeId()))
+                    .into(new ArrayList<>());
+
+            assertThat(results).extracting(document -> document.getInt32("code").getValue())
+                    .containsExactlyElementsOf(caseReadRepo.search(0, 10, () -> Filters.in("code", codes))
+                            .stream().map(CaseEntity::code).toList());
+            assertThat(results).hasSize(2);
+            assertThat(results).allSatisfy(document ->
+                    assertThat(document.keySet()).containsExactlyInAnyOrder("code", "title"));
+        }
+
+        @Test
+        @DisplayName("Should respect offset and limit")
+        void shouldRespectOffsetAndLimit() {
+            createAndSaveCase(testCaseCode1, Status.OPENED);
+            createAndSaveCase(testCaseCode2, Status.OPENED);
+            createAndSaveCase(testCaseCode3, Status.OPENED);
+            List<Integer> codes = List.of(testCaseCode1, testCaseCode2, testCaseCode3);
+
+            List<RawBsonDocument> page = caseReadRepo.searchRaw(1, 1, () -> Filters.in("code", codes),
+                    Projections.include("code")).into(new ArrayList<>());
+
+            assertThat(page).extracting(document -> document.getInt32("code").getValue())
+                    .containsExactly(caseReadRepo.search(1, 1, () -> Filters.in("code", codes)).get(0).code());
+        }
+    }
+
+    @Nested
+    @DisplayName("getDraftCasesRaw Tests")
+    class GetDraftCasesRawTests {
+
+        @Test
+        @DisplayName("Should return the projected documents of getDraftCases")
+        void shouldMatchGetDraftCases() {
+            createAndSaveCase(testCaseCode1, Status.DRAFT);
+            createAndSaveCase(testCaseCode2, Status.OPENED);
+
+            List<RawBsonDocument> results = caseReadRepo.getDraftCasesRaw(Projections.include("code", "status"))
+                    .into(new ArrayList<>());
+
+            assertThat(results).allSatisfy(document ->
+                    assertThat(document.getInt32("status").getValue()).isEqualTo(CaseEntity.STATUS_DRAFT));
+            assertThat(results).extracting(document -> document.getInt32("code").getValue())
+                    .containsExactlyInAnyOrderElementsOf(caseReadRepo.getDraftCases().stream().map(CaseEntity::code).toList())
+                    .contains(testCaseCode1)
+                    .doesNotContain(testCaseCode2);
+        }
+    }
+
+    @Nested
+    @DisplayName("getContributionsWithCaseTitlesRaw Tests")
+    class GetContributionsWithCaseTitlesRawTests {
+
+        private void insertContribution(String id, String contributorId, int caseCode, int status, long date) {
+            mongoDatabase.getCollection("contributions").insertOne(new Document("_id", id)
+                    .append("contributorId", contributorId)
+                    .append("caseCode", caseCode)
+                    .append("amount", 100)
+                    .append("status", status)
+                    .append("contributionDate", date)
+                    .append("paymentProof", null));
+        }
+
+        @Test
+        @DisplayName("Should join case titles and order by status, then newest first")
+        void shouldJoinCaseTitlesInOrder() {
+            String contributorId = UUID.randomUUID().toString();
+            createAndSaveCase(testCaseCode1, Status.OPENED);
+            String prefix = contributorId + "-";
+            insertContribution(prefix + "paid", contributorId, testCaseCode1, ContributionEntity.STATUS_PAID, 3_000L);
+            insertContribution(prefix + "old", contributorId, testCaseCode1, ContributionEntity.STATUS_PLEDGED, 1_000L);
+            insertContribution(prefix + "new", contributorId, testCaseCode1, ContributionEntity.STATUS_PLEDGED, 2_000L);
+
+            List<RawBsonDocument> results = caseReadRepo.getContributionsWithCaseTitlesRaw(UUID.fromString(contributorId))
+                    .into(new ArrayList<>());
+
+            assertThat(results).extracting(document -> document.getString("_id").getValue())
+                    .containsExactly(prefix + "new", prefix + "old", prefix + "paid");
+            assertThat(results).allSatisfy(document -> {
+                assertThat(document.getString("caseTitle").getValue()).isEqualTo("Test Case");
+                assertThat(document.keySet()).containsExactlyInAnyOrder(
+                        "_id", "contributorId", "caseCode", "amount", "status", "contributionDate", "caseTitle");
+            });
+        }
+
+        @Test
+        @DisplayName("Should leave out the case title when the case does not exist")
+        void shouldOmitTitleOfMissingCase() {
+            String contributorId = UUID.randomUUID().toString();
+            insertContribution(contributorId + "-orphan", contributorId, testCaseCode1, ContributionEntity.STATUS_PLEDGED, 1_000L);
+
+            List<RawBsonDocument> results = caseReadRepo.getContributionsWithCaseTitlesRaw(UUID.fromString(contributorId))
+                    .into(new ArrayList<>());
+
+            assertThat(results).hasSize(1);
+            assertThat(results.get(0).containsKey("caseTitle")).isFalse();
+        }
+    }
+
     @Nested
     @DisplayName("getCasesCount Tests")
     class GetCasesCountTests {
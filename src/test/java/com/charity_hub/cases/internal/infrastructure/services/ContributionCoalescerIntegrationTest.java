@@ -0,0 +1,118 @@
+package com.charity_hub.cases.internal.infrastructure.services;
+
+import com.charity_hub.cases.shared.dtos.ContributionMadeDTO;
+import com.charity_hub.shared.infrastructure.MongoIndexes;
+import com.mongodb.client.MongoDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("ContributionCoalescer Integration Tests")
+@SuppressWarnings("resource") // MongoDBContainer is managed by Testcontainers lifecycle
+class ContributionCoalescerIntegrationTest {
+
+    private static final MongoDBContainer mongoDBContainer;
+
+    static {
+        mongoDBContainer = new MongoDBContainer("mongo:7.0")
+                .withStartupTimeout(Duration.ofMinutes(2))
+                .withReuse(true);
+        mongoDBContainer.start();
+    }
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    private static final Duration WINDOW = Duration.ofMinutes(10);
+
+    @Autowired
+    private MongoDatabase mongoDatabase;
+
+    @Autowired
+    private MongoIndexes indexes;
+
+    private ContributionCoalescer coalescer;
+    private int caseCode;
+    // The start of the current window; batches of past windows expire
+    private long madeAt;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new ContributionCoalescer(mongoDatabase, indexes, WINDOW);
+        caseCode = ThreadLocalRandom.current().nextInt(1_000_000, 2_000_000);
+        long now = System.currentTimeMillis();
+        madeAt = now - now % WINDOW.toMillis();
+    }
+
+    private static ContributionMadeDTO contribution(int caseCode, int amount, long madeAt, int contributionsCount) {
+        return new ContributionMadeDTO(UUID.randomUUID(), UUID.randomUUID(), caseCode, amount, madeAt,
+                "Case " + caseCode, contributionsCount);
+    }
+
+    @Test
+    @DisplayName("Should add up contributions to the same case within the window")
+    void shouldMergeContributionsPerCase() {
+        coalescer.add(contribution(caseCode, 100, madeAt, 1));
+        ContributionCoalescer.Batch batch = coalescer.add(contribution(caseCode, 250, madeAt + 1_000, 2));
+        ContributionCoalescer.Batch other = coalescer.add(contribution(caseCode + 1, 50, madeAt, 7));
+
+        Instant windowEnd = Instant.ofEpochMilli(madeAt).plus(WINDOW);
+        assertThat(batch).isEqualTo(new ContributionCoalescer.Batch(caseCode, "Case " + caseCode, 2, 350, true, windowEnd));
+        assertThat(other).isEqualTo(new ContributionCoalescer.Batch(caseCode + 1, "Case " + (caseCode + 1), 1, 50, false, windowEnd));
+        assertThat(batch.key()).isNotEqualTo(other.key());
+    }
+
+    @Test
+    @DisplayName("Should count a redelivered contribution once")
+    void shouldCountRedeliveryOnce() {
+        ContributionMadeDTO contribution = contribution(caseCode, 100, madeAt, 3);
+
+        coalescer.add(contribution);
+        ContributionCoalescer.Batch batch = coalescer.add(contribution);
+
+        assertThat(batch.count()).isOne();
+        assertThat(batch.total()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should start a new batch in the next window")
+    void shouldStartNewBatchPerWindow() {
+        ContributionCoalescer.Batch first = coalescer.add(contribution(caseCode, 100, madeAt, 3));
+        ContributionCoalescer.Batch next = coalescer.add(contribution(caseCode, 100, madeAt + WINDOW.toMillis(), 4));
+
+        assertThat(next.count()).isOne();
+        assertThat(next.windowEnd()).isEqualTo(first.windowEnd().plus(WINDOW));
+        assertThat(next.key()).isNotEqualTo(first.key());
+    }
+
+    @Test
+    @DisplayName("Should pass contributions straight through with a zero window")
+    void shouldPassThroughWithZeroWindow() {
+        ContributionCoalescer passThrough = new ContributionCoalescer(mongoDatabase, indexes, Duration.ZERO);
+
+        passThrough.add(contribution(caseCode, 100, madeAt, 1));
+        ContributionCoalescer.Batch batch = passThrough.add(contribution(caseCode, 200, madeAt, 2));
+
+        assertThat(passThrough.isBatching()).isFalse();
+        assertThat(batch.count()).isOne();
+        assertThat(batch.total()).isEqualTo(200);
+        assertThat(batch.includesFirst()).isFalse();
+    }
+}
@@ -0,0 +1,111 @@
+package com.charity_hub.ledger.internal.api;
+
+import com.charity_hub.cases.shared.dtos.CaseDTO;
+import com.charity_hub.cases.shared.dtos.ContributionDTO;
+import com.charity_hub.cases.shared.dtos.ContributionWithCaseDTO;
+import com.charity_hub.ledger.internal.application.queries.GetLedger.GetLedger;
+import com.charity_hub.ledger.internal.application.queries.GetLedger.GetLedgerHandler;
+import com.charity_hub.ledger.internal.infrastructure.gateways.CasesGateway;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LedgerJsonWriter Tests")
+class LedgerJsonWriterTest {
+
+    @Mock
+    private CasesGateway casesGateway;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private LedgerJsonWriter writer;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        writer = new LedgerJsonWriter(casesGateway, mapper);
+        userId = UUID.randomUUID();
+    }
+
+    private void stream(List<ContributionWithCaseDTO> contributions) {
+        doAnswer(invocation -> {
+            Consumer<ContributionWithCaseDTO> action = invocation.getArgument(1);
+            contributions.forEach(action);
+            return null;
+        }).when(casesGateway).forEachContributionWithCaseTitle(eq(userId), any());
+    }
+
+    private static CaseDTO caseDTO(int code, String title) {
+        return new CaseDTO(code, title, "Description", 10000, 0, 1, true, 0L, 0L,
+                Collections.emptyList(), Collections.emptyList(), 0);
+    }
+
+    @Test
+    @DisplayName("Should write the same ledger as GetLedgerHandler")
+    void shouldMatchGetLedgerHandler() throws IOException {
+        long date = 1_700_000_000_000L;
+        String user = userId.toString();
+        when(casesGateway.getContributions(userId)).thenReturn(new ArrayList<>(List.of(
+                new ContributionDTO("c-1", user, 101, 500, 1, date, null),
+                new ContributionDTO("c-2", user, 102, 250, 1, date - 1_000, null),
+                new ContributionDTO("c-3", user, 101, 100, 2, date - 2_000, "proof.jpg")
+        )));
+        when(casesGateway.getCasesByIds(List.of(101, 102, 101)))
+                .thenReturn(List.of(caseDTO(101, "School fees"), caseDTO(102, "Surgery")));
+        stream(List.of(
+                new ContributionWithCaseDTO("c-1", user, 101, "School fees", 500, 1, date),
+                new ContributionWithCaseDTO("c-2", user, 102, "Surgery", 250, 1, date - 1_000),
+                new ContributionWithCaseDTO("c-3", user, 101, "School fees", 100, 2, date - 2_000)
+        ));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeLedger(userId, out);
+
+        JsonNode streamed = mapper.readTree(out.toByteArray());
+        JsonNode handled = mapper.valueToTree(new GetLedgerHandler(casesGateway).handle(new GetLedger(userId)));
+        assertThat(streamed.get("contributions")).hasSize(3);
+        assertThat(streamed).isEqualTo(handled);
+    }
+
+    @Test
+    @DisplayName("Should write an empty ledger")
+    void shouldWriteEmptyLedger() throws IOException {
+        stream(List.of());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeLedger(userId, out);
+
+        assertThat(out.toString()).isEqualTo("{\"contributions\":[]}");
+    }
+
+    @Test
+    @DisplayName("Should fail like GetLedgerHandler when a contribution's case is missing")
+    void shouldFailWhenCaseIsMissing() {
+        stream(List.of(new ContributionWithCaseDTO("c-1", userId.toString(), 404, null, 500, 1, 0L)));
+
+        assertThatThrownBy(() -> writer.writeLedger(userId, new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Case not found for code: 404");
+    }
+}
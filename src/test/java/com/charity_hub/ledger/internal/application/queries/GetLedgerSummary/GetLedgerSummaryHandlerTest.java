@@ -244,6 +244,6 @@ class GetLedgerSummaryHandlerTest {
     }
 
     private AccountDTO createAccountDTO(String id, String name) {
-        return new AccountDTO(id, "1234567890", name, "photo.jpg", Collections.emptyList());
+        return new AccountDTO(id, "1234567890", name, "photo.jpg", Collections.emptyList(), null);
     }
 }
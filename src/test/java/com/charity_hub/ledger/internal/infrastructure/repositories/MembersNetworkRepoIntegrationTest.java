@@ -68,6 +68,24 @@ class MembersNetworkRepoIntegrationTest {
             assertThat(retrieved.parent().value()).isEqualTo(parentId);
         }
 
+        @Test
+        @DisplayName("Should save and retrieve a root member without a parent")
+        void shouldSaveAndRetrieveRootMember() {
+            UUID memberId = UUID.randomUUID();
+            Member member = new Member(
+                    new MemberId(memberId),
+                    null,
+                    Collections.emptyList(),
+                    Collections.emptyList()
+            );
+
+            membersNetworkRepo.save(member);
+            Member retrieved = membersNetworkRepo.getById(memberId);
+
+            assertThat(retrieved).isNotNull();
+            assertThat(retrieved.parent()).isNull();
+        }
+
         @Test
         @DisplayName("Should return null when member not found")
         void shouldReturnNullWhenMemberNotFound() {
@@ -143,5 +161,24 @@ class MembersNetworkRepoIntegrationTest {
             assertThat(afterUpdate).isNotNull();
             assertThat(afterUpdate.memberId().value()).isEqualTo(memberId);
         }
+
+        @Test
+        @DisplayName("Should find children by their parent")
+        void shouldFindChildrenByParent() {
+            UUID parentId = UUID.randomUUID();
+            UUID child1Id = UUID.randomUUID();
+            UUID child2Id = UUID.randomUUID();
+            for (UUID childId : List.of(child1Id, child2Id)) {
+                membersNetworkRepo.save(new Member(
+                        new MemberId(childId),
+                        new MemberId(parentId),
+                        List.of(new MemberId(parentId)),
+                        Collections.emptyList()
+                ));
+            }
+
+            assertThat(membersNetworkRepo.getChildren(parentId)).containsExactlyInAnyOrder(child1Id, child2Id);
+            assertThat(membersNetworkRepo.getChildren(child1Id)).isEmpty();
+        }
     }
 }
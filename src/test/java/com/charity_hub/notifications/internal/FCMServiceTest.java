@@ -0,0 +1,160 @@
+package com.charity_hub.notifications.internal;
+
+import com.charity_hub.notifications.InvalidFCMTokensDTO;
+import com.charity_hub.shared.domain.IEventBus;
+import com.charity_hub.shared.infrastructure.firebase.LazyFirebaseApp;
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.SendResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FCMService Tests")
+class FCMServiceTest {
+
+    @Mock
+    private IEventBus eventBus;
+
+    @Mock
+    private LazyFirebaseApp firebaseApp;
+
+    @Mock
+    private FirebaseMessaging messaging;
+
+    private FCMService service;
+
+    @BeforeEach
+    void setUp() {
+        // One chunk in flight at a time, so responses are consumed in chunk order
+        service = spy(new FCMService(eventBus, firebaseApp, 1));
+        doReturn(messaging).when(service).messaging();
+    }
+
+    private static SendResponse sent() {
+        SendResponse response = mock(SendResponse.class);
+        when(response.isSuccessful()).thenReturn(true);
+        return response;
+    }
+
+    private static SendResponse failed(MessagingErrorCode code) {
+        FirebaseMessagingException exception = mock(FirebaseMessagingException.class);
+        when(exception.getMessagingErrorCode()).thenReturn(code);
+        SendResponse response = mock(SendResponse.class);
+        when(response.isSuccessful()).thenReturn(false);
+        when(response.getException()).thenReturn(exception);
+        return response;
+    }
+
+    private static BatchResponse batch(List<SendResponse> responses) {
+        int success = (int) responses.stream().filter(SendResponse::isSuccessful).count();
+        BatchResponse response = mock(BatchResponse.class);
+        when(response.getResponses()).thenReturn(responses);
+        when(response.getSuccessCount()).thenReturn(success);
+        when(response.getFailureCount()).thenReturn(responses.size() - success);
+        return response;
+    }
+
+    private static List<String> tokens(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "token-" + i).toList();
+    }
+
+    @Test
+    @DisplayName("Should send at most 500 tokens per call and map responses back to each chunk's tokens")
+    void shouldSendInChunks() throws Exception {
+        BatchResponse full = batch(Collections.nCopies(FCMService.MAX_TOKENS_PER_CALL, sent()));
+        BatchResponse last = batch(List.of(failed(MessagingErrorCode.UNREGISTERED)));
+        when(messaging.sendEachForMulticast(any())).thenReturn(full, full, last);
+
+        SendReport report = service.sendToDevices(tokens(FCMService.MAX_TOKENS_PER_CALL * 2 + 1), "title", "body");
+
+        verify(messaging, times(3)).sendEachForMulticast(any());
+        assertThat(report.successCount()).isEqualTo(FCMService.MAX_TOKENS_PER_CALL * 2);
+        assertThat(report.failureCount()).isOne();
+        assertThat(report.invalidTokens()).containsExactly("token-1000");
+        verify(eventBus).push(new InvalidFCMTokensDTO(List.of("token-1000")));
+    }
+
+    @Test
+    @DisplayName("Should report unregistered and rejected tokens as invalid and transient failures as retryable")
+    void shouldClassifyPerTokenErrors() throws Exception {
+        BatchResponse response = batch(List.of(
+                sent(),
+                failed(MessagingErrorCode.UNREGISTERED),
+                failed(MessagingErrorCode.INVALID_ARGUMENT),
+                failed(MessagingErrorCode.UNAVAILABLE),
+                failed(MessagingErrorCode.SENDER_ID_MISMATCH)));
+        when(messaging.sendEachForMulticast(any())).thenReturn(response);
+        List<String> tokens = new ArrayList<>(tokens(5));
+        tokens.add(null);
+        tokens.add("token-0");
+
+        SendReport report = service.sendToDevices(tokens, "title", "body");
+
+        assertThat(report.successCount()).isOne();
+        assertThat(report.failureCount()).isEqualTo(4);
+        assertThat(report.invalidTokens()).containsExactly("token-1", "token-2");
+        assertThat(report.retryableTokens()).containsExactly("token-3");
+        verify(eventBus).push(new InvalidFCMTokensDTO(List.of("token-1", "token-2")));
+    }
+
+    @Test
+    @DisplayName("Should not treat tokens as invalid when every one is rejected, as the message is at fault")
+    void shouldNotPruneTokensWhenMessageIsRejected() throws Exception {
+        BatchResponse response = batch(List.of(
+                failed(MessagingErrorCode.INVALID_ARGUMENT),
+                failed(MessagingErrorCode.INVALID_ARGUMENT)));
+        when(messaging.sendEachForMulticast(any())).thenReturn(response);
+
+        SendReport report = service.sendToDevices(tokens(2), "title", "body");
+
+        assertThat(report.failureCount()).isEqualTo(2);
+        assertThat(report.invalidTokens()).isEmpty();
+        assertThat(report.retryableTokens()).isEmpty();
+        verifyNoInteractions(eventBus);
+    }
+
+    @Test
+    @DisplayName("Should retry every token of a chunk whose call failed for a transient reason")
+    void shouldRetryChunkOnTransientFailure() throws Exception {
+        FirebaseMessagingException exception = mock(FirebaseMessagingException.class);
+        when(exception.getMessagingErrorCode()).thenReturn(MessagingErrorCode.UNAVAILABLE);
+        when(messaging.sendEachForMulticast(any())).thenThrow(exception);
+
+        SendReport report = service.sendToDevices(tokens(3), "title", "body");
+
+        assertThat(report.successCount()).isZero();
+        assertThat(report.failureCount()).isEqualTo(3);
+        assertThat(report.invalidTokens()).isEmpty();
+        assertThat(report.retryableTokens()).containsExactly("token-0", "token-1", "token-2");
+    }
+
+    @Test
+    @DisplayName("Should not retry a chunk whose call was refused")
+    void shouldNotRetryChunkOnPermanentFailure() throws Exception {
+        FirebaseMessagingException exception = mock(FirebaseMessagingException.class);
+        when(exception.getMessagingErrorCode()).thenReturn(MessagingErrorCode.SENDER_ID_MISMATCH);
+        when(messaging.sendEachForMulticast(any())).thenThrow(exception);
+
+        SendReport report = service.sendToDevices(tokens(3), "title", "body");
+
+        assertThat(report.failureCount()).isEqualTo(3);
+        assertThat(report.retryableTokens()).isEmpty();
+        verifyNoInteractions(eventBus);
+    }
+}
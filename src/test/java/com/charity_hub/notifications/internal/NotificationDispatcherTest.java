@@ -0,0 +1,286 @@
+package com.charity_hub.notifications.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationDispatcher Tests")
+class NotificationDispatcherTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(2);
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private NotificationQueue queue;
+
+    @Mock
+    private NotificationSender sender;
+
+    @Mock
+    private TopicSubscriptionBatcher subscriptionBatcher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreaker circuitBreaker;
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new CircuitBreaker(2, Duration.ofMinutes(1));
+        dispatcher = new NotificationDispatcher(queue, sender, subscriptionBatcher, new ObjectMapper(), meterRegistry,
+                1, Duration.ofMillis(10), LEASE, MAX_ATTEMPTS, Duration.ofSeconds(2), Duration.ofSeconds(10),
+                new TokenBucket(1_000, 1_000), circuitBreaker);
+    }
+
+    private static NotificationJobEntity job(String type, int attempts, String... tokens) {
+        return new NotificationJobEntity(UUID.randomUUID(), type, Arrays.asList(tokens), "CaseUpdates", "event",
+                "{}", "title", "body", NotificationJobEntity.IN_PROGRESS, attempts, Instant.now(),
+                Instant.now().plus(LEASE), null, null, null, 0);
+    }
+
+    @Nested
+    @DisplayName("Enqueueing")
+    class Enqueueing {
+
+        @Test
+        @DisplayName("Should queue device notifications with distinct non-null tokens")
+        void shouldQueueDistinctTokens() {
+            dispatcher.notifyDevices(Arrays.asList("a", null, "b", "a"), "title", "body");
+
+            ArgumentCaptor<NotificationJobEntity> captor = ArgumentCaptor.forClass(NotificationJobEntity.class);
+            verify(queue).enqueue(captor.capture());
+            assertThat(captor.getValue().type()).isEqualTo(NotificationJobEntity.DEVICES);
+            assertThat(captor.getValue().tokens()).containsExactly("a", "b");
+            assertThat(captor.getValue().status()).isEqualTo(NotificationJobEntity.PENDING);
+            verifyNoInteractions(sender);
+        }
+
+        @Test
+        @DisplayName("Should not queue anything when there are no tokens")
+        void shouldSkipEmptyTokens() {
+            dispatcher.notifyDevices(Arrays.asList(null, null), "title", "body");
+
+            verifyNoInteractions(queue);
+        }
+
+        @Test
+        @DisplayName("Should hand topic subscriptions to the batcher")
+        void shouldBatchSubscriptions() {
+            dispatcher.subscribeToTopic("CaseUpdates", Arrays.asList("a", null));
+
+            verify(subscriptionBatcher).add("CaseUpdates", List.of("a"));
+            verifyNoInteractions(queue);
+        }
+
+        @Test
+        @DisplayName("Should serialize topic payloads when queueing")
+        void shouldSerializeTopicPayload() {
+            record Payload(int caseCode) {
+            }
+
+            dispatcher.notifyTopicSubscribers("CaseUpdates", "caseCreated", new Payload(7), "title", "body");
+
+            ArgumentCaptor<NotificationJobEntity> captor = ArgumentCaptor.forClass(NotificationJobEntity.class);
+            verify(queue).enqueue(captor.capture());
+            assertThat(captor.getValue().data()).isEqualTo("{\"caseCode\":7}");
+        }
+
+        @Test
+        @DisplayName("Should queue grouped topic notifications for later")
+        void shouldQueueGroupedNotificationForLater() {
+            Instant notBefore = Instant.now().plusSeconds(10);
+            when(queue.enqueueOrReplace(any())).thenReturn(true);
+
+            dispatcher.notifyTopicSubscribers("CaseUpdates", "contributionMade", List.of(), "title", "body",
+                    "contributions:7", 3, notBefore);
+
+            ArgumentCaptor<NotificationJobEntity> captor = ArgumentCaptor.forClass(NotificationJobEntity.class);
+            verify(queue).enqueueOrReplace(captor.capture());
+            verify(queue, never()).enqueue(any());
+            assertThat(captor.getValue().type()).isEqualTo(NotificationJobEntity.TOPIC);
+            assertThat(captor.getValue().groupKey()).isEqualTo("contributions:7");
+            assertThat(captor.getValue().revision()).isEqualTo(3);
+            assertThat(captor.getValue().nextAttemptAt()).isEqualTo(notBefore);
+        }
+    }
+
+    @Nested
+    @DisplayName("Dispatching")
+    class Dispatching {
+
+        @Test
+        @DisplayName("Should report nothing to do when the queue is empty")
+        void shouldReturnFalseWhenQueueEmpty() throws InterruptedException {
+            when(queue.claim(LEASE)).thenReturn(null);
+
+            assertThat(dispatcher.dispatchNext()).isFalse();
+            assertThat(circuitBreaker.tryAcquire()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should send and complete a job")
+        void shouldSendAndComplete() throws InterruptedException {
+            var job = job(NotificationJobEntity.DEVICES, 1, "a", "b");
+            when(queue.claim(LEASE)).thenReturn(job);
+            when(sender.sendToDevices(job.tokens(), "title", "body")).thenReturn(SendReport.delivered(2));
+
+            assertThat(dispatcher.dispatchNext()).isTrue();
+
+            verify(queue).complete(job._id());
+            assertThat(meterRegistry.get("notifications.dispatch").tag("outcome", "sent").timer().count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should retry only the tokens that failed transiently")
+        void shouldRetryRetryableTokens() throws InterruptedException {
+            var job = job(NotificationJobEntity.DEVICES, 1, "a", "b", "c");
+            when(queue.claim(LEASE)).thenReturn(job);
+            when(sender.sendToDevices(job.tokens(), "title", "body"))
+                    .thenReturn(new SendReport(1, 2, List.of("b"), List.of("c")));
+
+            dispatcher.dispatchNext();
+
+            verify(queue).retry(eq(job._id()), eq(List.of("c")), any(Instant.class), anyString());
+            verify(queue, never()).complete(any());
+        }
+
+        @Test
+        @DisplayName("Should reschedule a job after a retryable failure")
+        void shouldRescheduleRetryableFailure() throws InterruptedException {
+            var job = job(NotificationJobEntity.TOPIC, 1);
+            when(queue.claim(LEASE)).thenReturn(job);
+            doThrow(new SendFailedException("unavailable", true, null))
+                    .when(sender).sendToTopic("CaseUpdates", "event", "{}", "title", "body");
+
+            dispatcher.dispatchNext();
+
+            ArgumentCaptor<Instant> nextAttempt = ArgumentCaptor.forClass(Instant.class);
+            verify(queue).retry(eq(job._id()), eq(job.tokens()), nextAttempt.capture(), eq("unavailable"));
+            assertThat(nextAttempt.getValue()).isAfter(Instant.now().plusMillis(900));
+        }
+
+        @Test
+        @DisplayName("Should give up after the last attempt")
+        void shouldFailAfterMaxAttempts() throws InterruptedException {
+            var job = job(NotificationJobEntity.TOPIC, MAX_ATTEMPTS);
+            when(queue.claim(LEASE)).thenReturn(job);
+            doThrow(new SendFailedException("unavailable", true, null))
+                    .when(sender).sendToTopic(any(), any(), any(), any(), any());
+
+            dispatcher.dispatchNext();
+
+            verify(queue).fail(job._id(), "unavailable");
+            verify(queue, never()).retry(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should drop rejected requests without retrying")
+        void shouldFailRejectedRequests() throws InterruptedException {
+            var job = job(NotificationJobEntity.SUBSCRIBE, 1, "a");
+            when(queue.claim(LEASE)).thenReturn(job);
+            doThrow(new SendFailedException("invalid topic", false, null))
+                    .when(sender).subscribeToTopic("CaseUpdates", job.tokens());
+
+            dispatcher.dispatchNext();
+
+            verify(queue).fail(job._id(), "invalid topic");
+            assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        }
+
+        @Test
+        @DisplayName("Should remember subscribed tokens and retry the ones that failed transiently")
+        void shouldMarkSubscribedTokens() throws InterruptedException {
+            var job = job(NotificationJobEntity.SUBSCRIBE, 1, "a", "b", "c");
+            when(queue.claim(LEASE)).thenReturn(job);
+            when(sender.subscribeToTopic("CaseUpdates", job.tokens()))
+                    .thenReturn(new SendReport(1, 2, List.of("b"), List.of("c")));
+
+            dispatcher.dispatchNext();
+
+            verify(subscriptionBatcher).markSubscribed("CaseUpdates", List.of("a"));
+            verify(queue).retry(eq(job._id()), eq(List.of("c")), any(Instant.class), anyString());
+        }
+
+        @Test
+        @DisplayName("Should stop claiming jobs once the circuit breaker opens")
+        void shouldStopClaimingWhenBreakerOpens() throws InterruptedException {
+            when(queue.claim(LEASE)).thenAnswer(invocation -> job(NotificationJobEntity.TOPIC, 1));
+            doThrow(new SendFailedException("unavailable", true, null))
+                    .when(sender).sendToTopic(any(), any(), any(), any(), any());
+
+            dispatcher.dispatchNext();
+            dispatcher.dispatchNext();
+            boolean dispatched = dispatcher.dispatchNext();
+
+            assertThat(dispatched).isFalse();
+            assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+            verify(queue, times(2)).claim(LEASE);
+        }
+    }
+
+    @Nested
+    @DisplayName("Backoff and rate limiting")
+    class BackoffAndRateLimiting {
+
+        @Test
+        @DisplayName("Should grow the backoff exponentially with jitter up to the maximum")
+        void shouldBackOffExponentially() {
+            assertThat(dispatcher.backoff(1)).isBetween(Duration.ofSeconds(1), Duration.ofSeconds(2));
+            assertThat(dispatcher.backoff(2)).isBetween(Duration.ofSeconds(2), Duration.ofSeconds(4));
+            assertThat(dispatcher.backoff(10)).isBetween(Duration.ofSeconds(5), Duration.ofSeconds(10));
+        }
+
+        @Test
+        @DisplayName("Should make callers wait once the bucket is drained")
+        void shouldWaitWhenBucketDrained() {
+            AtomicLong clock = new AtomicLong();
+            TokenBucket bucket = new TokenBucket(10, 10, clock::get);
+
+            assertThat(bucket.reserve(10)).isZero();
+            assertThat(bucket.reserve(5)).isCloseTo(TimeUnit.MILLISECONDS.toNanos(500), within(1_000L));
+
+            clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+            assertThat(bucket.reserve(5)).isZero();
+        }
+
+        @Test
+        @DisplayName("Should let one trial call through after the open period")
+        void shouldHalfOpenAfterOpenDuration() {
+            AtomicLong clock = new AtomicLong();
+            CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofSeconds(30), clock::get);
+            breaker.onFailure();
+            assertThat(breaker.tryAcquire()).isFalse();
+
+            clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+            assertThat(breaker.tryAcquire()).isTrue();
+            assertThat(breaker.tryAcquire()).isFalse();
+            breaker.onSuccess();
+            assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.charity_hub.notifications.internal;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.mongodb.client.model.Filters.eq;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("NotificationQueue Integration Tests")
+@SuppressWarnings("resource") // MongoDBContainer is managed by Testcontainers lifecycle
+class NotificationQueueIntegrationTest {
+
+    private static final MongoDBContainer mongoDBContainer;
+
+    static {
+        mongoDBContainer = new MongoDBContainer("mongo:7.0")
+                .withStartupTimeout(Duration.ofMinutes(2))
+                .withReuse(true);
+        mongoDBContainer.start();
+    }
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    // Far enough out that no worker claims the jobs during the test
+    private static final Instant NOT_BEFORE = Instant.now().plus(Duration.ofHours(1));
+
+    @Autowired
+    private NotificationQueue queue;
+
+    @Autowired
+    private MongoDatabase mongoDatabase;
+
+    private final String groupKey = "test:" + UUID.randomUUID();
+
+    private MongoCollection<Document> jobs() {
+        return mongoDatabase.getCollection("notification_jobs");
+    }
+
+    private static NotificationJobEntity job(String groupKey, long revision) {
+        return NotificationJobEntity.grouped("CaseUpdates", "event", "{}", "title " + revision, "body",
+                groupKey, revision, NOT_BEFORE);
+    }
+
+    @BeforeEach
+    void awaitGroupIndex() throws InterruptedException {
+        // MongoIndexes builds it in the background after startup
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!hasGroupIndex() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(hasGroupIndex()).isTrue();
+    }
+
+    private boolean hasGroupIndex() {
+        return jobs().listIndexes().into(new ArrayList<>()).stream()
+                .anyMatch(index -> "groupKey_1".equals(index.getString("name")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobs().deleteMany(eq("groupKey", groupKey));
+    }
+
+    @Test
+    @DisplayName("Should keep one job per group with the content of the newest revision")
+    void shouldReplacePendingJobWithNewerRevision() {
+        assertThat(queue.enqueueOrReplace(job(groupKey, 1))).isTrue();
+        assertThat(queue.enqueueOrReplace(job(groupKey, 3))).isTrue();
+        assertThat(queue.enqueueOrReplace(job(groupKey, 2))).isFalse();
+
+        List<Document> queued = jobs().find(eq("groupKey", groupKey)).into(new ArrayList<>());
+        assertThat(queued).hasSize(1);
+        assertThat(queued.get(0).getString("title")).isEqualTo("title 3");
+        assertThat(queued.get(0).getDate("nextAttemptAt").toInstant()).isEqualTo(NOT_BEFORE.truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    @Test
+    @DisplayName("Should not queue a group again once its job was claimed")
+    void shouldDropRevisionsOnceClaimed() {
+        queue.enqueueOrReplace(job(groupKey, 1));
+        jobs().updateOne(eq("groupKey", groupKey), Updates.set("status", NotificationJobEntity.IN_PROGRESS));
+
+        assertThat(queue.enqueueOrReplace(job(groupKey, 2))).isFalse();
+
+        assertThat(jobs().countDocuments(eq("groupKey", groupKey))).isOne();
+        assertThat(jobs().find(eq("groupKey", groupKey)).first().getString("title")).isEqualTo("title 1");
+    }
+}
@@ -0,0 +1,125 @@
+package com.charity_hub.notifications.internal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TopicSubscriptionBatcher Tests")
+class TopicSubscriptionBatcherTest {
+
+    @Mock
+    private NotificationQueue queue;
+
+    @Mock
+    private TopicSubscriptions subscriptions;
+
+    private TopicSubscriptionBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        // Long window so only size and explicit flushes trigger in these tests
+        batcher = new TopicSubscriptionBatcher(queue, subscriptions, Duration.ofMinutes(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.flushAll();
+    }
+
+    @Test
+    @DisplayName("Should hold tokens until the window closes and send them as one job")
+    void shouldBatchTokensWithinWindow() {
+        when(subscriptions.findSubscribed(eq("CaseUpdates"), anyCollection())).thenReturn(Set.of());
+
+        batcher.add("CaseUpdates", List.of("a"));
+        batcher.add("CaseUpdates", List.of("b", "a"));
+        verifyNoInteractions(queue);
+
+        batcher.flush("CaseUpdates");
+
+        ArgumentCaptor<NotificationJobEntity> captor = ArgumentCaptor.forClass(NotificationJobEntity.class);
+        verify(queue).enqueue(captor.capture());
+        assertThat(captor.getValue().type()).isEqualTo(NotificationJobEntity.SUBSCRIBE);
+        assertThat(captor.getValue().topic()).isEqualTo("CaseUpdates");
+        assertThat(captor.getValue().tokens()).containsExactly("a", "b");
+    }
+
+    @Test
+    @DisplayName("Should send a full batch without waiting for the window")
+    void shouldFlushFullBatch() {
+        when(subscriptions.findSubscribed(eq("CaseUpdates"), anyCollection())).thenReturn(Set.of());
+        List<String> tokens = IntStream.range(0, TopicSubscriptionBatcher.MAX_TOKENS_PER_CALL)
+                .mapToObj(i -> "token-" + i)
+                .toList();
+
+        batcher.add("CaseUpdates", tokens);
+
+        ArgumentCaptor<NotificationJobEntity> captor = ArgumentCaptor.forClass(NotificationJobEntity.class);
+        verify(queue).enqueue(captor.capture());
+        assertThat(captor.getValue().tokens()).hasSize(TopicSubscriptionBatcher.MAX_TOKENS_PER_CALL);
+    }
+
+    @Test
+    @DisplayName("Should give a batch started after a full one its own window")
+    void shouldNotFlushNextBatchOnPreviousWindow() {
+        when(subscriptions.findSubscribed(eq("CaseUpdates"), anyCollection())).thenReturn(Set.of());
+        TopicSubscriptionBatcher windowed = new TopicSubscriptionBatcher(queue, subscriptions, Duration.ofSeconds(1));
+        List<String> tokens = IntStream.range(0, TopicSubscriptionBatcher.MAX_TOKENS_PER_CALL)
+                .mapToObj(i -> "token-" + i)
+                .toList();
+        try {
+            windowed.add("CaseUpdates", tokens);
+            verify(queue).enqueue(any());
+
+            // Past the first batch's window at 1s, before the second's at 1.5s
+            verify(queue, after(500).times(1)).enqueue(any());
+            windowed.add("CaseUpdates", List.of("late"));
+            verify(queue, after(800).times(1)).enqueue(any());
+
+            verify(queue, timeout(2000).times(2)).enqueue(any());
+        } finally {
+            windowed.flushAll();
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave out tokens that are already subscribed")
+    void shouldSkipSubscribedTokens() {
+        when(subscriptions.findSubscribed(eq("CaseUpdates"), anyCollection())).thenReturn(Set.of("a"));
+
+        batcher.add("CaseUpdates", List.of("a", "b"));
+        batcher.flush("CaseUpdates");
+
+        ArgumentCaptor<NotificationJobEntity> captor = ArgumentCaptor.forClass(NotificationJobEntity.class);
+        verify(queue).enqueue(captor.capture());
+        assertThat(captor.getValue().tokens()).containsExactly("b");
+    }
+
+    @Test
+    @DisplayName("Should not queue a job when every token is already subscribed")
+    void shouldNotQueueWhenAllSubscribed() {
+        when(subscriptions.findSubscribed(eq("CaseUpdates"), anyCollection())).thenReturn(Set.of("a"));
+
+        batcher.add("CaseUpdates", List.of("a"));
+        batcher.flush("CaseUpdates");
+
+        verify(queue, never()).enqueue(any());
+    }
+}
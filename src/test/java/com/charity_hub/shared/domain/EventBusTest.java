@@ -0,0 +1,182 @@
+package com.charity_hub.shared.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("EventBus Tests")
+class EventBusTest {
+
+    sealed interface TestEvent permits FirstEvent, SecondEvent {
+    }
+
+    record FirstEvent(int value) implements TestEvent {
+    }
+
+    record SecondEvent(int value) implements TestEvent {
+    }
+
+    @Nested
+    @DisplayName("Sync mode")
+    class SyncMode {
+
+        @Test
+        @DisplayName("Should deliver events to listeners of the event type and its supertypes")
+        void shouldDeliverToMatchingListeners() {
+            EventBus eventBus = new EventBus();
+            List<Object> first = new CopyOnWriteArrayList<>();
+            List<Object> all = new CopyOnWriteArrayList<>();
+            eventBus.subscribe(this, FirstEvent.class, first::add);
+            eventBus.subscribe(this, TestEvent.class, all::add);
+
+            eventBus.push(new FirstEvent(1));
+            eventBus.push(new SecondEvent(2));
+
+            assertThat(first).containsExactly(new FirstEvent(1));
+            assertThat(all).containsExactly(new FirstEvent(1), new SecondEvent(2));
+        }
+
+        @Test
+        @DisplayName("Should stop delivering after unsubscribe")
+        void shouldStopDeliveringAfterUnsubscribe() {
+            EventBus eventBus = new EventBus();
+            List<Object> received = new CopyOnWriteArrayList<>();
+            eventBus.subscribe(this, FirstEvent.class, received::add);
+            eventBus.push(new FirstEvent(1));
+
+            eventBus.unsubscribe(this);
+            eventBus.push(new FirstEvent(2));
+
+            assertThat(received).containsExactly(new FirstEvent(1));
+        }
+
+        @Test
+        @DisplayName("Should reject a second listener with the same id")
+        void shouldRejectDuplicateListenerId() {
+            EventBus eventBus = new EventBus();
+            eventBus.subscribe(this, FirstEvent.class, event -> { });
+
+            assertThatThrownBy(() -> eventBus.subscribe(new SyncMode(), FirstEvent.class, event -> { }))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("already subscribed");
+        }
+    }
+
+    @Nested
+    @DisplayName("Async mode")
+    class AsyncMode {
+
+        @Test
+        @DisplayName("Should not block the publisher on slow handlers")
+        void shouldNotBlockPublisher() throws InterruptedException {
+            EventBus eventBus = asyncEventBus(100, 1);
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch handled = new CountDownLatch(1);
+            eventBus.subscribe(this, FirstEvent.class, event -> {
+                await(release);
+                handled.countDown();
+            });
+
+            eventBus.push(new FirstEvent(1));
+
+            assertThat(handled.getCount()).isEqualTo(1);
+            release.countDown();
+            assertThat(handled.await(5, TimeUnit.SECONDS)).isTrue();
+            eventBus.stop();
+        }
+
+        @Test
+        @DisplayName("Should respect per-subscriber concurrency limit")
+        void shouldRespectConcurrencyLimit() throws InterruptedException {
+            EventBus eventBus = asyncEventBus(100, 2);
+            AtomicInteger inFlight = new AtomicInteger();
+            AtomicInteger maxInFlight = new AtomicInteger();
+            CountDownLatch handled = new CountDownLatch(20);
+            eventBus.subscribe(this, FirstEvent.class, event -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                sleep(5);
+                inFlight.decrementAndGet();
+                handled.countDown();
+            });
+
+            for (int i = 0; i < 20; i++) {
+                eventBus.push(new FirstEvent(i));
+            }
+
+            assertThat(handled.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+            eventBus.stop();
+        }
+
+        @Test
+        @DisplayName("Should drain queued events on stop")
+        void shouldDrainQueuedEventsOnStop() {
+            EventBus eventBus = asyncEventBus(100, 1);
+            AtomicInteger handled = new AtomicInteger();
+            eventBus.subscribe(this, FirstEvent.class, event -> {
+                sleep(2);
+                handled.incrementAndGet();
+            });
+
+            for (int i = 0; i < 50; i++) {
+                eventBus.push(new FirstEvent(i));
+            }
+            eventBus.stop();
+
+            assertThat(handled.get()).isEqualTo(50);
+        }
+
+        @Test
+        @DisplayName("Should handle on caller thread when queue is full")
+        void shouldHandleOnCallerThreadWhenQueueIsFull() {
+            EventBus eventBus = asyncEventBus(1, 1);
+            CountDownLatch release = new CountDownLatch(1);
+            List<Thread> threads = new CopyOnWriteArrayList<>();
+            eventBus.subscribe(this, FirstEvent.class, event -> {
+                threads.add(Thread.currentThread());
+                if (event.value() == 0) {
+                    await(release);
+                }
+            });
+
+            eventBus.push(new FirstEvent(0));
+            sleep(50); // let the worker pick up the first event
+            eventBus.push(new FirstEvent(1));
+            eventBus.push(new FirstEvent(2));
+
+            assertThat(threads).contains(Thread.currentThread());
+            release.countDown();
+            eventBus.stop();
+        }
+    }
+
+    private static EventBus asyncEventBus(int queueCapacity, int maxConcurrency) {
+        return new EventBus(true, queueCapacity, maxConcurrency, Duration.ofSeconds(5), EventBusMonitor.NONE);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
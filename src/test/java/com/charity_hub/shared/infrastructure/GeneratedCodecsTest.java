@@ -0,0 +1,98 @@
+package com.charity_hub.shared.infrastructure;
+
+import com.charity_hub.accounts.internal.shell.db.AccountEntity;
+import com.charity_hub.accounts.internal.shell.db.DeviceEntity;
+import com.charity_hub.accounts.internal.shell.db.InvitationEntity;
+import com.charity_hub.cases.internal.infrastructure.db.CaseEntity;
+import com.charity_hub.cases.internal.infrastructure.db.ContributionEntity;
+import com.charity_hub.ledger.internal.infrastructure.db.MemberEntity;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonInt64;
+import org.bson.BsonNull;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Generated BSON codecs Tests")
+class GeneratedCodecsTest {
+
+    private final CodecRegistry generated = MongoDBConfig.codecRegistry(true);
+    private final CodecRegistry reflective = MongoDBConfig.codecRegistry(false);
+
+    static Stream<Record> entities() {
+        return Stream.of(
+                new CaseEntity(20040, "Title", "Description", 10_000, 2_500, CaseEntity.STATUS_OPENED, true,
+                        1_700_000_000_000L, 1_700_000_100_000L, List.of("food", "rent"), List.of("doc-1"), 3),
+                new ContributionEntity("c-1", "u-1", 20040, 500, ContributionEntity.STATUS_PAID,
+                        1_700_000_000_000L, "proof.jpg"),
+                new AccountEntity("u-1", "201000000000", "Name", "photo.jpg", false, 1L, 2L,
+                        List.of("FULL_ACCESS"), List.of(new DeviceEntity("d-1", "android", "refresh", "fcm", 3L, "en")), 4L),
+                new MemberEntity("u-1", List.of("u-0"), "u-0", List.of("u-2", "u-3")),
+                new InvitationEntity("201000000001", "u-1")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("entities")
+    @DisplayName("Should use the generated codec for annotated entities")
+    void shouldResolveGeneratedCodec(Record entity) {
+        Codec<?> codec = generated.get(entity.getClass());
+
+        assertThat(codec.getClass().getSimpleName()).isEqualTo(entity.getClass().getSimpleName() + "Codec");
+    }
+
+    @ParameterizedTest
+    @MethodSource("entities")
+    @DisplayName("Should write the same document as the driver's record codec")
+    void shouldMatchReflectiveEncoding(Record entity) {
+        assertThat(encode(generated, entity)).isEqualTo(encode(reflective, entity));
+    }
+
+    @ParameterizedTest
+    @MethodSource("entities")
+    @DisplayName("Should read documents written by the driver's record codec")
+    void shouldDecodeReflectiveDocuments(Record entity) {
+        BsonDocument document = encode(reflective, entity);
+
+        assertThat(decode(generated, entity.getClass(), document)).isEqualTo(entity);
+    }
+
+    @Test
+    @DisplayName("Should read nulls, widened numbers and unknown fields")
+    void shouldDecodeLeniently() {
+        BsonDocument document = encode(reflective, entities().findFirst().orElseThrow());
+        document.put("collected", new BsonInt64(2_600));
+        document.put("title", BsonNull.VALUE);
+        document.put("_id", new BsonInt64(1));
+
+        CaseEntity decoded = decode(generated, CaseEntity.class, document);
+
+        assertThat(decoded.collected()).isEqualTo(2_600);
+        assertThat(decoded.title()).isNull();
+        assertThat(decoded.tags()).containsExactly("food", "rent");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> BsonDocument encode(CodecRegistry registry, T entity) {
+        BsonDocument document = new BsonDocument();
+        Codec<T> codec = (Codec<T>) registry.get(entity.getClass());
+        codec.encode(new BsonDocumentWriter(document), entity, EncoderContext.builder().build());
+        return document;
+    }
+
+    private static <T> T decode(CodecRegistry registry, Class<T> type, BsonDocument document) {
+        return registry.get(type).decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+}
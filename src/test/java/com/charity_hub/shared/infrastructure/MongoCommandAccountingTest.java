@@ -0,0 +1,195 @@
+package com.charity_hub.shared.infrastructure;
+
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Mongo command accounting Tests")
+class MongoCommandAccountingTest {
+
+    private final MongoCommandAccounting accounting = new MongoCommandAccounting();
+
+    @Nested
+    @DisplayName("MongoCommandAccounting")
+    class Scopes {
+
+        @Test
+        @DisplayName("Should count commands, time and returned documents per collection")
+        void shouldCountCommandsInScope() {
+            try (MongoCommandAccounting.Scope scope = MongoCommandAccounting.openScope()) {
+                find("cases", 3, 2);
+                find("accounts", 1, 1);
+                getMore("cases", 5, 1);
+
+                MongoCommandStats stats = scope.stats();
+                assertThat(stats.commands()).isEqualTo(3);
+                assertThat(stats.documents()).isEqualTo(9);
+                assertThat(stats.nanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(4));
+                assertThat(stats.byCommand()).isEqualTo(Map.of("find cases", 1, "find accounts", 1, "getMore cases", 1));
+            }
+        }
+
+        @Test
+        @DisplayName("Should add nested scopes to the outer one")
+        void shouldAddNestedScopes() {
+            try (MongoCommandAccounting.Scope outer = MongoCommandAccounting.openScope()) {
+                find("cases", 1, 1);
+                try (MongoCommandAccounting.Scope inner = MongoCommandAccounting.openScope()) {
+                    find("contributions", 10, 1);
+                    find("contributions", 10, 1);
+                    assertThat(inner.stats().commands()).isEqualTo(2);
+                }
+                assertThat(outer.stats().commands()).isEqualTo(3);
+                assertThat(outer.stats().byCommand()).containsEntry("find contributions", 2);
+            }
+        }
+
+        @Test
+        @DisplayName("Should ignore commands outside a scope")
+        void shouldIgnoreCommandsOutsideScope() {
+            find("cases", 1, 1);
+
+            try (MongoCommandAccounting.Scope scope = MongoCommandAccounting.openScope()) {
+                assertThat(scope.stats().commands()).isZero();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("MongoCommandAccountingFilter")
+    class Filter {
+
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        @Test
+        @DisplayName("Should record commands per endpoint and expose them in Server-Timing")
+        void shouldRecordPerEndpoint() throws Exception {
+            MongoCommandAccountingFilter filter = new MongoCommandAccountingFilter(meterRegistry, true, 10, true);
+            MockHttpServletRequest request = request();
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            FilterChain chain = (req, res) -> {
+                find("cases", 1, 2);
+                find("contributions", 4, 3);
+                res.getOutputStream().write("{}".getBytes());
+            };
+
+            filter.doFilter(request, response, chain);
+
+            assertThat(response.getHeader("Server-Timing")).isEqualTo("db;dur=5.0;desc=\"2 commands\"");
+            assertThat(meterRegistry.get("http.server.db.calls").tag("uri", "/v1/cases/{caseCode}")
+                    .summary().totalAmount()).isEqualTo(2);
+            assertThat(meterRegistry.get("http.server.db.time").tag("method", "GET")
+                    .timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5);
+            assertThat(meterRegistry.find("http.server.db.budget.exceeded").counter()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should stamp Server-Timing on a streamed response when the body is flushed")
+        void shouldStampStreamedResponseOnFlush() throws Exception {
+            MongoCommandAccountingFilter filter = new MongoCommandAccountingFilter(meterRegistry, true, 10, true);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            FilterChain chain = (req, res) -> {
+                ServletOutputStream out = res.getOutputStream();
+                find("cases", 1, 1);
+                out.write("[".getBytes());
+                getMore("cases", 1, 2);
+                out.flush();
+                getMore("cases", 1, 4);
+                out.write("]".getBytes());
+            };
+
+            filter.doFilter(request(), response, chain);
+
+            assertThat(response.isCommitted()).isTrue();
+            assertThat(response.getHeader("Server-Timing")).isEqualTo("db;dur=3.0;desc=\"2 commands\"");
+            assertThat(response.getContentAsString()).isEqualTo("[]");
+        }
+
+        @Test
+        @DisplayName("Should stamp Server-Timing before a streamed body outgrows the buffer")
+        void shouldStampStreamedResponseBeforeBufferOverflows() throws Exception {
+            MongoCommandAccountingFilter filter = new MongoCommandAccountingFilter(meterRegistry, true, 10, true);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            response.setBufferSize(8);
+            FilterChain chain = (req, res) -> {
+                ServletOutputStream out = res.getOutputStream();
+                find("cases", 1, 1);
+                out.write("[1,".getBytes());
+                getMore("cases", 1, 1);
+                out.write("2,3,4,5]".getBytes());
+                getMore("cases", 1, 1);
+            };
+
+            filter.doFilter(request(), response, chain);
+
+            assertThat(response.getHeader("Server-Timing")).isEqualTo("db;dur=2.0;desc=\"2 commands\"");
+        }
+
+        @Test
+        @DisplayName("Should count requests over the command budget")
+        void shouldCountRequestsOverBudget() throws Exception {
+            MongoCommandAccountingFilter filter = new MongoCommandAccountingFilter(meterRegistry, true, 2, false);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            FilterChain chain = (req, res) -> {
+                for (int i = 0; i < 5; i++) {
+                    find("accounts", 1, 1);
+                }
+            };
+
+            filter.doFilter(request(), response, chain);
+
+            assertThat(response.getHeader("Server-Timing")).isNull();
+            assertThat(meterRegistry.get("http.server.db.budget.exceeded").counter().count()).isEqualTo(1);
+        }
+
+        private MockHttpServletRequest request() {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/cases/20040");
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/v1/cases/{caseCode}");
+            return request;
+        }
+    }
+
+    private void find(String collection, int returned, long millis) {
+        run("find", new BsonDocument("find", new BsonString(collection)), "firstBatch", returned, millis);
+    }
+
+    private void getMore(String collection, int returned, long millis) {
+        run("getMore", new BsonDocument("getMore", new BsonInt64(1)).append("collection", new BsonString(collection)),
+                "nextBatch", returned, millis);
+    }
+
+    private void run(String commandName, BsonDocument command, String batch, int returned, long millis) {
+        CommandStartedEvent started = mock(CommandStartedEvent.class);
+        when(started.getCommandName()).thenReturn(commandName);
+        when(started.getCommand()).thenReturn(command);
+        accounting.commandStarted(started);
+
+        BsonArray documents = new BsonArray(Collections.nCopies(returned, new BsonDocument("_id", new BsonInt32(1))));
+        CommandSucceededEvent succeeded = mock(CommandSucceededEvent.class);
+        when(succeeded.getCommandName()).thenReturn(commandName);
+        when(succeeded.getResponse()).thenReturn(new BsonDocument("cursor", new BsonDocument(batch, documents)));
+        when(succeeded.getElapsedTime(TimeUnit.NANOSECONDS)).thenReturn(TimeUnit.MILLISECONDS.toNanos(millis));
+        accounting.commandSucceeded(succeeded);
+    }
+}
@@ -0,0 +1,85 @@
+package com.charity_hub.shared.infrastructure;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoNamespace;
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("MongoIndexes Tests")
+class MongoIndexesTest {
+
+    private final Bson keys = Indexes.ascending("mobileNumber");
+    private final MongoIndexes indexes = new MongoIndexes(Duration.ofMillis(10));
+    private MongoCollection<Document> collection;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        collection = mock(MongoCollection.class);
+        when(collection.getNamespace()).thenReturn(new MongoNamespace("charity_hub", "invitations"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        indexes.stop();
+    }
+
+    @Test
+    @DisplayName("Should not touch the server before the context has started")
+    void shouldDeferUntilStarted() {
+        indexes.ensure(collection, keys);
+
+        verify(collection, never()).createIndex(any(Bson.class), any(IndexOptions.class));
+
+        indexes.start();
+
+        verify(collection, timeout(1_000)).createIndex(eq(keys), any(IndexOptions.class));
+    }
+
+    @Test
+    @DisplayName("Should retry indexes that failed because the server was unavailable")
+    void shouldRetryUnavailableServer() {
+        when(collection.createIndex(eq(keys), any(IndexOptions.class)))
+                .thenThrow(new MongoTimeoutException("no server"))
+                .thenReturn("mobileNumber_1");
+
+        indexes.ensure(collection, keys);
+        indexes.start();
+
+        verify(collection, timeout(1_000).times(2)).createIndex(eq(keys), any(IndexOptions.class));
+    }
+
+    @Test
+    @DisplayName("Should drop indexes the server rejects and carry on with the rest")
+    void shouldDropRejectedIndexes() {
+        Bson other = Indexes.ascending("invitedBy");
+        when(collection.createIndex(eq(keys), any(IndexOptions.class))).thenThrow(new MongoCommandException(
+                new BsonDocument("code", new BsonInt32(11000)).append("errmsg", new BsonString("duplicate key")),
+                new ServerAddress()));
+
+        indexes.ensure(collection, keys, new IndexOptions().unique(true));
+        indexes.ensure(collection, other);
+        indexes.start();
+
+        verify(collection, timeout(1_000)).createIndex(eq(other), any(IndexOptions.class));
+        verify(collection, after(50).times(1)).createIndex(eq(keys), any(IndexOptions.class));
+    }
+}
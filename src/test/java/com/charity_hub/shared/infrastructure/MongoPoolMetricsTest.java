@@ -0,0 +1,93 @@
+package com.charity_hub.shared.infrastructure;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionId;
+import com.mongodb.connection.ConnectionPoolSettings;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("MongoPoolMetrics Tests")
+class MongoPoolMetricsTest {
+
+    private final ServerId serverId = new ServerId(new ClusterId(), new ServerAddress());
+    private final ConnectionId connectionId = new ConnectionId(serverId);
+
+    private SimpleMeterRegistry registry;
+    private MongoPoolMetrics metrics;
+    private MongoPoolHealthIndicator health;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new MongoPoolMetrics(registry, Duration.ofMillis(200));
+        health = new MongoPoolHealthIndicator(metrics, Duration.ofMinutes(1));
+        metrics.connectionPoolCreated(new ConnectionPoolCreatedEvent(serverId,
+                ConnectionPoolSettings.builder().maxSize(4).build()));
+    }
+
+    @Test
+    @DisplayName("Should track waiting and checked-out connections")
+    void shouldTrackPoolUsage() {
+        metrics.connectionCreated(new ConnectionCreatedEvent(connectionId));
+        metrics.connectionCheckOutStarted(new ConnectionCheckOutStartedEvent(serverId, 1));
+        metrics.connectionCheckOutStarted(new ConnectionCheckOutStartedEvent(serverId, 2));
+
+        assertThat(registry.get("mongodb.pool.waitqueue").gauge().value()).isEqualTo(2);
+
+        metrics.connectionCheckedOut(new ConnectionCheckedOutEvent(connectionId, 1, TimeUnit.MILLISECONDS.toNanos(3)));
+
+        assertThat(registry.get("mongodb.pool.waitqueue").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("mongodb.pool.checkedout").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("mongodb.pool.utilization").gauge().value()).isEqualTo(0.25);
+        assertThat(registry.get("mongodb.pool.checkout.wait").tag("outcome", "success").timer().count()).isEqualTo(1);
+
+        metrics.connectionCheckedIn(new ConnectionCheckedInEvent(connectionId, 1));
+
+        assertThat(registry.get("mongodb.pool.checkedout").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should report UP while checkouts are fast")
+    void shouldBeUpWhenFast() {
+        metrics.connectionCheckOutStarted(new ConnectionCheckOutStartedEvent(serverId, 1));
+        metrics.connectionCheckedOut(new ConnectionCheckedOutEvent(connectionId, 1, TimeUnit.MILLISECONDS.toNanos(5)));
+
+        assertThat(health.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    @DisplayName("Should degrade after a slow checkout")
+    void shouldDegradeOnSlowCheckout() {
+        metrics.connectionCheckOutStarted(new ConnectionCheckOutStartedEvent(serverId, 1));
+        metrics.connectionCheckedOut(new ConnectionCheckedOutEvent(connectionId, 1, TimeUnit.MILLISECONDS.toNanos(750)));
+
+        Health result = health.health();
+
+        assertThat(result.getStatus()).isEqualTo(MongoPoolHealthIndicator.DEGRADED);
+        assertThat(result.getDetails()).containsEntry("lastSlowCheckoutWaitMs", 750L);
+    }
+
+    @Test
+    @DisplayName("Should degrade and count the failure when a checkout times out")
+    void shouldDegradeOnCheckoutTimeout() {
+        metrics.connectionCheckOutStarted(new ConnectionCheckOutStartedEvent(serverId, 1));
+        metrics.connectionCheckOutFailed(new ConnectionCheckOutFailedEvent(serverId, 1,
+                ConnectionCheckOutFailedEvent.Reason.TIMEOUT, TimeUnit.SECONDS.toNanos(5)));
+
+        assertThat(registry.get("mongodb.pool.waitqueue").gauge().value()).isZero();
+        assertThat(registry.get("mongodb.pool.checkout.failures").tag("reason", "TIMEOUT").counter().count()).isEqualTo(1);
+        assertThat(health.health().getStatus()).isEqualTo(MongoPoolHealthIndicator.DEGRADED);
+    }
+}
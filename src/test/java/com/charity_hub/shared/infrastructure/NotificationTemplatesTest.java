@@ -0,0 +1,68 @@
+package com.charity_hub.shared.infrastructure;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("NotificationTemplates Tests")
+class NotificationTemplatesTest {
+
+    private final NotificationTemplates templates = new NotificationTemplates(new String[]{"ar", "en"}, "ar");
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ar", "en"})
+    @DisplayName("Should render every template like MessageFormat does")
+    void shouldMatchMessageFormat(String language) {
+        Locale locale = Locale.forLanguageTag(language);
+        ResourceBundle bundle = ResourceBundle.getBundle("messages", locale);
+        Object[] args = {1234567, "Ahmed"};
+
+        bundle.keySet().stream()
+                .filter(key -> key.startsWith("notification."))
+                .filter(key -> bundle.getString(key).contains("{"))
+                .forEach(key -> assertThat(templates.render(key, locale, args))
+                        .as(key)
+                        .isEqualTo(new MessageFormat(bundle.getString(key), locale).format(args)));
+    }
+
+    @Test
+    @DisplayName("Should render in the recipient's language")
+    void shouldRenderPerLocale() {
+        assertThat(templates.render("notification.contribution.reminder.title", templates.resolve("en")))
+                .isEqualTo("Contribution Payment Reminder");
+        assertThat(templates.render("notification.contribution.reminder.title", templates.resolve("ar")))
+                .isEqualTo("تذكير بدفع المشاركات السابقة");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the default language for unknown or missing languages")
+    void shouldFallBackToDefaultLocale() {
+        assertThat(templates.resolve("fr")).isEqualTo(Locale.forLanguageTag("ar"));
+        assertThat(templates.resolve(null)).isEqualTo(Locale.forLanguageTag("ar"));
+        assertThat(templates.render("notification.case.new.title", Locale.FRENCH))
+                .isEqualTo(templates.render("notification.case.new.title"));
+    }
+
+    @Test
+    @DisplayName("Should split variants once and keep apostrophes as written")
+    void shouldSplitVariants() {
+        assertThat(templates.variants("notification.contribution.messages", Locale.ENGLISH))
+                .hasSize(6)
+                .contains("Charity extinguishes the Lord's anger", "Great hopes in Allah");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown keys")
+    void shouldRejectUnknownKeys() {
+        assertThatThrownBy(() -> templates.render("notification.unknown"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
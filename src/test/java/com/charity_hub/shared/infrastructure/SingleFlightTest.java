@@ -0,0 +1,117 @@
+package com.charity_hub.shared.infrastructure;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SingleFlight Tests")
+class SingleFlightTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("Should share one load between concurrent callers of the same key")
+    void shouldCoalesceConcurrentCalls() throws Exception {
+        SingleFlight<String, String> flights = new SingleFlight<>(Duration.ZERO);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> leader = executor.submit(() -> flights.execute("case-1", () -> {
+                loading.countDown();
+                await(release);
+                return "value-" + loads.incrementAndGet();
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                followers.add(executor.submit(() -> flights.execute("case-1", () -> "value-" + loads.incrementAndGet())));
+            }
+            // Release the load only once every follower waits on it
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (flights.waiters("case-1") < followers.size() && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertThat(flights.waiters("case-1")).isEqualTo(followers.size());
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("value-1");
+            for (Future<String> follower : followers) {
+                assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("value-1");
+            }
+            assertThat(loads).hasValue(1);
+            assertThat(flights.size()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reuse a result within the grace period only")
+    void shouldReuseWithinGrace() {
+        SingleFlight<String, Integer> flights = new SingleFlight<>(Duration.ofMillis(100), clock::get);
+
+        assertThat(flights.execute("case-1", loads::incrementAndGet)).isEqualTo(1);
+        clock.addAndGet(Duration.ofMillis(99).toNanos());
+        assertThat(flights.execute("case-1", loads::incrementAndGet)).isEqualTo(1);
+        clock.addAndGet(Duration.ofMillis(1).toNanos());
+        assertThat(flights.execute("case-1", loads::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should load again once a kept result is invalidated")
+    void shouldReloadAfterInvalidation() {
+        SingleFlight<String, Integer> flights = new SingleFlight<>(Duration.ofMillis(100), clock::get);
+
+        assertThat(flights.execute("case-1", loads::incrementAndGet)).isEqualTo(1);
+        flights.invalidate("case-1");
+        assertThat(flights.execute("case-1", loads::incrementAndGet)).isEqualTo(2);
+        flights.invalidateAll();
+        assertThat(flights.execute("case-1", loads::incrementAndGet)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should load different keys separately")
+    void shouldSeparateKeys() {
+        SingleFlight<String, Integer> flights = new SingleFlight<>(Duration.ofMillis(100), clock::get);
+
+        assertThat(flights.execute("case-1:viewer", loads::incrementAndGet)).isEqualTo(1);
+        assertThat(flights.execute("case-1:admin", loads::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not keep failures")
+    void shouldNotKeepFailures() {
+        SingleFlight<String, Integer> flights = new SingleFlight<>(Duration.ofMillis(100), clock::get);
+
+        assertThatThrownBy(() -> flights.execute("case-1", () -> {
+            throw new IllegalStateException("down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(flights.size()).isZero();
+        assertThat(flights.execute("case-1", loads::incrementAndGet)).isEqualTo(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.charity_hub.shared.infrastructure;
+
+import com.charity_hub.shared.domain.ILogger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Throttled logger Tests")
+class ThrottledLoggerTest {
+
+    private final org.slf4j.Logger delegate = mock(org.slf4j.Logger.class);
+
+    @Test
+    @DisplayName("Should write at most the limit per second")
+    void shouldRateLimit() {
+        when(delegate.isInfoEnabled()).thenReturn(true);
+        ILogger logger = new ThrottledLogger(delegate, 3, 1.0);
+
+        for (int i = 0; i < 10; i++) {
+            logger.info("Processing {}", i);
+        }
+
+        verify(delegate, times(3)).info(eq("Processing {}"), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Should not take a permit for a disabled level")
+    void shouldSkipDisabledLevels() {
+        when(delegate.isInfoEnabled()).thenReturn(true);
+        ILogger logger = new ThrottledLogger(delegate, 1, 1.0);
+
+        logger.debug("Looking up {}", 1);
+        logger.info("Processing {}", 1);
+
+        verify(delegate, never()).debug(anyString(), any(Object[].class));
+        verify(delegate).info(eq("Processing {}"), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Should drop sampled INFO messages but always write errors")
+    void shouldSample() {
+        when(delegate.isInfoEnabled()).thenReturn(true);
+        ILogger logger = new ThrottledLogger(delegate, 0, 0.0);
+
+        logger.info("Processing {}", 1);
+        logger.error("Failed {}", 1);
+
+        verify(delegate, never()).info(anyString(), any(Object[].class));
+        verify(delegate).error(eq("Failed {}"), any(Object[].class));
+    }
+}
@@ -0,0 +1,153 @@
+package com.charity_hub.shared.infrastructure.invalidation;
+
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.mongodb.client.model.Filters.eq;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against a single-node replica set, which is what Testcontainers' MongoDBContainer starts;
+ * change streams aren't available on standalone servers.
+ */
+@SpringBootTest(properties = {
+        "cache.invalidation.node-id=invalidation-test",
+        "cache.invalidation.checkpoint-interval=0s"
+})
+@ActiveProfiles("test")
+@DisplayName("ChangeStreamInvalidator Integration Tests")
+@SuppressWarnings("resource") // MongoDBContainer is managed by Testcontainers lifecycle
+class ChangeStreamInvalidatorIntegrationTest {
+
+    private static final MongoDBContainer mongoDBContainer;
+
+    static {
+        mongoDBContainer = new MongoDBContainer("mongo:7.0")
+                .withStartupTimeout(Duration.ofMinutes(2))
+                .withReuse(true);
+        mongoDBContainer.start();
+    }
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    private static final int CASE_CODE = 990_001;
+
+    @Autowired
+    private ChangeStreamInvalidator invalidator;
+
+    @Autowired
+    private CacheInvalidation cacheInvalidation;
+
+    @Autowired
+    private MongoDatabase mongoDatabase;
+
+    // The collections of this test and the fields their keys are read from
+    private static final Map<String, String> KEY_FIELDS = Map.of(
+            "cases", "code",
+            "contributions", "caseCode",
+            "accounts", "accountId",
+            "connections", "_id");
+
+    private final BlockingQueue<String> invalidated = new LinkedBlockingQueue<>();
+    private final Map<String, CacheInvalidation.Listener> listeners = new HashMap<>();
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        KEY_FIELDS.forEach((collection, keyField) -> {
+            CacheInvalidation.Listener listener = key -> {
+                if (key != null) {
+                    invalidated.add(collection + ":" + key);
+                }
+            };
+            cacheInvalidation.subscribe(collection, keyField, listener);
+            listeners.put(collection, listener);
+        });
+        // The stream only watches what was subscribed when it started
+        invalidator.stop();
+        invalidator.start();
+        awaitStreaming();
+    }
+
+    @AfterEach
+    void tearDown() {
+        listeners.forEach(cacheInvalidation::unsubscribe);
+        mongoDatabase.getCollection("cases").deleteMany(eq("code", CASE_CODE));
+        mongoDatabase.getCollection("contributions").deleteMany(eq("caseCode", CASE_CODE));
+        mongoDatabase.getCollection("accounts").deleteMany(eq("accountId", "invalidation-account"));
+    }
+
+    @Test
+    @DisplayName("Should pass on the cache key of every changed document")
+    void shouldInvalidateChangedKeys() throws InterruptedException {
+        mongoDatabase.getCollection("cases").insertOne(new Document("code", CASE_CODE).append("title", "Case"));
+        mongoDatabase.getCollection("contributions")
+                .insertOne(new Document("_id", "invalidation-contribution").append("caseCode", CASE_CODE));
+        mongoDatabase.getCollection("accounts").insertOne(new Document("accountId", "invalidation-account"));
+        mongoDatabase.getCollection("accounts")
+                .updateOne(eq("accountId", "invalidation-account"), Updates.set("fullName", "Name"));
+        mongoDatabase.getCollection("connections").insertOne(new Document("_id", "invalidation-member"));
+        mongoDatabase.getCollection("connections").deleteOne(eq("_id", "invalidation-member"));
+
+        assertThat(awaitKey("cases:" + CASE_CODE)).isTrue();
+        assertThat(awaitKey("contributions:" + CASE_CODE)).isTrue();
+        assertThat(awaitKey("accounts:invalidation-account")).isTrue();
+        assertThat(awaitKey("accounts:invalidation-account")).isTrue();
+        assertThat(awaitKey("connections:invalidation-member")).isTrue();
+        assertThat(awaitKey("connections:invalidation-member")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should resume after a restart from the saved token and replay missed changes")
+    void shouldResumeFromSavedToken() throws InterruptedException {
+        invalidator.stop();
+        try {
+            mongoDatabase.getCollection("cases").insertOne(new Document("code", CASE_CODE).append("title", "Case"));
+        } finally {
+            invalidator.start();
+        }
+
+        assertThat(awaitKey("cases:" + CASE_CODE)).isTrue();
+        assertThat(mongoDatabase.getCollection(ChangeStreamInvalidator.TOKENS_COLLECTION)
+                .countDocuments(eq("_id", "invalidation-test"))).isOne();
+    }
+
+    private boolean awaitKey(String expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            String key = invalidated.poll(100, TimeUnit.MILLISECONDS);
+            if (expected.equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void awaitStreaming() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!invalidator.isStreaming() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(invalidator.isStreaming()).isTrue();
+    }
+}
@@ -0,0 +1,74 @@
+package com.charity_hub.shared.infrastructure.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.bson.BsonArray;
+import org.bson.BsonBoolean;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonNull;
+import org.bson.BsonString;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BsonJsonProjection Tests")
+class BsonJsonProjectionTest {
+
+    private final BsonJsonProjection projection = BsonJsonProjection.builder()
+            .field("_id", "id")
+            .field("title")
+            .field("goal")
+            .labeled("status", "status", status -> status == 1 ? "OPENED" : "CLOSED")
+            .field("acceptZakat")
+            .field("lastUpdated")
+            .array("documents")
+            .build();
+
+    @Test
+    @DisplayName("Should rename, label and write fields in document order")
+    void shouldWriteListedFields() throws IOException {
+        BsonDocument document = new BsonDocument()
+                .append("_id", new BsonString("c-1"))
+                .append("title", new BsonString("Rent"))
+                .append("goal", new BsonInt32(1000))
+                .append("status", new BsonInt32(1))
+                .append("acceptZakat", BsonBoolean.TRUE)
+                .append("lastUpdated", new BsonInt64(1_700_000_000_000L))
+                .append("documents", new BsonArray(List.of(new BsonString("doc-1"))));
+
+        assertThat(write(document)).isEqualTo(
+                "{\"id\":\"c-1\",\"title\":\"Rent\",\"goal\":1000,\"status\":\"OPENED\",\"acceptZakat\":true,"
+                        + "\"lastUpdated\":1700000000000,\"documents\":[\"doc-1\"]}");
+    }
+
+    @Test
+    @DisplayName("Should skip unlisted fields and default missing ones")
+    void shouldSkipUnknownAndDefaultMissing() throws IOException {
+        BsonDocument document = new BsonDocument()
+                .append("title", new BsonString("Rent"))
+                .append("tags", new BsonArray(List.of(new BsonString("food"))))
+                .append("status", new BsonInt32(2))
+                .append("documents", BsonNull.VALUE);
+
+        assertThat(write(document)).isEqualTo(
+                "{\"title\":\"Rent\",\"status\":\"CLOSED\",\"documents\":[],"
+                        + "\"id\":null,\"goal\":null,\"acceptZakat\":null,\"lastUpdated\":null}");
+    }
+
+    private String write(BsonDocument document) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator json = new JsonFactory().createGenerator(out)) {
+            projection.write(new RawBsonDocument(document, new BsonDocumentCodec()), json);
+        }
+        return out.toString();
+    }
+}
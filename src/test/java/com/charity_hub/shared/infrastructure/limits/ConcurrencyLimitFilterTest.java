@@ -0,0 +1,169 @@
+package com.charity_hub.shared.infrastructure.limits;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("ConcurrencyLimitFilter Tests")
+class ConcurrencyLimitFilterTest {
+
+    private static final Duration THRESHOLD = Duration.ofMillis(100);
+
+    @Nested
+    @DisplayName("AdaptiveConcurrencyLimit")
+    class Limit {
+
+        @Test
+        @DisplayName("Should refuse slots beyond the limit")
+        void shouldRefuseBeyondLimit() {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, THRESHOLD, 0.5);
+
+            assertThat(limit.tryAcquire()).isTrue();
+            assertThat(limit.tryAcquire()).isTrue();
+            assertThat(limit.tryAcquire()).isFalse();
+            assertThat(limit.isSaturated()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should grow while fast requests use the limit")
+        void shouldGrowOnFastRequests() {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, THRESHOLD, 0.5);
+
+            for (int i = 0; i < 10; i++) {
+                limit.tryAcquire();
+                limit.tryAcquire();
+                limit.onComplete(Duration.ofMillis(5).toNanos(), false);
+                limit.onComplete(Duration.ofMillis(5).toNanos(), false);
+            }
+
+            assertThat(limit.limit()).isGreaterThan(2);
+            assertThat(limit.inFlight()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should back off on slow or failed requests but not below the minimum")
+        void shouldBackOff() {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 2, 10, THRESHOLD, 0.5);
+
+            limit.tryAcquire();
+            limit.onComplete(Duration.ofSeconds(1).toNanos(), false);
+            assertThat(limit.limit()).isEqualTo(4);
+
+            limit.tryAcquire();
+            limit.onComplete(Duration.ofMillis(5).toNanos(), true);
+            assertThat(limit.limit()).isEqualTo(2);
+
+            limit.tryAcquire();
+            limit.onComplete(Duration.ofMillis(5).toNanos(), true);
+            assertThat(limit.limit()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should give up waiting after the max wait")
+        void shouldTimeOutWaiting() throws InterruptedException {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 1, THRESHOLD, 0.5);
+            limit.tryAcquire();
+
+            assertThat(limit.acquire(Duration.ofMillis(20))).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Filter")
+    class Filter {
+        private SimpleMeterRegistry registry;
+        private AdaptiveConcurrencyLimit reads;
+        private AdaptiveConcurrencyLimit writes;
+        private ConcurrencyLimitFilter filter;
+
+        @BeforeEach
+        void setUp() {
+            registry = new SimpleMeterRegistry();
+            reads = new AdaptiveConcurrencyLimit(1, 1, 1, THRESHOLD, 0.5);
+            writes = new AdaptiveConcurrencyLimit(1, 1, 1, THRESHOLD, 0.5);
+            filter = new ConcurrencyLimitFilter(new ObjectMapper(), registry, true, reads, writes,
+                    Duration.ZERO, Duration.ofSeconds(2));
+        }
+
+        @Test
+        @DisplayName("Should pass requests through and release the slot")
+        void shouldPassThrough() throws Exception {
+            FilterChain chain = mock(FilterChain.class);
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/cases");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            filter.doFilter(request, response, chain);
+
+            verify(chain).doFilter(request, response);
+            assertThat(reads.inFlight()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should answer 503 with Retry-After when reads are saturated")
+        void shouldRejectSaturatedReads() throws Exception {
+            reads.tryAcquire();
+            FilterChain chain = mock(FilterChain.class);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            filter.doFilter(new MockHttpServletRequest("GET", "/v1/cases"), response, chain);
+
+            verify(chain, never()).doFilter(any(), any());
+            assertThat(response.getStatus()).isEqualTo(503);
+            assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+            assertThat(registry.get("http.concurrency.rejected").tag("kind", "read").counter().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should reject reads while writes are saturated")
+        void shouldPrioritizeWrites() throws Exception {
+            writes.tryAcquire();
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            filter.doFilter(new MockHttpServletRequest("GET", "/v1/cases"), response, mock(FilterChain.class));
+
+            assertThat(response.getStatus()).isEqualTo(503);
+            assertThat(reads.inFlight()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should admit writes while reads are saturated")
+        void shouldAdmitWritesWhenReadsSaturated() throws Exception {
+            reads.tryAcquire();
+            FilterChain chain = mock(FilterChain.class);
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/cases/1/contributions");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            filter.doFilter(request, response, chain);
+
+            verify(chain).doFilter(request, response);
+            assertThat(writes.inFlight()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should not limit actuator endpoints")
+        void shouldSkipActuator() throws Exception {
+            reads.tryAcquire();
+            FilterChain chain = mock(FilterChain.class);
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/health");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            filter.doFilter(request, response, chain);
+
+            verify(chain).doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.charity_hub.shared.infrastructure.limits;
+
+import com.charity_hub.shared.auth.AccessTokenPayload;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RateLimitFilter Tests")
+class RateLimitFilterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Nested
+    @DisplayName("RequestRateLimiter")
+    class Limiter {
+
+        @Test
+        @DisplayName("Should allow the burst at once and then one request per interval")
+        void shouldAllowBurstThenRate() {
+            RequestRateLimiter limiter = new RequestRateLimiter(10, 10 * SECOND, 3, 4, 100);
+
+            assertThat(limiter.tryAcquire("u-1", 0)).isZero();
+            assertThat(limiter.tryAcquire("u-1", 0)).isZero();
+            assertThat(limiter.tryAcquire("u-1", 0)).isZero();
+            assertThat(limiter.tryAcquire("u-1", 0)).isEqualTo(SECOND);
+
+            assertThat(limiter.tryAcquire("u-1", SECOND)).isZero();
+            assertThat(limiter.tryAcquire("u-1", SECOND)).isPositive();
+        }
+
+        @Test
+        @DisplayName("Should keep a separate budget per key")
+        void shouldSeparateKeys() {
+            RequestRateLimiter limiter = new RequestRateLimiter(1, SECOND, 1, 4, 100);
+
+            assertThat(limiter.tryAcquire("u-1", 0)).isZero();
+            assertThat(limiter.tryAcquire("u-1", 0)).isPositive();
+            assertThat(limiter.tryAcquire("u-2", 0)).isZero();
+        }
+
+        @Test
+        @DisplayName("Should evict idle keys from a full stripe")
+        void shouldEvictIdleKeys() {
+            RequestRateLimiter limiter = new RequestRateLimiter(1, SECOND, 1, 1, 2);
+
+            limiter.tryAcquire("u-1", 0);
+            limiter.tryAcquire("u-2", 0);
+            limiter.tryAcquire("u-3", 2 * SECOND);
+
+            assertThat(limiter.keys()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should forget the least recently seen key when a full stripe has no idle ones")
+        void shouldBoundBusyKeys() {
+            RequestRateLimiter limiter = new RequestRateLimiter(1, SECOND, 1, 1, 2);
+
+            limiter.tryAcquire("u-1", 0);
+            limiter.tryAcquire("u-2", 0);
+            assertThat(limiter.tryAcquire("u-1", 0)).isPositive();
+            limiter.tryAcquire("u-3", 0);
+
+            assertThat(limiter.keys()).isEqualTo(2);
+            assertThat(limiter.tryAcquire("u-1", 0)).isPositive();
+            assertThat(limiter.tryAcquire("u-3", 0)).isPositive();
+            assertThat(limiter.tryAcquire("u-2", 0)).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Filter")
+    class Filter {
+        private final AtomicLong clock = new AtomicLong();
+        private final RateLimitFilter filter = new RateLimitFilter(new ObjectMapper(), new SimpleMeterRegistry(),
+                new RateLimitProperties(true, 4, 100, Map.of(
+                        "contribute", new RateLimitProperties.Endpoint("POST", "/v1/cases/{caseCode}/contributions",
+                                1, Duration.ofMinutes(1), null, RateLimitProperties.Key.USER),
+                        "authenticate", new RateLimitProperties.Endpoint("POST", "/v1/accounts/authenticate",
+                                1, Duration.ofMinutes(1), null, RateLimitProperties.Key.IP))),
+                clock::get);
+
+        @AfterEach
+        void clearContext() {
+            SecurityContextHolder.clearContext();
+        }
+
+        @Test
+        @DisplayName("Should answer 429 with Retry-After once the user's budget is used")
+        void shouldRejectOverBudget() throws Exception {
+            signIn(UUID.randomUUID());
+
+            assertThat(call("POST", "/v1/cases/20040/contributions", "10.0.0.1").getStatus()).isEqualTo(200);
+            MockHttpServletResponse rejected = call("POST", "/v1/cases/20041/contributions", "10.0.0.1");
+
+            assertThat(rejected.getStatus()).isEqualTo(429);
+            assertThat(rejected.getHeader("Retry-After")).isEqualTo("60");
+        }
+
+        @Test
+        @DisplayName("Should give other users their own budget")
+        void shouldLimitPerUser() throws Exception {
+            signIn(UUID.randomUUID());
+            call("POST", "/v1/cases/20040/contributions", "10.0.0.1");
+
+            signIn(UUID.randomUUID());
+
+            assertThat(call("POST", "/v1/cases/20040/contributions", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+
+        @Test
+        @DisplayName("Should limit sign-in per client address")
+        void shouldLimitAuthenticateByAddress() throws Exception {
+            assertThat(call("POST", "/v1/accounts/authenticate", "10.0.0.1").getStatus()).isEqualTo(200);
+            assertThat(call("POST", "/v1/accounts/authenticate", "10.0.0.1").getStatus()).isEqualTo(429);
+            assertThat(call("POST", "/v1/accounts/authenticate", "10.0.0.2").getStatus()).isEqualTo(200);
+        }
+
+        @Test
+        @DisplayName("Should not limit other methods or paths")
+        void shouldIgnoreUnconfiguredEndpoints() throws Exception {
+            signIn(UUID.randomUUID());
+            call("POST", "/v1/cases/20040/contributions", "10.0.0.1");
+
+            assertThat(call("GET", "/v1/cases/20040/contributions", "10.0.0.1").getStatus()).isEqualTo(200);
+            assertThat(call("POST", "/v1/cases/20040/contributions/extra", "10.0.0.1").getStatus()).isEqualTo(200);
+            assertThat(call("POST", "/v1/cases/20040", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+
+        private MockHttpServletResponse call(String method, String uri, String address) throws Exception {
+            MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+            request.setRemoteAddr(address);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            FilterChain chain = (req, res) -> {
+            };
+            filter.doFilter(request, response, chain);
+            return response;
+        }
+
+        private void signIn(UUID userId) {
+            AccessTokenPayload payload = new AccessTokenPayload("audience", "jwt-id", new Date(), new Date(),
+                    userId.toString(), "Name", "photo.jpg", false, "201000000000", "device-1", List.of());
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(payload, null, List.of()));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.charity_hub.shared.infrastructure.observability;
+
+import com.charity_hub.shared.domain.EventBus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("EventBusMetrics Tests")
+class EventBusMetricsTest {
+
+    record FirstEvent(int value) {
+    }
+
+    static class Billing {
+        static class Handler {
+        }
+    }
+
+    static class Shipping {
+        static class Handler {
+        }
+    }
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final EventBus eventBus = new EventBus(false, 0, 0, Duration.ZERO,
+            new EventBusMetrics(registry, Duration.ofMillis(500)));
+
+    @Test
+    @DisplayName("Should time handlers and count failures per event type and subscriber")
+    void shouldTimeHandlersAndCountFailures() {
+        eventBus.subscribe(this, FirstEvent.class, event -> {
+            if (event.value() < 0) {
+                throw new IllegalStateException("failed");
+            }
+        });
+
+        eventBus.push(new FirstEvent(1));
+        eventBus.push(new FirstEvent(2));
+        assertThatThrownBy(() -> eventBus.push(new FirstEvent(-1))).isInstanceOf(IllegalStateException.class);
+
+        Timer timer = registry.get("eventbus.handler")
+                .tags("event", FirstEvent.class.getName(), "subscriber", EventBusMetricsTest.class.getName())
+                .timer();
+        Counter failures = registry.get("eventbus.handler.failures")
+                .tags("event", FirstEvent.class.getName(), "subscriber", EventBusMetricsTest.class.getName())
+                .counter();
+        assertThat(timer.count()).isEqualTo(3);
+        assertThat(failures.count()).isEqualTo(1);
+        assertThat(registry.get("eventbus.handler.in.flight").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should remove meters on unsubscribe")
+    void shouldRemoveMetersOnUnsubscribe() {
+        eventBus.subscribe(this, FirstEvent.class, event -> { });
+
+        eventBus.unsubscribe(this);
+
+        assertThat(registry.find("eventbus.handler").timers()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep meters apart for subscribers with the same simple name")
+    void shouldSeparateSubscribersWithSameSimpleName() {
+        Billing.Handler billing = new Billing.Handler();
+        Shipping.Handler shipping = new Shipping.Handler();
+        eventBus.subscribe(billing, FirstEvent.class, event -> { });
+        eventBus.subscribe(shipping, FirstEvent.class, event -> { });
+
+        eventBus.push(new FirstEvent(1));
+        eventBus.unsubscribe(billing);
+
+        assertThat(registry.find("eventbus.handler").timers()).singleElement()
+                .satisfies(timer -> {
+                    assertThat(timer.getId().getTag("subscriber")).isEqualTo(Shipping.Handler.class.getName());
+                    assertThat(timer.count()).isOne();
+                });
+    }
+}
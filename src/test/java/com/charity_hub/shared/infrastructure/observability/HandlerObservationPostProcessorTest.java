@@ -0,0 +1,144 @@
+package com.charity_hub.shared.infrastructure.observability;
+
+import com.charity_hub.shared.abstractions.Command;
+import com.charity_hub.shared.abstractions.CommandHandler;
+import com.charity_hub.shared.abstractions.Query;
+import com.charity_hub.shared.abstractions.QueryHandler;
+import com.charity_hub.shared.exceptions.BusinessRuleException;
+import com.charity_hub.shared.exceptions.NotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("HandlerObservationPostProcessor Tests")
+class HandlerObservationPostProcessorTest {
+
+    private MeterRegistry meterRegistry;
+    private HandlerObservationPostProcessor postProcessor;
+
+    record Contribute(UUID caseId, int amount, String mobileNumber) implements Command {
+    }
+
+    record GetCase(int code) implements Query {
+    }
+
+    static class ContributeHandler extends CommandHandler<Contribute, String> {
+        MeterRegistry meterRegistry;
+
+        @Override
+        public String handle(Contribute command) {
+            if (command.amount() <= 0) {
+                throw new BusinessRuleException("Amount must be positive");
+            }
+            return String.valueOf(meterRegistry.get("handler.active").longTaskTimer().activeTasks());
+        }
+    }
+
+    static class GetCaseHandler implements QueryHandler<GetCase, String> {
+        @Override
+        public String handle(GetCase query) {
+            throw new NotFoundException("Case " + query.code() + " not found");
+        }
+    }
+
+    static class NotAHandler {
+        public String handle(Contribute command) {
+            return "untouched";
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("observationRegistry", observationRegistry);
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        postProcessor = new HandlerObservationPostProcessor(
+                beanFactory.getBeanProvider(ObservationRegistry.class),
+                beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+
+    @Test
+    @DisplayName("Should time successful commands by handler, type and outcome while counting them in flight")
+    void shouldObserveSuccessfulCommand() {
+        ContributeHandler target = new ContributeHandler();
+        target.meterRegistry = meterRegistry;
+        ContributeHandler handler = proxy(target);
+
+        String activeDuringCall = handler.handle(new Contribute(UUID.randomUUID(), 100, "201000000000"));
+
+        assertThat(activeDuringCall).isEqualTo("1");
+        assertThat(meterRegistry.get("handler")
+                .tag("handler", "ContributeHandler")
+                .tag("type", "command")
+                .tag("outcome", "success")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("handler.active").longTaskTimer().activeTasks()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should classify business rule violations and rethrow them")
+    void shouldObserveBusinessRuleViolation() {
+        ContributeHandler target = new ContributeHandler();
+        target.meterRegistry = meterRegistry;
+        ContributeHandler handler = proxy(target);
+
+        assertThatThrownBy(() -> handler.handle(new Contribute(UUID.randomUUID(), 0, "201000000000")))
+                .isInstanceOf(BusinessRuleException.class);
+
+        assertThat(meterRegistry.get("handler")
+                .tag("handler", "ContributeHandler")
+                .tag("outcome", "business_rule")
+                .tag("error", "BusinessRuleException")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should classify not found queries")
+    void shouldObserveNotFoundQuery() {
+        GetCaseHandler handler = proxy(new GetCaseHandler());
+
+        assertThatThrownBy(() -> handler.handle(new GetCase(20040))).isInstanceOf(NotFoundException.class);
+
+        assertThat(meterRegistry.get("handler")
+                .tag("handler", "GetCaseHandler")
+                .tag("type", "query")
+                .tag("outcome", "not_found")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should classify other exceptions as errors")
+    void shouldClassifyOtherExceptionsAsErrors() {
+        assertThat(HandlerObservationPostProcessor.HandlerObservationInterceptor.outcome(new IllegalStateException()))
+                .isEqualTo("error");
+    }
+
+    @Test
+    @DisplayName("Should leave other beans alone")
+    void shouldNotProxyOtherBeans() {
+        Object bean = postProcessor.postProcessAfterInitialization(new NotAHandler(), "notAHandler");
+
+        assertThat(AopUtils.isAopProxy(bean)).isFalse();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(T handler) {
+        Object bean = postProcessor.postProcessAfterInitialization(handler, "handler");
+        assertThat(AopUtils.isCglibProxy(bean)).isTrue();
+        return (T) bean;
+    }
+}
@@ -0,0 +1,166 @@
+package com.charity_hub.shared.infrastructure.outbox;
+
+import com.charity_hub.shared.domain.EventBus;
+import com.charity_hub.shared.infrastructure.MongoTransactions;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static com.mongodb.client.model.Filters.eq;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "outbox.relay.retry-delay=0s")
+@ActiveProfiles("test")
+@DisplayName("EventOutbox Integration Tests")
+@SuppressWarnings("resource") // MongoDBContainer is managed by Testcontainers lifecycle
+class EventOutboxIntegrationTest {
+
+    private static final MongoDBContainer mongoDBContainer;
+
+    static {
+        mongoDBContainer = new MongoDBContainer("mongo:7.0")
+                .withStartupTimeout(Duration.ofMinutes(2))
+                .withReuse(true);
+        mongoDBContainer.start();
+    }
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    public record TestEvent(String id) {
+    }
+
+    @Autowired
+    private EventOutbox eventOutbox;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private EventBus eventBus;
+
+    @Autowired
+    private MongoDatabase mongoDatabase;
+
+    @Autowired
+    private MongoTransactions transactions;
+
+    @AfterEach
+    void tearDown() {
+        eventBus.unsubscribe(this);
+    }
+
+    @Test
+    @DisplayName("Should commit writes with the publication and complete it after delivery")
+    void shouldCommitWritesAndCompletePublication() {
+        List<TestEvent> received = new CopyOnWriteArrayList<>();
+        eventBus.subscribe(this, TestEvent.class, received::add);
+        String id = UUID.randomUUID().toString();
+        MongoCollection<Document> aggregates = mongoDatabase.getCollection("outbox_test_aggregates");
+
+        eventOutbox.write(session -> aggregates.insertOne(session, new Document("_id", id)), List.of(new TestEvent(id)));
+
+        assertThat(aggregates.find(eq("_id", id)).first()).isNotNull();
+        assertThat(received).containsExactly(new TestEvent(id));
+        assertThat(publicationFor(id).get("completionDate")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should roll back the writes and the publication together")
+    void shouldRollBackWritesAndPublicationTogether() {
+        eventBus.subscribe(this, TestEvent.class, event -> { });
+        String id = UUID.randomUUID().toString();
+        MongoCollection<Document> aggregates = mongoDatabase.getCollection("outbox_test_aggregates");
+
+        assertThatThrownBy(() -> transactions.run(session -> {
+            aggregates.insertOne(session, new Document("_id", id));
+            eventOutbox.store(session, List.of(new TestEvent(id)));
+            // Fails after both the aggregate and its publication were written
+            throw new IllegalStateException("commit aborted");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(aggregates.find(eq("_id", id)).first()).isNull();
+        assertThat(publicationFor(id)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should redeliver publications whose handler failed")
+    void shouldRedeliverFailedPublications() {
+        AtomicInteger calls = new AtomicInteger();
+        eventBus.subscribe(this, TestEvent.class, event -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("handler failed");
+            }
+        });
+        String id = UUID.randomUUID().toString();
+
+        eventOutbox.write(session -> { }, List.of(new TestEvent(id)));
+        assertThat(publicationFor(id).get("completionDate")).isNull();
+
+        outboxRelay.relay();
+
+        assertThat(calls.get()).isGreaterThanOrEqualTo(2);
+        assertThat(publicationFor(id).get("completionDate")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should redeliver each publication once when several relays run at the same time")
+    void shouldRedeliverOnceAcrossRelays() throws InterruptedException {
+        List<TestEvent> received = new CopyOnWriteArrayList<>();
+        eventBus.subscribe(this, TestEvent.class, received::add);
+        List<TestEvent> events = IntStream.range(0, 30)
+                .mapToObj(i -> new TestEvent(UUID.randomUUID().toString()))
+                .toList();
+        // Only the two relays below redeliver during the test
+        outboxRelay.stop();
+        List<OutboxRelay> relays = List.of(relay(), relay());
+        try {
+            transactions.run(session -> eventOutbox.store(session, events));
+            relays.forEach(OutboxRelay::start);
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!received.containsAll(events) && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+        } finally {
+            relays.forEach(OutboxRelay::stop);
+            outboxRelay.start();
+        }
+
+        // Incomplete publications left by earlier runs may be redelivered too
+        assertThat(received).filteredOn(events::contains).containsExactlyInAnyOrderElementsOf(events);
+        events.forEach(event -> assertThat(publicationFor(event.id()).get("completionDate")).isNotNull());
+    }
+
+    // Picks up what was stored before it started, retries nothing newer and runs one pass
+    private OutboxRelay relay() {
+        return new OutboxRelay(eventOutbox, new SimpleMeterRegistry(), Duration.ofHours(1), Duration.ofHours(1), 5);
+    }
+
+    private Document publicationFor(String eventId) {
+        return mongoDatabase.getCollection(EventOutbox.COLLECTION)
+                .find(eq("serializedEvent", "{\"id\":\"" + eventId + "\"}"))
+                .first();
+    }
+}
@@ -0,0 +1,209 @@
+package com.charity_hub.shared.infrastructure.slowops;
+
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Slow operation capture Tests")
+class SlowOperationRecorderTest {
+
+    private final List<BsonDocument> explained = new ArrayList<>();
+
+    @Nested
+    @DisplayName("SlowOperationRecorder")
+    class Recording {
+
+        @Test
+        @DisplayName("Should keep only commands over the threshold, newest first")
+        void shouldKeepSlowCommands() {
+            SlowOperationRecorder recorder = recorder(3, false, collscan());
+
+            find(recorder, "cases", 50);
+            find(recorder, "accounts", 150);
+            find(recorder, "contributions", 300);
+
+            assertThat(recorder.recent()).extracting(SlowOperation::collection)
+                    .containsExactly("contributions", "accounts");
+            assertThat(recorder.recent().get(0).durationMs()).isEqualTo(300);
+        }
+
+        @Test
+        @DisplayName("Should drop the oldest entries when the buffer is full")
+        void shouldBoundTheBuffer() {
+            SlowOperationRecorder recorder = recorder(2, false, collscan());
+
+            find(recorder, "cases", 200);
+            find(recorder, "accounts", 200);
+            find(recorder, "contributions", 200);
+
+            assertThat(recorder.recent()).extracting(SlowOperation::collection)
+                    .containsExactly("contributions", "accounts");
+        }
+
+        @Test
+        @DisplayName("Should not keep the values of the command")
+        void shouldRedactValues() {
+            SlowOperationRecorder recorder = recorder(3, false, collscan());
+
+            find(recorder, "accounts", 200);
+
+            String command = recorder.recent().get(0).command();
+            assertThat(command).contains("\"find\": \"accounts\"", "\"mobileNumber\": \"?\"", "\"$in\": \"?\"");
+            assertThat(command).doesNotContain("201000000000", "lsid");
+        }
+
+        @Test
+        @DisplayName("Should keep the command after the driver reuses its buffer")
+        void shouldCopyCommandOnStart() {
+            SlowOperationRecorder recorder = recorder(3, false, collscan());
+            BsonDocument command = findCommand("accounts");
+
+            started(recorder, command);
+            command.put("find", new BsonString("reused"));
+            succeeded(recorder, 200);
+
+            assertThat(recorder.recent().get(0).collection()).isEqualTo("accounts");
+        }
+
+        @Test
+        @DisplayName("Should not read the command of a fast one")
+        void shouldNotReadFastCommands() {
+            SlowOperationRecorder recorder = recorder(3, false, collscan());
+            BsonDocument copy = mock(BsonDocument.class);
+            BsonDocument command = mock(BsonDocument.class);
+            when(command.clone()).thenReturn(copy);
+
+            started(recorder, command);
+            succeeded(recorder, 50);
+
+            verifyNoInteractions(copy);
+            assertThat(recorder.recent()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should explain a slow command once per shape and flag a collection scan")
+        void shouldExplainOncePerShape() {
+            SlowOperationRecorder recorder = recorder(3, true, collscan());
+
+            find(recorder, "accounts", 200);
+            find(recorder, "accounts", 200);
+
+            assertThat(explained).hasSize(1);
+            assertThat(explained.get(0).getString("verbosity").getValue()).isEqualTo("executionStats");
+            assertThat(explained.get(0).getDocument("explain").containsKey("lsid")).isFalse();
+            ExplainSummary summary = recorder.recent().get(1).explain();
+            assertThat(summary.flags()).containsExactly(ExplainSummary.COLLSCAN, ExplainSummary.HIGH_SCAN_RATIO);
+            assertThat(recorder.recent().get(0).explain()).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("ExplainSummary")
+    class Analysis {
+
+        @Test
+        @DisplayName("Should not flag an index scan returning what it examined")
+        void shouldAcceptIndexScan() {
+            BsonDocument explain = explain(new BsonDocument("stage", new BsonString("FETCH"))
+                    .append("inputStage", new BsonDocument("stage", new BsonString("IXSCAN"))), 120, 120, 120);
+
+            ExplainSummary summary = ExplainSummary.analyze(explain, 10, 100);
+
+            assertThat(summary.winningStages()).containsExactly("FETCH", "IXSCAN");
+            assertThat(summary.flagged()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should flag an index scan that examines far more documents than it returns")
+        void shouldFlagHighScanRatio() {
+            BsonDocument explain = explain(new BsonDocument("stage", new BsonString("FETCH"))
+                    .append("inputStage", new BsonDocument("stage", new BsonString("IXSCAN"))), 5_000, 5_000, 20);
+
+            assertThat(ExplainSummary.analyze(explain, 10, 100).flags())
+                    .containsExactly(ExplainSummary.HIGH_SCAN_RATIO);
+        }
+
+        @Test
+        @DisplayName("Should find the plan of an aggregation under its $cursor stage")
+        void shouldReadAggregationPlans() {
+            BsonDocument cursorStage = new BsonDocument("$cursor",
+                    explain(new BsonDocument("stage", new BsonString("COLLSCAN")), 10, 0, 10));
+            BsonDocument explain = new BsonDocument("stages", new BsonArray(List.of(cursorStage)));
+
+            ExplainSummary summary = ExplainSummary.analyze(explain, 10, 100);
+
+            assertThat(summary.flags()).containsExactly(ExplainSummary.COLLSCAN);
+            assertThat(summary.docsExamined()).isEqualTo(10);
+        }
+    }
+
+    private SlowOperationRecorder recorder(int capacity, boolean explain, BsonDocument plan) {
+        BiFunction<String, BsonDocument, BsonDocument> explainer = (database, command) -> {
+            explained.add(command);
+            return plan;
+        };
+        return new SlowOperationRecorder(new SimpleMeterRegistry(), Duration.ofMillis(100), capacity, explain, 1.0,
+                Duration.ofMinutes(10), 10, 100, explainer, Runnable::run);
+    }
+
+    private static void find(SlowOperationRecorder recorder, String collection, long millis) {
+        started(recorder, findCommand(collection));
+        succeeded(recorder, millis);
+    }
+
+    private static BsonDocument findCommand(String collection) {
+        return new BsonDocument("find", new BsonString(collection))
+                .append("filter", new BsonDocument("mobileNumber", new BsonString("201000000000"))
+                        .append("roles", new BsonDocument("$in", new BsonArray(List.of(new BsonString("FULL_ACCESS"))))))
+                .append("limit", new BsonInt32(1))
+                .append("lsid", new BsonDocument("id", new BsonString("session")))
+                .append("$db", new BsonString("charity_db"));
+    }
+
+    private static void started(SlowOperationRecorder recorder, BsonDocument command) {
+        CommandStartedEvent started = mock(CommandStartedEvent.class);
+        when(started.getCommandName()).thenReturn("find");
+        when(started.getCommand()).thenReturn(command);
+        recorder.commandStarted(started);
+    }
+
+    private static void succeeded(SlowOperationRecorder recorder, long millis) {
+        CommandSucceededEvent succeeded = mock(CommandSucceededEvent.class);
+        when(succeeded.getCommandName()).thenReturn("find");
+        when(succeeded.getDatabaseName()).thenReturn("charity_db");
+        when(succeeded.getElapsedTime(TimeUnit.NANOSECONDS)).thenReturn(TimeUnit.MILLISECONDS.toNanos(millis));
+        when(succeeded.getResponse()).thenReturn(new BsonDocument("cursor",
+                new BsonDocument("firstBatch", new BsonArray(List.of(new BsonDocument())))));
+        recorder.commandSucceeded(succeeded);
+    }
+
+    private static BsonDocument collscan() {
+        return explain(new BsonDocument("stage", new BsonString("COLLSCAN")), 20_000, 0, 1);
+    }
+
+    private static BsonDocument explain(BsonDocument winningPlan, int docsExamined, int keysExamined, int returned) {
+        return new BsonDocument("queryPlanner", new BsonDocument("winningPlan", winningPlan))
+                .append("executionStats", new BsonDocument("nReturned", new BsonInt32(returned))
+                        .append("executionTimeMillis", new BsonInt32(40))
+                        .append("totalDocsExamined", new BsonInt32(docsExamined))
+                        .append("totalKeysExamined", new BsonInt32(keysExamined)));
+    }
+}